@@ -11,6 +11,8 @@ import com.sebastianhamm.Backend.about.api.dtos.AboutRequest;
 import com.sebastianhamm.Backend.about.api.dtos.AboutResponse;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.about.domain.services.AboutService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,6 +23,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 
 /**
@@ -33,6 +36,7 @@ import org.springframework.web.bind.annotation.*;
 public class AboutController {
 
     private final AboutService aboutService;
+    private final PublicSnapshotService publicSnapshot;
 
     /**
      * GET /about: Get about page content
@@ -49,15 +53,19 @@ public class AboutController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "About page content not found",
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<AboutResponse>> getAbout() {
-        ApiResponse<AboutResponse> response = aboutService.getAbout();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<AboutResponse>> getAbout(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().about(), aboutService::getVersion, aboutService::getAbout);
     }
 
     /**
@@ -99,7 +107,8 @@ public class AboutController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
-    public AboutController(AboutService aboutService) {
+    public AboutController(AboutService aboutService, PublicSnapshotService publicSnapshot) {
         this.aboutService = aboutService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
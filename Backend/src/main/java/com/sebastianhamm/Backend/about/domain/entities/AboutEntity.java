@@ -7,12 +7,16 @@
  */
 package com.sebastianhamm.Backend.about.domain.entities;
 
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
@@ -20,7 +24,9 @@ import java.time.LocalDateTime;
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "about")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.ABOUT_REGION)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class AboutEntity {
 
     @Id
@@ -40,7 +46,7 @@ public class AboutEntity {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
-    @LastModifiedDate
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     public AboutEntity() {
@@ -8,7 +8,13 @@
 package com.sebastianhamm.Backend.about.domain.repositories;
 
 import com.sebastianhamm.Backend.about.domain.entities.AboutEntity;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +23,12 @@ import java.util.Optional;
 public interface AboutRepository extends JpaRepository<AboutEntity, Long> {
 
     Optional<AboutEntity> findById(Long id);
+
+    /**
+     * Version of one about entry; its count is zero if the entry does not exist.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(a.updatedAt), COUNT(a)) " +
+            "FROM AboutEntity a WHERE a.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
 }
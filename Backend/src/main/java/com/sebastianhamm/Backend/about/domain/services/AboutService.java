@@ -10,10 +10,16 @@ package com.sebastianhamm.Backend.about.domain.services;
 import com.sebastianhamm.Backend.about.api.dtos.AboutRequest;
 import com.sebastianhamm.Backend.about.api.dtos.AboutResponse;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
 public interface AboutService {
 
     ApiResponse<AboutResponse> getAbout();
 
     ApiResponse<AboutResponse> updateAbout(AboutRequest aboutRequest);
+
+    /**
+     * Version of the content of {@link #getAbout()}, or null if there is none.
+     */
+    ContentVersion getVersion();
 }
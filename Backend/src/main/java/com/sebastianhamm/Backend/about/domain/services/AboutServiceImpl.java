@@ -13,6 +13,8 @@ import com.sebastianhamm.Backend.about.api.dtos.AboutResponse;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.about.domain.repositories.AboutRepository;
 import com.sebastianhamm.Backend.about.domain.mappers.AboutMapper;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,6 +22,7 @@ public class AboutServiceImpl implements AboutService {
 
     private final AboutRepository aboutRepository;
     private final AboutMapper aboutMapper;
+    private final BlobReferenceService blobReferences;
 
     @Override
     public ApiResponse<AboutResponse> getAbout() {
@@ -43,15 +46,25 @@ public class AboutServiceImpl implements AboutService {
             return new ApiResponse<>(500, "Internal Server Error", null);
         }
 
+        String previousImageUrl = aboutEntity.getAboutImageUrl();
         aboutMapper.updateEntity(aboutEntity, aboutRequest);
+        blobReferences.replace(previousImageUrl, aboutEntity.getAboutImageUrl());
         AboutEntity updatedEntity = aboutRepository.save(aboutEntity);
         AboutResponse aboutResponse = aboutMapper.toResponse(updatedEntity);
 
         return new ApiResponse<>(200, "About data successfully updated", aboutResponse);
     }
 
-    public AboutServiceImpl(AboutRepository aboutRepository, AboutMapper aboutMapper) {
+    @Override
+    public ContentVersion getVersion() {
+        ContentVersion version = aboutRepository.findVersionById(1L);
+        return version.isEmpty() ? null : version;
+    }
+
+    public AboutServiceImpl(AboutRepository aboutRepository, AboutMapper aboutMapper,
+                            BlobReferenceService blobReferences) {
         this.aboutRepository = aboutRepository;
         this.aboutMapper = aboutMapper;
+        this.blobReferences = blobReferences;
     }
 }
@@ -13,6 +13,8 @@ import com.sebastianhamm.Backend.event.api.dtos.EventRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
 import com.sebastianhamm.Backend.event.domain.services.EventService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,6 +26,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -38,6 +41,7 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final PublicSnapshotService publicSnapshot;
 
     /**
      * GET /v1/events : Get all events
@@ -53,15 +57,19 @@ public class EventController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<List<EventResponse>>> getAllEvents() {
-        ApiResponse<List<EventResponse>> response = eventService.findAllEvents();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<EventResponse>>> getAllEvents(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().events(), eventService::getVersion, eventService::findAllEvents);
     }
 
     /**
@@ -79,6 +87,11 @@ public class EventController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Event not found",
@@ -92,9 +105,10 @@ public class EventController {
     })
     public ResponseEntity<ApiResponse<EventResponse>> getEvent(
             @Parameter(description = "ID of the event to retrieve", required = true)
-            @PathVariable Long id) {
-        ApiResponse<EventResponse> response = eventService.getEventById(id);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+            @PathVariable Long id,
+            WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().event(id),
+                () -> eventService.getVersion(id), () -> eventService.getEventById(id));
     }
 
     /**
@@ -230,7 +244,8 @@ public class EventController {
         return ResponseEntity.status(response.getStatusCode()).build();
     }
 
-    public EventController(EventService eventService) {
+    public EventController(EventService eventService, PublicSnapshotService publicSnapshot) {
         this.eventService = eventService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
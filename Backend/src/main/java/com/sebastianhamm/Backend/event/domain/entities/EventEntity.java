@@ -9,11 +9,15 @@ package com.sebastianhamm.Backend.event.domain.entities;
 import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
 
 import com.sebastianhamm.Backend.event.domain.enums.EventType;
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -22,7 +26,9 @@ import java.time.LocalDateTime;
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "events")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.EVENT_REGION)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class EventEntity {
 
     @Id
@@ -56,7 +62,7 @@ public class EventEntity {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
-    @LastModifiedDate
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     public EventEntity() {
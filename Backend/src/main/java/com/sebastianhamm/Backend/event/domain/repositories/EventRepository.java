@@ -9,14 +9,59 @@ package com.sebastianhamm.Backend.event.domain.repositories;
 import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
 
 import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<EventEntity, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfiguration.EVENT_QUERY_REGION)
+    })
     Optional<EventEntity> findByTitle(String title);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfiguration.EVENT_QUERY_REGION)
+    })
     Optional<EventEntity> findEventEntityByLocation(LocationEntity locationEntity);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfiguration.EVENT_QUERY_REGION)
+    })
     Optional<EventEntity> findEventEntityByTitle(String title);
+
+    /**
+     * Version of all events.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(e.updatedAt), COUNT(e)) " +
+            "FROM EventEntity e")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersion();
+
+    /**
+     * Version of one event; its count is zero if the event does not exist.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(e.updatedAt), COUNT(e)) " +
+            "FROM EventEntity e WHERE e.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the location of one event, whose name is part of the event's response.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(l.updatedAt), COUNT(l)) " +
+            "FROM EventEntity e JOIN e.location l WHERE e.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findLocationVersionById(@Param("id") Long id);
 }
@@ -11,6 +11,7 @@ import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
 import com.sebastianhamm.Backend.event.api.dtos.EventRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
 import java.util.List;
 
@@ -24,4 +25,14 @@ public interface EventService {
     ApiResponse<EventResponse> updateEvent(Long id, EventRequest eventRequest);
     ApiResponse<String> deleteEvent(Long id);
     ApiResponse<List<EventResponse>> findAllEvents();
+
+    /**
+     * Version of the content of {@link #findAllEvents()}.
+     */
+    ContentVersion getVersion();
+
+    /**
+     * Version of the content of {@link #getEventById(Long)}, or null if the event does not exist.
+     */
+    ContentVersion getVersion(Long id);
 }
@@ -17,7 +17,13 @@ import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
 import com.sebastianhamm.Backend.event.domain.repositories.EventRepository;
 import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
 import com.sebastianhamm.Backend.event.domain.services.EventService;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,9 +37,11 @@ public class EventServiceImpl implements EventService {
     private final EventRepository eventRepository;
     private final LocationRepository locationRepository;
     private final EventMapper eventMapper;
+    private final BlobReferenceService blobReferences;
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.EVENTS, key = "#id", unless = "#result.statusCode != 200")
     public ApiResponse<EventResponse> getEventById(Long id) {
         Optional<EventEntity> optional = eventRepository.findById(id);
         return optional.map(eventEntity
@@ -43,6 +51,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.EVENT_LISTS, key = "'name:' + #name", unless = "#result.statusCode != 200")
     public ApiResponse<EventResponse> findEventByName(String name) {
         Optional<EventEntity> optional = eventRepository.findEventEntityByTitle(name);
         return optional.map(eventEntity
@@ -52,6 +61,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.EVENT_LISTS, key = "'location:' + #locationEntity", unless = "#result.statusCode != 200")
     public ApiResponse<EventResponse> findEventByLocation(String locationEntity) {
         Optional<LocationEntity> optionalLocation = locationRepository.findByName(locationEntity);
         if (optionalLocation.isEmpty()) {
@@ -66,6 +76,7 @@ public class EventServiceImpl implements EventService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.EVENT_LISTS, key = "'locations:' + #locationEntity", unless = "#result.statusCode != 200")
     public ApiResponse<List<EventResponse>> findEventsByLocation(String locationEntity) {
         Optional<LocationEntity> optionalLocation = locationRepository.findByName(locationEntity);
         if (optionalLocation.isEmpty()) {
@@ -83,6 +94,7 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CachingConfiguration.EVENT_LISTS, allEntries = true)
     public ApiResponse<EventResponse> saveEvent(EventRequest eventRequest) {
         Optional<LocationEntity> optionalLocation = locationRepository.findByName(eventRequest.getLocation().getName());
         if (optionalLocation.isEmpty()) {
@@ -91,10 +103,15 @@ public class EventServiceImpl implements EventService {
 
         EventEntity event = eventMapper.toEntity(eventRequest, optionalLocation.get());
         EventEntity saved = eventRepository.save(event);
+        blobReferences.acquire(saved.getEventImageUrl());
         return new ApiResponse<>(201, "Event created successfully", eventMapper.toResponse(saved));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.EVENTS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfiguration.EVENT_LISTS, allEntries = true)
+    })
     public ApiResponse<EventResponse> updateEvent(Long id, EventRequest request) {
         Optional<EventEntity> optionalEvent = eventRepository.findById(id);
         if (optionalEvent.isEmpty()) {
@@ -107,24 +124,32 @@ public class EventServiceImpl implements EventService {
         }
 
         EventEntity event = optionalEvent.get();
+        String previousImageUrl = event.getEventImageUrl();
         eventMapper.updateEntity(event, request, optionalLocation.get());
+        blobReferences.replace(previousImageUrl, event.getEventImageUrl());
 
         EventEntity updated = eventRepository.save(event);
         return new ApiResponse<>(200, "Event updated successfully", eventMapper.toResponse(updated));
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.EVENTS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfiguration.EVENT_LISTS, allEntries = true)
+    })
     public ApiResponse<String> deleteEvent(Long id) {
         Optional<EventEntity> optional = eventRepository.findById(id);
         if (optional.isEmpty()) {
             return new ApiResponse<>(404, "Event not found with ID: " + id, null);
         }
         eventRepository.deleteById(id);
+        blobReferences.release(optional.get().getEventImageUrl());
         return new ApiResponse<>(204, "Event deleted successfully", null);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.EVENT_LISTS, key = "'all'", unless = "#result.statusCode != 200")
     public ApiResponse<List<EventResponse>> findAllEvents() {
         List<EventResponse> responses = eventRepository.findAll().stream()
                 .map(eventMapper::toResponse)
@@ -133,9 +158,24 @@ public class EventServiceImpl implements EventService {
         return new ApiResponse<>(200, "All events found", responses);
     }
 
-    public EventServiceImpl(EventRepository eventRepository, LocationRepository locationRepository, EventMapper eventMapper) {
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion() {
+        return eventRepository.findVersion().and(locationRepository.findVersion());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion(Long id) {
+        ContentVersion version = eventRepository.findVersionById(id);
+        return version.isEmpty() ? null : version.and(eventRepository.findLocationVersionById(id));
+    }
+
+    public EventServiceImpl(EventRepository eventRepository, LocationRepository locationRepository, EventMapper eventMapper,
+                            BlobReferenceService blobReferences) {
         this.eventRepository = eventRepository;
         this.locationRepository = locationRepository;
         this.eventMapper = eventMapper;
+        this.blobReferences = blobReferences;
     }
 }
\ No newline at end of file
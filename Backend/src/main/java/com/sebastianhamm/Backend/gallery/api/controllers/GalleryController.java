@@ -6,26 +6,52 @@
  * @since 7/28/25
  */
 package com.sebastianhamm.Backend.gallery.api.controllers;
+import com.sebastianhamm.Backend.image.api.dtos.BatchUploadResult;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 
 import com.sebastianhamm.Backend.gallery.api.dtos.GalleryRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.gallery.api.dtos.GalleryResponse;
+import com.sebastianhamm.Backend.gallery.domain.services.GalleryArchiveService;
 import com.sebastianhamm.Backend.gallery.domain.services.GalleryService;
+import com.sebastianhamm.Backend.image.domain.services.ContactSheetService;
+import com.sebastianhamm.Backend.image.domain.services.DuplicatePolicy;
+import com.sebastianhamm.Backend.image.domain.services.ImageService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * REST controller for managing galleries.
@@ -36,7 +62,13 @@ import java.util.List;
 @Tag(name = "Gallery", description = "API for managing galleries")
 public class GalleryController {
 
+    private static final Logger logger = LoggerFactory.getLogger(GalleryController.class);
+
     private final GalleryService galleryService;
+    private final ImageService imageService;
+    private final ContactSheetService contactSheetService;
+    private final GalleryArchiveService galleryArchiveService;
+    private final PublicSnapshotService publicSnapshot;
 
     /**
      * GET /v1/gallery : Get all galleries
@@ -52,15 +84,19 @@ public class GalleryController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "500",
                     description = "Internal server error",
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<List<GalleryResponse>>> getAllGalleries() {
-        ApiResponse<List<GalleryResponse>> response = galleryService.findAll();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<GalleryResponse>>> getAllGalleries(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().galleries(), galleryService::getVersion, galleryService::findAll);
     }
 
     /**
@@ -78,6 +114,11 @@ public class GalleryController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Gallery not found",
@@ -91,9 +132,140 @@ public class GalleryController {
     })
     public ResponseEntity<ApiResponse<GalleryResponse>> getGallery(
             @Parameter(description = "ID of the gallery to retrieve", required = true)
-            @PathVariable Long id) {
-        ApiResponse<GalleryResponse> response = galleryService.findById(id);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+            @PathVariable Long id,
+            WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().gallery(id),
+                () -> galleryService.getVersion(id), () -> galleryService.findById(id));
+    }
+
+    /**
+     * GET /v1/gallery/:id/contact-sheets/:name : Get a contact sheet of a gallery
+     *
+     * @param id   the id of the gallery
+     * @param name the sheet name as listed in the gallery's contact sheets
+     * @return the ResponseEntity with status 200 (OK) and the JPEG sheet in the body, or with status 404 (Not Found)
+     * if the name is not current anymore
+     */
+    @GetMapping("/{id}/contact-sheets/{name}")
+    @Operation(summary = "Get a contact sheet of a gallery", description = "Returns one image tiling up to 48 thumbnails of the gallery")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Contact sheet",
+                    content = @Content(mediaType = "image/jpeg")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Gallery or contact sheet not found",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Render queue is full",
+                    content = @Content
+            )
+    })
+    public CompletableFuture<ResponseEntity<Resource>> getContactSheet(
+            @Parameter(description = "ID of the gallery", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Name of the contact sheet", required = true)
+            @PathVariable String name) {
+        ContactSheetService.Sheet sheet = contactSheetService.find(id, name);
+        return contactSheetService.render(sheet).handle((file, failure) -> {
+            if (failure == null) {
+                // The name changes with the content, so the sheet can be cached indefinitely
+                return ResponseEntity.ok()
+                        .cacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                        .contentType(MediaType.IMAGE_JPEG)
+                        .body((Resource) new FileSystemResource(file));
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof TaskRejectedException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+            }
+            logger.error("Rendering contact sheet {} of gallery {} failed", name, id, cause);
+            return ResponseEntity.internalServerError().build();
+        });
+    }
+
+    /**
+     * GET /v1/gallery/:id/archive : Download all images of a gallery as ZIP
+     *
+     * @param id the id of the gallery
+     * @return the ZIP archive streamed straight from the blob store, status 206 (Partial Content) for a
+     * single byte range, or status 404 (Not Found)
+     */
+    @GetMapping("/{id}/archive")
+    @Operation(summary = "Download a gallery as ZIP", description = "Streams all images of a gallery as an uncompressed ZIP archive, supporting byte ranges to resume")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "ZIP archive",
+                    content = @Content(mediaType = "application/zip")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "206",
+                    description = "Requested byte range of the archive",
+                    content = @Content(mediaType = "application/zip")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Gallery not found",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "416",
+                    description = "Range not satisfiable",
+                    content = @Content
+            )
+    })
+    public void getArchive(
+            @Parameter(description = "ID of the gallery", required = true)
+            @PathVariable Long id,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        GalleryArchiveService.Archive archive = galleryArchiveService.plan(id);
+        long length = archive.content().length();
+        String etag = archive.content().etag();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(archive.fileName(), StandardCharsets.UTF_8).build().toString());
+        response.setContentType("application/zip");
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        // The archive has no modification date, so only an entity tag can validate a resumed download
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                long rangeStart = ranges.get(0).getRangeStart(length);
+                if (rangeStart >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = rangeStart;
+                end = ranges.get(0).getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        galleryArchiveService.write(archive, start, end, response.getOutputStream());
     }
 
     /**
@@ -140,6 +312,76 @@ public class GalleryController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    /**
+     * POST /v1/gallery/:id/images/batch : Upload several images into a gallery
+     *
+     * @param id         the id of the gallery to upload into
+     * @param files      the image files
+     * @param duplicates what to do with near-duplicates: {@code allow}, {@code warn} (default) or {@code skip}
+     * @return the ResponseEntity with status 201 (Created) if every file was stored or skipped as near-duplicate,
+     * 200 (OK) if all were skipped, 207 (Multi-Status) if only some were stored, 400 (Bad Request) if none were,
+     * or 507 (Insufficient Storage) if the declared sizes exceed a storage quota; the body holds one result per
+     * file in request order
+     */
+    @PostMapping(value = "/{id}/images/batch", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Upload several images into a gallery", description = "Validates and stores all files concurrently and returns a result per file")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "All images uploaded successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "207",
+                    description = "Some images could not be uploaded",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class))
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input or no image could be uploaded",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Gallery not found",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden",
+                    content = @Content
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "507",
+                    description = "The batch would exceed the storage quota of the gallery or the user",
+                    content = @Content
+            )
+    })
+    public ResponseEntity<ApiResponse<List<BatchUploadResult>>> uploadImages(
+            @Parameter(description = "ID of the gallery to upload into", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Image files to upload", required = true)
+            @RequestParam("files") List<MultipartFile> files,
+            @Parameter(description = "What to do with near-duplicates of images in the gallery or earlier files: allow, warn or skip")
+            @RequestParam(name = "duplicates", defaultValue = "warn") String duplicates) {
+        DuplicatePolicy policy;
+        try {
+            policy = DuplicatePolicy.parse(duplicates);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(400, e.getMessage(), null));
+        }
+        ApiResponse<List<BatchUploadResult>> response = imageService.saveBatch(id, files, policy);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
     /**
      * PUT /v1/gallery/:id : Update an existing gallery
      *
@@ -229,7 +471,13 @@ public class GalleryController {
         return ResponseEntity.status(response.getStatusCode()).build();
     }
 
-    public GalleryController(GalleryService galleryService) {
+    public GalleryController(GalleryService galleryService, ImageService imageService,
+                             ContactSheetService contactSheetService, GalleryArchiveService galleryArchiveService,
+                             PublicSnapshotService publicSnapshot) {
         this.galleryService = galleryService;
+        this.imageService = imageService;
+        this.contactSheetService = contactSheetService;
+        this.galleryArchiveService = galleryArchiveService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
\ No newline at end of file
@@ -6,6 +6,7 @@
  * @since 7/28/25
  */
 package com.sebastianhamm.Backend.gallery.api.dtos;
+import com.sebastianhamm.Backend.image.api.dtos.ContactSheetResponse;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 
@@ -21,6 +22,7 @@ public class GalleryResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private List<ImageResponse> images;
+    private List<ContactSheetResponse> contactSheets;
 
     public GalleryResponse() {
     }
@@ -72,4 +74,12 @@ public class GalleryResponse {
     public void setImages(List<ImageResponse> images) {
         this.images = images;
     }
+
+    public List<ContactSheetResponse> getContactSheets() {
+        return contactSheets;
+    }
+
+    public void setContactSheets(List<ContactSheetResponse> contactSheets) {
+        this.contactSheets = contactSheets;
+    }
 }
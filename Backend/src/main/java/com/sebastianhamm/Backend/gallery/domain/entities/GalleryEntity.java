@@ -9,13 +9,17 @@ package com.sebastianhamm.Backend.gallery.domain.entities;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
-import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
@@ -43,9 +47,11 @@ import java.util.List;
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "gallery")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.GALLERY_REGION)
 @SQLDelete(sql = "UPDATE gallery SET deleted_at = NOW() WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class GalleryEntity {
 
     @Id
@@ -60,10 +66,13 @@ public class GalleryEntity {
     @Column(name = "gallery_date", nullable = false)
     private LocalDate galleryDate;
 
+    // Sorted in SQL by capture time; images without EXIF date go last in upload order
     @OneToMany(mappedBy = "gallery", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("capturedAt ASC NULLS LAST, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.GALLERY_IMAGES_REGION)
     private List<ImageEntity> images = new ArrayList<>();
 
-    @LastModifiedDate
+    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
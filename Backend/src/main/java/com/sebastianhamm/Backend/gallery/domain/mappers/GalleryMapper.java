@@ -9,6 +9,7 @@ package com.sebastianhamm.Backend.gallery.domain.mappers;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 import com.sebastianhamm.Backend.image.domain.mappers.ImageMapper;
+import com.sebastianhamm.Backend.image.domain.services.ContactSheetService;
 
 
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
@@ -21,6 +22,8 @@ import java.util.stream.Collectors;
 @Component
 public class GalleryMapper {
 
+    private final ContactSheetService contactSheetService;
+
     public static GalleryEntity toEntity(GalleryRequest request) {
         if (request == null) return null;
 
@@ -43,6 +46,7 @@ public class GalleryMapper {
         response.setImages(entity.getImages().stream()
                 .map(ImageMapper::toResponse)
                 .toList());
+        response.setContactSheets(contactSheetService.describe(entity));
 
         return response;
     }
@@ -54,4 +58,8 @@ public class GalleryMapper {
         entity.setGalleryDate(request.getGalleryDate());
         entity.setImages(request.getImages());
     }
+
+    public GalleryMapper(ContactSheetService contactSheetService) {
+        this.contactSheetService = contactSheetService;
+    }
 }
@@ -10,12 +10,84 @@ import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GalleryRepository extends JpaRepository<GalleryEntity, Long> {
+
+    // A query rather than a load by id: a soft-deleted gallery stays in the second-level cache with
+    // its deletion date set, and only a query applies the soft-delete restriction. The cached
+    // result is dropped whenever the gallery table changes.
+    @Override
+    @Query("SELECT g FROM GalleryEntity g WHERE g.id = :id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfiguration.GALLERY_QUERY_REGION)
+    })
+    Optional<GalleryEntity> findById(@Param("id") Long id);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfiguration.GALLERY_QUERY_REGION)
+    })
     List<GalleryEntity> findBySlug(String slug);
+
+    /**
+     * Version of all galleries that are not deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(g.updatedAt), COUNT(g)) " +
+            "FROM GalleryEntity g")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersion();
+
+    /**
+     * Version of one gallery; its count is zero if the gallery does not exist or is deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(g.updatedAt), COUNT(g)) " +
+            "FROM GalleryEntity g WHERE g.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the galleries with a slug.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(g.updatedAt), COUNT(g)) " +
+            "FROM GalleryEntity g WHERE g.slug = :slug")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionBySlug(@Param("slug") String slug);
+
+    /**
+     * Version of the images of all galleries, which are part of the gallery responses.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(i.updatedAt), COUNT(i)) " +
+            "FROM ImageEntity i WHERE i.gallery IS NOT NULL")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findImagesVersion();
+
+    /**
+     * Version of the images of one gallery.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(i.updatedAt), COUNT(i)) " +
+            "FROM ImageEntity i WHERE i.gallery.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findImagesVersionById(@Param("id") Long id);
+
+    /**
+     * Version of the images of the galleries with a slug.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(i.updatedAt), COUNT(i)) " +
+            "FROM ImageEntity i WHERE i.gallery.slug = :slug")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findImagesVersionBySlug(@Param("slug") String slug);
 }
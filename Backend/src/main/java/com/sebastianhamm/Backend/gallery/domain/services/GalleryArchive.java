@@ -0,0 +1,326 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.gallery.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A ZIP archive of gallery images whose bytes are fully determined before anything is written.
+ *
+ * <p>Entries are STORED, since images do not compress, and their CRC follows the data in a data
+ * descriptor, so each blob is streamed exactly once with constant memory. Because the layout
+ * depends only on names and sizes, the total length is known up front and any byte range can be
+ * produced on its own: only entries overlapping the range are read, plus entries whose checksum is
+ * needed and not yet known. ZIP64 records are added once offsets or the entry count exceed the
+ * classic limits; single entries must stay below 4 GiB.
+ */
+public final class GalleryArchive {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int DATA_DESCRIPTOR = 0x08074b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int ZIP64_END = 0x06064b50;
+    private static final int ZIP64_LOCATOR = 0x07064b50;
+    private static final int END = 0x06054b50;
+
+    // Bit 3: sizes and CRC follow in a data descriptor; bit 11: names are UTF-8
+    private static final short FLAGS = 0x0808;
+    private static final long MAX_32 = 0xFFFFFFFFL;
+    private static final int MAX_16 = 0xFFFF;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<Entry> entries;
+    private final long[] offsets;
+    private final long centralDirectoryOffset;
+    private final long centralDirectorySize;
+    private final boolean zip64;
+    private final long length;
+    private final String etag;
+
+    GalleryArchive(List<Entry> entries, String etag) {
+        this.entries = List.copyOf(entries);
+        this.etag = etag;
+        this.offsets = new long[entries.size()];
+
+        long position = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (entry.size() >= MAX_32) {
+                throw new IllegalArgumentException("Entry " + entry.name() + " is too large for the archive");
+            }
+            offsets[i] = position;
+            position += localHeaderSize(entry) + entry.size() + 16;
+        }
+        this.centralDirectoryOffset = position;
+
+        long directorySize = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            directorySize += 46 + entries.get(i).encodedName().length + (offsets[i] >= MAX_32 ? 12 : 0);
+        }
+        this.centralDirectorySize = directorySize;
+        this.zip64 = entries.size() >= MAX_16 || centralDirectoryOffset >= MAX_32 || centralDirectorySize >= MAX_32;
+        this.length = centralDirectoryOffset + centralDirectorySize + (zip64 ? 56 + 20 : 0) + 22;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Strong validator; changes whenever any entry's name, content or position would.
+     */
+    public String etag() {
+        return etag;
+    }
+
+    public int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Writes bytes {@code start} to {@code end} (inclusive) of the archive to {@code out}.
+     *
+     * @param crcs checksums by blob key, consulted before reading a blob only for its checksum and
+     *             filled with every checksum computed; blobs are content-addressed, so entries never go stale
+     * @throws IOException if a blob cannot be read or does not have the size the layout assumed
+     */
+    public void write(long start, long end, BlobStorage storage, Map<String, Long> crcs, OutputStream out) throws IOException {
+        Range range = new Range(start, end, out);
+        boolean directoryNeeded = range.overlaps(centralDirectoryOffset, length);
+        long[] entryCrcs = new long[entries.size()];
+
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            long dataStart = offsets[i] + localHeaderSize(entry);
+            long descriptorStart = dataStart + entry.size();
+            if (offsets[i] > end && !directoryNeeded) {
+                break;
+            }
+
+            range.write(offsets[i], localHeader(entry));
+            boolean dataNeeded = range.overlaps(dataStart, descriptorStart);
+            boolean crcNeeded = directoryNeeded || range.overlaps(descriptorStart, descriptorStart + 16);
+            Long knownCrc = crcs.get(entry.blobKey());
+
+            if (knownCrc != null) {
+                entryCrcs[i] = knownCrc;
+                if (dataNeeded) {
+                    long from = Math.max(start, dataStart);
+                    long to = Math.min(end + 1, descriptorStart);
+                    try (InputStream in = storage.get(entry.blobKey(), from - dataStart, to - from)) {
+                        copy(in, range, from, to - from, null);
+                    }
+                }
+            } else if (dataNeeded || crcNeeded) {
+                CRC32 crc = new CRC32();
+                try (InputStream in = storage.get(entry.blobKey())) {
+                    copy(in, range, dataStart, entry.size(), crc);
+                    if (in.read() != -1) {
+                        throw new IOException("Blob " + entry.blobKey() + " is larger than " + entry.size() + " bytes");
+                    }
+                }
+                entryCrcs[i] = crc.getValue();
+                crcs.put(entry.blobKey(), entryCrcs[i]);
+            }
+
+            if (crcNeeded) {
+                range.write(descriptorStart, dataDescriptor(entryCrcs[i], entry.size()));
+            }
+        }
+
+        if (directoryNeeded) {
+            long position = centralDirectoryOffset;
+            for (int i = 0; i < entries.size(); i++) {
+                byte[] header = centralHeader(entries.get(i), entryCrcs[i], offsets[i]);
+                range.write(position, header);
+                position += header.length;
+            }
+            range.write(position, end());
+        }
+        out.flush();
+    }
+
+    private static void copy(InputStream in, Range range, long position, long size, CRC32 crc) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long remaining = size;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                throw new IOException("Blob ended " + remaining + " bytes early");
+            }
+            if (crc != null) {
+                crc.update(buffer, 0, read);
+            }
+            range.write(position, buffer, read);
+            position += read;
+            remaining -= read;
+        }
+    }
+
+    private static int localHeaderSize(Entry entry) {
+        return 30 + entry.encodedName().length;
+    }
+
+    private static byte[] localHeader(Entry entry) {
+        byte[] name = entry.encodedName();
+        return buffer(30 + name.length)
+                .putInt(LOCAL_HEADER)
+                .putShort((short) 20)
+                .putShort(FLAGS)
+                .putShort((short) 0)
+                .putInt(entry.dosTime())
+                // CRC and sizes are in the data descriptor
+                .putInt(0).putInt(0).putInt(0)
+                .putShort((short) name.length)
+                .putShort((short) 0)
+                .put(name)
+                .array();
+    }
+
+    private static byte[] dataDescriptor(long crc, long size) {
+        return buffer(16)
+                .putInt(DATA_DESCRIPTOR)
+                .putInt((int) crc)
+                .putInt((int) size)
+                .putInt((int) size)
+                .array();
+    }
+
+    private static byte[] centralHeader(Entry entry, long crc, long offset) {
+        byte[] name = entry.encodedName();
+        boolean farOffset = offset >= MAX_32;
+        ByteBuffer buffer = buffer(46 + name.length + (farOffset ? 12 : 0))
+                .putInt(CENTRAL_HEADER)
+                .putShort((short) 45)
+                .putShort((short) (farOffset ? 45 : 20))
+                .putShort(FLAGS)
+                .putShort((short) 0)
+                .putInt(entry.dosTime())
+                .putInt((int) crc)
+                .putInt((int) entry.size())
+                .putInt((int) entry.size())
+                .putShort((short) name.length)
+                .putShort((short) (farOffset ? 12 : 0))
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(0)
+                .putInt((int) (farOffset ? MAX_32 : offset))
+                .put(name);
+        if (farOffset) {
+            buffer.putShort((short) 0x0001).putShort((short) 8).putLong(offset);
+        }
+        return buffer.array();
+    }
+
+    private byte[] end() {
+        ByteBuffer buffer = buffer((zip64 ? 56 + 20 : 0) + 22);
+        if (zip64) {
+            long zip64EndOffset = centralDirectoryOffset + centralDirectorySize;
+            buffer.putInt(ZIP64_END)
+                    .putLong(44)
+                    .putShort((short) 45)
+                    .putShort((short) 45)
+                    .putInt(0)
+                    .putInt(0)
+                    .putLong(entries.size())
+                    .putLong(entries.size())
+                    .putLong(centralDirectorySize)
+                    .putLong(centralDirectoryOffset)
+                    .putInt(ZIP64_LOCATOR)
+                    .putInt(0)
+                    .putLong(zip64EndOffset)
+                    .putInt(1);
+        }
+        short count = (short) Math.min(entries.size(), MAX_16);
+        return buffer.putInt(END)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort(count)
+                .putShort(count)
+                .putInt((int) Math.min(centralDirectorySize, MAX_32))
+                .putInt((int) Math.min(centralDirectoryOffset, MAX_32))
+                .putShort((short) 0)
+                .array();
+    }
+
+    private static ByteBuffer buffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Packs a timestamp into the MS-DOS date and time fields, time in the low half.
+     */
+    static int dosTime(LocalDateTime time) {
+        if (time == null || time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        int date = ((time.getYear() - 1980) << 9) | (time.getMonthValue() << 5) | time.getDayOfMonth();
+        int clock = (time.getHour() << 11) | (time.getMinute() << 5) | (time.getSecond() / 2);
+        return (date << 16) | clock;
+    }
+
+    /**
+     * One file in the archive.
+     *
+     * @param name    path inside the archive
+     * @param blobKey storage key of the content
+     * @param size    exact size of the content in bytes
+     * @param dosTime modification time, see {@link #dosTime(LocalDateTime)}
+     */
+    public record Entry(String name, String blobKey, long size, int dosTime) {
+
+        byte[] encodedName() {
+            return name.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Forwards only the bytes inside the requested range, addressed by archive position.
+     */
+    private static final class Range {
+
+        private final long start;
+        private final long end;
+        private final OutputStream out;
+
+        Range(long start, long end, OutputStream out) {
+            this.start = start;
+            this.end = end;
+            this.out = out;
+        }
+
+        boolean overlaps(long from, long to) {
+            return from <= end && to > start;
+        }
+
+        void write(long position, byte[] bytes) throws IOException {
+            write(position, bytes, bytes.length);
+        }
+
+        void write(long position, byte[] bytes, int count) throws IOException {
+            long from = Math.max(start, position);
+            long to = Math.min(end + 1, position + count);
+            if (from < to) {
+                out.write(bytes, (int) (from - position), (int) (to - from));
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.gallery.domain.services;
+
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStat;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.shared.domain.exceptions.NotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds ZIP downloads of whole galleries, streamed from the blob store.
+ *
+ * <p>Checksums of blobs are remembered, so resuming an interrupted download with a range request
+ * only reads the blobs the range actually covers.
+ */
+@Service
+public class GalleryArchiveService {
+
+    private static final int CRC_CACHE_SIZE = 10_000;
+
+    private final GalleryRepository galleryRepository;
+    private final BlobStorage storage;
+
+    // Keyed by content-addressed blob key, so an entry can never go stale
+    private final Map<String, Long> crcs = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > CRC_CACHE_SIZE;
+        }
+    });
+
+    /**
+     * Lays out the archive of a gallery, one entry per image in display order. Images that are
+     * not in the blob store are left out.
+     *
+     * @throws NotFoundException if the gallery does not exist
+     */
+    @Transactional(readOnly = true)
+    public Archive plan(Long galleryId) {
+        GalleryEntity gallery = galleryRepository.findById(galleryId)
+                .orElseThrow(() -> new NotFoundException("Gallery not found with id: " + galleryId));
+
+        List<GalleryArchive.Entry> entries = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ImageEntity image : gallery.getImages()) {
+            String blobKey = ImageUploadPipeline.blobKey(image.getImageUrl());
+            Optional<BlobStat> stat = blobKey != null ? stat(blobKey) : Optional.empty();
+            if (stat.isEmpty()) {
+                continue;
+            }
+            String name = uniqueName(image, blobKey, names);
+            entries.add(new GalleryArchive.Entry(name, blobKey, stat.get().sizeBytes(),
+                    GalleryArchive.dosTime(image.getCreatedAt())));
+        }
+
+        String slug = gallery.getSlug() != null && !gallery.getSlug().isBlank() ? gallery.getSlug() : "gallery-" + galleryId;
+        return new Archive(slug + ".zip", new GalleryArchive(entries, etag(entries)));
+    }
+
+    /**
+     * Writes bytes {@code start} to {@code end} (inclusive) of {@code archive} to {@code out}.
+     */
+    public void write(Archive archive, long start, long end, OutputStream out) throws IOException {
+        archive.content().write(start, end, storage, crcs, out);
+    }
+
+    private Optional<BlobStat> stat(String blobKey) {
+        try {
+            return storage.stat(blobKey);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The uploaded file name with the extension of the stored format, made unique within the
+     * archive; ZIP tools on Windows and macOS compare names case-insensitively.
+     */
+    static String uniqueName(ImageEntity image, String blobKey, Set<String> taken) {
+        String extension = blobKey.substring(blobKey.lastIndexOf('.') + 1);
+        String base = image.getFilename() != null ? image.getFilename() : "";
+        base = base.substring(Math.max(base.lastIndexOf('/'), base.lastIndexOf('\\')) + 1);
+        int dot = base.lastIndexOf('.');
+        if (dot > 0) {
+            base = base.substring(0, dot);
+        }
+        base = base.replaceAll("[\\p{Cntrl}:*?\"<>|]", "_").strip();
+        if (base.isEmpty() || base.startsWith(".")) {
+            base = "image-" + image.getId();
+        }
+
+        String name = base + "." + extension;
+        for (int suffix = 2; !taken.add(name.toLowerCase(Locale.ROOT)); suffix++) {
+            name = base + " (" + suffix + ")." + extension;
+        }
+        return name;
+    }
+
+    private static String etag(List<GalleryArchive.Entry> entries) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (GalleryArchive.Entry entry : entries) {
+                digest.update((entry.name() + "\0" + entry.blobKey() + "\0" + entry.size() + "\0" + entry.dosTime() + "\n")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param fileName suggested name of the download
+     * @param content  the archive layout
+     */
+    public record Archive(String fileName, GalleryArchive content) {
+    }
+
+    public GalleryArchiveService(GalleryRepository galleryRepository, BlobStorage storage) {
+        this.galleryRepository = galleryRepository;
+        this.storage = storage;
+    }
+}
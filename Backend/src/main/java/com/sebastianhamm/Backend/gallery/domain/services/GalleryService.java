@@ -12,6 +12,7 @@ import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
 import com.sebastianhamm.Backend.gallery.api.dtos.GalleryRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.gallery.api.dtos.GalleryResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
 import java.util.List;
 
@@ -22,4 +23,14 @@ public interface GalleryService {
     ApiResponse<List<GalleryResponse>> findAll();
     ApiResponse<GalleryResponse> findById(Long id);
     ApiResponse<String> delete(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Version of the content of {@link #findAll()}.
+     */
+    ContentVersion getVersion();
+
+    /**
+     * Version of the content of {@link #findById(Long)}, or null if the gallery does not exist.
+     */
+    ContentVersion getVersion(Long id);
+}
@@ -18,10 +18,15 @@ import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.gallery.api.dtos.GalleryResponse;
 import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
 import com.sebastianhamm.Backend.gallery.domain.services.GalleryService;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import jakarta.transaction.Transactional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
@@ -39,6 +44,7 @@ public class GalleryServiceImpl implements GalleryService {
     private final GalleryMapper galleryMapper;
 
     @Override
+    @CacheEvict(cacheNames = CachingConfiguration.GALLERY_LISTS, allEntries = true)
     public ApiResponse<GalleryResponse> create(GalleryRequest request) {
         try {
             GalleryEntity entity = GalleryMapper.toEntity(request);
@@ -51,6 +57,10 @@ public class GalleryServiceImpl implements GalleryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.GALLERIES, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.GALLERY_LISTS, CachingConfiguration.IMAGE_LISTS}, allEntries = true)
+    })
     public ApiResponse<GalleryResponse> update(Long id, GalleryRequest request) {
         return galleryRepository.findById(id)
                 .map(existing -> {
@@ -64,6 +74,7 @@ public class GalleryServiceImpl implements GalleryService {
 
     @Override
     @Transactional(Transactional.TxType.SUPPORTS)
+    @Cacheable(cacheNames = CachingConfiguration.GALLERIES, key = "#id", unless = "#result.statusCode != 200")
     public ApiResponse<GalleryResponse> findById(Long id) {
         return galleryRepository.findById(id)
                 .map(entity -> new ApiResponse<>(200, "Gallery found", galleryMapper.toResponse(entity)))
@@ -72,6 +83,7 @@ public class GalleryServiceImpl implements GalleryService {
 
     @Override
     @Transactional(Transactional.TxType.SUPPORTS)
+    @Cacheable(cacheNames = CachingConfiguration.GALLERY_LISTS, key = "'all'", unless = "#result.statusCode != 200")
     public ApiResponse<List<GalleryResponse>> findAll() {
         try {
             List<GalleryResponse> galleries = galleryRepository.findAll()
@@ -86,6 +98,10 @@ public class GalleryServiceImpl implements GalleryService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.GALLERIES, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.GALLERY_LISTS, CachingConfiguration.IMAGE_LISTS}, allEntries = true)
+    })
     public ApiResponse<String> delete(Long id) {
         return galleryRepository.findById(id)
                 .map(entity -> {
@@ -96,6 +112,16 @@ public class GalleryServiceImpl implements GalleryService {
                 .orElseGet(() -> new ApiResponse<>(404, "Gallery not found with id: " + id, null));
     }
 
+    @Override
+    public ContentVersion getVersion() {
+        return galleryRepository.findVersion().and(galleryRepository.findImagesVersion());
+    }
+
+    @Override
+    public ContentVersion getVersion(Long id) {
+        ContentVersion version = galleryRepository.findVersionById(id);
+        return version.isEmpty() ? null : version.and(galleryRepository.findImagesVersionById(id));
+    }
 
     public GalleryServiceImpl(GalleryRepository galleryRepository, GalleryMapper galleryMapper) {
         this.galleryRepository = galleryRepository;
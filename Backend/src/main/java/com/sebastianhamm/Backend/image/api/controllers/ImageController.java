@@ -10,26 +10,49 @@ import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.api.dtos.StorageUsageResponse;
+import com.sebastianhamm.Backend.image.domain.services.ImageRenderService;
 import com.sebastianhamm.Backend.image.domain.services.ImageService;
+import com.sebastianhamm.Backend.image.domain.services.StorageUsageService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/images")
 @Tag(name = "Image Management", description = "Operations related to images of the Stadtkapelle Eisenstadt")
 public class ImageController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ImageController.class);
+
     private final ImageService imageService;
+    private final ImageRenderService imageRenderService;
+    private final PublicSnapshotService publicSnapshot;
+    private final StorageUsageService storageUsage;
 
     /**
      * POST /images/upload : Upload a new image
@@ -40,6 +63,7 @@ public class ImageController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Image uploaded successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid file or context", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "507", description = "Storage quota of the context or the user exceeded", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
     })
@@ -58,6 +82,7 @@ public class ImageController {
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Image updated successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "507", description = "Storage quota of the context or the user exceeded", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Image not found", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
@@ -69,6 +94,22 @@ public class ImageController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
+    /**
+     * GET /images/usage : Get the storage held per upload context and per author
+     */
+    @GetMapping("/usage")
+    @PreAuthorize("hasAnyAuthority('write:admin')")
+    @Operation(summary = "Get storage usage", description = "Retrieves the bytes of originals held per upload context and per author, as counted for the quotas")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved storage usage", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<StorageUsageResponse>> getStorageUsage() {
+        StorageUsageResponse usage = new StorageUsageResponse(storageUsage.contextUsages(), storageUsage.authorUsages());
+        return ResponseEntity.ok(new ApiResponse<>(200, "Storage usage retrieved successfully", usage));
+    }
+
     /**
      * GET /images/{id} : Get an image by id
      */
@@ -76,11 +117,66 @@ public class ImageController {
     @Operation(summary = "Get image by id", description = "Retrieves an image by its ID")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved image", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Image not found", content = @Content)
     })
-    public ResponseEntity<ApiResponse<ImageResponse>> getImageById(@PathVariable Long id) {
-        ApiResponse<ImageResponse> response = imageService.findById(id);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<ImageResponse>> getImageById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().image(id),
+                () -> imageService.getVersion(id), () -> imageService.findById(id));
+    }
+
+    /**
+     * GET /images/{id}/render : Render an image at a requested size and format
+     */
+    @GetMapping("/{id}/render")
+    @Operation(summary = "Render an image", description = "Returns the image scaled to the requested width and/or height, rendered once and then served from cache")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Rendered image", content = @Content(mediaType = "image/*")),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid render parameters", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Image not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "422", description = "Image cannot be decoded", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Render queue is full", content = @Content)
+    })
+    public CompletableFuture<ResponseEntity<Resource>> renderImage(@PathVariable Long id,
+                                                                   @RequestParam(name = "w", required = false) Integer width,
+                                                                   @RequestParam(name = "h", required = false) Integer height,
+                                                                   @RequestParam(required = false) String fit,
+                                                                   @RequestParam(name = "fmt", required = false) String format,
+                                                                   WebRequest request) {
+        ImageRenderService.RenderPlan plan;
+        try {
+            plan = imageRenderService.plan(id, width, height, fit, format);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
+        }
+
+        // Renders are derived from immutable content, so the cache key is a strong validator
+        String etag = "\"" + plan.cacheKey() + "\"";
+        if (request.checkNotModified(etag)) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build());
+        }
+
+        return imageRenderService.render(plan).handle((file, failure) -> {
+            if (failure == null) {
+                return ResponseEntity.ok()
+                        .eTag(etag)
+                        // The image behind an id can be replaced, so clients revalidate rather than keep it forever
+                        .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                        .contentType(MediaType.parseMediaType(plan.mimeType()))
+                        .body((Resource) new FileSystemResource(file));
+            }
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            if (cause instanceof TaskRejectedException) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+            }
+            if (cause instanceof IllegalArgumentException || cause instanceof IIOException) {
+                logger.warn("Could not render image {} as {}: {}", id, plan.cacheKey(), cause.getMessage());
+                return ResponseEntity.unprocessableEntity().build();
+            }
+            logger.error("Rendering image {} as {} failed", id, plan.cacheKey(), cause);
+            return ResponseEntity.internalServerError().build();
+        });
     }
 
     /**
@@ -90,11 +186,11 @@ public class ImageController {
     @Operation(summary = "Get all images", description = "Returns a list of all uploaded images")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved image list", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No images found", content = @Content)
     })
-    public ResponseEntity<ApiResponse<List<ImageResponse>>> getAllImages() {
-        ApiResponse<List<ImageResponse>> response = imageService.findAll();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<ImageResponse>>> getAllImages(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().images(), imageService::getVersion, imageService::findAll);
     }
 
     /**
@@ -104,11 +200,12 @@ public class ImageController {
     @Operation(summary = "Get images by slug", description = "Returns a list of images by associated context/slug")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved images", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No images found for slug", content = @Content)
     })
-    public ResponseEntity<ApiResponse<List<ImageResponse>>> getImagesBySlug(@PathVariable String slug) {
-        ApiResponse<List<ImageResponse>> response = imageService.findBySlug(slug);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<ImageResponse>>> getImagesBySlug(@PathVariable String slug, WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().imagesBySlug(slug),
+                () -> imageService.getVersionBySlug(slug), () -> imageService.findBySlug(slug));
     }
 
     /**
@@ -128,7 +225,11 @@ public class ImageController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
-    public ImageController(ImageService imageService) {
+    public ImageController(ImageService imageService, ImageRenderService imageRenderService, PublicSnapshotService publicSnapshot,
+                           StorageUsageService storageUsage) {
         this.imageService = imageService;
+        this.imageRenderService = imageRenderService;
+        this.publicSnapshot = publicSnapshot;
+        this.storageUsage = storageUsage;
     }
 }
@@ -0,0 +1,261 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.controllers;
+
+import com.sebastianhamm.Backend.image.domain.storage.BlobStat;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves stored uploads without passing the bytes through the heap.
+ *
+ * <p>When the blob lives on local disk and the servlet container supports it the transfer is handed
+ * to Tomcat's sendfile; otherwise the file channel is transferred straight into the response
+ * stream. Blobs in a remote backend are streamed through in ranges. Single byte ranges and
+ * {@code If-Range} are honoured. Content-addressed blobs and their variants carry their hash in the
+ * file name, so they get a strong ETag and are cached as immutable; other files get a weak ETag
+ * from size and modification time.
+ */
+@RestController
+@RequestMapping("/uploads")
+@Tag(name = "Uploads", description = "Download of stored image files")
+public class UploadController {
+
+    private static final String URL_PREFIX = "/uploads/";
+    private static final Pattern FINGERPRINTED = Pattern.compile("^([0-9a-f]{64}(?:-\\d+w)?)\\.[a-z0-9]+$");
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, max-age=3600, must-revalidate";
+
+    // Tomcat request attributes, see org.apache.catalina.Globals
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageUploadPipeline uploadPipeline;
+    private final BlobStorage storage;
+
+    /**
+     * GET /uploads/** : Download a stored file
+     */
+    @GetMapping("/**")
+    @Operation(summary = "Download a stored file", description = "Streams an uploaded image, supporting byte ranges and conditional requests")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "File content", content = @Content),
+            @ApiResponse(responseCode = "206", description = "Requested byte range", content = @Content),
+            @ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
+            @ApiResponse(responseCode = "404", description = "File not found", content = @Content),
+            @ApiResponse(responseCode = "416", description = "Range not satisfiable", content = @Content)
+    })
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String relative = request.getRequestURI().substring(request.getContextPath().length());
+        String key = ImageUploadPipeline.blobKey(relative);
+
+        Path file;
+        long length;
+        long lastModified;
+        String fileName;
+        Matcher fingerprint;
+        if (key != null) {
+            Optional<BlobStat> stat = storage.stat(key);
+            if (stat.isEmpty()) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            file = storage.localPath(key).orElse(null);
+            length = stat.get().sizeBytes();
+            lastModified = stat.get().lastModified().toEpochMilli() / 1000 * 1000;
+            fileName = key;
+            fingerprint = FINGERPRINTED.matcher(key);
+        } else {
+            file = resolveLegacy(relative);
+            if (file == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            length = attributes.size();
+            lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+            fileName = file.getFileName().toString();
+            fingerprint = null;
+        }
+
+        boolean immutable = fingerprint != null && fingerprint.matches();
+        String etag = immutable
+                ? "\"" + fingerprint.group(1) + "\""
+                : "W/\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, immutable ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(MediaTypeFactory.getMediaType(fileName)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            // Multipart range responses are rarely used for images; fall back to the full body
+            if (ranges.size() == 1) {
+                long rangeStart = ranges.get(0).getRangeStart(length);
+                if (rangeStart >= length) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                start = rangeStart;
+                end = ranges.get(0).getRangeEnd(length);
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (file == null) {
+            try (InputStream in = storage.get(key, start, count)) {
+                in.transferTo(response.getOutputStream());
+            }
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, target);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+            out.flush();
+        }
+    }
+
+    private Path resolveLegacy(String relative) {
+        // In-flight temporary files and internal directories such as the render cache are dot-prefixed and never public
+        if (!relative.startsWith(URL_PREFIX) || relative.contains("/.")) {
+            return null;
+        }
+        Path file;
+        try {
+            file = uploadPipeline.resolve(relative);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (file.getFileName().toString().startsWith(".") || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            String opaque = opaqueTag(etag);
+            for (String candidate : ifNoneMatch.split(",")) {
+                String trimmed = candidate.trim();
+                if ("*".equals(trimmed) || opaqueTag(trimmed).equals(opaque)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince != -1 && lastModified <= ifModifiedSince;
+    }
+
+    /**
+     * A range may only be applied to the representation the client already holds; {@code If-Range}
+     * uses the strong comparison, so weak validators never match.
+     */
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return !etag.startsWith("W/") && ifRange.equals(etag);
+        }
+        return dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    public UploadController(ImageUploadPipeline uploadPipeline, BlobStorage storage) {
+        this.uploadPipeline = uploadPipeline;
+        this.storage = storage;
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.controllers;
+
+import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionRequest;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionResponse;
+import com.sebastianhamm.Backend.image.domain.services.ResumableUploadService;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+/**
+ * Resumable uploads for large files and unreliable connections: open a session, PUT the file in
+ * chunks at explicit offsets, and complete it to create the image.
+ */
+@RestController
+@RequestMapping("/images/uploads")
+@Tag(name = "Resumable Uploads", description = "Chunked image uploads that survive dropped connections")
+public class UploadSessionController {
+
+    private final ResumableUploadService uploadService;
+
+    /**
+     * POST /images/uploads : Open an upload session
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Open an upload session", description = "Announces a file by size and context and returns the session to send chunks to")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Upload session created", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid input or file too large", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "507", description = "Storage quota of the context or the user exceeded", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> createSession(@Valid @RequestBody UploadSessionRequest request) {
+        ApiResponse<UploadSessionResponse> response = uploadService.createSession(request);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    /**
+     * GET /images/uploads/{id} : Get the progress of an upload session
+     */
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Get upload progress", description = "Returns how many bytes have been received, i.e. the offset of the next chunk")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Upload session found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Upload session not found", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> getProgress(@PathVariable UUID id) {
+        ApiResponse<UploadSessionResponse> response = uploadService.getProgress(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    /**
+     * PUT /images/uploads/{id}?offset= : Append a chunk
+     */
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Append a chunk", description = "Appends the raw request body at the given offset, which must equal the bytes received so far")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Chunk received", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Chunk exceeds the declared size", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Upload session not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Offset does not match the received bytes", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<UploadSessionResponse>> appendChunk(@PathVariable UUID id,
+                                                                          @RequestParam("offset") long offset,
+                                                                          HttpServletRequest request) throws IOException {
+        try (InputStream chunk = request.getInputStream()) {
+            ApiResponse<UploadSessionResponse> response = uploadService.appendChunk(id, offset, chunk);
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+    }
+
+    /**
+     * POST /images/uploads/{id}/complete : Finalize an upload session into an image
+     */
+    @PostMapping("/{id}/complete")
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Complete an upload", description = "Stores the fully received file and creates the image")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Image uploaded successfully", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported file type", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Upload session not found", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Upload is incomplete", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<ImageResponse>> complete(@PathVariable UUID id) {
+        ApiResponse<ImageResponse> response = uploadService.complete(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    /**
+     * DELETE /images/uploads/{id} : Abort an upload session
+     */
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasAnyAuthority('write:admin', 'write:reporter')")
+    @Operation(summary = "Abort an upload", description = "Deletes the session and everything received so far")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Upload session deleted", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Upload session not found", content = @Content)
+    })
+    public ResponseEntity<ApiResponse<String>> abort(@PathVariable UUID id) {
+        ApiResponse<String> response = uploadService.abort(id);
+        return ResponseEntity.status(response.getStatusCode()).body(response);
+    }
+
+    public UploadSessionController(ResumableUploadService uploadService) {
+        this.uploadService = uploadService;
+    }
+}
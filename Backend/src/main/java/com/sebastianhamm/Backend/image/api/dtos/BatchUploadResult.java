@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+import java.util.List;
+
+/**
+ * Outcome for a single file of a batch upload. {@code image} is only set when the file was stored;
+ * {@code nearDuplicates} holds the ids of images the file looks nearly identical to, if any.
+ */
+public class BatchUploadResult {
+    private String filename;
+    private int statusCode;
+    private String message;
+    private ImageResponse image;
+    private List<Long> nearDuplicates;
+
+    public BatchUploadResult() {
+    }
+
+    public BatchUploadResult(String filename, int statusCode, String message, ImageResponse image) {
+        this.filename = filename;
+        this.statusCode = statusCode;
+        this.message = message;
+        this.image = image;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public ImageResponse getImage() {
+        return image;
+    }
+
+    public void setImage(ImageResponse image) {
+        this.image = image;
+    }
+
+    public List<Long> getNearDuplicates() {
+        return nearDuplicates;
+    }
+
+    public void setNearDuplicates(List<Long> nearDuplicates) {
+        this.nearDuplicates = nearDuplicates;
+    }
+}
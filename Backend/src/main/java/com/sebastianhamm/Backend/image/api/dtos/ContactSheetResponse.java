@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+import java.util.List;
+
+/**
+ * A contact sheet: one image holding the thumbnails of many gallery images, with the position of
+ * each thumbnail on it.
+ */
+public class ContactSheetResponse {
+    private String url;
+    private int width;
+    private int height;
+    private List<ContactSheetTileResponse> tiles;
+
+    public ContactSheetResponse() {
+    }
+
+    public ContactSheetResponse(String url, int width, int height, List<ContactSheetTileResponse> tiles) {
+        this.url = url;
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+
+    public List<ContactSheetTileResponse> getTiles() {
+        return tiles;
+    }
+
+    public void setTiles(List<ContactSheetTileResponse> tiles) {
+        this.tiles = tiles;
+    }
+}
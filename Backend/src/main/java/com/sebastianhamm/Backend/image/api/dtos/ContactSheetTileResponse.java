@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+/**
+ * Position of one image's thumbnail on a contact sheet, in pixels from the top left corner.
+ */
+public class ContactSheetTileResponse {
+    private Long imageId;
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+
+    public ContactSheetTileResponse() {
+    }
+
+    public ContactSheetTileResponse(Long imageId, int x, int y, int width, int height) {
+        this.imageId = imageId;
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    public Long getImageId() {
+        return imageId;
+    }
+
+    public void setImageId(Long imageId) {
+        this.imageId = imageId;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public void setX(int x) {
+        this.x = x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public void setY(int y) {
+        this.y = y;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public void setWidth(int width) {
+        this.width = width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public void setHeight(int height) {
+        this.height = height;
+    }
+}
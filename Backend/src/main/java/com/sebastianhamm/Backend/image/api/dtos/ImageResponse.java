@@ -10,6 +10,8 @@ import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 
 public class ImageResponse {
     private Long id;
@@ -19,6 +21,15 @@ public class ImageResponse {
     private String filename;
     private String mimeType;
     private Long fileSizeBytes;
+    private Integer width;
+    private Integer height;
+    private Integer orientation;
+    private LocalDateTime capturedAt;
+    private String cameraMake;
+    private String cameraModel;
+    private String blurHash;
+    private List<ImageVariantResponse> variants;
+    private String srcset;
 
     public ImageResponse() {
     }
@@ -78,4 +89,76 @@ public class ImageResponse {
     public void setFileSizeBytes(Long fileSizeBytes) {
         this.fileSizeBytes = fileSizeBytes;
     }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Integer getOrientation() {
+        return orientation;
+    }
+
+    public void setOrientation(Integer orientation) {
+        this.orientation = orientation;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
+    public String getCameraMake() {
+        return cameraMake;
+    }
+
+    public void setCameraMake(String cameraMake) {
+        this.cameraMake = cameraMake;
+    }
+
+    public String getCameraModel() {
+        return cameraModel;
+    }
+
+    public void setCameraModel(String cameraModel) {
+        this.cameraModel = cameraModel;
+    }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
+
+    public List<ImageVariantResponse> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<ImageVariantResponse> variants) {
+        this.variants = variants;
+    }
+
+    public String getSrcset() {
+        return srcset;
+    }
+
+    public void setSrcset(String srcset) {
+        this.srcset = srcset;
+    }
 }
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+import java.util.Map;
+
+/**
+ * Bytes of image originals held per upload context and per author, as counted for the quotas.
+ */
+public class StorageUsageResponse {
+    private Map<String, Long> contexts;
+    private Map<String, Long> authors;
+
+    public StorageUsageResponse() {
+    }
+
+    public StorageUsageResponse(Map<String, Long> contexts, Map<String, Long> authors) {
+        this.contexts = contexts;
+        this.authors = authors;
+    }
+
+    public Map<String, Long> getContexts() {
+        return contexts;
+    }
+
+    public void setContexts(Map<String, Long> contexts) {
+        this.contexts = contexts;
+    }
+
+    public Map<String, Long> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(Map<String, Long> authors) {
+        this.authors = authors;
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+public class UploadSessionRequest {
+
+    @Size(max = 255, message = "Filename must not exceed 255 characters")
+    private String filename;
+
+    @NotNull(message = "Size must not be null")
+    @Positive(message = "Size must be positive")
+    private Long sizeBytes;
+
+    @NotBlank(message = "Context must not be blank")
+    @Size(max = 255, message = "Context must not exceed 255 characters")
+    private String context;
+
+    public UploadSessionRequest() {
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public Long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getContext() {
+        return context;
+    }
+
+    public void setContext(String context) {
+        this.context = context;
+    }
+}
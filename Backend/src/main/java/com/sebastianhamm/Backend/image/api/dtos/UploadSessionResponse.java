@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.api.dtos;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a resumable upload. The next chunk must start at {@code receivedBytes}.
+ */
+public class UploadSessionResponse {
+    private UUID id;
+    private String filename;
+    private long sizeBytes;
+    private long receivedBytes;
+    private LocalDateTime expiresAt;
+
+    public UploadSessionResponse() {
+    }
+
+    public UploadSessionResponse(UUID id, String filename, long sizeBytes, long receivedBytes, LocalDateTime expiresAt) {
+        this.id = id;
+        this.filename = filename;
+        this.sizeBytes = sizeBytes;
+        this.receivedBytes = receivedBytes;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.api.endpoints;
+
+import com.sebastianhamm.Backend.image.domain.jobs.ImageJobRunner;
+import com.sebastianhamm.Backend.image.domain.jobs.ImageJobRunner.Progress;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint {@code /actuator/imagejobs} for image maintenance jobs.
+ *
+ * <ul>
+ *   <li>{@code GET /actuator/imagejobs} - progress of all jobs</li>
+ *   <li>{@code GET /actuator/imagejobs/{name}} - progress of one job</li>
+ *   <li>{@code POST /actuator/imagejobs/{name}} - start or resume a job; {@code {"restart": true}} starts over</li>
+ *   <li>{@code DELETE /actuator/imagejobs/{name}} - stop a job after the images in progress</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "imagejobs")
+public class ImageJobEndpoint {
+
+    private final ImageJobRunner runner;
+
+    @ReadOperation
+    public List<Progress> jobs() {
+        return runner.progress();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<Progress> job(@Selector String name) {
+        if (!runner.exists(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(runner.progress(name));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Progress> start(@Selector String name, @Nullable Boolean restart) {
+        if (!runner.exists(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(runner.start(name, Boolean.TRUE.equals(restart)), 202);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Progress> stop(@Selector String name) {
+        if (!runner.exists(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        runner.stop(name);
+        return new WebEndpointResponse<>(runner.progress(name));
+    }
+
+    public ImageJobEndpoint(ImageJobRunner runner) {
+        this.runner = runner;
+    }
+}
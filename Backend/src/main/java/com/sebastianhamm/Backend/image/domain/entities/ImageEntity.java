@@ -8,17 +8,25 @@
 package com.sebastianhamm.Backend.image.domain.entities;
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
-import org.springframework.data.annotation.LastModifiedDate;
+import org.hibernate.envers.NotAudited;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents an uploaded image with metadata.
@@ -44,13 +52,17 @@ import java.time.LocalDateTime;
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "images")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.IMAGE_REGION)
 @SQLDelete(sql = "UPDATE images SET deleted_at = NOW() WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class ImageEntity {
 
+    // Pooled sequence instead of IDENTITY, so batch uploads can be inserted in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "images_seq")
+    @SequenceGenerator(name = "images_seq", sequenceName = "images_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Image URL must not be null")
@@ -78,6 +90,43 @@ public class ImageEntity {
     @Column(name = "file_size_bytes")
     private Long fileSizeBytes;
 
+    // Size of the file as uploaded, before metadata was stripped; storage quotas account this size
+    @NotAudited
+    @Column(name = "upload_size_bytes")
+    private Long uploadSizeBytes;
+
+    // The context the image was uploaded for; storage usage and quotas are accounted per context
+    @Column(name = "upload_context", length = 255)
+    private String uploadContext;
+
+    // Read from the image headers at upload time; width and height are as displayed, after orientation
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Column(name = "orientation")
+    private Integer orientation;
+
+    @Column(name = "captured_at")
+    private LocalDateTime capturedAt;
+
+    @Column(name = "camera_make", length = 100)
+    private String cameraMake;
+
+    @Column(name = "camera_model", length = 100)
+    private String cameraModel;
+
+    // Derived like the variants, so not part of the audit trail
+    @NotAudited
+    @Column(name = "blur_hash", length = 64)
+    private String blurHash;
+
+    @NotAudited
+    @Column(name = "perceptual_hash")
+    private Long perceptualHash;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -85,13 +134,22 @@ public class ImageEntity {
     @Column(unique = true)
     private String slug;
 
-    @LastModifiedDate
+    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Derived renditions; regenerated on every new upload, so not part of the audit trail
+    @NotAudited
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "image_variants", joinColumns = @JoinColumn(name = "image_id"))
+    @OrderBy("width ASC")
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.IMAGE_VARIANTS_REGION)
+    private List<ImageVariant> variants = new ArrayList<>();
+
     public ImageEntity() {
     }
 
@@ -159,6 +217,86 @@ public class ImageEntity {
         this.fileSizeBytes = fileSizeBytes;
     }
 
+    public Long getUploadSizeBytes() {
+        return uploadSizeBytes;
+    }
+
+    public void setUploadSizeBytes(Long uploadSizeBytes) {
+        this.uploadSizeBytes = uploadSizeBytes;
+    }
+
+    public String getUploadContext() {
+        return uploadContext;
+    }
+
+    public void setUploadContext(String uploadContext) {
+        this.uploadContext = uploadContext;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Integer getOrientation() {
+        return orientation;
+    }
+
+    public void setOrientation(Integer orientation) {
+        this.orientation = orientation;
+    }
+
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    public void setCapturedAt(LocalDateTime capturedAt) {
+        this.capturedAt = capturedAt;
+    }
+
+    public String getCameraMake() {
+        return cameraMake;
+    }
+
+    public void setCameraMake(String cameraMake) {
+        this.cameraMake = cameraMake;
+    }
+
+    public String getCameraModel() {
+        return cameraModel;
+    }
+
+    public void setCameraModel(String cameraModel) {
+        this.cameraModel = cameraModel;
+    }
+
+    public String getBlurHash() {
+        return blurHash;
+    }
+
+    public void setBlurHash(String blurHash) {
+        this.blurHash = blurHash;
+    }
+
+    public Long getPerceptualHash() {
+        return perceptualHash;
+    }
+
+    public void setPerceptualHash(Long perceptualHash) {
+        this.perceptualHash = perceptualHash;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -190,4 +328,12 @@ public class ImageEntity {
     public void setDeletedAt(LocalDateTime deletedAt) {
         this.deletedAt = deletedAt;
     }
-}
+
+    public List<ImageVariant> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<ImageVariant> variants) {
+        this.variants = variants;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.entities;
+
+import com.sebastianhamm.Backend.image.domain.enums.ImageJobStatus;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of a maintenance job over all images. Images are visited in id order, so the id of
+ * the last image of the last completed page is enough to continue where the job stopped.
+ */
+@Entity
+@Table(name = "image_jobs")
+public class ImageJobEntity {
+
+    @Id
+    @Column(name = "name", length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private ImageJobStatus status;
+
+    @Column(name = "last_image_id", nullable = false)
+    private long lastImageId;
+
+    @Column(name = "processed", nullable = false)
+    private long processed;
+
+    @Column(name = "skipped", nullable = false)
+    private long skipped;
+
+    @Column(name = "failed", nullable = false)
+    private long failed;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public ImageJobEntity() {
+    }
+
+    public ImageJobEntity(String name) {
+        this.name = name;
+        this.status = ImageJobStatus.STOPPED;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public ImageJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImageJobStatus status) {
+        this.status = status;
+    }
+
+    public long getLastImageId() {
+        return lastImageId;
+    }
+
+    public void setLastImageId(long lastImageId) {
+        this.lastImageId = lastImageId;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(long processed) {
+        this.processed = processed;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,14 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.enums;
+
+public enum ImageJobStatus {
+    RUNNING,
+    STOPPED,
+    COMPLETED
+}
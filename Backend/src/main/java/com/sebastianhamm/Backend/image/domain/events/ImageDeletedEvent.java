@@ -0,0 +1,17 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.events;
+
+/**
+ * Published when an image is deleted. Listeners should react after the surrounding transaction
+ * commits.
+ *
+ * @param imageId id of the deleted image
+ */
+public record ImageDeletedEvent(Long imageId) {
+}
@@ -0,0 +1,18 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.events;
+
+/**
+ * Published whenever a new file has been stored for an image, either on upload or on update.
+ * Listeners that do follow-up work should react after the surrounding transaction commits.
+ *
+ * @param imageId  id of the affected image
+ * @param imageUrl URL of the newly stored original
+ */
+public record ImageStoredEvent(Long imageId, String imageUrl) {
+}
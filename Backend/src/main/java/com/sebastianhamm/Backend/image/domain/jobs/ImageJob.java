@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.jobs;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A maintenance pass over all stored images, run by the {@link ImageJobRunner}.
+ *
+ * <p>Implementations are Spring beans. They only decide which images need work and do the work
+ * for a single image; paging, parallelism, throttling and checkpointing are left to the runner.
+ * {@link #process(Long)} runs concurrently for different images and may run again for an image
+ * after a restart, so it must be idempotent.
+ */
+public interface ImageJob {
+
+    /**
+     * Stable identifier, used as checkpoint key and in the {@code imagejobs} actuator endpoint.
+     */
+    String name();
+
+    /**
+     * @return ids greater than {@code after} of images that may need processing, ascending, at most {@code limit}
+     */
+    List<Long> findCandidates(long after, int limit);
+
+    /**
+     * @return {@code true} if the image was changed, {@code false} if there was nothing to do
+     * @throws IOException if the image's files cannot be read or written; the image is counted as failed
+     */
+    boolean process(Long imageId) throws IOException;
+}
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.jobs;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageJobEntity;
+import com.sebastianhamm.Backend.image.domain.enums.ImageJobStatus;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageJobRepository;
+import com.sebastianhamm.Backend.shared.config.AsyncConfiguration;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs {@link ImageJob}s over all images, resumable across restarts.
+ *
+ * <p>Each running job has a coordinator that reads candidate ids in keyset-paginated pages and
+ * hands them to the shared job pool, never more at once than the pool has threads. Once every
+ * image of a page is done, the id of the last one is written to the job's checkpoint together
+ * with the counters, so after a restart or a stop the job continues with the next page; at most
+ * one page is processed twice. Jobs that were running when the application stopped continue on
+ * startup.
+ *
+ * <p>To leave room for live traffic, every job starts at most the configured number of images per
+ * second and pauses while uploads are waiting for their variants.
+ */
+@Service
+public class ImageJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageJobRunner.class);
+
+    private static final Duration BUSY_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(20);
+
+    private final Map<String, ImageJob> jobs = new TreeMap<>();
+    private final ImageJobRepository jobRepository;
+    private final TaskExecutor workers;
+    private final ThreadPoolTaskExecutor liveWork;
+    private final ImageConfiguration.Jobs config;
+    private final MeterRegistry meterRegistry;
+
+    private final Semaphore slots;
+    private final Map<String, Run> running = new ConcurrentHashMap<>();
+    private volatile boolean shuttingDown;
+
+    public boolean exists(String name) {
+        return jobs.containsKey(name);
+    }
+
+    public List<Progress> progress() {
+        return jobs.keySet().stream().map(this::progress).toList();
+    }
+
+    public Progress progress(String name) {
+        ImageJobEntity checkpoint = jobRepository.findById(name).orElseGet(() -> new ImageJobEntity(name));
+        return Progress.of(checkpoint, running.containsKey(name));
+    }
+
+    /**
+     * Starts a job, continuing from its checkpoint unless it has completed before or
+     * {@code restart} is set. Does nothing if the job is already running.
+     *
+     * @throws IllegalArgumentException if there is no job with that name
+     */
+    public synchronized Progress start(String name, boolean restart) {
+        ImageJob job = jobs.get(name);
+        if (job == null) {
+            throw new IllegalArgumentException("Unknown image job: " + name);
+        }
+        if (running.containsKey(name) || shuttingDown) {
+            return progress(name);
+        }
+
+        ImageJobEntity checkpoint = jobRepository.findById(name).orElseGet(() -> new ImageJobEntity(name));
+        LocalDateTime now = LocalDateTime.now();
+        if (restart || checkpoint.getStatus() == ImageJobStatus.COMPLETED || checkpoint.getStartedAt() == null) {
+            checkpoint.setLastImageId(0);
+            checkpoint.setProcessed(0);
+            checkpoint.setSkipped(0);
+            checkpoint.setFailed(0);
+            checkpoint.setStartedAt(now);
+            checkpoint.setFinishedAt(null);
+        }
+        checkpoint.setStatus(ImageJobStatus.RUNNING);
+        checkpoint.setUpdatedAt(now);
+
+        Run run = new Run(jobRepository.save(checkpoint));
+        running.put(name, run);
+        run.thread = Thread.ofVirtual().name("image-job-" + name).start(() -> run(job, run));
+        return Progress.of(run.checkpoint, true);
+    }
+
+    /**
+     * Asks a running job to stop. Images already handed to the pool are finished and
+     * checkpointed first.
+     *
+     * @return {@code false} if the job was not running
+     */
+    public boolean stop(String name) {
+        Run run = running.get(name);
+        if (run == null) {
+            return false;
+        }
+        run.stopRequested = true;
+        return true;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!config.resumeOnStartup()) {
+            return;
+        }
+        try {
+            for (ImageJobEntity checkpoint : jobRepository.findByStatus(ImageJobStatus.RUNNING)) {
+                if (exists(checkpoint.getName())) {
+                    logger.info("Resuming image job {} after image {}", checkpoint.getName(), checkpoint.getLastImageId());
+                    start(checkpoint.getName(), false);
+                } else {
+                    logger.warn("Image job {} was running but no longer exists", checkpoint.getName());
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.error("Failed to resume image jobs: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Stops all jobs at the next image but leaves them marked as running, so they continue after
+     * the next startup.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shuttingDown = true;
+        running.values().forEach(run -> run.stopRequested = true);
+        long deadline = System.nanoTime() + SHUTDOWN_TIMEOUT.toNanos();
+        for (Run run : List.copyOf(running.values())) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0 && run.thread != null) {
+                run.thread.join(Duration.ofNanos(remaining));
+            }
+        }
+    }
+
+    private void run(ImageJob job, Run run) {
+        ImageJobStatus outcome = ImageJobStatus.STOPPED;
+        Throttle throttle = new Throttle(config.itemsPerSecond());
+        try {
+            while (!run.stopRequested) {
+                List<Long> ids = job.findCandidates(run.checkpoint.getLastImageId(), config.pageSize());
+                if (ids.isEmpty()) {
+                    outcome = ImageJobStatus.COMPLETED;
+                    break;
+                }
+                Counts counts = new Counts();
+                int done = processPage(job, ids, throttle, run, counts);
+                if (done > 0) {
+                    checkpoint(job, run, ids.get(done - 1), counts);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Image job {} failed after image {}: {}", job.name(), run.checkpoint.getLastImageId(), e.getMessage(), e);
+        } finally {
+            finish(job, run, outcome);
+        }
+    }
+
+    /**
+     * Processes images of a page in order until it is done or the job is asked to stop.
+     *
+     * @return the number of images of the page that have been processed
+     */
+    private int processPage(ImageJob job, List<Long> ids, Throttle throttle, Run run, Counts counts) throws InterruptedException {
+        List<CompletableFuture<Void>> pending = new ArrayList<>(ids.size());
+        int submitted = 0;
+        try {
+            for (Long id : ids) {
+                throttle.acquire();
+                while (liveWork.getQueueSize() > 0 && !run.stopRequested) {
+                    Thread.sleep(BUSY_BACKOFF);
+                }
+                if (run.stopRequested) {
+                    break;
+                }
+                slots.acquire();
+                try {
+                    pending.add(CompletableFuture.runAsync(() -> {
+                        try {
+                            processImage(job, id, counts);
+                        } finally {
+                            slots.release();
+                        }
+                    }, workers));
+                } catch (RuntimeException e) {
+                    slots.release();
+                    throw e;
+                }
+                submitted++;
+            }
+        } finally {
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+        }
+        return submitted;
+    }
+
+    private void processImage(ImageJob job, Long imageId, Counts counts) {
+        try {
+            if (job.process(imageId)) {
+                counts.processed.incrementAndGet();
+            } else {
+                counts.skipped.incrementAndGet();
+            }
+        } catch (IOException | RuntimeException e) {
+            counts.failed.incrementAndGet();
+            logger.warn("Image job {} failed for image {}: {}", job.name(), imageId, e.getMessage());
+        }
+    }
+
+    private void checkpoint(ImageJob job, Run run, long lastImageId, Counts counts) {
+        ImageJobEntity checkpoint = run.checkpoint;
+        checkpoint.setLastImageId(lastImageId);
+        checkpoint.setProcessed(checkpoint.getProcessed() + counts.processed.get());
+        checkpoint.setSkipped(checkpoint.getSkipped() + counts.skipped.get());
+        checkpoint.setFailed(checkpoint.getFailed() + counts.failed.get());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        run.checkpoint = jobRepository.save(checkpoint);
+
+        meterRegistry.counter("image.jobs.items", "job", job.name(), "outcome", "processed").increment(counts.processed.get());
+        meterRegistry.counter("image.jobs.items", "job", job.name(), "outcome", "skipped").increment(counts.skipped.get());
+        meterRegistry.counter("image.jobs.items", "job", job.name(), "outcome", "failed").increment(counts.failed.get());
+    }
+
+    private void finish(ImageJob job, Run run, ImageJobStatus outcome) {
+        try {
+            ImageJobEntity checkpoint = run.checkpoint;
+            // Interrupted by shutdown: stays running so it is resumed on startup
+            if (!shuttingDown || outcome == ImageJobStatus.COMPLETED) {
+                checkpoint.setStatus(outcome);
+            }
+            if (outcome == ImageJobStatus.COMPLETED) {
+                checkpoint.setFinishedAt(LocalDateTime.now());
+            }
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            jobRepository.save(checkpoint);
+            logger.info("Image job {} {} after image {}: {} processed, {} skipped, {} failed", job.name(),
+                    checkpoint.getStatus() == ImageJobStatus.COMPLETED ? "completed" : "stopped",
+                    checkpoint.getLastImageId(), checkpoint.getProcessed(), checkpoint.getSkipped(), checkpoint.getFailed());
+        } catch (RuntimeException e) {
+            logger.error("Failed to record the end of image job {}: {}", job.name(), e.getMessage(), e);
+        } finally {
+            running.remove(job.name());
+        }
+    }
+
+    /**
+     * Spaces out the images started by one job evenly; only used by the job's coordinator.
+     */
+    private static final class Throttle {
+
+        private final long intervalNanos;
+        private long next = System.nanoTime();
+
+        Throttle(double perSecond) {
+            this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+        }
+
+        void acquire() throws InterruptedException {
+            long now = System.nanoTime();
+            if (next > now) {
+                TimeUnit.NANOSECONDS.sleep(next - now);
+            }
+            next = Math.max(now, next) + intervalNanos;
+        }
+    }
+
+    private static final class Run {
+
+        private volatile ImageJobEntity checkpoint;
+        private volatile boolean stopRequested;
+        private volatile Thread thread;
+
+        Run(ImageJobEntity checkpoint) {
+            this.checkpoint = checkpoint;
+        }
+    }
+
+    private static final class Counts {
+
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+    }
+
+    /**
+     * State of a job as of its last checkpoint.
+     *
+     * @param running     whether the job is being processed on this node right now
+     * @param lastImageId id of the last image covered by the checkpoint
+     */
+    public record Progress(String name,
+                           ImageJobStatus status,
+                           boolean running,
+                           long lastImageId,
+                           long processed,
+                           long skipped,
+                           long failed,
+                           LocalDateTime startedAt,
+                           LocalDateTime updatedAt,
+                           LocalDateTime finishedAt) {
+
+        static Progress of(ImageJobEntity checkpoint, boolean running) {
+            return new Progress(checkpoint.getName(), checkpoint.getStatus(), running, checkpoint.getLastImageId(),
+                    checkpoint.getProcessed(), checkpoint.getSkipped(), checkpoint.getFailed(),
+                    checkpoint.getStartedAt(), checkpoint.getUpdatedAt(), checkpoint.getFinishedAt());
+        }
+    }
+
+    public ImageJobRunner(List<ImageJob> jobs,
+                          ImageJobRepository jobRepository,
+                          @Qualifier(AsyncConfiguration.IMAGE_JOB_EXECUTOR) TaskExecutor workers,
+                          @Qualifier(AsyncConfiguration.IMAGE_PROCESSING_EXECUTOR) ThreadPoolTaskExecutor liveWork,
+                          ImageConfiguration imageConfig,
+                          MeterRegistry meterRegistry) {
+        for (ImageJob job : jobs) {
+            if (this.jobs.put(job.name(), job) != null) {
+                throw new IllegalStateException("Duplicate image job name: " + job.name());
+            }
+        }
+        this.jobRepository = jobRepository;
+        this.workers = workers;
+        this.liveWork = liveWork;
+        this.config = imageConfig.jobs();
+        this.meterRegistry = meterRegistry;
+        this.slots = new Semaphore(config.workerThreads());
+    }
+}
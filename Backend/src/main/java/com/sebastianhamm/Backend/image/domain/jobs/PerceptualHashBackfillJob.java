@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.jobs;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.services.NearDuplicateIndex;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Computes the perceptual hash of images uploaded before near-duplicate detection existed, or
+ * whose derivative job was dropped from a full queue, and adds them to the {@link NearDuplicateIndex}.
+ */
+@Component
+public class PerceptualHashBackfillJob implements ImageJob {
+
+    private final ImageRepository imageRepository;
+    private final NearDuplicateIndex nearDuplicates;
+
+    @Override
+    public String name() {
+        return "perceptual-hash";
+    }
+
+    @Override
+    public List<Long> findCandidates(long after, int limit) {
+        return imageRepository.findIdsWithoutPerceptualHashAfter(after, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean process(Long imageId) {
+        Optional<ImageEntity> image = imageRepository.findById(imageId);
+        if (image.isEmpty() || image.get().getPerceptualHash() != null) {
+            return false;
+        }
+        String imageUrl = image.get().getImageUrl();
+        Long hash = nearDuplicates.hash(imageUrl, image.get().getOrientation());
+        if (hash == null || imageRepository.updatePerceptualHash(imageId, imageUrl, hash) == 0) {
+            return false;
+        }
+        Long galleryId = image.get().getGallery() != null ? image.get().getGallery().getId() : null;
+        nearDuplicates.put(imageId, galleryId, hash);
+        return true;
+    }
+
+    public PerceptualHashBackfillJob(ImageRepository imageRepository, NearDuplicateIndex nearDuplicates) {
+        this.imageRepository = imageRepository;
+        this.nearDuplicates = nearDuplicates;
+    }
+}
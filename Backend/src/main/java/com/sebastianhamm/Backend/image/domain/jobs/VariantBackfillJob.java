@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.jobs;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.services.ImageDerivativeService;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Brings the responsive variants and placeholder of every image in line with the configured
+ * widths, e.g. after a width has been added, and re-renders variants made before the EXIF
+ * orientation was applied. Images whose variants already match are skipped.
+ */
+@Component
+public class VariantBackfillJob implements ImageJob {
+
+    private final ImageRepository imageRepository;
+    private final ImageDerivativeService derivativeService;
+    private final TransactionTemplate transactionTemplate;
+    private final List<Integer> widths;
+
+    @Override
+    public String name() {
+        return "variants";
+    }
+
+    @Override
+    public List<Long> findCandidates(long after, int limit) {
+        return imageRepository.findIdsAfter(after, PageRequest.of(0, limit));
+    }
+
+    @Override
+    public boolean process(Long imageId) {
+        String imageUrl = transactionTemplate.execute(status -> imageRepository.findById(imageId)
+                .filter(this::isOutdated)
+                .map(ImageEntity::getImageUrl)
+                .orElse(null));
+        if (imageUrl == null) {
+            return false;
+        }
+        derivativeService.generateVariants(imageId, imageUrl);
+        return true;
+    }
+
+    private boolean isOutdated(ImageEntity image) {
+        if (ImageUploadPipeline.blobKey(image.getImageUrl()) == null) {
+            return false;
+        }
+        if (image.getBlurHash() == null) {
+            return true;
+        }
+        // Without known dimensions there is no telling which widths apply
+        if (image.getWidth() == null) {
+            return false;
+        }
+        // Variants are oriented and never upscaled, so their widths compare to the displayed width
+        if (image.getVariants().stream()
+                .anyMatch(variant -> !ImageDerivativeService.isOriented(variant, image.getOrientation()))) {
+            return true;
+        }
+        Set<Integer> expected = widths.stream().filter(width -> width < image.getWidth()).collect(Collectors.toSet());
+        Set<Integer> actual = image.getVariants().stream().map(ImageVariant::getWidth).collect(Collectors.toSet());
+        return !expected.equals(actual);
+    }
+
+    public VariantBackfillJob(ImageRepository imageRepository,
+                              ImageDerivativeService derivativeService,
+                              TransactionTemplate transactionTemplate,
+                              ImageConfiguration imageConfig) {
+        this.imageRepository = imageRepository;
+        this.derivativeService = derivativeService;
+        this.transactionTemplate = transactionTemplate;
+        this.widths = imageConfig.variants().widths();
+    }
+}
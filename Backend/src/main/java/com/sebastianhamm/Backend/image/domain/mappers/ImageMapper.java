@@ -10,11 +10,14 @@ import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.api.dtos.ImageVariantResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class ImageMapper {
@@ -30,9 +33,35 @@ public class ImageMapper {
         imageResponse.setFilename(image.getFilename());
         imageResponse.setMimeType(image.getMimeType());
         imageResponse.setFileSizeBytes(image.getFileSizeBytes());
+        imageResponse.setWidth(image.getWidth());
+        imageResponse.setHeight(image.getHeight());
+        imageResponse.setOrientation(image.getOrientation());
+        imageResponse.setCapturedAt(image.getCapturedAt());
+        imageResponse.setCameraMake(image.getCameraMake());
+        imageResponse.setCameraModel(image.getCameraModel());
+        imageResponse.setBlurHash(image.getBlurHash());
+
+        List<ImageVariant> variants = image.getVariants() != null ? image.getVariants() : List.of();
+        imageResponse.setVariants(variants.stream()
+                .map(ImageMapper::toVariantResponse)
+                .toList());
+        imageResponse.setSrcset(variants.isEmpty() ? null : variants.stream()
+                .map(variant -> variant.getUrl() + " " + variant.getWidth() + "w")
+                .collect(Collectors.joining(", ")));
 
         return imageResponse;
     }
+
+    public static ImageVariantResponse toVariantResponse(ImageVariant variant) {
+        if (variant == null) return null;
+
+        ImageVariantResponse response = new ImageVariantResponse();
+        response.setUrl(variant.getUrl());
+        response.setWidth(variant.getWidth());
+        response.setHeight(variant.getHeight());
+        response.setMimeType(variant.getMimeType());
+        return response;
+    }
     
     public static List<ImageResponse> toResponseList(List<ImageEntity> images) {
         if (images == null) return null;
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.repositories;
+
+import com.sebastianhamm.Backend.image.domain.entities.BlobEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BlobRepository extends JpaRepository<BlobEntity, String> {
+
+    // Concurrent uploads of the same content race on the primary key; the loser must not fail.
+    // An unreferenced blob that is uploaded again restarts its grace period in the same statement,
+    // so the collector cannot take it between the upload and the acquire that follows.
+    // Native writes name their tables, otherwise Hibernate drops every second-level cache region.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "blobs"))
+    @Query(value = "INSERT INTO blobs (sha256, storage_key, mime_type, size_bytes, ref_count, unreferenced_since, created_at) " +
+            "VALUES (:sha256, :storageKey, :mimeType, :sizeBytes, 0, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (sha256) DO UPDATE SET unreferenced_since = CURRENT_TIMESTAMP WHERE blobs.ref_count = 0", nativeQuery = true)
+    int insertOrRevive(@Param("sha256") String sha256,
+                       @Param("storageKey") String storageKey,
+                       @Param("mimeType") String mimeType,
+                       @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Query("UPDATE BlobEntity b SET b.refCount = b.refCount + 1, b.unreferencedSince = NULL WHERE b.sha256 = :sha256")
+    int incrementRefCount(@Param("sha256") String sha256);
+
+    @Modifying
+    @Query("UPDATE BlobEntity b SET b.refCount = b.refCount - 1, " +
+            "b.unreferencedSince = CASE WHEN b.refCount = 1 THEN :now ELSE b.unreferencedSince END " +
+            "WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int decrementRefCount(@Param("sha256") String sha256, @Param("now") LocalDateTime now);
+
+    // Keyset pagination over the collectable blobs, ordered by hash
+    @Query("SELECT b FROM BlobEntity b WHERE b.refCount = 0 AND b.unreferencedSince < :cutoff " +
+            "AND b.sha256 > :after ORDER BY b.sha256")
+    List<BlobEntity> findCollectable(@Param("cutoff") LocalDateTime cutoff, @Param("after") String after, Pageable pageable);
+
+    // Re-checks the conditions so a blob acquired since it was selected is kept
+    @Modifying
+    @Query("DELETE FROM BlobEntity b WHERE b.sha256 = :sha256 AND b.refCount = 0 AND b.unreferencedSince < :cutoff")
+    int deleteIfUnreferenced(@Param("sha256") String sha256, @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("UPDATE BlobEntity b SET b.refCount = :refCount, b.unreferencedSince = NULL WHERE b.sha256 = :sha256")
+    int restoreRefCount(@Param("sha256") String sha256, @Param("refCount") int refCount);
+
+    // Mark phase: hashes referenced from each URL column, one row per reference. Blob URLs are
+    // '/uploads/blobs/' followed by the 64 character hash, so the hash starts at position 16;
+    // variant URLs share the prefix of their original. A soft delete releases the blob; images and
+    // members soft-deleted within the grace period still count, so their files outlive the grace
+    // period by at least as long as the row can be restored. Hence these tables are read natively,
+    // past the 'deleted_at' filter.
+
+    @Query(value = "SELECT SUBSTRING(image_url, 16, 64) FROM images " +
+            "WHERE (deleted_at IS NULL OR deleted_at >= :cutoff) " +
+            "AND image_url LIKE '/uploads/blobs/%' AND SUBSTRING(image_url, 16, 64) IN (:hashes)", nativeQuery = true)
+    List<String> findHashesReferencedByImages(@Param("hashes") Collection<String> hashes, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "SELECT SUBSTRING(v.url, 16, 64) FROM image_variants v JOIN images i ON i.id = v.image_id " +
+            "WHERE (i.deleted_at IS NULL OR i.deleted_at >= :cutoff) " +
+            "AND v.url LIKE '/uploads/blobs/%' AND SUBSTRING(v.url, 16, 64) IN (:hashes)", nativeQuery = true)
+    List<String> findHashesReferencedByImageVariants(@Param("hashes") Collection<String> hashes, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query(value = "SELECT SUBSTRING(avatar_url, 16, 64) FROM members " +
+            "WHERE (deleted_at IS NULL OR deleted_at >= :cutoff) " +
+            "AND avatar_url LIKE '/uploads/blobs/%' AND SUBSTRING(avatar_url, 16, 64) IN (:hashes)", nativeQuery = true)
+    List<String> findHashesReferencedByMembers(@Param("hashes") Collection<String> hashes, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT substring(e.eventImageUrl, 16, 64) FROM EventEntity e " +
+            "WHERE e.eventImageUrl LIKE '/uploads/blobs/%' AND substring(e.eventImageUrl, 16, 64) IN :hashes")
+    List<String> findHashesReferencedByEvents(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT substring(a.aboutImageUrl, 16, 64) FROM AboutEntity a " +
+            "WHERE a.aboutImageUrl LIKE '/uploads/blobs/%' AND substring(a.aboutImageUrl, 16, 64) IN :hashes")
+    List<String> findHashesReferencedByAbout(@Param("hashes") Collection<String> hashes);
+
+    @Query("SELECT substring(w.backgroundImageUrl, 16, 64) FROM WelcomeEntity w " +
+            "WHERE w.backgroundImageUrl LIKE '/uploads/blobs/%' AND substring(w.backgroundImageUrl, 16, 64) IN :hashes")
+    List<String> findHashesReferencedByWelcome(@Param("hashes") Collection<String> hashes);
+
+    // Legacy uploads: files stored under the upload root before the blob store existed. Every URL
+    // column is searched, so a file shared by several rows is moved once.
+
+    @Query(value = "SELECT url FROM (" +
+            "SELECT image_url AS url FROM images " +
+            "UNION SELECT avatar_url FROM members " +
+            "UNION SELECT event_image_url FROM events " +
+            "UNION SELECT about_image_url FROM about " +
+            "UNION SELECT background_image_url FROM welcome) legacy " +
+            "WHERE url LIKE '/uploads/%' AND url NOT LIKE '/uploads/blobs/%' AND url > :after " +
+            "ORDER BY url LIMIT :limit", nativeQuery = true)
+    List<String> findLegacyUploadUrls(@Param("after") String after, @Param("limit") int limit);
+
+    // Conditional rewrites; a row changed to another URL in the meantime is left alone. Native, so
+    // soft-deleted rows move along too and keep pointing at their file while it is retained. Each rewrite bumps
+    // 'updated_at', which the validators of the public responses are derived from.
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "images"))
+    @Query(value = "UPDATE images SET image_url = :newUrl, updated_at = LOCALTIMESTAMP WHERE image_url = :oldUrl", nativeQuery = true)
+    int rewriteImageUrls(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "members"))
+    @Query(value = "UPDATE members SET avatar_url = :newUrl, updated_at = LOCALTIMESTAMP WHERE avatar_url = :oldUrl", nativeQuery = true)
+    int rewriteMemberUrls(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "events"))
+    @Query(value = "UPDATE events SET event_image_url = :newUrl, updated_at = LOCALTIMESTAMP WHERE event_image_url = :oldUrl", nativeQuery = true)
+    int rewriteEventUrls(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "about"))
+    @Query(value = "UPDATE about SET about_image_url = :newUrl, updated_at = LOCALTIMESTAMP WHERE about_image_url = :oldUrl", nativeQuery = true)
+    int rewriteAboutUrls(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "welcome"))
+    @Query(value = "UPDATE welcome SET background_image_url = :newUrl, updated_at = LOCALTIMESTAMP WHERE background_image_url = :oldUrl", nativeQuery = true)
+    int rewriteWelcomeUrls(@Param("oldUrl") String oldUrl, @Param("newUrl") String newUrl);
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.repositories;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageJobEntity;
+import com.sebastianhamm.Backend.image.domain.enums.ImageJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ImageJobRepository extends JpaRepository<ImageJobEntity, String> {
+
+    List<ImageJobEntity> findByStatus(ImageJobStatus status);
+}
@@ -9,12 +9,101 @@ package com.sebastianhamm.Backend.image.domain.repositories;
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ImageRepository extends JpaRepository<ImageEntity, Long> {
     List<ImageEntity> findBySlug(String slug);
+
+    /**
+     * Returns which of the given slugs are taken. Native, so soft-deleted rows are included:
+     * they still hold the unique constraint.
+     */
+    @Query(value = "SELECT slug FROM images WHERE slug IN (:slugs)", nativeQuery = true)
+    List<String> findTakenSlugs(@Param("slugs") Collection<String> slugs);
+
+    @Query(value = "SELECT id FROM images WHERE image_url = :imageUrl", nativeQuery = true)
+    List<Long> findIdsByImageUrl(@Param("imageUrl") String imageUrl);
+
+    // Keyset pagination over all images that have a perceptual hash, ordered by id
+    @Query("SELECT i.id AS id, g.id AS galleryId, i.perceptualHash AS perceptualHash FROM ImageEntity i " +
+            "LEFT JOIN i.gallery g WHERE i.perceptualHash IS NOT NULL AND i.id > :after ORDER BY i.id")
+    List<PerceptualHashView> findPerceptualHashes(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT i.id AS id, g.id AS galleryId, i.perceptualHash AS perceptualHash FROM ImageEntity i " +
+            "LEFT JOIN i.gallery g WHERE i.perceptualHash IS NOT NULL AND i.id IN (:ids)")
+    List<PerceptualHashView> findPerceptualHashesByIds(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination over image ids for maintenance jobs
+    @Query("SELECT i.id FROM ImageEntity i WHERE i.id > :after ORDER BY i.id")
+    List<Long> findIdsAfter(@Param("after") long after, Pageable pageable);
+
+    @Query("SELECT i.id FROM ImageEntity i WHERE i.perceptualHash IS NULL AND i.id > :after ORDER BY i.id")
+    List<Long> findIdsWithoutPerceptualHashAfter(@Param("after") long after, Pageable pageable);
+
+    /**
+     * Sets the hash only if the image still has the file it was computed from.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE ImageEntity i SET i.perceptualHash = :hash WHERE i.id = :id AND i.imageUrl = :imageUrl")
+    int updatePerceptualHash(@Param("id") Long id, @Param("imageUrl") String imageUrl, @Param("hash") long hash);
+
+    // Images from before upload contexts were recorded count towards their gallery, and images from
+    // before upload sizes were recorded with their stored size
+    @Query("SELECT COALESCE(i.uploadContext, g.slug) AS name, SUM(COALESCE(i.uploadSizeBytes, i.fileSizeBytes)) AS bytes FROM ImageEntity i " +
+            "LEFT JOIN i.gallery g GROUP BY COALESCE(i.uploadContext, g.slug)")
+    List<UsageView> sumFileSizesByContext();
+
+    @Query("SELECT i.author AS name, SUM(COALESCE(i.uploadSizeBytes, i.fileSizeBytes)) AS bytes FROM ImageEntity i GROUP BY i.author")
+    List<UsageView> sumFileSizesByAuthor();
+
+    /**
+     * Bytes of the originals of one context or author, as uploaded.
+     */
+    interface UsageView {
+        String getName();
+
+        Long getBytes();
+    }
+
+    /**
+     * Perceptual hash of an image and the gallery it belongs to, if any.
+     */
+    interface PerceptualHashView {
+        Long getId();
+
+        Long getGalleryId();
+
+        Long getPerceptualHash();
+    }
+
+    /**
+     * Version of all images that are not deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(i.updatedAt), COUNT(i)) " +
+            "FROM ImageEntity i")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersion();
+
+    /**
+     * Version of one image; its count is zero if the image does not exist or is deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(i.updatedAt), COUNT(i)) " +
+            "FROM ImageEntity i WHERE i.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
 }
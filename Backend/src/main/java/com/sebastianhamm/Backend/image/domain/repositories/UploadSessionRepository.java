@@ -0,0 +1,36 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.repositories;
+
+import com.sebastianhamm.Backend.image.domain.entities.UploadSessionEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSessionEntity, UUID> {
+
+    List<UploadSessionEntity> findByExpiresAtBefore(LocalDateTime cutoff);
+
+    /**
+     * Records progress after a chunk; a single update so no transaction spans the chunk transfer.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE UploadSessionEntity s SET s.receivedBytes = :receivedBytes, s.expiresAt = :expiresAt WHERE s.id = :id")
+    int updateProgress(@Param("id") UUID id,
+                       @Param("receivedBytes") long receivedBytes,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+}
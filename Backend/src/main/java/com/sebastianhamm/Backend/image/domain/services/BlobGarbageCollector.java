@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.BlobEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStat;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental mark-and-sweep collector for blobs nobody references any more.
+ *
+ * <p>Candidates are blobs whose reference count has been zero for longer than the grace period.
+ * They are walked in keyset-paginated batches; for each batch every URL column (images and their
+ * variants, member avatars, events, about, welcome) is checked, so a drifted reference count is
+ * repaired instead of trusted. The remaining rows are deleted in the batch transaction, and only
+ * after it commits are the blob and its variants removed from storage. A failure there leaves an
+ * orphaned file behind, never a dangling URL.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.images.cleanup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BlobGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlobGarbageCollector.class);
+
+    private final BlobRepository blobRepository;
+    private final BlobStorage storage;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageConfiguration.Cleanup config;
+
+    private final Counter collectedBlobs;
+    private final Counter reclaimedBytes;
+    private final Timer runTimer;
+
+    @Scheduled(initialDelayString = "${app.images.cleanup.initial-delay:PT10M}",
+            fixedDelayString = "${app.images.cleanup.interval:PT6H}")
+    public void scheduledCollect() {
+        runTimer.record(this::collect);
+    }
+
+    /**
+     * Runs one full pass over all collectable blobs.
+     *
+     * @return number of bytes reclaimed in storage
+     */
+    public long collect() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(config.gracePeriod());
+        String after = "";
+        long reclaimed = 0;
+        int deleted = 0;
+
+        while (true) {
+            String cursor = after;
+            Sweep sweep = transactionTemplate.execute(status -> sweepBatch(cutoff, cursor));
+            if (sweep == null || sweep.lastHash() == null) {
+                break;
+            }
+            after = sweep.lastHash();
+
+            for (BlobEntity blob : sweep.collected()) {
+                // An upload of the same content may have registered the blob again since the batch committed
+                if (blobRepository.existsById(blob.getSha256())) {
+                    continue;
+                }
+                reclaimed += deleteFromStorage(blob);
+                deleted++;
+            }
+            if (sweep.batchSize() < config.batchSize()) {
+                break;
+            }
+        }
+
+        if (deleted > 0) {
+            logger.info("Collected {} unreferenced blobs, reclaimed {} bytes", deleted, reclaimed);
+        }
+        return reclaimed;
+    }
+
+    private Sweep sweepBatch(LocalDateTime cutoff, String after) {
+        List<BlobEntity> batch = blobRepository.findCollectable(cutoff, after, PageRequest.of(0, config.batchSize()));
+        if (batch.isEmpty()) {
+            return new Sweep(0, null, List.of());
+        }
+
+        Map<String, Integer> references = countReferences(batch.stream().map(BlobEntity::getSha256).toList(), cutoff);
+        List<BlobEntity> collected = new ArrayList<>();
+        for (BlobEntity blob : batch) {
+            Integer count = references.get(blob.getSha256());
+            if (count != null) {
+                logger.warn("Blob {} has {} references but a reference count of 0, repairing", blob.getSha256(), count);
+                blobRepository.restoreRefCount(blob.getSha256(), count);
+            } else if (blobRepository.deleteIfUnreferenced(blob.getSha256(), cutoff) == 1) {
+                collected.add(blob);
+            }
+        }
+        return new Sweep(batch.size(), batch.get(batch.size() - 1).getSha256(), collected);
+    }
+
+    private Map<String, Integer> countReferences(List<String> hashes, LocalDateTime cutoff) {
+        List<List<String>> sources = List.of(
+                blobRepository.findHashesReferencedByImages(hashes, cutoff),
+                blobRepository.findHashesReferencedByImageVariants(hashes, cutoff),
+                blobRepository.findHashesReferencedByMembers(hashes, cutoff),
+                blobRepository.findHashesReferencedByEvents(hashes),
+                blobRepository.findHashesReferencedByAbout(hashes),
+                blobRepository.findHashesReferencedByWelcome(hashes)
+        );
+        Map<String, Integer> references = new HashMap<>();
+        for (List<String> source : sources) {
+            for (String hash : source) {
+                references.merge(hash, 1, Integer::sum);
+            }
+        }
+        return references;
+    }
+
+    private long deleteFromStorage(BlobEntity blob) {
+        List<BlobStat> files = new ArrayList<>();
+        try {
+            storage.stat(blob.getStorageKey()).ifPresent(files::add);
+            // Variants are found by key prefix, so those rendered for an earlier width ladder go too
+            files.addAll(storage.list(blob.getSha256() + "-"));
+        } catch (IOException e) {
+            logger.error("Failed to list blob {} in storage: {}", blob.getSha256(), e.getMessage(), e);
+        }
+
+        long reclaimed = 0;
+        for (BlobStat file : files) {
+            try {
+                storage.delete(file.key());
+                reclaimed += file.sizeBytes();
+            } catch (IOException e) {
+                logger.error("Failed to delete blob {} from storage: {}", file.key(), e.getMessage(), e);
+            }
+        }
+
+        collectedBlobs.increment();
+        reclaimedBytes.increment(reclaimed);
+        return reclaimed;
+    }
+
+    /**
+     * Outcome of one batch: its size, the keyset cursor for the next one, and the blobs whose rows were deleted.
+     */
+    private record Sweep(int batchSize, String lastHash, List<BlobEntity> collected) {
+    }
+
+    public BlobGarbageCollector(BlobRepository blobRepository,
+                                BlobStorage storage,
+                                TransactionTemplate transactionTemplate,
+                                ImageConfiguration imageConfig,
+                                MeterRegistry meterRegistry) {
+        this.blobRepository = blobRepository;
+        this.storage = storage;
+        this.transactionTemplate = transactionTemplate;
+        this.config = imageConfig.cleanup();
+
+        this.collectedBlobs = Counter.builder("storage.blobs.collected")
+                .description("Number of unreferenced blobs deleted by the garbage collector")
+                .register(meterRegistry);
+        this.reclaimedBytes = Counter.builder("storage.blobs.reclaimed")
+                .description("Bytes freed by the blob garbage collector")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("storage.blobs.gc.duration")
+                .description("Duration of a blob garbage collection pass")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the reference counts of content-addressed blobs in step with the URL columns that point at them.
+ *
+ * <p>Callers pass URLs exactly as they are stored on their entities; URLs that do not point into
+ * the blob store (external links, legacy uploads) are ignored, so every entity can route its image
+ * column through here unconditionally.
+ */
+@Service
+@Transactional
+public class BlobReferenceService {
+
+    private static final Pattern BLOB_URL = Pattern.compile("^/uploads/blobs/([0-9a-f]{64})\\.[a-z0-9]+$");
+
+    private final BlobRepository blobRepository;
+
+    /**
+     * Records a freshly stored upload. The blob starts unreferenced; the entity that ends up using
+     * it must {@link #acquire} it in its own transaction. A known blob without references gets a
+     * fresh grace period, so the garbage collector leaves it alone until then.
+     *
+     * <p>Runs in a separate transaction so the row survives a rollback of the caller: the file is
+     * already stored at that point, and the garbage collector can only reclaim what it knows about.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void register(StoredUpload stored) {
+        blobRepository.insertOrRevive(stored.sha256(), stored.storageKey(), stored.mimeType(), stored.sizeBytes());
+    }
+
+    /**
+     * @throws FileStorageException if the URL points at a blob the store does not know (any more);
+     *                              the caller's transaction must not commit a URL to a missing file
+     */
+    public void acquire(String url) {
+        String sha256 = hashOf(url);
+        if (sha256 != null && blobRepository.incrementRefCount(sha256) == 0) {
+            throw new FileStorageException("Blob " + sha256 + " is no longer stored, upload the file again");
+        }
+    }
+
+    public void release(String url) {
+        String sha256 = hashOf(url);
+        if (sha256 != null) {
+            blobRepository.decrementRefCount(sha256, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Moves one reference from {@code oldUrl} to {@code newUrl}; a no-op if both are equal.
+     */
+    public void replace(String oldUrl, String newUrl) {
+        if (Objects.equals(oldUrl, newUrl)) {
+            return;
+        }
+        acquire(newUrl);
+        release(oldUrl);
+    }
+
+    /**
+     * @return the content hash encoded in a blob URL, or {@code null} if the URL is not a blob URL
+     */
+    public static String hashOf(String url) {
+        if (url == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_URL.matcher(url);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public BlobReferenceService(BlobRepository blobRepository) {
+        this.blobRepository = blobRepository;
+    }
+}
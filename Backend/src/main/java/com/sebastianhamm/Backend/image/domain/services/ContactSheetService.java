@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.api.dtos.ContactSheetResponse;
+import com.sebastianhamm.Backend.image.api.dtos.ContactSheetTileResponse;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.domain.exceptions.NotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Tiles the thumbnails of a gallery into a few contact sheets, so a gallery grid loads with a
+ * handful of requests instead of one per image.
+ *
+ * <p>Sheet names are derived from a digest of the gallery's images in display order, so adding,
+ * removing or replacing an image changes the names and the responses advertise fresh sheets at
+ * once. Stale sheets are no longer reachable and age out of the render cache. Sheets are rendered
+ * on first request through the {@link ImageRenderService}, from the smallest variant that is
+ * large enough for a tile.
+ */
+@Service
+public class ContactSheetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactSheetService.class);
+
+    static final int TILE_SIZE = 160;
+    static final int COLUMNS = 8;
+    static final int TILES_PER_SHEET = 48;
+
+    private static final Color BACKGROUND = new Color(0xEEEEEE);
+
+    private final GalleryRepository galleryRepository;
+    private final ImageRenderService imageRenderService;
+    private final BlobStorage storage;
+    private final BoundedImageDecoder decoder;
+    private final ImageConfiguration imageConfig;
+
+    /**
+     * Describes the contact sheets of {@code gallery}; renders nothing. Images that are not in
+     * the blob store get no tile.
+     */
+    public List<ContactSheetResponse> describe(GalleryEntity gallery) {
+        if (gallery.getId() == null) {
+            return List.of();
+        }
+        return layout(gallery).stream()
+                .map(sheet -> new ContactSheetResponse(
+                        "/gallery/" + gallery.getId() + "/contact-sheets/" + sheet.name(),
+                        sheet.width(), sheet.height(),
+                        sheet.tiles().stream()
+                                .map(tile -> new ContactSheetTileResponse(tile.imageId(), tile.x(), tile.y(), TILE_SIZE, TILE_SIZE))
+                                .toList()))
+                .toList();
+    }
+
+    /**
+     * Looks up a sheet of a gallery by the name {@link #describe} handed out.
+     *
+     * @throws NotFoundException if the gallery does not exist or the name is not current anymore
+     */
+    @Transactional(readOnly = true)
+    public Sheet find(Long galleryId, String name) {
+        GalleryEntity gallery = galleryRepository.findById(galleryId)
+                .orElseThrow(() -> new NotFoundException("Gallery not found with id: " + galleryId));
+        return layout(gallery).stream()
+                .filter(sheet -> sheet.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new NotFoundException("Contact sheet " + name + " not found in gallery " + galleryId));
+    }
+
+    /**
+     * @return the rendered sheet as JPEG; see {@link ImageRenderService#render(String, ImageRenderService.Renderer)}
+     */
+    public CompletableFuture<Path> render(Sheet sheet) {
+        return imageRenderService.render("sheet-" + sheet.name(), target -> {
+            BufferedImage canvas = new BufferedImage(sheet.width(), sheet.height(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = canvas.createGraphics();
+            try {
+                graphics.setColor(BACKGROUND);
+                graphics.fillRect(0, 0, sheet.width(), sheet.height());
+                for (Tile tile : sheet.tiles()) {
+                    drawTile(graphics, tile);
+                }
+            } finally {
+                graphics.dispose();
+            }
+            ImageDerivativeService.encode(canvas, "jpeg", imageConfig.variants().jpegQuality(), target);
+        });
+    }
+
+    // One unreadable image leaves its tile blank rather than failing the whole sheet
+    private void drawTile(Graphics2D graphics, Tile tile) {
+        try (InputStream in = storage.get(tile.sourceKey())) {
+            decoder.decode(in, TILE_SIZE, decoded -> {
+                BufferedImage oriented = ImageRenderService.orient(decoded.image(), tile.orientation());
+                graphics.drawImage(ImageRenderService.cover(oriented, TILE_SIZE, TILE_SIZE, false), tile.x(), tile.y(), null);
+                return true;
+            });
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not draw image {} on a contact sheet: {}", tile.imageId(), e.getMessage());
+        }
+    }
+
+    static List<Sheet> layout(GalleryEntity gallery) {
+        List<ImageEntity> images = gallery.getImages().stream()
+                .filter(image -> ImageUploadPipeline.blobKey(image.getImageUrl()) != null)
+                .toList();
+
+        List<Sheet> sheets = new ArrayList<>();
+        for (int start = 0; start < images.size(); start += TILES_PER_SHEET) {
+            List<ImageEntity> page = images.subList(start, Math.min(images.size(), start + TILES_PER_SHEET));
+            List<Tile> tiles = new ArrayList<>(page.size());
+            for (int i = 0; i < page.size(); i++) {
+                ImageEntity image = page.get(i);
+                tiles.add(new Tile(image.getId(), tileSource(image),
+                        image.getOrientation() != null ? image.getOrientation() : 1,
+                        (i % COLUMNS) * TILE_SIZE, (i / COLUMNS) * TILE_SIZE));
+            }
+            int columns = Math.min(COLUMNS, page.size());
+            int rows = (page.size() + COLUMNS - 1) / COLUMNS;
+            sheets.add(new Sheet(digest(tiles) + "-" + sheets.size() + ".jpg", columns * TILE_SIZE, rows * TILE_SIZE, tiles));
+        }
+        return sheets;
+    }
+
+    /**
+     * Smallest variant still at least a tile wide; variants are downscaled originals, so this
+     * keeps decoding cheap without losing sharpness.
+     */
+    private static String tileSource(ImageEntity image) {
+        return image.getVariants().stream()
+                .filter(variant -> Math.min(variant.getWidth(), variant.getHeight()) >= TILE_SIZE)
+                .min(Comparator.comparingInt(ImageVariant::getWidth))
+                .map(variant -> ImageUploadPipeline.blobKey(variant.getUrl()))
+                .orElseGet(() -> ImageUploadPipeline.blobKey(image.getImageUrl()));
+    }
+
+    private static String digest(List<Tile> tiles) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((TILE_SIZE + ":" + COLUMNS + "\n").getBytes(StandardCharsets.UTF_8));
+            for (Tile tile : tiles) {
+                digest.update((tile.imageId() + ":" + tile.sourceKey() + ":" + tile.orientation() + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * One contact sheet of a gallery.
+     *
+     * @param name   file name of the sheet; changes whenever its content would
+     * @param width  width in pixels
+     * @param height height in pixels
+     * @param tiles  the thumbnails on the sheet, in display order
+     */
+    public record Sheet(String name, int width, int height, List<Tile> tiles) {
+    }
+
+    /**
+     * A thumbnail on a contact sheet.
+     *
+     * @param imageId     the image shown
+     * @param sourceKey   blob key the thumbnail is rendered from
+     * @param orientation EXIF orientation of the image
+     * @param x           left edge on the sheet
+     * @param y           top edge on the sheet
+     */
+    public record Tile(Long imageId, String sourceKey, int orientation, int x, int y) {
+    }
+
+    public ContactSheetService(GalleryRepository galleryRepository,
+                               ImageRenderService imageRenderService,
+                               BlobStorage storage,
+                               BoundedImageDecoder decoder,
+                               ImageConfiguration imageConfig) {
+        this.galleryRepository = galleryRepository;
+        this.imageRenderService = imageRenderService;
+        this.storage = storage;
+        this.decoder = decoder;
+        this.imageConfig = imageConfig;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import java.util.Locale;
+
+/**
+ * What a batch upload does with files that are near-duplicates of images already in the gallery
+ * or of earlier files in the same batch.
+ */
+public enum DuplicatePolicy {
+    /** Store them without checking. */
+    ALLOW,
+    /** Store them and name the images they resemble in the result. */
+    WARN,
+    /** Do not store them. */
+    SKIP;
+
+    /**
+     * @throws IllegalArgumentException if {@code value} names no policy
+     */
+    public static DuplicatePolicy parse(String value) {
+        if (value == null || value.isBlank()) {
+            return WARN;
+        }
+        try {
+            return valueOf(value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown duplicate policy: " + value);
+        }
+    }
+}
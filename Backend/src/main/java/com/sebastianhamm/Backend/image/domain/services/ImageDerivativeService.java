@@ -0,0 +1,320 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
+import com.sebastianhamm.Backend.image.domain.events.ImageStoredEvent;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStat;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.shared.config.AsyncConfiguration;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Generates responsive width variants, the BlurHash placeholder and, where missing, the
+ * perceptual hash of uploaded images in the background.
+ *
+ * <p>Work is triggered by {@link ImageStoredEvent} once the upload transaction has committed and
+ * runs on the bounded image processing pool. Opaque images are encoded as JPEG, images with an
+ * alpha channel as PNG. The EXIF orientation is applied before scaling, since re-encoded
+ * variants carry no metadata; variant widths are therefore as displayed, like the image's own.
+ * Variants are never upscaled, and results for an image that has been replaced in the meantime
+ * are discarded. Originals are decoded through the {@link BoundedImageDecoder}, so the memory
+ * taken by the pool stays bounded.
+ */
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final int PLACEHOLDER_SAMPLE_WIDTH = 32;
+
+    private final ImageRepository imageRepository;
+    private final ImageUploadPipeline uploadPipeline;
+    private final BlobStorage storage;
+    private final BoundedImageDecoder decoder;
+    private final TaskExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final NearDuplicateIndex nearDuplicates;
+    private final ImageConfiguration.Variants config;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onImageStored(ImageStoredEvent event) {
+        try {
+            executor.execute(() -> generateVariants(event.imageId(), event.imageUrl()));
+        } catch (TaskRejectedException e) {
+            logger.warn("Image processing queue is full, skipping variants for image {}", event.imageId());
+        }
+    }
+
+    public void generateVariants(Long imageId, String imageUrl) {
+        try {
+            Source source = transactionTemplate.execute(status -> imageRepository.findById(imageId)
+                    .filter(image -> imageUrl.equals(image.getImageUrl()))
+                    .map(image -> new Source(orientationOf(image.getOrientation()), image.getWidth(), image.getHeight(),
+                            image.getPerceptualHash() == null))
+                    .orElse(null));
+            if (source == null) {
+                return;
+            }
+            // Uploads leave the hash to this job, so no decode happens while their transaction is open
+            Long perceptualHash = source.unhashed() ? nearDuplicates.hash(imageUrl, source.orientation()) : null;
+            Renditions renditions = render(imageUrl, source);
+            Boolean stored = transactionTemplate.execute(status -> imageRepository.findById(imageId)
+                    .filter(image -> imageUrl.equals(image.getImageUrl()))
+                    .map(image -> {
+                        image.getVariants().clear();
+                        image.getVariants().addAll(renditions.variants());
+                        image.setBlurHash(renditions.blurHash());
+                        if (perceptualHash != null) {
+                            image.setPerceptualHash(perceptualHash);
+                        }
+                        evictCachedResponses(imageId);
+                        return true;
+                    })
+                    .orElse(false));
+            if (Boolean.TRUE.equals(stored) && perceptualHash != null) {
+                nearDuplicates.index(imageId);
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to generate variants for image {}: {}", imageId, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Cached responses of the image and of the galleries embedding it still lack the new
+     * variants; the caches drop them once the transaction commits.
+     */
+    private void evictCachedResponses(Long imageId) {
+        cacheManager.getCache(CachingConfiguration.IMAGES).evict(imageId);
+        cacheManager.getCache(CachingConfiguration.IMAGE_LISTS).clear();
+        cacheManager.getCache(CachingConfiguration.GALLERIES).clear();
+        cacheManager.getCache(CachingConfiguration.GALLERY_LISTS).clear();
+    }
+
+    private Renditions render(String imageUrl, Source source) throws IOException {
+        String key = ImageUploadPipeline.blobKey(imageUrl);
+        if (key == null) {
+            logger.debug("{} is not stored in the blob store, skipping variants", imageUrl);
+            return new Renditions(List.of(), null);
+        }
+
+        // Nothing larger than the widest variant is needed, so large originals are decoded subsampled.
+        // The decoder bounds the stored width, which is the displayed height of a transposed image.
+        int widest = config.widths().stream().max(Integer::compare).orElse(0);
+        boolean transposed = source.orientation() >= 5;
+        int minWidth = transposed && source.width() != null && source.height() != null && source.width() > 0
+                ? (int) Math.ceil((double) widest * source.height() / source.width())
+                : widest;
+        Renditions renditions;
+        try (InputStream in = storage.get(key)) {
+            renditions = decoder.decode(in, minWidth, decoded -> {
+                BufferedImage oriented = ImageRenderService.orient(decoded.image(), source.orientation());
+                int sourceWidth = transposed ? decoded.sourceHeight() : decoded.sourceWidth();
+                int sourceHeight = transposed ? decoded.sourceWidth() : decoded.sourceHeight();
+                return new Renditions(renderVariants(oriented, sourceWidth, sourceHeight, source.orientation(), key),
+                        placeholder(oriented));
+            });
+        }
+        if (renditions == null) {
+            logger.debug("No decoder available for {}, skipping variants", imageUrl);
+            return new Renditions(List.of(), null);
+        }
+        return renditions;
+    }
+
+    /**
+     * The placeholder only carries a handful of cosine components, so it is computed from a
+     * thumbnail; that keeps the cost independent of the upload's resolution.
+     */
+    private static String placeholder(BufferedImage source) {
+        BufferedImage thumbnail = source;
+        if (source.getWidth() > PLACEHOLDER_SAMPLE_WIDTH) {
+            int height = Math.max(1, Math.round((float) source.getHeight() * PLACEHOLDER_SAMPLE_WIDTH / source.getWidth()));
+            thumbnail = scale(source, PLACEHOLDER_SAMPLE_WIDTH, height, source.getColorModel().hasAlpha());
+        }
+        int componentsX = thumbnail.getWidth() >= thumbnail.getHeight() ? 4 : 3;
+        int componentsY = thumbnail.getWidth() >= thumbnail.getHeight() ? 3 : 4;
+        return BlurHash.encode(thumbnail, componentsX, componentsY);
+    }
+
+    /**
+     * @param source       the decoded image, already oriented
+     * @param sourceWidth  displayed width of the original, which may have been decoded subsampled
+     * @param sourceHeight displayed height of the original
+     * @param orientation  EXIF orientation applied to {@code source}
+     */
+    private List<ImageVariant> renderVariants(BufferedImage source, int sourceWidth, int sourceHeight,
+                                              int orientation, String key) throws IOException {
+        boolean alpha = source.getColorModel().hasAlpha();
+        String format = alpha ? "png" : "jpeg";
+        String extension = alpha ? "png" : "jpg";
+        String baseName = stripExtension(key);
+
+        List<ImageVariant> variants = new ArrayList<>();
+        for (int width : config.widths().stream().sorted().toList()) {
+            if (width >= sourceWidth) {
+                break;
+            }
+            int height = Math.max(1, Math.round((float) sourceHeight * width / sourceWidth));
+
+            // Variant keys derive from the content hash, so a deduplicated upload reuses existing blobs
+            String variantKey = baseName + "-" + width + "w" + orientationMarker(orientation) + "." + extension;
+            Optional<BlobStat> existing = storage.stat(variantKey);
+            long size = existing.isPresent()
+                    ? existing.get().sizeBytes()
+                    : write(scale(source, width, height, alpha), format, variantKey);
+            variants.add(new ImageVariant(width, height, "image/" + format, ImageUploadPipeline.blobUrl(variantKey), size));
+        }
+        return variants;
+    }
+
+    /**
+     * Downscales in successive halving steps; a single bilinear step over a large ratio
+     * produces visible aliasing.
+     */
+    static BufferedImage scale(BufferedImage source, int width, int height, boolean alpha) {
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    private long write(BufferedImage image, String format, String key) throws IOException {
+        Path tempFile = uploadPipeline.createStagingFile();
+        try {
+            encode(image, format, config.jpegQuality(), tempFile);
+            long size = Files.size(tempFile);
+            storage.put(key, tempFile, "image/" + format);
+            return size;
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Writes {@code image} as {@code format} ("jpeg" or "png") to {@code target}.
+     */
+    static void encode(BufferedImage image, String format, float jpegQuality, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if ("jpeg".equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(jpegQuality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * Whether {@code variant} was rendered with the image's orientation applied. Variants of
+     * rotated or mirrored images carry the orientation in their key, so ones rendered before
+     * orientation was applied are told apart and never reused.
+     */
+    public static boolean isOriented(ImageVariant variant, Integer orientation) {
+        String key = ImageUploadPipeline.blobKey(variant.getUrl());
+        return key != null && stripExtension(key)
+                .endsWith("-" + variant.getWidth() + "w" + orientationMarker(orientationOf(orientation)));
+    }
+
+    private static String orientationMarker(int orientation) {
+        return orientation == 1 ? "" : "-o" + orientation;
+    }
+
+    /**
+     * The EXIF orientation, with missing and invalid values read as upright.
+     */
+    private static int orientationOf(Integer orientation) {
+        return orientation != null && orientation >= 1 && orientation <= 8 ? orientation : 1;
+    }
+
+    /**
+     * What rendering needs to know about the image; width and height are as displayed.
+     */
+    private record Source(int orientation, Integer width, Integer height, boolean unhashed) {
+    }
+
+    private record Renditions(List<ImageVariant> variants, String blurHash) {
+    }
+
+    private static String stripExtension(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+
+    public ImageDerivativeService(ImageRepository imageRepository,
+                                  ImageUploadPipeline uploadPipeline,
+                                  BlobStorage storage,
+                                  BoundedImageDecoder decoder,
+                                  @Qualifier(AsyncConfiguration.IMAGE_PROCESSING_EXECUTOR) TaskExecutor executor,
+                                  TransactionTemplate transactionTemplate,
+                                  CacheManager cacheManager,
+                                  NearDuplicateIndex nearDuplicates,
+                                  ImageConfiguration imageConfig) {
+        this.imageRepository = imageRepository;
+        this.uploadPipeline = uploadPipeline;
+        this.storage = storage;
+        this.decoder = decoder;
+        this.executor = executor;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheManager = cacheManager;
+        this.nearDuplicates = nearDuplicates;
+        this.config = imageConfig.variants();
+    }
+}
@@ -0,0 +1,324 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.RenderCache;
+import com.sebastianhamm.Backend.shared.config.AsyncConfiguration;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.domain.exceptions.NotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Renders images at the size and format a client asks for, once per distinct request.
+ *
+ * <p>Renders are keyed by the content hash of the original and the normalised parameters, and kept
+ * in the {@link RenderCache}. A miss is rendered on the bounded render pool; concurrent requests
+ * for the same key wait for the same render instead of starting their own. Originals are decoded
+ * through the {@link BoundedImageDecoder}, their EXIF orientation is applied, and nothing is ever
+ * upscaled.
+ */
+@Service
+public class ImageRenderService {
+
+    private final ImageRepository imageRepository;
+    private final BlobStorage storage;
+    private final BoundedImageDecoder decoder;
+    private final RenderCache cache;
+    private final TaskExecutor executor;
+    private final ImageConfiguration imageConfig;
+
+    private final ConcurrentMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Validates the parameters and works out what to render, without rendering anything.
+     *
+     * @param width  requested width, or {@code null} to derive it from the height
+     * @param height requested height, or {@code null} to derive it from the width
+     * @param fit    how to fit the image into width and height: {@code contain} (default), {@code cover} or {@code fill}
+     * @param format output format, {@code jpeg} or {@code png}; defaults to PNG for PNG originals and JPEG otherwise
+     * @throws IllegalArgumentException if the parameters are invalid
+     * @throws NotFoundException        if there is no image with that id, or its file is not in the blob store
+     */
+    public RenderPlan plan(Long id, Integer width, Integer height, String fit, String format) {
+        int maxDimension = imageConfig.render().maxDimension();
+        if (width == null && height == null) {
+            throw new IllegalArgumentException("Either width or height is required");
+        }
+        if ((width != null && (width < 1 || width > maxDimension)) || (height != null && (height < 1 || height > maxDimension))) {
+            throw new IllegalArgumentException("Width and height must be between 1 and " + maxDimension);
+        }
+        Fit fitMode = Fit.parse(fit);
+
+        ImageEntity image = imageRepository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Image not found with id: " + id));
+        String blobKey = ImageUploadPipeline.blobKey(image.getImageUrl());
+        if (blobKey == null) {
+            throw new NotFoundException("Image " + id + " is not available for rendering");
+        }
+        String outputFormat = outputFormat(format, image.getMimeType());
+
+        // Without both dimensions there is nothing to fit, so all modes render the same
+        Fit normalisedFit = width != null && height != null ? fitMode : Fit.CONTAIN;
+        int extension = blobKey.indexOf('.');
+        String sha256 = (extension > 0 ? blobKey.substring(0, extension) : blobKey).toLowerCase(Locale.ROOT);
+        String cacheKey = sha256 + "-" + (width != null ? width : 0) + "x" + (height != null ? height : 0)
+                + "-" + normalisedFit.name().toLowerCase(Locale.ROOT)
+                + "." + ("png".equals(outputFormat) ? "png" : "jpg");
+        int orientation = image.getOrientation() != null ? image.getOrientation() : 1;
+
+        return new RenderPlan(blobKey, cacheKey, "image/" + outputFormat, outputFormat, width, height, normalisedFit, orientation);
+    }
+
+    /**
+     * @return the rendered file, completed immediately on a cache hit; fails with
+     * {@link org.springframework.core.task.TaskRejectedException} if the render pool is saturated
+     */
+    public CompletableFuture<Path> render(RenderPlan plan) {
+        return render(plan.cacheKey(), target -> {
+            int minWidth = Math.max(plan.width() != null ? plan.width() : 0, plan.height() != null ? plan.height() : 0);
+            Boolean written;
+            try (InputStream in = storage.get(plan.blobKey())) {
+                written = decoder.decode(in, minWidth, decoded -> {
+                    ImageDerivativeService.encode(transform(decoded, plan), plan.format(),
+                            imageConfig.variants().jpegQuality(), target);
+                    return true;
+                });
+            }
+            if (written == null) {
+                throw new IllegalArgumentException("No decoder available for " + plan.blobKey());
+            }
+        });
+    }
+
+    /**
+     * Returns the cached file for {@code cacheKey}, running {@code renderer} on the render pool to
+     * create it on a miss. Concurrent calls for the same key share a single render.
+     *
+     * @return the rendered file, completed immediately on a cache hit; fails with
+     * {@link org.springframework.core.task.TaskRejectedException} if the render pool is saturated
+     */
+    public CompletableFuture<Path> render(String cacheKey, Renderer renderer) {
+        Optional<Path> cached = cache.get(cacheKey);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(cacheKey, future);
+        if (running != null) {
+            return running;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(renderToCache(cacheKey, renderer));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(cacheKey, future);
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.remove(cacheKey, future);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private Path renderToCache(String cacheKey, Renderer renderer) throws IOException {
+        // A render for the same key may have finished between the cache lookup and the submission
+        Optional<Path> cached = cache.get(cacheKey);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Path tempFile = cache.createTempFile();
+        try {
+            renderer.renderTo(tempFile);
+            return cache.put(cacheKey, tempFile);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static BufferedImage transform(BoundedImageDecoder.DecodedImage decoded, RenderPlan plan) {
+        BufferedImage image = orient(decoded.image(), plan.orientation());
+        boolean transposed = plan.orientation() >= 5;
+        int sourceWidth = transposed ? decoded.sourceHeight() : decoded.sourceWidth();
+        int sourceHeight = transposed ? decoded.sourceWidth() : decoded.sourceHeight();
+        int[] size = targetSize(sourceWidth, sourceHeight, plan.width(), plan.height(), plan.fit());
+        boolean alpha = "png".equals(plan.format()) && image.getColorModel().hasAlpha();
+
+        return plan.fit() == Fit.COVER
+                ? cover(image, size[0], size[1], alpha)
+                : ImageDerivativeService.scale(image, size[0], size[1], alpha);
+    }
+
+    /**
+     * Scales {@code image} until it covers {@code width} x {@code height}, then cuts the overhang
+     * evenly from both sides.
+     */
+    static BufferedImage cover(BufferedImage image, int width, int height, boolean alpha) {
+        double factor = Math.max((double) width / image.getWidth(), (double) height / image.getHeight());
+        int scaledWidth = Math.max(width, (int) Math.round(image.getWidth() * factor));
+        int scaledHeight = Math.max(height, (int) Math.round(image.getHeight() * factor));
+        BufferedImage scaled = ImageDerivativeService.scale(image, scaledWidth, scaledHeight, alpha);
+        return scaled.getSubimage((scaledWidth - width) / 2, (scaledHeight - height) / 2, width, height);
+    }
+
+    /**
+     * Output size for an original of {@code sourceWidth} x {@code sourceHeight}. Never larger than
+     * the original; a cover box too large for it shrinks with its aspect ratio kept.
+     */
+    static int[] targetSize(int sourceWidth, int sourceHeight, Integer width, Integer height, Fit fit) {
+        if (height == null) {
+            int targetWidth = Math.min(width, sourceWidth);
+            return new int[]{targetWidth, Math.max(1, (int) Math.round((double) sourceHeight * targetWidth / sourceWidth))};
+        }
+        if (width == null) {
+            int targetHeight = Math.min(height, sourceHeight);
+            return new int[]{Math.max(1, (int) Math.round((double) sourceWidth * targetHeight / sourceHeight)), targetHeight};
+        }
+        return switch (fit) {
+            case FILL -> new int[]{Math.min(width, sourceWidth), Math.min(height, sourceHeight)};
+            case CONTAIN -> {
+                double factor = Math.min(1, Math.min((double) width / sourceWidth, (double) height / sourceHeight));
+                yield new int[]{Math.max(1, (int) Math.round(sourceWidth * factor)), Math.max(1, (int) Math.round(sourceHeight * factor))};
+            }
+            case COVER -> {
+                double factor = Math.max((double) width / sourceWidth, (double) height / sourceHeight);
+                yield factor <= 1
+                        ? new int[]{width, height}
+                        : new int[]{Math.max(1, (int) Math.round(width / factor)), Math.max(1, (int) Math.round(height / factor))};
+            }
+        };
+    }
+
+    /**
+     * Applies an EXIF orientation (2 to 8) by mapping every pixel to its displayed position.
+     */
+    static BufferedImage orient(BufferedImage source, int orientation) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+
+        boolean transposed = orientation >= 5;
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(transposed ? height : width, transposed ? width : height, type);
+        var graphics = oriented.createGraphics();
+        try {
+            graphics.drawImage(source, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return oriented;
+    }
+
+    private static String outputFormat(String format, String originalMimeType) {
+        if (format == null || format.isBlank()) {
+            return "image/png".equals(originalMimeType) ? "png" : "jpeg";
+        }
+        return switch (format.toLowerCase(Locale.ROOT)) {
+            case "jpeg", "jpg" -> "jpeg";
+            case "png" -> "png";
+            default -> throw new IllegalArgumentException("Unsupported format: " + format);
+        };
+    }
+
+    /**
+     * How an image is fitted into a box given by width and height.
+     */
+    public enum Fit {
+        /** Scaled to fit inside the box, keeping its aspect ratio. */
+        CONTAIN,
+        /** Scaled to cover the box, keeping its aspect ratio; the overhang is cropped. */
+        COVER,
+        /** Stretched to exactly the box. */
+        FILL;
+
+        static Fit parse(String value) {
+            if (value == null || value.isBlank()) {
+                return CONTAIN;
+            }
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported fit: " + value);
+            }
+        }
+    }
+
+    /**
+     * Writes a rendered image to the file it is given.
+     */
+    @FunctionalInterface
+    public interface Renderer {
+        void renderTo(Path target) throws IOException;
+    }
+
+    /**
+     * A validated render request.
+     *
+     * @param blobKey     storage key of the original
+     * @param cacheKey    key of the rendered file in the cache, also used as its ETag
+     * @param mimeType    MIME type of the rendered file
+     * @param format      ImageIO format name of the rendered file
+     * @param width       requested width, or {@code null}
+     * @param height      requested height, or {@code null}
+     * @param fit         fit mode; always {@link Fit#CONTAIN} unless both dimensions are given
+     * @param orientation EXIF orientation of the original
+     */
+    public record RenderPlan(String blobKey, String cacheKey, String mimeType, String format,
+                             Integer width, Integer height, Fit fit, int orientation) {
+    }
+
+    public ImageRenderService(ImageRepository imageRepository,
+                              BlobStorage storage,
+                              BoundedImageDecoder decoder,
+                              RenderCache cache,
+                              @Qualifier(AsyncConfiguration.IMAGE_RENDER_EXECUTOR) TaskExecutor executor,
+                              ImageConfiguration imageConfig) {
+        this.imageRepository = imageRepository;
+        this.storage = storage;
+        this.decoder = decoder;
+        this.cache = cache;
+        this.executor = executor;
+        this.imageConfig = imageConfig;
+    }
+}
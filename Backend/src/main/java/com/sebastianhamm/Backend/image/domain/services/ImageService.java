@@ -9,7 +9,10 @@ package com.sebastianhamm.Backend.image.domain.services;
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.image.api.dtos.BatchUploadResult;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -17,9 +20,26 @@ import java.util.List;
 public interface ImageService {
 
     ApiResponse<ImageResponse> saveImage(MultipartFile file, String context);
+    ApiResponse<ImageResponse> saveStoredImage(StoredUpload stored, String filename, String context);
+    ApiResponse<List<BatchUploadResult>> saveBatch(Long galleryId, List<MultipartFile> files, DuplicatePolicy duplicates);
     ApiResponse<ImageResponse> updateImage(Long id, MultipartFile file, String context);
     ApiResponse<ImageResponse> findById(Long id);
     ApiResponse<List<ImageResponse>> findAll();
     ApiResponse<String> delete(Long id);
     ApiResponse<List<ImageResponse>> findBySlug(String title);
+
+    /**
+     * Version of the content of {@link #findAll()}.
+     */
+    ContentVersion getVersion();
+
+    /**
+     * Version of the content of {@link #findById(Long)}, or null if the image does not exist.
+     */
+    ContentVersion getVersion(Long id);
+
+    /**
+     * Version of the content of {@link #findBySlug(String)}, or null if no gallery has the slug.
+     */
+    ContentVersion getVersionBySlug(String slug);
 }
@@ -10,30 +10,56 @@ import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 
 
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
 import com.sebastianhamm.Backend.image.domain.mappers.ImageMapper;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.image.api.dtos.BatchUploadResult;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
 import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.events.ImageDeletedEvent;
+import com.sebastianhamm.Backend.image.domain.events.ImageStoredEvent;
 import com.sebastianhamm.Backend.image.domain.services.ImageService;
+import com.sebastianhamm.Backend.image.domain.storage.ImageMetadata;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
-import org.apache.tika.Tika;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 @Service
 @Transactional
 public class ImageServiceImpl implements ImageService {
@@ -43,25 +69,26 @@ public class ImageServiceImpl implements ImageService {
     private final ImageRepository imageRepository;
     private final GalleryRepository galleryRepository;
     private final ImageMapper imageMapper;
-    private final Tika tika = new Tika();
+    private final ImageUploadPipeline uploadPipeline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlobReferenceService blobReferences;
+    private final TransactionTemplate transactionTemplate;
+    private final ImageConfiguration imageConfig;
+    private final NearDuplicateIndex nearDuplicates;
+    private final StorageUsageService storageUsage;
 
-    private static final List<String> ALLOWED_TYPES = List.of("image/jpeg", "image/png", "image/webp");
     private static final long MAX_FILE_SIZE = 5 * 1024 * 1024; // 5 MB
 
     @Override
+    @CacheEvict(cacheNames = {CachingConfiguration.IMAGE_LISTS, CachingConfiguration.GALLERIES, CachingConfiguration.GALLERY_LISTS}, allEntries = true)
     public ApiResponse<ImageResponse> saveImage(MultipartFile file, String context) {
         try {
-            String author = getCurrentUsername();
             validateFile(file);
-            String mimeType = detectMimeType(file);
-            validateMimeType(mimeType);
-
-            Optional<ImageEntity> imageEntityOpt = mapToEntity(file, author, context, mimeType);
-            if (imageEntityOpt.isEmpty()) {
-                return new ApiResponse<>(500, "Internal server error", null);
+            String exceeded = storageUsage.checkQuota(context, getCurrentUsername(), file.getSize());
+            if (exceeded != null) {
+                return new ApiResponse<>(507, exceeded, null);
             }
-            ImageEntity savedImage = imageRepository.save(imageEntityOpt.get());
-            return new ApiResponse<>(201, "Image uploaded successfully", ImageMapper.toResponse(savedImage));
+            return saveStoredImage(storeFile(file), file.getOriginalFilename(), context);
 
         } catch (IllegalArgumentException | IOException e) {
             logger.error("Failed to process image upload: {}", e.getMessage(), e);
@@ -69,31 +96,262 @@ public class ImageServiceImpl implements ImageService {
         }
     }
 
+    /**
+     * Creates the image row for a file that is already in the blob store, e.g. a finished
+     * resumable upload.
+     */
+    @Override
+    @CacheEvict(cacheNames = {CachingConfiguration.IMAGE_LISTS, CachingConfiguration.GALLERIES, CachingConfiguration.GALLERY_LISTS}, allEntries = true)
+    public ApiResponse<ImageResponse> saveStoredImage(StoredUpload stored, String filename, String context) {
+        blobReferences.register(stored);
+        blobReferences.acquire(stored.imageUrl());
+
+        // The perceptual hash needs a decode, so it is left to the derivative job after commit
+        ImageEntity image = mapToEntity(filename, stored, getCurrentUsername(), context);
+        ImageEntity savedImage = imageRepository.save(image);
+        storageUsage.record(context, savedImage.getAuthor(), stored.uploadBytes());
+        eventPublisher.publishEvent(new ImageStoredEvent(savedImage.getId(), savedImage.getImageUrl()));
+        return new ApiResponse<>(201, "Image uploaded successfully", ImageMapper.toResponse(savedImage));
+    }
+
+    /**
+     * Validates and stores the files concurrently on virtual threads, at most
+     * {@code app.images.batch.concurrency} at a time, then inserts all stored images in a single
+     * transaction so Hibernate sends them as one JDBC batch. No database connection is held while
+     * files are streamed; registering a file restarts its blob's grace period, which keeps the
+     * collector off it until the insert acquires it, and a blob whose row is never inserted stays
+     * unreferenced and is collected.
+     * Each file's perceptual hash is computed right after storing it and compared, in upload
+     * order, against the gallery and the files of the batch accepted before it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = {CachingConfiguration.IMAGE_LISTS, CachingConfiguration.GALLERIES, CachingConfiguration.GALLERY_LISTS}, allEntries = true)
+    public ApiResponse<List<BatchUploadResult>> saveBatch(Long galleryId, List<MultipartFile> files, DuplicatePolicy duplicates) {
+        ImageConfiguration.Batch config = imageConfig.batch();
+        if (files == null || files.isEmpty()) {
+            return new ApiResponse<>(400, "At least one file is required", null);
+        }
+        if (files.size() > config.maxFiles()) {
+            return new ApiResponse<>(400, "A batch must not contain more than " + config.maxFiles() + " files", null);
+        }
+
+        GalleryEntity gallery = galleryRepository.findById(galleryId).orElse(null);
+        if (gallery == null) {
+            return new ApiResponse<>(404, "Gallery not found with id: " + galleryId, null);
+        }
+
+        String author = getCurrentUsername();
+        String context = gallery.getSlug() != null ? gallery.getSlug() : "gallery-" + galleryId;
+        // The declared sizes are known before any file is read, so an oversized batch is refused up front
+        long declaredBytes = files.stream().filter(Objects::nonNull).mapToLong(MultipartFile::getSize).sum();
+        String exceeded = storageUsage.checkQuota(context, author, declaredBytes);
+        if (exceeded != null) {
+            return new ApiResponse<>(507, exceeded, null);
+        }
+        List<Future<HashedUpload>> uploads = new ArrayList<>(files.size());
+        Semaphore permits = new Semaphore(config.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                uploads.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        validateFile(file);
+                        StoredUpload stored = storeFile(file);
+                        blobReferences.register(stored);
+                        return new HashedUpload(stored, nearDuplicates.hash(stored.imageUrl(), stored.metadata().orientation()));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        BatchUploadResult[] results = new BatchUploadResult[files.size()];
+        Map<Integer, ImageEntity> pending = new LinkedHashMap<>();
+        Map<Integer, List<Long>> similarImages = new HashMap<>();
+        Map<Integer, List<Integer>> similarFiles = new HashMap<>();
+        int skipped = 0;
+        for (int i = 0; i < files.size(); i++) {
+            MultipartFile file = files.get(i);
+            String filename = file != null ? file.getOriginalFilename() : null;
+            try {
+                HashedUpload upload = uploads.get(i).get();
+                ImageEntity image = mapToEntity(filename, upload.stored(), author, context);
+                image.setPerceptualHash(upload.perceptualHash());
+
+                if (duplicates != DuplicatePolicy.ALLOW && upload.perceptualHash() != null) {
+                    List<Long> images = nearDuplicates.findInGallery(galleryId, upload.perceptualHash());
+                    List<Integer> earlierFiles = nearDuplicatesInBatch(pending, upload.perceptualHash());
+                    if (duplicates == DuplicatePolicy.SKIP && (!images.isEmpty() || !earlierFiles.isEmpty())) {
+                        results[i] = new BatchUploadResult(filename, 409, images.isEmpty()
+                                ? "Skipped near-duplicate of an earlier file in this batch"
+                                : "Skipped near-duplicate of an image in this gallery", null);
+                        results[i].setNearDuplicates(images);
+                        skipped++;
+                        continue;
+                    }
+                    similarImages.put(i, images);
+                    similarFiles.put(i, earlierFiles);
+                }
+                pending.put(i, image);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IllegalArgumentException) {
+                    results[i] = new BatchUploadResult(filename, 400, cause.getMessage(), null);
+                } else {
+                    logger.error("Failed to store batch upload {}: {}", filename, cause.getMessage(), cause);
+                    results[i] = new BatchUploadResult(filename, 500, "Internal server error", null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results[i] = new BatchUploadResult(filename, 500, "Internal server error", null);
+            }
+        }
+
+        int stored = 0;
+        if (!pending.isEmpty()) {
+            try {
+                List<ImageEntity> saved = insertBatch(gallery, pending.values());
+                int index = 0;
+                Map<Integer, Long> savedIds = new HashMap<>();
+                for (Integer position : pending.keySet()) {
+                    ImageEntity image = saved.get(index++);
+                    savedIds.put(position, image.getId());
+                    results[position] = new BatchUploadResult(files.get(position).getOriginalFilename(), 201,
+                            "Image uploaded successfully", ImageMapper.toResponse(image));
+                }
+                for (Integer position : similarImages.keySet()) {
+                    List<Long> similar = new ArrayList<>(similarImages.get(position));
+                    similarFiles.get(position).forEach(earlier -> similar.add(savedIds.get(earlier)));
+                    if (!similar.isEmpty()) {
+                        results[position].setNearDuplicates(similar);
+                    }
+                }
+                stored = saved.size();
+            } catch (DataAccessException | FileStorageException e) {
+                logger.error("Failed to insert batch of {} images into gallery {}: {}", pending.size(), galleryId, e.getMessage(), e);
+                for (Integer position : pending.keySet()) {
+                    results[position] = new BatchUploadResult(files.get(position).getOriginalFilename(), 500,
+                            "Internal server error", null);
+                }
+            }
+        }
+
+        List<BatchUploadResult> resultList = List.of(results);
+        if (stored + skipped == files.size()) {
+            if (stored == 0) {
+                return new ApiResponse<>(200, "All images were near-duplicates and skipped", resultList);
+            }
+            return new ApiResponse<>(201, skipped == 0
+                    ? "Images uploaded successfully"
+                    : stored + " images uploaded, " + skipped + " near-duplicates skipped", resultList);
+        }
+        if (stored == 0) {
+            return new ApiResponse<>(400, "No image could be uploaded", resultList);
+        }
+        return new ApiResponse<>(207, stored + " of " + files.size() + " images uploaded", resultList);
+    }
+
+    /**
+     * Burst shots usually arrive in the same batch, so the files accepted so far are compared too;
+     * a batch is small enough to do that by brute force.
+     */
+    private List<Integer> nearDuplicatesInBatch(Map<Integer, ImageEntity> pending, long hash) {
+        int maxDistance = imageConfig.batch().duplicateDistance();
+        return pending.entrySet().stream()
+                .filter(entry -> entry.getValue().getPerceptualHash() != null
+                        && PerceptualHash.distance(entry.getValue().getPerceptualHash(), hash) <= maxDistance)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private List<ImageEntity> insertBatch(GalleryEntity gallery, Collection<ImageEntity> images) {
+        assignUniqueSlugs(images);
+        return transactionTemplate.execute(status -> {
+            for (ImageEntity image : images) {
+                image.setGallery(gallery);
+                blobReferences.acquire(image.getImageUrl());
+                storageUsage.record(image.getUploadContext(), image.getAuthor(), StorageUsageService.accountedBytes(image));
+            }
+            List<ImageEntity> saved = imageRepository.saveAll(images);
+            saved.forEach(image -> eventPublisher.publishEvent(new ImageStoredEvent(image.getId(), image.getImageUrl())));
+            return saved;
+        });
+    }
+
+    /**
+     * Camera file names repeat across cards, so slugs are made unique within the batch and against
+     * existing rows by appending a counter, re-checking each round of candidates in one query.
+     */
+    private void assignUniqueSlugs(Collection<ImageEntity> images) {
+        Map<ImageEntity, String> baseSlugs = new IdentityHashMap<>();
+        images.forEach(image -> baseSlugs.put(image, image.getSlug()));
+
+        Set<String> claimed = new HashSet<>();
+        List<ImageEntity> unresolved = new ArrayList<>(images);
+        for (int attempt = 2; !unresolved.isEmpty(); attempt++) {
+            Set<String> taken = new HashSet<>(imageRepository.findTakenSlugs(
+                    unresolved.stream().map(ImageEntity::getSlug).toList()));
+            List<ImageEntity> conflicting = new ArrayList<>();
+            for (ImageEntity image : unresolved) {
+                if (taken.contains(image.getSlug()) || !claimed.add(image.getSlug())) {
+                    conflicting.add(image);
+                }
+            }
+            for (ImageEntity image : conflicting) {
+                image.setSlug(baseSlugs.get(image) + "-" + attempt);
+            }
+            unresolved = conflicting;
+        }
+    }
+
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.IMAGES, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.IMAGE_LISTS, CachingConfiguration.GALLERIES, CachingConfiguration.GALLERY_LISTS}, allEntries = true)
+    })
     public ApiResponse<ImageResponse> updateImage(Long id, MultipartFile file, String context) {
         try {
             String author = getCurrentUsername();
             validateFile(file);
-            String mimeType = detectMimeType(file);
-            validateMimeType(mimeType);
-
-            return imageRepository.findById(id)
-                    .map(existingImage -> {
-                        Optional<String> stored = storeFile(file, context);
-                        if (stored.isEmpty()) {
-                            return new ApiResponse<ImageResponse>(500, "Internal server error", null);
-                        }
-                        existingImage.setAuthor(author);
-                        existingImage.setImageUrl(stored.get());
-                        existingImage.setFilename(file.getOriginalFilename());
-                        existingImage.setMimeType(mimeType);
-                        existingImage.setFileSizeBytes(file.getSize());
-                        existingImage.setUploadDate(LocalDate.now());
-
-                        ImageEntity updatedImage = imageRepository.save(existingImage);
-                        return new ApiResponse<>(200, "Image updated successfully", ImageMapper.toResponse(updatedImage));
-                    })
-                    .orElseGet(() -> new ApiResponse<>(404, "Image not found with id: " + id, null));
+
+            ImageEntity existingImage = imageRepository.findById(id).orElse(null);
+            if (existingImage == null) {
+                return new ApiResponse<>(404, "Image not found with id: " + id, null);
+            }
+
+            // The replaced file no longer counts; the new one counts towards whoever uploads it
+            String accountedContext = StorageUsageService.contextOf(existingImage);
+            String previousAuthor = existingImage.getAuthor();
+            long previousBytes = StorageUsageService.accountedBytes(existingImage);
+            String exceeded = storageUsage.checkContextQuota(accountedContext, file.getSize() - previousBytes);
+            if (exceeded == null) {
+                exceeded = storageUsage.checkAuthorQuota(author, author.equals(previousAuthor) ? file.getSize() - previousBytes : file.getSize());
+            }
+            if (exceeded != null) {
+                return new ApiResponse<>(507, exceeded, null);
+            }
+
+            StoredUpload stored = storeFile(file);
+            blobReferences.register(stored);
+            blobReferences.replace(existingImage.getImageUrl(), stored.imageUrl());
+            existingImage.setAuthor(author);
+            existingImage.setImageUrl(stored.imageUrl());
+            existingImage.setFilename(file.getOriginalFilename());
+            existingImage.setMimeType(stored.mimeType());
+            existingImage.setFileSizeBytes(stored.sizeBytes());
+            existingImage.setUploadSizeBytes(stored.uploadBytes());
+            existingImage.setUploadDate(LocalDate.now());
+            applyMetadata(existingImage, stored.metadata());
+            // Recomputed by the derivative job after commit
+            existingImage.setPerceptualHash(null);
+
+            ImageEntity updatedImage = imageRepository.save(existingImage);
+            storageUsage.record(accountedContext, previousAuthor, -previousBytes);
+            storageUsage.record(accountedContext, author, stored.uploadBytes());
+            eventPublisher.publishEvent(new ImageStoredEvent(updatedImage.getId(), updatedImage.getImageUrl()));
+            return new ApiResponse<>(200, "Image updated successfully", ImageMapper.toResponse(updatedImage));
 
         } catch (IllegalArgumentException | IOException e) {
             logger.error("Failed to update image with id {}: {}", id, e.getMessage(), e);
@@ -103,6 +361,7 @@ public class ImageServiceImpl implements ImageService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.IMAGES, key = "#id", unless = "#result.statusCode != 200")
     public ApiResponse<ImageResponse> findById(Long id) {
         return imageRepository.findById(id)
                 .map(imageEntity -> new ApiResponse<>(200, "Image found", ImageMapper.toResponse(imageEntity)))
@@ -111,6 +370,7 @@ public class ImageServiceImpl implements ImageService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.IMAGE_LISTS, key = "'all'", unless = "#result.statusCode != 200")
     public ApiResponse<List<ImageResponse>> findAll() {
         try {
             List<ImageResponse> images = imageRepository.findAll()
@@ -127,16 +387,25 @@ public class ImageServiceImpl implements ImageService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.IMAGES, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.IMAGE_LISTS, CachingConfiguration.GALLERIES, CachingConfiguration.GALLERY_LISTS}, allEntries = true)
+    })
     public ApiResponse<String> delete(Long id) {
         return imageRepository.findById(id)
                 .map(imageEntity -> {
+                    // A soft delete; the file is kept for the grace period of the blob collector
                     imageRepository.delete(imageEntity);
+                    blobReferences.release(imageEntity.getImageUrl());
+                    storageUsage.record(StorageUsageService.contextOf(imageEntity), imageEntity.getAuthor(), -StorageUsageService.accountedBytes(imageEntity));
+                    eventPublisher.publishEvent(new ImageDeletedEvent(id));
                     return new ApiResponse<>(200, "Image deleted successfully", "Image with id: " + id + " deleted");
                 })
                 .orElseGet(() -> new ApiResponse<>(404, "Image not found with id: " + id, null));
     }
 
     @Override
+    @Cacheable(cacheNames = CachingConfiguration.IMAGE_LISTS, key = "'slug:' + #slug", unless = "#result.statusCode != 200")
     public ApiResponse<List<ImageResponse>> findBySlug(String slug) {
         if (slug == null || slug.isEmpty()) {
             return new ApiResponse<>(400, "Slug must not be empty", null);
@@ -165,16 +434,6 @@ public class ImageServiceImpl implements ImageService {
         }
     }
 
-    private String detectMimeType(MultipartFile file) throws IOException {
-        return tika.detect(file.getInputStream());
-    }
-
-    private void validateMimeType(String mimeType) {
-        if (mimeType == null || !mimeType.startsWith("image/")) {
-            throw new IllegalArgumentException("Unsupported file type");
-        }
-    }
-
     private String getCurrentUsername() {
         var auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
@@ -183,66 +442,85 @@ public class ImageServiceImpl implements ImageService {
         return "anonymous";
     }
 
-    private Optional<String> storeFile(MultipartFile file, String context) {
-        if (file == null || file.isEmpty()) return Optional.empty();
-
-        String contentType = file.getContentType();
-        if (!ALLOWED_TYPES.contains(contentType)) return Optional.empty();
-
-        if (file.getSize() > MAX_FILE_SIZE) return Optional.empty();
-
-        try {
-            String extension = getExtension(file.getOriginalFilename());
-            String filename = UUID.randomUUID() + "." + extension;
-            Path storageDir = Paths.get("uploads/images/" + context).toAbsolutePath().normalize();
-            Files.createDirectories(storageDir);
-
-            Path targetPath = storageDir.resolve(filename);
-            Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-            return Optional.of("/uploads/images/" + context + "/" + filename);
-
-        } catch (Exception e) {
-            return Optional.empty();
+    /**
+     * Streams the upload exactly once: MIME sniffing, hashing, size limit and the atomic write
+     * into the blob store all happen in the same pass.
+     */
+    private StoredUpload storeFile(MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return uploadPipeline.store(input, MAX_FILE_SIZE);
         }
     }
 
-    private Optional<ImageEntity> mapToEntity(MultipartFile file, String author, String context, String mimeType) {
-        Optional<String> stored = storeFile(file, context);
-        if (stored.isEmpty()) {
-            return Optional.empty();
-        }
-
+    private ImageEntity mapToEntity(String filename, StoredUpload stored, String author, String context) {
         ImageEntity imageEntity = new ImageEntity();
         imageEntity.setAuthor(author);
         imageEntity.setUploadDate(LocalDate.now());
-        imageEntity.setImageUrl(stored.get());
-        imageEntity.setFilename(file.getOriginalFilename());
-        imageEntity.setMimeType(mimeType);
-        imageEntity.setFileSizeBytes(file.getSize());
-        imageEntity.setSlug(generateSlug(file, context));
-        return Optional.of(imageEntity);
+        imageEntity.setImageUrl(stored.imageUrl());
+        imageEntity.setFilename(filename);
+        imageEntity.setMimeType(stored.mimeType());
+        imageEntity.setFileSizeBytes(stored.sizeBytes());
+        imageEntity.setUploadSizeBytes(stored.uploadBytes());
+        imageEntity.setUploadContext(context);
+        imageEntity.setSlug(generateSlug(filename, context));
+        applyMetadata(imageEntity, stored.metadata());
+        return imageEntity;
+    }
+
+    private static void applyMetadata(ImageEntity imageEntity, ImageMetadata metadata) {
+        imageEntity.setWidth(metadata.width());
+        imageEntity.setHeight(metadata.height());
+        imageEntity.setOrientation(metadata.orientation());
+        imageEntity.setCapturedAt(metadata.capturedAt());
+        imageEntity.setCameraMake(metadata.cameraMake());
+        imageEntity.setCameraModel(metadata.cameraModel());
     }
 
-    private String generateSlug(MultipartFile file, String context) {
-        String original = file.getOriginalFilename() != null ? file.getOriginalFilename() : UUID.randomUUID().toString();
+    private record HashedUpload(StoredUpload stored, Long perceptualHash) {
+    }
+
+    private String generateSlug(String filename, String context) {
+        String original = filename != null ? filename : UUID.randomUUID().toString();
         String slug = original.replaceAll("\\s+", "-")
                 .replaceAll("[^a-zA-Z0-9\\-]", "")
                 .toLowerCase();
         return context + "-" + slug;
     }
 
-    private String getExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            // Kein Exception-Throw mehr, sondern leeres Optional oder Fehler-Handling wo aufgerufen
-            return "";
-        }
-        return filename.substring(filename.lastIndexOf('.') + 1).toLowerCase();
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion() {
+        return imageRepository.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion(Long id) {
+        ContentVersion version = imageRepository.findVersionById(id);
+        return version.isEmpty() ? null : version;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersionBySlug(String slug) {
+        ContentVersion version = galleryRepository.findVersionBySlug(slug);
+        return version.isEmpty() ? null : version.and(galleryRepository.findImagesVersionBySlug(slug));
+    }
 
-    public ImageServiceImpl(ImageRepository imageRepository, GalleryRepository galleryRepository, ImageMapper imageMapper) {
+    public ImageServiceImpl(ImageRepository imageRepository, GalleryRepository galleryRepository, ImageMapper imageMapper,
+                            ImageUploadPipeline uploadPipeline, ApplicationEventPublisher eventPublisher,
+                            BlobReferenceService blobReferences, TransactionTemplate transactionTemplate,
+                            ImageConfiguration imageConfig, NearDuplicateIndex nearDuplicates,
+                            StorageUsageService storageUsage) {
         this.imageRepository = imageRepository;
         this.galleryRepository = galleryRepository;
         this.imageMapper = imageMapper;
+        this.uploadPipeline = uploadPipeline;
+        this.eventPublisher = eventPublisher;
+        this.blobReferences = blobReferences;
+        this.transactionTemplate = transactionTemplate;
+        this.imageConfig = imageConfig;
+        this.nearDuplicates = nearDuplicates;
+        this.storageUsage = storageUsage;
     }
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.events.ImageStoredEvent;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.domain.events.PublicContentChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves files uploaded before the blob store existed (one flat directory per context, such as
+ * {@code uploads/images/gallery}) into the hash-sharded blob layout, while the application keeps
+ * serving them.
+ *
+ * <p>Legacy URLs from every URL column are walked in keyset-paginated batches. Each file of a
+ * batch is first copied into the blob store under its content hash; then one transaction rewrites
+ * every row still pointing at the old URL and acquires the new blob for each of them. The
+ * rewrites are conditional on the old URL, so a row edited in the meantime keeps its new value.
+ * Only after the transaction commits, and the cached responses still holding old URLs have been
+ * dropped, are the legacy files deleted: until then the upload controller serves the old URL,
+ * afterwards the new one, and no request sees a dangling link.
+ *
+ * <p>The rewrite is a storage move, not a content change, so it bypasses the audit trail. Migrated
+ * images get their responsive variants generated like a fresh upload.
+ */
+@Service
+@ConditionalOnProperty(prefix = "app.images.migration", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LegacyUploadMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LegacyUploadMigrator.class);
+
+    private final BlobRepository blobRepository;
+    private final ImageRepository imageRepository;
+    private final BlobReferenceService blobReferenceService;
+    private final ImageUploadPipeline pipeline;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final ImageConfiguration.Migration config;
+
+    private final Counter migratedFiles;
+
+    @Scheduled(initialDelayString = "${app.images.migration.initial-delay:PT2M}",
+            fixedDelayString = "${app.images.migration.interval:PT1H}")
+    public void scheduledMigrate() {
+        migrate();
+    }
+
+    /**
+     * Runs one full pass over all legacy URLs. Files that are missing or not a supported image
+     * are skipped and stay on their legacy URL.
+     *
+     * @return number of files moved into the blob store
+     */
+    public int migrate() {
+        String after = "";
+        int migrated = 0;
+
+        while (true) {
+            List<String> batch = blobRepository.findLegacyUploadUrls(after, config.batchSize());
+            if (batch.isEmpty()) {
+                break;
+            }
+            after = batch.get(batch.size() - 1);
+
+            List<Move> moves = copyToBlobStore(batch);
+            if (!moves.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    moves.forEach(this::rewrite);
+                    clearCaches();
+                    // The native rewrite bypasses the entity listeners
+                    eventPublisher.publishEvent(new PublicContentChangedEvent(LegacyUploadMigrator.class));
+                });
+                moves.forEach(this::deleteLegacyFile);
+                migrated += moves.size();
+                migratedFiles.increment(moves.size());
+            }
+            if (batch.size() < config.batchSize()) {
+                break;
+            }
+        }
+
+        if (migrated > 0) {
+            logger.info("Moved {} legacy uploads into the blob store", migrated);
+        }
+        return migrated;
+    }
+
+    private List<Move> copyToBlobStore(List<String> urls) {
+        List<Move> moves = new ArrayList<>();
+        for (String url : urls) {
+            try {
+                Path legacyFile = pipeline.resolve(url);
+                if (!Files.isRegularFile(legacyFile)) {
+                    logger.warn("Legacy upload {} does not exist, keeping its URL", url);
+                    continue;
+                }
+                // The legacy file was accepted when it was uploaded, so no size limit applies
+                StoredUpload stored;
+                try (InputStream in = Files.newInputStream(legacyFile)) {
+                    stored = pipeline.store(in, Long.MAX_VALUE);
+                }
+                blobReferenceService.register(stored);
+                moves.add(new Move(url, legacyFile, stored.imageUrl()));
+            } catch (IOException | IllegalArgumentException e) {
+                logger.warn("Could not migrate legacy upload {}: {}", url, e.getMessage());
+            }
+        }
+        return moves;
+    }
+
+    private void rewrite(Move move) {
+        List<Long> imageIds = imageRepository.findIdsByImageUrl(move.legacyUrl());
+        int rows = blobRepository.rewriteImageUrls(move.legacyUrl(), move.blobUrl())
+                + blobRepository.rewriteMemberUrls(move.legacyUrl(), move.blobUrl())
+                + blobRepository.rewriteEventUrls(move.legacyUrl(), move.blobUrl())
+                + blobRepository.rewriteAboutUrls(move.legacyUrl(), move.blobUrl())
+                + blobRepository.rewriteWelcomeUrls(move.legacyUrl(), move.blobUrl());
+        for (int i = 0; i < rows; i++) {
+            blobReferenceService.acquire(move.blobUrl());
+        }
+        imageIds.forEach(id -> eventPublisher.publishEvent(new ImageStoredEvent(id, move.blobUrl())));
+    }
+
+    /**
+     * The rewrite touches images, members and events alike, so every cache is dropped; the caches
+     * do so once the transaction commits.
+     */
+    private void clearCaches() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private void deleteLegacyFile(Move move) {
+        if (!config.deleteLegacyFiles()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(move.legacyFile());
+        } catch (IOException e) {
+            logger.error("Failed to delete legacy upload {}: {}", move.legacyFile(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A legacy file that has been copied into the blob store, and the URL its rows are rewritten to.
+     */
+    private record Move(String legacyUrl, Path legacyFile, String blobUrl) {
+    }
+
+    public LegacyUploadMigrator(BlobRepository blobRepository,
+                                ImageRepository imageRepository,
+                                BlobReferenceService blobReferenceService,
+                                ImageUploadPipeline pipeline,
+                                TransactionTemplate transactionTemplate,
+                                ApplicationEventPublisher eventPublisher,
+                                CacheManager cacheManager,
+                                ImageConfiguration imageConfig,
+                                MeterRegistry meterRegistry) {
+        this.blobRepository = blobRepository;
+        this.imageRepository = imageRepository;
+        this.blobReferenceService = blobReferenceService;
+        this.pipeline = pipeline;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.config = imageConfig.migration();
+
+        this.migratedFiles = Counter.builder("storage.legacy.migrated")
+                .description("Number of legacy uploads moved into the blob store")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.events.ImageDeletedEvent;
+import com.sebastianhamm.Backend.image.domain.events.ImageStoredEvent;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository.PerceptualHashView;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds visually near-identical images by perceptual hash, e.g. burst shots and re-exports.
+ *
+ * <p>Hashes are kept in memory in a BK-tree: every child sits at a fixed Hamming distance from its
+ * parent, so by the triangle inequality a lookup only descends into the few children whose
+ * distance can still be within the limit, instead of comparing against every image. The tree is
+ * loaded from the database on startup and updated after every committed upload, update or
+ * delete. Deleting only detaches the image id; its node stays in place to keep routing intact.
+ */
+@Component
+public class NearDuplicateIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(NearDuplicateIndex.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    // The hash is taken from a 32 pixel thumbnail, so a tiny decode is plenty
+    private static final int DECODE_WIDTH = 64;
+
+    private final ImageRepository imageRepository;
+    private final BlobStorage storage;
+    private final BoundedImageDecoder decoder;
+    private final int maxDistance;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Indexed> images = new HashMap<>();
+    private Node root;
+
+    /**
+     * Computes the perceptual hash of a stored original as displayed, i.e. after applying its
+     * EXIF orientation, so a rotated re-export matches the original.
+     *
+     * @return the hash, or {@code null} if the file is not in the blob store or cannot be decoded
+     */
+    public Long hash(String imageUrl, Integer orientation) {
+        String key = ImageUploadPipeline.blobKey(imageUrl);
+        if (key == null) {
+            return null;
+        }
+        try (InputStream in = storage.get(key)) {
+            return decoder.decode(in, DECODE_WIDTH, decoded -> PerceptualHash.hash(
+                    ImageRenderService.orient(decoded.image(), orientation != null ? orientation : 1)));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not compute perceptual hash of {}: {}", imageUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return ids of the images in {@code galleryId} within the configured distance of {@code hash}
+     */
+    public List<Long> findInGallery(Long galleryId, long hash) {
+        lock.readLock().lock();
+        try {
+            return find(hash, maxDistance).stream()
+                    .filter(imageId -> Objects.equals(images.get(imageId).galleryId(), galleryId))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of all images within {@code distance} bits of {@code hash}
+     */
+    public List<Long> find(long hash, int distance) {
+        lock.readLock().lock();
+        try {
+            List<Long> matches = new ArrayList<>();
+            if (root == null) {
+                return matches;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int d = PerceptualHash.distance(node.hash, hash);
+                if (d <= distance) {
+                    matches.addAll(node.imageIds);
+                }
+                if (node.children != null) {
+                    for (int childDistance = Math.max(0, d - distance); childDistance <= d + distance; childDistance++) {
+                        Node child = node.children.get(childDistance);
+                        if (child != null) {
+                            pending.push(child);
+                        }
+                    }
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Long imageId, Long galleryId, long hash) {
+        lock.writeLock().lock();
+        try {
+            remove(imageId);
+            images.put(imageId, new Indexed(galleryId, hash));
+            if (root == null) {
+                root = new Node(hash);
+                root.imageIds.add(imageId);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int d = PerceptualHash.distance(node.hash, hash);
+                if (d == 0) {
+                    node.imageIds.add(imageId);
+                    return;
+                }
+                if (node.children == null) {
+                    node.children = new HashMap<>(4);
+                }
+                Node child = node.children.get(d);
+                if (child == null) {
+                    child = new Node(hash);
+                    child.imageIds.add(imageId);
+                    node.children.put(d, child);
+                    return;
+                }
+                node = child;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long imageId) {
+        lock.writeLock().lock();
+        try {
+            Indexed indexed = images.remove(imageId);
+            if (indexed == null) {
+                return;
+            }
+            Node node = root;
+            while (node != null) {
+                int d = PerceptualHash.distance(node.hash, indexed.hash());
+                if (d == 0) {
+                    node.imageIds.remove(imageId);
+                    return;
+                }
+                node = node.children != null ? node.children.get(d) : null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return images.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long after = 0;
+        int loaded = 0;
+        try {
+            List<PerceptualHashView> page;
+            do {
+                page = imageRepository.findPerceptualHashes(after, PageRequest.of(0, PAGE_SIZE));
+                for (PerceptualHashView view : page) {
+                    put(view.getId(), view.getGalleryId(), view.getPerceptualHash());
+                    after = view.getId();
+                }
+                loaded += page.size();
+            } while (page.size() == PAGE_SIZE);
+            logger.info("Indexed perceptual hashes of {} images", loaded);
+        } catch (DataAccessException e) {
+            logger.error("Failed to load perceptual hashes after {} images: {}", loaded, e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onImageStored(ImageStoredEvent event) {
+        index(event.imageId());
+    }
+
+    /**
+     * Brings the entry of {@code imageId} in line with its committed hash; an image without one
+     * is dropped until its hash has been computed.
+     */
+    public void index(Long imageId) {
+        try {
+            List<PerceptualHashView> views = imageRepository.findPerceptualHashesByIds(List.of(imageId));
+            if (views.isEmpty()) {
+                remove(imageId);
+            } else {
+                views.forEach(view -> put(view.getId(), view.getGalleryId(), view.getPerceptualHash()));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Could not index perceptual hash of image {}: {}", imageId, e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onImageDeleted(ImageDeletedEvent event) {
+        remove(event.imageId());
+    }
+
+    private record Indexed(Long galleryId, long hash) {
+    }
+
+    private static final class Node {
+
+        private final long hash;
+        private final List<Long> imageIds = new ArrayList<>(1);
+        // Keyed by distance to this node; allocated on the first child
+        private Map<Integer, Node> children;
+
+        Node(long hash) {
+            this.hash = hash;
+        }
+    }
+
+    public NearDuplicateIndex(ImageRepository imageRepository,
+                              BlobStorage storage,
+                              BoundedImageDecoder decoder,
+                              ImageConfiguration imageConfig) {
+        this.imageRepository = imageRepository;
+        this.storage = storage;
+        this.decoder = decoder;
+        this.maxDistance = imageConfig.batch().duplicateDistance();
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * 64-bit DCT perceptual hash: the signs of the lowest 8x8 frequencies of a 32x32 greyscale
+ * thumbnail relative to their median.
+ *
+ * <p>Re-encoding, resizing, small crops and exposure changes barely move these frequencies, so
+ * visually identical images end up a few bits apart while unrelated images differ in about half
+ * of them. Compare hashes with {@link #distance(long, long)}.
+ */
+public final class PerceptualHash {
+
+    private static final int SIZE = 32;
+    private static final int LOW = 8;
+    private static final double[][] COSINES = new double[LOW][SIZE];
+
+    static {
+        for (int u = 0; u < LOW; u++) {
+            for (int x = 0; x < SIZE; x++) {
+                COSINES[u][x] = Math.cos((2 * x + 1) * u * Math.PI / (2 * SIZE));
+            }
+        }
+    }
+
+    private PerceptualHash() {
+    }
+
+    public static long hash(BufferedImage image) {
+        double[][] luma = luma(ImageDerivativeService.scale(image, SIZE, SIZE, false));
+
+        // Separable DCT, only for the low frequencies that end up in the hash
+        double[][] rows = new double[SIZE][LOW];
+        for (int y = 0; y < SIZE; y++) {
+            for (int u = 0; u < LOW; u++) {
+                double sum = 0;
+                for (int x = 0; x < SIZE; x++) {
+                    sum += luma[y][x] * COSINES[u][x];
+                }
+                rows[y][u] = sum;
+            }
+        }
+        double[] coefficients = new double[LOW * LOW];
+        for (int v = 0; v < LOW; v++) {
+            for (int u = 0; u < LOW; u++) {
+                double sum = 0;
+                for (int y = 0; y < SIZE; y++) {
+                    sum += rows[y][u] * COSINES[v][y];
+                }
+                coefficients[v * LOW + u] = sum;
+            }
+        }
+
+        // The DC term only carries the average brightness, so it does not take part in the median
+        double[] sorted = Arrays.copyOfRange(coefficients, 1, coefficients.length);
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+
+        long hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @return the number of differing bits, 0 for identical hashes up to 64
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static double[][] luma(BufferedImage thumbnail) {
+        int[] pixels = thumbnail.getRGB(0, 0, SIZE, SIZE, null, 0, SIZE);
+        double[][] luma = new double[SIZE][SIZE];
+        for (int i = 0; i < pixels.length; i++) {
+            int rgb = pixels[i];
+            luma[i / SIZE][i % SIZE] = 0.299 * ((rgb >> 16) & 0xFF) + 0.587 * ((rgb >> 8) & 0xFF) + 0.114 * (rgb & 0xFF);
+        }
+        return luma;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionRequest;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface ResumableUploadService {
+
+    ApiResponse<UploadSessionResponse> createSession(UploadSessionRequest request);
+    ApiResponse<UploadSessionResponse> getProgress(UUID id);
+    ApiResponse<UploadSessionResponse> appendChunk(UUID id, long offset, InputStream chunk);
+    ApiResponse<ImageResponse> complete(UUID id);
+    ApiResponse<String> abort(UUID id);
+}
@@ -0,0 +1,331 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionRequest;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionResponse;
+import com.sebastianhamm.Backend.image.domain.entities.UploadSessionEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.UploadSessionRepository;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads: a client opens a session with the final size, sends the file in chunks at
+ * explicit offsets, and finalizes it once every byte has arrived.
+ *
+ * <p>Chunks are appended to a staging file while the SHA-256 digest is updated, so finalizing
+ * hands the file to {@link ImageUploadPipeline#storeStaged} without reading it again. The digest
+ * state only lives in memory; after a restart it is rebuilt once from the staging file, truncated
+ * to the persisted progress. Staging files are node-local, so every chunk of a session has to
+ * reach the same node.
+ */
+@Service
+public class ResumableUploadServiceImpl implements ResumableUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumableUploadServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository sessionRepository;
+    private final ImageService imageService;
+    private final ImageUploadPipeline uploadPipeline;
+    private final StorageUsageService storageUsage;
+    private final ImageConfiguration.Resumable config;
+
+    private final Map<UUID, ChunkState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public ApiResponse<UploadSessionResponse> createSession(UploadSessionRequest request) {
+        if (request.getSizeBytes() > config.maxFileSize().toBytes()) {
+            return new ApiResponse<>(400, "File size exceeds max allowed size", null);
+        }
+        // Refused before the first chunk is sent rather than after the whole file has arrived
+        String author = getCurrentUsername();
+        String exceeded = storageUsage.checkQuota(request.getContext(), author, request.getSizeBytes());
+        if (exceeded != null) {
+            return new ApiResponse<>(507, exceeded, null);
+        }
+
+        UploadSessionEntity session = new UploadSessionEntity();
+        session.setId(UUID.randomUUID());
+        session.setFilename(request.getFilename());
+        session.setContext(request.getContext());
+        session.setAuthor(author);
+        session.setSizeBytes(request.getSizeBytes());
+        session.setReceivedBytes(0);
+        session.setExpiresAt(LocalDateTime.now().plus(config.sessionTimeout()));
+
+        UploadSessionEntity saved = sessionRepository.save(session);
+        return new ApiResponse<>(201, "Upload session created", toResponse(saved, 0));
+    }
+
+    @Override
+    public ApiResponse<UploadSessionResponse> getProgress(UUID id) {
+        UploadSessionEntity session = sessionRepository.findById(id).orElse(null);
+        ApiResponse<UploadSessionResponse> denied = checkAccess(id, session);
+        if (denied != null) {
+            return denied;
+        }
+        ChunkState state = states.get(id);
+        long received = state != null && state.digest != null ? state.received : session.getReceivedBytes();
+        return new ApiResponse<>(200, "Upload session found", toResponse(session, received));
+    }
+
+    /**
+     * Appends one chunk. Bytes that arrived before a dropped connection are kept, so the client
+     * continues from the offset reported by {@link #getProgress}.
+     */
+    @Override
+    public ApiResponse<UploadSessionResponse> appendChunk(UUID id, long offset, InputStream chunk) {
+        UploadSessionEntity session = sessionRepository.findById(id).orElse(null);
+        ApiResponse<UploadSessionResponse> denied = checkAccess(id, session);
+        if (denied != null) {
+            return denied;
+        }
+
+        ChunkState state = states.computeIfAbsent(id, key -> new ChunkState());
+        if (!state.lock.tryLock()) {
+            return new ApiResponse<>(409, "Another chunk is being written to this upload", null);
+        }
+        try {
+            Path file = uploadPipeline.sessionFile(id.toString());
+            resume(id, state, file, session.getReceivedBytes());
+            if (offset != state.received) {
+                return new ApiResponse<>(409, "Chunk must start at offset " + state.received,
+                        toResponse(session, state.received));
+            }
+
+            try {
+                append(file, state, chunk, session.getSizeBytes());
+            } finally {
+                LocalDateTime expiresAt = LocalDateTime.now().plus(config.sessionTimeout());
+                session.setExpiresAt(expiresAt);
+                sessionRepository.updateProgress(id, state.received, expiresAt);
+            }
+            return new ApiResponse<>(200, "Chunk received", toResponse(session, state.received));
+
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(400, e.getMessage(), toResponse(session, state.received));
+        } catch (IOException e) {
+            logger.error("Failed to append chunk to upload {}: {}", id, e.getMessage(), e);
+            return new ApiResponse<>(500, "Internal server error", null);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    @Override
+    public ApiResponse<ImageResponse> complete(UUID id) {
+        UploadSessionEntity session = sessionRepository.findById(id).orElse(null);
+        ApiResponse<ImageResponse> denied = checkAccess(id, session);
+        if (denied != null) {
+            return denied;
+        }
+
+        ChunkState state = states.computeIfAbsent(id, key -> new ChunkState());
+        if (!state.lock.tryLock()) {
+            return new ApiResponse<>(409, "Another chunk is being written to this upload", null);
+        }
+        StoredUpload stored;
+        try {
+            Path file = uploadPipeline.sessionFile(id.toString());
+            resume(id, state, file, session.getReceivedBytes());
+            if (state.received != session.getSizeBytes()) {
+                return new ApiResponse<>(409, "Upload is incomplete: " + state.received + " of "
+                        + session.getSizeBytes() + " bytes received", null);
+            }
+
+            String sha256 = HexFormat.of().formatHex(state.digest.digest());
+            try {
+                stored = uploadPipeline.storeStaged(file, sha256, state.received);
+            } finally {
+                // The staging file is consumed either way, so the session cannot be finalized twice
+                states.remove(id);
+                sessionRepository.delete(session);
+            }
+
+        } catch (IllegalArgumentException e) {
+            return new ApiResponse<>(400, e.getMessage(), null);
+        } catch (IOException e) {
+            logger.error("Failed to finalize upload {}: {}", id, e.getMessage(), e);
+            return new ApiResponse<>(500, "Internal server error", null);
+        } finally {
+            state.lock.unlock();
+        }
+
+        return imageService.saveStoredImage(stored, session.getFilename(), session.getContext());
+    }
+
+    @Override
+    public ApiResponse<String> abort(UUID id) {
+        UploadSessionEntity session = sessionRepository.findById(id).orElse(null);
+        ApiResponse<String> denied = checkAccess(id, session);
+        if (denied != null) {
+            return denied;
+        }
+        try {
+            discard(session);
+            return new ApiResponse<>(200, "Upload session deleted", "Upload session with id: " + id + " deleted");
+        } catch (IOException e) {
+            logger.error("Failed to delete upload {}: {}", id, e.getMessage(), e);
+            return new ApiResponse<>(500, "Internal server error", null);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.images.resumable.cleanup-initial-delay:PT5M}",
+            fixedDelayString = "${app.images.resumable.cleanup-interval:PT1H}")
+    public void removeExpiredSessions() {
+        for (UploadSessionEntity session : sessionRepository.findByExpiresAtBefore(LocalDateTime.now())) {
+            try {
+                discard(session);
+                logger.info("Removed expired upload session {}", session.getId());
+            } catch (IOException e) {
+                logger.error("Failed to remove expired upload {}: {}", session.getId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void discard(UploadSessionEntity session) throws IOException {
+        ChunkState state = states.computeIfAbsent(session.getId(), key -> new ChunkState());
+        state.lock.lock();
+        try {
+            Files.deleteIfExists(uploadPipeline.sessionFile(session.getId().toString()));
+            sessionRepository.delete(session);
+            states.remove(session.getId());
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Makes sure the digest covers exactly the bytes in the staging file. Normally it is kept from
+     * the previous chunk; after a restart it is rebuilt from the file.
+     */
+    private void resume(UUID id, ChunkState state, Path file, long persistedBytes) throws IOException {
+        if (state.digest != null) {
+            return;
+        }
+        MessageDigest digest = ImageUploadPipeline.newSha256();
+        long received = 0;
+        if (Files.exists(file)) {
+            logger.info("Rebuilding digest of upload {} from its staging file", id);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // A write may have outrun the last recorded progress
+                received = Math.min(channel.size(), persistedBytes);
+                channel.truncate(received);
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                long position = 0;
+                while (position < received) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    if (read < 0) {
+                        break;
+                    }
+                    buffer.flip();
+                    digest.update(buffer);
+                    position += read;
+                }
+            }
+        }
+        state.digest = digest;
+        state.received = received;
+    }
+
+    /**
+     * Copies the chunk to the end of the staging file. The digest and the progress only advance
+     * once a buffer has been written, so a failed write never leaves them ahead of the file.
+     */
+    private void append(Path file, ChunkState state, InputStream chunk, long sizeBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(state.received);
+            channel.position(state.received);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = chunk.read(buffer)) != -1) {
+                if (state.received + read > sizeBytes) {
+                    throw new IllegalArgumentException("Chunk exceeds the declared file size of " + sizeBytes + " bytes");
+                }
+                ByteBuffer data = ByteBuffer.wrap(buffer, 0, read);
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+                state.digest.update(buffer, 0, read);
+                state.received += read;
+            }
+        }
+    }
+
+    private <T> ApiResponse<T> checkAccess(UUID id, UploadSessionEntity session) {
+        if (session == null || session.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return new ApiResponse<>(404, "Upload session not found with id: " + id, null);
+        }
+        if (!session.getAuthor().equals(getCurrentUsername())) {
+            return new ApiResponse<>(403, "Upload session belongs to another user", null);
+        }
+        return null;
+    }
+
+    private String getCurrentUsername() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !"anonymousUser".equals(auth.getPrincipal())) {
+            return auth.getName();
+        }
+        return "anonymous";
+    }
+
+    private static UploadSessionResponse toResponse(UploadSessionEntity session, long receivedBytes) {
+        return new UploadSessionResponse(session.getId(), session.getFilename(), session.getSizeBytes(),
+                receivedBytes, session.getExpiresAt());
+    }
+
+    /**
+     * In-memory progress of a session: the digest over the bytes received so far. The lock keeps
+     * two requests from writing the same session at once.
+     */
+    private static final class ChunkState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long received;
+    }
+
+    public ResumableUploadServiceImpl(UploadSessionRepository sessionRepository,
+                                      ImageService imageService,
+                                      ImageUploadPipeline uploadPipeline,
+                                      StorageUsageService storageUsage,
+                                      ImageConfiguration imageConfig) {
+        this.sessionRepository = sessionRepository;
+        this.imageService = imageService;
+        this.uploadPipeline = uploadPipeline;
+        this.storageUsage = storageUsage;
+        this.config = imageConfig.resumable();
+    }
+}
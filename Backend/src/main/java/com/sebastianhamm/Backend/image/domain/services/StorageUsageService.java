@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository.UsageView;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Tracks how many bytes of originals each upload context and each author holds, and enforces the
+ * configured quotas. Originals count with their size as uploaded, before metadata is stripped:
+ * that is the size known when a quota is checked, so checks and counters use the same measure.
+ *
+ * <p>Counters live in memory and are adjusted as images are saved, replaced and deleted, once the
+ * change has committed, so a quota check is two map lookups and can run before a single byte of
+ * an upload has been read. A periodic pass recomputes the counters from the database, which
+ * corrects drift from concurrent changes and from other nodes.
+ *
+ * <p>Contexts come from a request parameter and authors are user names, so neither is a fit for
+ * metric tags: the gauge {@code storage.usage.bytes} is exported per context with a configured
+ * quota plus one {@code other} series for the rest, and not per author at all. The full
+ * breakdown is available to administrators through {@link #contextUsages()} and
+ * {@link #authorUsages()}.
+ *
+ * <p>Checks are made against committed usage, so uploads running at the same time can together
+ * overshoot a quota by at most their own size.
+ */
+@Service
+public class StorageUsageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageUsageService.class);
+
+    static final String UNASSIGNED = "unassigned";
+    static final String OTHER = "other";
+
+    private final ImageRepository imageRepository;
+    private final MeterRegistry meterRegistry;
+    private final ImageConfiguration.Quota config;
+
+    private final Map<String, AtomicLong> byContext = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> byAuthor = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * The context an image counts towards; images from before contexts were recorded count
+     * towards their gallery.
+     */
+    public static String contextOf(ImageEntity image) {
+        if (image.getUploadContext() != null) {
+            return image.getUploadContext();
+        }
+        return image.getGallery() != null ? image.getGallery().getSlug() : null;
+    }
+
+    /**
+     * The bytes an image counts with; images from before upload sizes were recorded count with
+     * their stored size.
+     */
+    public static long accountedBytes(ImageEntity image) {
+        if (image.getUploadSizeBytes() != null) {
+            return image.getUploadSizeBytes();
+        }
+        return image.getFileSizeBytes() != null ? image.getFileSizeBytes() : 0;
+    }
+
+    public long contextUsage(String context) {
+        AtomicLong usage = byContext.get(key(context));
+        return usage != null ? usage.get() : 0;
+    }
+
+    public long authorUsage(String author) {
+        AtomicLong usage = byAuthor.get(key(author));
+        return usage != null ? usage.get() : 0;
+    }
+
+    /**
+     * @return bytes held per upload context, by context name
+     */
+    public Map<String, Long> contextUsages() {
+        return snapshot(byContext);
+    }
+
+    /**
+     * @return bytes held per author, by user name
+     */
+    public Map<String, Long> authorUsages() {
+        return snapshot(byAuthor);
+    }
+
+    /**
+     * @return why {@code additionalBytes} more would exceed the quota of the context or the
+     * author, or {@code null} if they fit
+     */
+    public String checkQuota(String context, String author, long additionalBytes) {
+        String exceeded = checkContextQuota(context, additionalBytes);
+        return exceeded != null ? exceeded : checkAuthorQuota(author, additionalBytes);
+    }
+
+    public String checkContextQuota(String context, long additionalBytes) {
+        DataSize limit = config.contexts().getOrDefault(key(context), config.perContext());
+        if (exceeds(limit, contextUsage(context), additionalBytes)) {
+            meterRegistry.counter("storage.quota.rejected", "scope", "context").increment();
+            return "Storage quota of " + limit.toMegabytes() + " MB for context '" + key(context) + "' exceeded";
+        }
+        return null;
+    }
+
+    public String checkAuthorQuota(String author, long additionalBytes) {
+        DataSize limit = config.authors().getOrDefault(key(author), config.perAuthor());
+        if (exceeds(limit, authorUsage(author), additionalBytes)) {
+            meterRegistry.counter("storage.quota.rejected", "scope", "author").increment();
+            return "Storage quota of " + limit.toMegabytes() + " MB for the uploading user exceeded";
+        }
+        return null;
+    }
+
+    /**
+     * Adds {@code deltaBytes}, which may be negative, to the usage of a context and an author
+     * once the current transaction commits, or right away outside of a transaction.
+     */
+    public void record(String context, String author, long deltaBytes) {
+        if (deltaBytes == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(context, author, deltaBytes);
+                }
+            });
+        } else {
+            apply(context, author, deltaBytes);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.images.quota.reconcile-interval:PT1H}",
+            fixedDelayString = "${app.images.quota.reconcile-interval:PT1H}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Replaces all counters with the sums from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        try {
+            long drift = reconcile(byContext, imageRepository.sumFileSizesByContext())
+                    + reconcile(byAuthor, imageRepository.sumFileSizesByAuthor());
+            if (!loaded) {
+                loaded = true;
+                logger.info("Loaded storage usage of {} contexts and {} authors", byContext.size(), byAuthor.size());
+            } else if (drift != 0) {
+                logger.info("Reconciled storage usage, counters were off by {} bytes in total", drift);
+            }
+        } catch (DataAccessException e) {
+            logger.error("Failed to reconcile storage usage: {}", e.getMessage(), e);
+        }
+    }
+
+    private long reconcile(Map<String, AtomicLong> counters, List<UsageView> sums) {
+        Map<String, Long> actual = new HashMap<>();
+        for (UsageView sum : sums) {
+            actual.merge(key(sum.getName()), sum.getBytes() != null ? sum.getBytes() : 0, Long::sum);
+        }
+        Set<String> keys = new HashSet<>(counters.keySet());
+        keys.addAll(actual.keySet());
+
+        long drift = 0;
+        for (String key : keys) {
+            long bytes = actual.getOrDefault(key, 0L);
+            drift += Math.abs(counter(counters, key).getAndSet(bytes) - bytes);
+        }
+        return drift;
+    }
+
+    private void apply(String context, String author, long deltaBytes) {
+        counter(byContext, key(context)).addAndGet(deltaBytes);
+        counter(byAuthor, key(author)).addAndGet(deltaBytes);
+    }
+
+    private static AtomicLong counter(Map<String, AtomicLong> counters, String key) {
+        return counters.computeIfAbsent(key, name -> new AtomicLong());
+    }
+
+    private long otherContextUsage() {
+        return byContext.entrySet().stream()
+                .filter(entry -> !config.contexts().containsKey(entry.getKey()))
+                .mapToLong(entry -> entry.getValue().get())
+                .sum();
+    }
+
+    private void registerGauge(String name, ToDoubleFunction<StorageUsageService> value) {
+        Gauge.builder("storage.usage.bytes", this, value)
+                .description("Bytes of image originals held per upload context with a quota, and by all others")
+                .baseUnit("bytes")
+                .tag("scope", "context")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    private static Map<String, Long> snapshot(Map<String, AtomicLong> counters) {
+        Map<String, Long> usages = new TreeMap<>();
+        counters.forEach((name, usage) -> usages.put(name, usage.get()));
+        return usages;
+    }
+
+    private static boolean exceeds(DataSize limit, long used, long additionalBytes) {
+        return limit != null && additionalBytes > 0 && used + additionalBytes > limit.toBytes();
+    }
+
+    private static String key(String name) {
+        return name != null && !name.isBlank() ? name : UNASSIGNED;
+    }
+
+    public StorageUsageService(ImageRepository imageRepository, ImageConfiguration imageConfig, MeterRegistry meterRegistry) {
+        this.imageRepository = imageRepository;
+        this.meterRegistry = meterRegistry;
+        this.config = imageConfig.quota();
+
+        for (String context : config.contexts().keySet()) {
+            registerGauge(context, usage -> usage.contextUsage(context));
+        }
+        registerGauge(OTHER, StorageUsageService::otherContextUsage);
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import java.time.Instant;
+
+/**
+ * Metadata of a stored blob as reported by its {@link BlobStorage}.
+ *
+ * @param key          storage key
+ * @param sizeBytes    size of the blob in bytes
+ * @param lastModified time the blob was last written
+ */
+public record BlobStat(
+        String key,
+        long sizeBytes,
+        Instant lastModified
+) {
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming key/value store for uploaded files.
+ *
+ * <p>Keys are flat file names such as {@code {sha256}.jpg}; implementations decide how they are laid
+ * out. The backend is selected per deployment with {@code app.images.storage.type}.
+ */
+public interface BlobStorage {
+
+    Pattern VALID_KEY = Pattern.compile("^[A-Za-z0-9]{4}[A-Za-z0-9._-]{0,251}$");
+
+    /**
+     * Stores {@code sizeBytes} bytes read from {@code content} under {@code key}, replacing any
+     * existing blob. Readers never observe a partially written blob.
+     */
+    void put(String key, InputStream content, long sizeBytes, String contentType) throws IOException;
+
+    /**
+     * Stores the contents of a local file. Implementations may move {@code source} into place
+     * instead of copying it, so callers must not rely on it afterwards.
+     */
+    default void put(String key, Path source, String contentType) throws IOException {
+        try (InputStream content = Files.newInputStream(source)) {
+            put(key, content, Files.size(source), contentType);
+        }
+    }
+
+    /**
+     * Opens {@code length} bytes of the blob starting at {@code offset}; a negative length reads to the end.
+     *
+     * @throws java.nio.file.NoSuchFileException if no blob exists under {@code key}
+     */
+    InputStream get(String key, long offset, long length) throws IOException;
+
+    default InputStream get(String key) throws IOException {
+        return get(key, 0, -1);
+    }
+
+    /**
+     * Removes the blob; deleting a missing blob is not an error.
+     */
+    void delete(String key) throws IOException;
+
+    Optional<BlobStat> stat(String key) throws IOException;
+
+    /**
+     * All blobs whose key starts with {@code prefix}, in no particular order. The prefix must
+     * itself be a valid key, so it always names the shard the blobs live in.
+     */
+    List<BlobStat> list(String prefix) throws IOException;
+
+    /**
+     * The blob's location on the local file system if the backend keeps one, allowing callers to
+     * hand the file to the OS for zero-copy transfer.
+     */
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    static String checkKey(String key) {
+        if (key == null || !VALID_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid blob key: " + key);
+        }
+        return key;
+    }
+}
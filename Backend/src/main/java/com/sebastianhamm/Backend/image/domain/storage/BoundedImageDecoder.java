@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Decodes images into bitmaps without letting a small file claim an unbounded amount of memory.
+ *
+ * <p>The dimensions are read from the header before any pixel data: images declaring more than
+ * the configured maximum are rejected outright. Larger images are decoded subsampled, so no bitmap
+ * exceeds the per-decode limit and none is much larger than the caller needs. Every decode also
+ * reserves its pixels from a budget shared by all threads, held until the caller is done with the
+ * bitmap, which caps the memory of concurrent decodes at a fixed ceiling.
+ */
+@Component
+public class BoundedImageDecoder {
+
+    private final long maxPixels;
+    private final int maxDecodedPixels;
+    private final Semaphore pixelBudget;
+
+    /**
+     * Decodes {@code input} and hands the bitmap to {@code handler}, which must not keep a
+     * reference to it after returning.
+     *
+     * @param minWidth width the caller needs at least; the image is subsampled down to about twice
+     *                 that, or {@code 0} to only subsample as far as the per-decode limit requires
+     * @return the handler's result, or {@code null} if no decoder is available for the format
+     * @throws IllegalArgumentException if the image declares more pixels than allowed
+     * @throws IOException              if decoding fails or the thread is interrupted while waiting
+     */
+    public <T> T decode(InputStream input, int minWidth, Handler<T> handler) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                checkDimensions(width, height);
+
+                int subsampling = subsampling(width, height, minWidth);
+                int permits = Math.toIntExact(decodedPixels(width, subsampling) * decodedPixels(height, subsampling));
+                acquire(permits);
+                try {
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                    return handler.apply(new DecodedImage(reader.read(0, param), width, height));
+                } finally {
+                    pixelBudget.release(permits);
+                }
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void checkDimensions(long width, long height) {
+        checkDimensions(width, height, maxPixels);
+    }
+
+    /**
+     * @throws IllegalArgumentException if an image of the given size must not be accepted
+     */
+    static void checkDimensions(long width, long height, long maxPixels) {
+        if (width <= 0 || height <= 0 || width * height > maxPixels) {
+            throw new IllegalArgumentException(
+                    "Image dimensions " + width + "x" + height + " exceed the maximum of " + maxPixels + " pixels");
+        }
+    }
+
+    /**
+     * Subsampling factor that leaves about twice {@code minWidth}, raised further until the bitmap
+     * fits the per-decode limit. The margin keeps the artefacts of nearest-neighbour subsampling
+     * out of the final downscale.
+     */
+    int subsampling(int width, int height, int minWidth) {
+        int factor = minWidth > 0 ? Math.max(1, width / (2 * minWidth)) : 1;
+        while (decodedPixels(width, factor) * decodedPixels(height, factor) > maxDecodedPixels) {
+            factor++;
+        }
+        return factor;
+    }
+
+    private static long decodedPixels(int size, int subsampling) {
+        return (size + subsampling - 1) / subsampling;
+    }
+
+    private void acquire(int permits) throws IOException {
+        try {
+            pixelBudget.acquire(permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for decoding memory");
+        }
+    }
+
+    /**
+     * A decoded bitmap, possibly subsampled, together with the dimensions of the original image.
+     */
+    public record DecodedImage(BufferedImage image, int sourceWidth, int sourceHeight) {
+    }
+
+    /**
+     * Works on a decoded bitmap while its memory is reserved.
+     */
+    @FunctionalInterface
+    public interface Handler<T> {
+        T apply(DecodedImage decoded) throws IOException;
+    }
+
+    public BoundedImageDecoder(ImageConfiguration imageConfig) {
+        ImageConfiguration.Decoding config = imageConfig.decoding();
+        this.maxPixels = config.maxPixels();
+        this.maxDecodedPixels = config.maxDecodedPixels();
+        this.pixelBudget = new Semaphore(config.pixelBudget(), true);
+    }
+}
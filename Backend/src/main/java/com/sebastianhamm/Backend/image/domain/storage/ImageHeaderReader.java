@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.imaging.ImageProcessingException;
+import com.drew.metadata.Directory;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifDirectoryBase;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import com.drew.metadata.exif.ExifSubIFDDirectory;
+import com.drew.metadata.jpeg.JpegDirectory;
+import com.drew.metadata.png.PngDirectory;
+import com.drew.metadata.webp.WebpDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads dimensions, orientation, capture time and camera from the headers of an image without
+ * decoding any pixels: JPEG segments are read up to the start of scan, PNG and WebP chunks other
+ * than the header and metadata ones are skipped.
+ */
+final class ImageHeaderReader {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageHeaderReader.class);
+
+    private static final DateTimeFormatter EXIF_DATE_TIME = DateTimeFormatter.ofPattern("yyyy:MM:dd HH:mm:ss");
+
+    private ImageHeaderReader() {
+    }
+
+    /**
+     * @return the metadata found, or {@link ImageMetadata#EMPTY} if the headers cannot be parsed;
+     * a file with broken metadata is still a valid upload
+     */
+    static ImageMetadata read(Path file) {
+        Metadata metadata;
+        try (InputStream in = Files.newInputStream(file)) {
+            metadata = ImageMetadataReader.readMetadata(in, Files.size(file));
+        } catch (ImageProcessingException | IOException e) {
+            logger.debug("Could not read image headers of {}: {}", file, e.getMessage());
+            return ImageMetadata.EMPTY;
+        }
+
+        Integer width = first(metadata, JpegDirectory.class, JpegDirectory.TAG_IMAGE_WIDTH,
+                PngDirectory.class, PngDirectory.TAG_IMAGE_WIDTH,
+                WebpDirectory.class, WebpDirectory.TAG_IMAGE_WIDTH);
+        Integer height = first(metadata, JpegDirectory.class, JpegDirectory.TAG_IMAGE_HEIGHT,
+                PngDirectory.class, PngDirectory.TAG_IMAGE_HEIGHT,
+                WebpDirectory.class, WebpDirectory.TAG_IMAGE_HEIGHT);
+
+        ExifIFD0Directory ifd0 = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+        ExifSubIFDDirectory subIfd = metadata.getFirstDirectoryOfType(ExifSubIFDDirectory.class);
+        Integer orientation = ifd0 != null ? ifd0.getInteger(ExifDirectoryBase.TAG_ORIENTATION) : null;
+
+        // Orientations 5 to 8 rotate by 90 degrees, so the displayed image is transposed
+        if (orientation != null && orientation >= 5 && orientation <= 8) {
+            Integer stored = width;
+            width = height;
+            height = stored;
+        }
+
+        LocalDateTime capturedAt = subIfd != null ? parseDateTime(subIfd.getString(ExifDirectoryBase.TAG_DATETIME_ORIGINAL)) : null;
+        if (capturedAt == null && ifd0 != null) {
+            capturedAt = parseDateTime(ifd0.getString(ExifDirectoryBase.TAG_DATETIME));
+        }
+
+        return new ImageMetadata(width, height, orientation, capturedAt,
+                ifd0 != null ? trim(ifd0.getString(ExifDirectoryBase.TAG_MAKE)) : null,
+                ifd0 != null ? trim(ifd0.getString(ExifDirectoryBase.TAG_MODEL)) : null);
+    }
+
+    private static Integer first(Metadata metadata,
+                                 Class<? extends Directory> first, int firstTag,
+                                 Class<? extends Directory> second, int secondTag,
+                                 Class<? extends Directory> third, int thirdTag) {
+        Integer value = tag(metadata, first, firstTag);
+        if (value == null) {
+            value = tag(metadata, second, secondTag);
+        }
+        return value != null ? value : tag(metadata, third, thirdTag);
+    }
+
+    private static Integer tag(Metadata metadata, Class<? extends Directory> type, int tag) {
+        Directory directory = metadata.getFirstDirectoryOfType(type);
+        return directory != null ? directory.getInteger(tag) : null;
+    }
+
+    /**
+     * EXIF times carry no zone; the value is kept as the camera recorded it. Unset fields are
+     * often filled with zeros or blanks, which do not parse and are dropped.
+     */
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.trim(), EXIF_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String trim(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.isEmpty()) {
+            return null;
+        }
+        return trimmed.length() > 100 ? trimmed.substring(0, 100) : trimmed;
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Header metadata of an uploaded image. Every component is {@code null} when the file does not
+ * carry it.
+ *
+ * @param width       displayed width in pixels, i.e. after applying the EXIF orientation
+ * @param height      displayed height in pixels, i.e. after applying the EXIF orientation
+ * @param orientation EXIF orientation (1-8)
+ * @param capturedAt  capture time as recorded by the camera clock
+ * @param cameraMake  camera manufacturer
+ * @param cameraModel camera model
+ */
+public record ImageMetadata(
+        Integer width,
+        Integer height,
+        Integer orientation,
+        LocalDateTime capturedAt,
+        String cameraMake,
+        String cameraModel
+) {
+
+    public static final ImageMetadata EMPTY = new ImageMetadata(null, null, null, null, null, null);
+}
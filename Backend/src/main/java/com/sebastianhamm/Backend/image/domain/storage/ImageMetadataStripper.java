@@ -0,0 +1,500 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Rewrites JPEG, PNG and WebP files without the metadata visitors do not need: EXIF (including
+ * GPS position and embedded thumbnails), XMP, IPTC, comments and text chunks. Works on the
+ * container structure only; compressed pixel data is copied unchanged, never re-encoded.
+ *
+ * <p>What affects rendering is kept: ICC profiles, colour and transparency chunks, animation
+ * chunks and the EXIF orientation. JPEGs get a minimal EXIF segment holding only the orientation;
+ * PNG and WebP files keep their EXIF block if it rotates the image, which is rare for those formats.
+ *
+ * <p>Files whose structure does not parse are reported as such and should be stored unchanged.
+ */
+final class ImageMetadataStripper {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int JPEG_SOI = 0xD8;
+    private static final int JPEG_EOI = 0xD9;
+    private static final int JPEG_SOS = 0xDA;
+    private static final int JPEG_APP0 = 0xE0;
+    private static final int JPEG_APP2 = 0xE2;
+    private static final int JPEG_APP14 = 0xEE;
+    private static final int JPEG_COM = 0xFE;
+    private static final byte[] ICC_PROFILE = "ICC_PROFILE\0".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JFXX = "JFXX\0".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("tEXt", "zTXt", "iTXt", "tIME", "eXIf");
+
+    private static final int WEBP_EXIF_FLAG = 0x08;
+    private static final int WEBP_XMP_FLAG = 0x04;
+
+    private ImageMetadataStripper() {
+    }
+
+    /**
+     * Writes {@code source} without its metadata to {@code out}.
+     *
+     * @param orientation EXIF orientation of the image, kept in the output if it is not the default
+     * @return {@code false} if the file did not parse; the output is incomplete and must be discarded
+     * @throws IOException if reading or writing fails
+     */
+    static boolean strip(Path source, String mimeType, Integer orientation, OutputStream out) throws IOException {
+        boolean rotated = orientation != null && orientation != 1;
+        try {
+            switch (mimeType) {
+                case "image/jpeg" -> {
+                    try (Input in = new Input(source)) {
+                        stripJpeg(in, rotated ? orientation : null, out);
+                    }
+                }
+                case "image/png" -> {
+                    try (Input in = new Input(source)) {
+                        stripPng(in, rotated, out);
+                    }
+                }
+                case "image/webp" -> stripWebp(source, rotated, out);
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (MalformedImageException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Whether {@link #strip} would remove anything from {@code source}. Only the container
+     * structure is walked, skipping pixel data: JPEG segments up to the first scan plus the last
+     * two bytes, PNG chunk headers and WebP chunk headers. That costs a few reads, where stripping
+     * reads and writes the whole file.
+     *
+     * @return {@code false} also if the file does not parse, as it is then stored unchanged anyway
+     * @throws IOException if reading fails
+     */
+    static boolean hasMetadata(Path source, String mimeType, Integer orientation) throws IOException {
+        boolean rotated = orientation != null && orientation != 1;
+        try (Input in = new Input(source)) {
+            return switch (mimeType) {
+                case "image/jpeg" -> jpegHasMetadata(in) || !endsWithEoi(source);
+                case "image/png" -> pngHasMetadata(in, rotated);
+                case "image/webp" -> webpHasMetadata(in, rotated, Files.size(source));
+                default -> false;
+            };
+        } catch (MalformedImageException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Encoders write metadata before the first scan, so the entropy-coded data is not read.
+     */
+    private static boolean jpegHasMetadata(Input in) throws IOException, MalformedImageException {
+        if (in.read() != 0xFF || in.read() != JPEG_SOI) {
+            throw new MalformedImageException();
+        }
+        while (true) {
+            int marker = nextMarker(in);
+            if (marker == JPEG_SOS || marker == JPEG_EOI) {
+                return false;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                continue;
+            }
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                throw new MalformedImageException();
+            }
+            if (!keepJpegSegment(marker, in.readFully(length - 2))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Data appended after EOI is dropped by stripping; a file not ending in EOI carries some.
+     */
+    private static boolean endsWithEoi(Path source) throws IOException {
+        long size = Files.size(source);
+        try (InputStream in = Files.newInputStream(source)) {
+            in.skipNBytes(Math.max(0, size - 2));
+            byte[] tail = in.readNBytes(2);
+            return tail.length == 2 && (tail[0] & 0xFF) == 0xFF && (tail[1] & 0xFF) == JPEG_EOI;
+        }
+    }
+
+    private static boolean pngHasMetadata(Input in, boolean keepExif) throws IOException, MalformedImageException {
+        if (!Arrays.equals(in.readFully(PNG_SIGNATURE.length), PNG_SIGNATURE)) {
+            throw new MalformedImageException();
+        }
+        while (true) {
+            byte[] header = in.readFully(8);
+            long length = ByteBuffer.wrap(header).getInt() & 0xFFFFFFFFL;
+            String type = new String(header, 4, 4, StandardCharsets.US_ASCII);
+            if (PNG_METADATA_CHUNKS.contains(type) && !(keepExif && "eXIf".equals(type))) {
+                return true;
+            }
+            if ("IEND".equals(type)) {
+                return false;
+            }
+            in.skip(length + 4);
+        }
+    }
+
+    private static boolean webpHasMetadata(Input in, boolean keepExif, long fileSize) throws IOException, MalformedImageException {
+        long end = webpEnd(in.readFully(12), fileSize);
+        for (long position = 12; position < end; ) {
+            byte[] chunkHeader = in.readFully(8);
+            if (dropWebpChunk(chunkHeader, keepExif)) {
+                return true;
+            }
+            long padded = paddedChunkSize(chunkHeader);
+            in.skip(padded);
+            position += 8 + padded;
+        }
+        return false;
+    }
+
+    /**
+     * Copies the segments before the first scan selectively and everything from there up to EOI
+     * verbatim. Data after EOI, such as the secondary images phones append and announce in an
+     * MPF segment, is dropped along with that segment.
+     */
+    private static void stripJpeg(Input in, Integer orientation, OutputStream out) throws IOException, MalformedImageException {
+        if (in.read() != 0xFF || in.read() != JPEG_SOI) {
+            throw new MalformedImageException();
+        }
+        out.write(0xFF);
+        out.write(JPEG_SOI);
+
+        boolean inScan = false;
+        while (true) {
+            int marker = inScan ? copyScan(in, out) : nextMarker(in);
+            inScan = false;
+            if (marker == JPEG_EOI) {
+                out.write(0xFF);
+                out.write(JPEG_EOI);
+                return;
+            }
+            if (marker == 0x01 || (marker >= 0xD0 && marker <= 0xD7)) {
+                // Standalone markers without a length
+                out.write(0xFF);
+                out.write(marker);
+                continue;
+            }
+
+            int length = in.readUnsignedShort();
+            if (length < 2) {
+                throw new MalformedImageException();
+            }
+            byte[] payload = in.readFully(length - 2);
+
+            if (orientation != null && marker != JPEG_APP0) {
+                out.write(orientationSegment(orientation));
+                orientation = null;
+            }
+            if (keepJpegSegment(marker, payload)) {
+                out.write(0xFF);
+                out.write(marker);
+                out.write(length >> 8);
+                out.write(length);
+                out.write(payload);
+            }
+            inScan = marker == JPEG_SOS;
+        }
+    }
+
+    private static boolean keepJpegSegment(int marker, byte[] payload) {
+        if (marker == JPEG_APP0) {
+            // JFIF is kept, the JFXX extension only carries a thumbnail
+            return !startsWith(payload, JFXX);
+        }
+        if (marker == JPEG_APP2) {
+            return startsWith(payload, ICC_PROFILE);
+        }
+        if (marker == JPEG_APP14) {
+            // Adobe segment, needed to interpret the colour transform
+            return true;
+        }
+        return marker != JPEG_COM && (marker < 0xE0 || marker > 0xEF);
+    }
+
+    private static int nextMarker(Input in) throws IOException, MalformedImageException {
+        if (in.read() != 0xFF) {
+            throw new MalformedImageException();
+        }
+        int marker = in.read();
+        while (marker == 0xFF) {
+            marker = in.read();
+        }
+        if (marker < 0) {
+            throw new MalformedImageException();
+        }
+        return marker;
+    }
+
+    /**
+     * Copies entropy-coded data up to the next marker that is not a stuffed byte or a restart marker.
+     *
+     * @return the marker ending the scan
+     */
+    private static int copyScan(Input in, OutputStream out) throws IOException, MalformedImageException {
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                throw new MalformedImageException();
+            }
+            if (b != 0xFF) {
+                out.write(b);
+                continue;
+            }
+            int next = in.read();
+            while (next == 0xFF) {
+                next = in.read();
+            }
+            if (next < 0) {
+                throw new MalformedImageException();
+            }
+            if (next == 0x00 || (next >= 0xD0 && next <= 0xD7)) {
+                out.write(0xFF);
+                out.write(next);
+                continue;
+            }
+            return next;
+        }
+    }
+
+    /**
+     * APP1 segment with a big-endian TIFF header and a single IFD entry, the orientation.
+     */
+    private static byte[] orientationSegment(int orientation) {
+        ByteBuffer segment = ByteBuffer.allocate(36);
+        segment.put((byte) 0xFF).put((byte) 0xE1).putShort((short) 34);
+        segment.put("Exif\0\0".getBytes(StandardCharsets.US_ASCII));
+        segment.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        segment.putShort((short) 1);
+        segment.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        segment.putInt(0);
+        return segment.array();
+    }
+
+    private static void stripPng(Input in, boolean keepExif, OutputStream out) throws IOException, MalformedImageException {
+        if (!Arrays.equals(in.readFully(PNG_SIGNATURE.length), PNG_SIGNATURE)) {
+            throw new MalformedImageException();
+        }
+        out.write(PNG_SIGNATURE);
+
+        while (true) {
+            byte[] header = in.readFully(8);
+            long length = ByteBuffer.wrap(header).getInt() & 0xFFFFFFFFL;
+            String type = new String(header, 4, 4, StandardCharsets.US_ASCII);
+            boolean keep = !PNG_METADATA_CHUNKS.contains(type) || (keepExif && "eXIf".equals(type));
+
+            if (keep) {
+                out.write(header);
+                in.copy(length + 4, out);
+            } else {
+                in.skip(length + 4);
+            }
+            if ("IEND".equals(type)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * The RIFF size in the file header covers all chunks, so the chunk headers are walked in a
+     * first pass to compute it before anything is written.
+     */
+    private static void stripWebp(Path source, boolean keepExif, OutputStream out) throws IOException, MalformedImageException {
+        long dropped = 0;
+        try (Input in = new Input(source)) {
+            long end = webpEnd(in.readFully(12), Files.size(source));
+            for (long position = 12; position < end; ) {
+                byte[] chunkHeader = in.readFully(8);
+                long padded = paddedChunkSize(chunkHeader);
+                if (dropWebpChunk(chunkHeader, keepExif)) {
+                    dropped += 8 + padded;
+                }
+                in.skip(padded);
+                position += 8 + padded;
+            }
+        }
+
+        try (Input in = new Input(source)) {
+            byte[] header = in.readFully(12);
+            long end = webpEnd(header, Files.size(source));
+            ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).putInt(4, (int) (end - 8 - dropped));
+            out.write(header);
+
+            for (long position = 12; position < end; ) {
+                byte[] chunkHeader = in.readFully(8);
+                long padded = paddedChunkSize(chunkHeader);
+                position += 8 + padded;
+                if (dropWebpChunk(chunkHeader, keepExif)) {
+                    in.skip(padded);
+                    continue;
+                }
+                out.write(chunkHeader);
+                if ("VP8X".equals(fourCc(chunkHeader)) && padded > 0) {
+                    // The extended header announces the metadata chunks; clear the flags of dropped ones
+                    int flags = in.read();
+                    out.write(keepExif ? flags & ~WEBP_XMP_FLAG : flags & ~(WEBP_EXIF_FLAG | WEBP_XMP_FLAG));
+                    padded--;
+                }
+                in.copy(padded, out);
+            }
+        }
+    }
+
+    /**
+     * @return offset of the end of the RIFF container
+     */
+    private static long webpEnd(byte[] header, long fileSize) throws MalformedImageException {
+        ByteBuffer riff = ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN);
+        long end = (riff.getInt(4) & 0xFFFFFFFFL) + 8;
+        if (!"RIFF".equals(fourCc(header)) || !"WEBP".equals(new String(header, 8, 4, StandardCharsets.US_ASCII)) || end > fileSize) {
+            throw new MalformedImageException();
+        }
+        return end;
+    }
+
+    private static boolean dropWebpChunk(byte[] chunkHeader, boolean keepExif) {
+        String fourCc = fourCc(chunkHeader);
+        return "XMP ".equals(fourCc) || ("EXIF".equals(fourCc) && !keepExif);
+    }
+
+    private static long paddedChunkSize(byte[] chunkHeader) {
+        long size = ByteBuffer.wrap(chunkHeader).order(ByteOrder.LITTLE_ENDIAN).getInt(4) & 0xFFFFFFFFL;
+        return size + (size & 1);
+    }
+
+    private static String fourCc(byte[] chunkHeader) {
+        return new String(chunkHeader, 0, 4, StandardCharsets.US_ASCII);
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        return data.length >= prefix.length && Arrays.equals(data, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Buffered reader that reports a premature end of the file as a malformed image.
+     */
+    private static final class Input implements Closeable {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Input(Path source) throws IOException {
+            this.in = Files.newInputStream(source);
+        }
+
+        int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        int readUnsignedShort() throws IOException, MalformedImageException {
+            int high = read();
+            int low = read();
+            if (low < 0) {
+                throw new MalformedImageException();
+            }
+            return (high << 8) | low;
+        }
+
+        byte[] readFully(int length) throws IOException, MalformedImageException {
+            byte[] data = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                if (position == limit && !fill()) {
+                    throw new MalformedImageException();
+                }
+                int count = Math.min(length - offset, limit - position);
+                System.arraycopy(buffer, position, data, offset, count);
+                position += count;
+                offset += count;
+            }
+            return data;
+        }
+
+        void copy(long length, OutputStream out) throws IOException, MalformedImageException {
+            while (length > 0) {
+                if (position == limit && !fill()) {
+                    throw new MalformedImageException();
+                }
+                int count = (int) Math.min(length, limit - position);
+                out.write(buffer, position, count);
+                position += count;
+                length -= count;
+            }
+        }
+
+        /**
+         * Past the buffered bytes the underlying stream seeks, so skipping pixel data reads nothing.
+         */
+        void skip(long length) throws IOException, MalformedImageException {
+            int buffered = (int) Math.min(length, limit - position);
+            position += buffered;
+            length -= buffered;
+            while (length > 0) {
+                long skipped = in.skip(length);
+                if (skipped <= 0) {
+                    throw new MalformedImageException();
+                }
+                length -= skipped;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean fill() throws IOException {
+            limit = in.read(buffer);
+            position = 0;
+            if (limit < 0) {
+                limit = 0;
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * The container structure does not parse; thrown instead of an {@link IOException} so real
+     * I/O failures are not mistaken for a broken file.
+     */
+    private static final class MalformedImageException extends Exception {
+        MalformedImageException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+/**
+ * Recognises the image formats uploads actually arrive in by their magic bytes.
+ *
+ * <p>Looks at no more than the first twelve bytes and allocates nothing, so it is cheap enough to
+ * run on every upload. Anything it does not know is left to the full detector.
+ */
+final class ImageTypeSniffer {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] GIF87 = {'G', 'I', 'F', '8', '7', 'a'};
+    private static final byte[] GIF89 = {'G', 'I', 'F', '8', '9', 'a'};
+    private static final byte[] RIFF = {'R', 'I', 'F', 'F'};
+    private static final byte[] WEBP = {'W', 'E', 'B', 'P'};
+
+    /**
+     * @return the MIME type of the signature {@code prefix} starts with, or {@code null} if it is not a known image signature
+     */
+    static String detect(byte[] prefix) {
+        if (startsWith(prefix, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(prefix, 0, PNG)) {
+            return "image/png";
+        }
+        // RIFF container: four bytes chunk size, then the form type
+        if (startsWith(prefix, 0, RIFF) && startsWith(prefix, 8, WEBP)) {
+            return "image/webp";
+        }
+        if (startsWith(prefix, 0, GIF89) || startsWith(prefix, 0, GIF87)) {
+            return "image/gif";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] data, int offset, byte[] signature) {
+        if (data.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (data[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ImageTypeSniffer() {
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.tika.Tika;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Streams an uploaded image into the content-addressed {@link BlobStorage}.
+ *
+ * <p>The MIME type is sniffed from the magic bytes of a small prefix of the stream; Tika is only
+ * consulted for signatures the sniffer does not know. While the bytes are copied to a local
+ * staging file the SHA-256 digest is updated and the size is checked against the limit.
+ * Metadata visitors do not need (EXIF, XMP, comments) is then stripped in one more streaming
+ * pass over the staging file, after the header values worth keeping have been read.
+ *
+ * <p>The digest of the stored bytes names the blob ({@code {sha256}.{ext}}, served as
+ * {@code /uploads/blobs/...}): if a blob with the same content already exists the staging copy is
+ * discarded, otherwise it is handed to the storage backend. Identical photos uploaded to several
+ * galleries are stored once.
+ */
+@Component
+public class ImageUploadPipeline {
+
+    static final int SNIFF_PREFIX_BYTES = 64;
+    public static final String BLOB_URL_PREFIX = "/uploads/blobs/";
+    private static final String URL_PREFIX = "/uploads/";
+    private static final String STAGING_DIRECTORY = ".staging";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", "jpg",
+            "image/png", "png",
+            "image/webp", "webp"
+    );
+
+    private final BlobStorage storage;
+    private final Path uploadRoot;
+    private final Path stagingDirectory;
+    private final long maxPixels;
+    private final Counter strippedBytes;
+
+    /**
+     * Consumes {@code input} once and stores it under its content hash.
+     *
+     * @throws IllegalArgumentException if the type is not allowed, the stream exceeds {@code maxBytes}
+     *                                  or the image declares more pixels than allowed
+     * @throws IOException              if reading the stream or writing the blob fails
+     */
+    public StoredUpload store(InputStream input, long maxBytes) throws IOException {
+        byte[] prefix = input.readNBytes(SNIFF_PREFIX_BYTES);
+        if (prefix.length == 0) {
+            throw new IllegalArgumentException("File must not be empty");
+        }
+        String mimeType = detectType(prefix);
+
+        Path tempFile = createStagingFile();
+        try {
+            MessageDigest digest = newSha256();
+            long size = copy(prefix, input, tempFile, digest, maxBytes);
+            return commit(tempFile, HexFormat.of().formatHex(digest.digest()), size, mimeType);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Stores a staging file whose digest the caller has already computed while writing it, so the
+     * content is not read a second time; only the prefix is read back for type detection. The
+     * staging file is consumed.
+     *
+     * @throws IllegalArgumentException if the type is not allowed or the image declares more pixels than allowed
+     * @throws IOException              if reading the prefix or writing the blob fails
+     */
+    public StoredUpload storeStaged(Path stagedFile, String sha256, long size) throws IOException {
+        try {
+            byte[] prefix;
+            try (InputStream in = Files.newInputStream(stagedFile)) {
+                prefix = in.readNBytes(SNIFF_PREFIX_BYTES);
+            }
+            if (prefix.length == 0) {
+                throw new IllegalArgumentException("File must not be empty");
+            }
+            return commit(stagedFile, sha256, size, detectType(prefix));
+        } finally {
+            Files.deleteIfExists(stagedFile);
+        }
+    }
+
+    /**
+     * Strips metadata from the staged file before it is stored. Stripping costs two more full
+     * passes of disk I/O on top of staging: the staged file is read once more while a stripped
+     * copy is written and hashed. A header scan, which skips the pixel data, comes first, so files
+     * without strippable metadata are stored as staged without those passes.
+     */
+    private StoredUpload commit(Path stagedFile, String sha256, long size, String mimeType) throws IOException {
+        // Only the headers are read, and before stripping removes the EXIF data they come from
+        ImageMetadata metadata = ImageHeaderReader.read(stagedFile);
+        // A few megabytes can declare gigapixels; reject before anything decodes the pixels
+        if (metadata.width() != null && metadata.height() != null) {
+            BoundedImageDecoder.checkDimensions(metadata.width(), metadata.height(), maxPixels);
+        }
+        if (!ImageMetadataStripper.hasMetadata(stagedFile, mimeType, metadata.orientation())) {
+            return put(stagedFile, sha256, size, size, mimeType, metadata);
+        }
+
+        Path strippedFile = createStagingFile();
+        try {
+            MessageDigest digest = newSha256();
+            boolean parsed;
+            try (OutputStream out = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(strippedFile), BUFFER_SIZE), digest)) {
+                parsed = ImageMetadataStripper.strip(stagedFile, mimeType, metadata.orientation(), out);
+            }
+            long strippedSize = Files.size(strippedFile);
+            if (parsed && strippedSize < size) {
+                strippedBytes.increment(size - strippedSize);
+                return put(strippedFile, HexFormat.of().formatHex(digest.digest()), strippedSize, size, mimeType, metadata);
+            }
+            return put(stagedFile, sha256, size, size, mimeType, metadata);
+        } finally {
+            Files.deleteIfExists(strippedFile);
+        }
+    }
+
+    private StoredUpload put(Path file, String sha256, long size, long uploadSize, String mimeType, ImageMetadata metadata) throws IOException {
+        String key = sha256 + "." + EXTENSIONS.get(mimeType);
+        // A concurrent upload of the same content may still slip through; its bytes are identical
+        boolean deduplicated = storage.stat(key).isPresent();
+        if (!deduplicated) {
+            storage.put(key, file, mimeType);
+        }
+        return new StoredUpload(blobUrl(key), key, sha256, size, uploadSize, mimeType, deduplicated, metadata);
+    }
+
+    private static String detectType(byte[] prefix) {
+        String mimeType = ImageTypeSniffer.detect(prefix);
+        if (mimeType == null) {
+            mimeType = TikaHolder.TIKA.detect(prefix);
+        }
+        if (!EXTENSIONS.containsKey(mimeType)) {
+            throw new IllegalArgumentException("Unsupported file type");
+        }
+        return mimeType;
+    }
+
+    /**
+     * Creates an empty file in the local staging area, next to the local blob directory so a
+     * local backend can rename it into place.
+     */
+    public Path createStagingFile() throws IOException {
+        Files.createDirectories(stagingDirectory);
+        return Files.createTempFile(stagingDirectory, ".upload-", ".tmp");
+    }
+
+    /**
+     * Staging file of a resumable upload session. Dot-prefixed like every in-flight file, so it is
+     * never served.
+     */
+    public Path sessionFile(String sessionId) throws IOException {
+        Files.createDirectories(stagingDirectory);
+        Path file = stagingDirectory.resolve(".session-" + sessionId + ".part").normalize();
+        if (!file.getParent().equals(stagingDirectory)) {
+            throw new IllegalArgumentException("Invalid upload session id: " + sessionId);
+        }
+        return file;
+    }
+
+    public static String blobUrl(String key) {
+        return BLOB_URL_PREFIX + key;
+    }
+
+    /**
+     * @return the storage key of a blob URL, or {@code null} if the URL does not point into the blob store
+     */
+    public static String blobKey(String url) {
+        if (url == null || !url.startsWith(BLOB_URL_PREFIX)) {
+            return null;
+        }
+        String key = url.substring(BLOB_URL_PREFIX.length());
+        return BlobStorage.VALID_KEY.matcher(key).matches() ? key : null;
+    }
+
+    /**
+     * Resolves the URL of a file uploaded before the blob store existed to its location on disk.
+     *
+     * @throws IllegalArgumentException if the URL does not point into the upload root
+     */
+    public Path resolve(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+            throw new IllegalArgumentException("Not an uploaded image URL: " + imageUrl);
+        }
+        Path path = uploadRoot.resolve(imageUrl.substring(URL_PREFIX.length())).normalize();
+        if (!path.startsWith(uploadRoot)) {
+            throw new IllegalArgumentException("Not an uploaded image URL: " + imageUrl);
+        }
+        return path;
+    }
+
+    private long copy(byte[] prefix, InputStream input, Path tempFile, MessageDigest digest, long maxBytes) throws IOException {
+        long size = prefix.length;
+        if (size > maxBytes) {
+            throw new IllegalArgumentException("File size exceeds max allowed size");
+        }
+
+        try (OutputStream out = Files.newOutputStream(tempFile)) {
+            digest.update(prefix);
+            out.write(prefix);
+
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new IllegalArgumentException("File size exceeds max allowed size");
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    // Built on first use; the sniffer answers for every upload in an allowed format
+    private static final class TikaHolder {
+        private static final Tika TIKA = new Tika();
+    }
+
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public ImageUploadPipeline(BlobStorage storage, ImageConfiguration imageConfig, MeterRegistry meterRegistry) {
+        this.storage = storage;
+        this.uploadRoot = imageConfig.storage().root().toAbsolutePath().normalize();
+        this.stagingDirectory = uploadRoot.resolve(STAGING_DIRECTORY);
+        this.maxPixels = imageConfig.decoding().maxPixels();
+        this.strippedBytes = Counter.builder("storage.uploads.metadata.stripped")
+                .description("Bytes of metadata removed from uploaded images before storing them")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps blobs on the local file system below {@code {root}/blobs}, sharded into two directory
+ * levels by the first four characters of the key ({@code ab/cd/abcd...jpg}). Content hashes are
+ * uniformly distributed, so no directory grows beyond a few entries per thousand blobs.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.images.storage", name = "type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStorage implements BlobStorage {
+
+    private static final String BLOB_DIRECTORY = "blobs";
+
+    private final Path root;
+
+    @Override
+    public void put(String key, InputStream content, long sizeBytes, String contentType) throws IOException {
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+        Path tempFile = Files.createTempFile(target.getParent(), ".put-", ".tmp");
+        try {
+            Files.copy(content, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = pathOf(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Source lives on another file system; fall back to copy and rename
+            BlobStorage.super.put(key, source, contentType);
+        }
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        FileChannel channel = FileChannel.open(pathOf(key), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        InputStream in = Channels.newInputStream(channel);
+        return length < 0 ? in : BoundedInputStream.builder().setInputStream(in).setMaxCount(length).get();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    @Override
+    public Optional<BlobStat> stat(String key) throws IOException {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(pathOf(key), BasicFileAttributes.class);
+            return Optional.of(new BlobStat(key, attributes.size(), attributes.lastModifiedTime().toInstant()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public List<BlobStat> list(String prefix) throws IOException {
+        Path shard = pathOf(prefix).getParent();
+        List<BlobStat> blobs = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard,
+                entry -> entry.getFileName().toString().startsWith(prefix))) {
+            for (Path entry : entries) {
+                stat(entry.getFileName().toString()).ifPresent(blobs::add);
+            }
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+        return blobs;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path path = pathOf(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    Path pathOf(String key) {
+        BlobStorage.checkKey(key);
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    public LocalBlobStorage(ImageConfiguration imageConfig) {
+        this.root = imageConfig.storage().root().resolve(BLOB_DIRECTORY).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Size-bounded least-recently-used cache of rendered images on local disk.
+ *
+ * <p>Entries are plain files below {@code {root}/.render-cache}, named by their cache key. The
+ * index of keys and sizes lives in memory and is rebuilt from the directory on first use, ordered
+ * by modification time, so the cache survives a restart. Files are moved into place atomically,
+ * and an evicted file that is still being streamed stays readable until the stream is closed.
+ */
+@Component
+public class RenderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RenderCache.class);
+
+    private static final String CACHE_DIRECTORY = ".render-cache";
+    private static final Pattern VALID_KEY = Pattern.compile("^[0-9a-z][0-9a-z.-]{0,199}$");
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private boolean loaded;
+
+    /**
+     * @return the cached file, marked as most recently used, or empty on a miss
+     */
+    public Optional<Path> get(String key) {
+        checkKey(key);
+        synchronized (this) {
+            load();
+            if (entries.get(key) == null) {
+                return Optional.empty();
+            }
+        }
+        Path file = directory.resolve(key);
+        if (Files.isRegularFile(file)) {
+            return Optional.of(file);
+        }
+        // Removed behind our back; forget it
+        synchronized (this) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Moves {@code renderedFile} into the cache under {@code key} and evicts the least recently
+     * used entries until the cache fits its size limit again.
+     *
+     * @return the cached file
+     */
+    public Path put(String key, Path renderedFile) throws IOException {
+        checkKey(key);
+        Path target = directory.resolve(key);
+        long size = Files.size(renderedFile);
+        try {
+            Files.move(renderedFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(renderedFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            load();
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Long> entry = eldest.next();
+                if (entry.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= entry.getValue();
+                evicted.add(entry.getKey());
+                eldest.remove();
+            }
+        }
+        for (String victim : evicted) {
+            Files.deleteIfExists(directory.resolve(victim));
+        }
+        return target;
+    }
+
+    /**
+     * Creates an empty file in the cache directory to render into; dot-prefixed so it is never
+     * mistaken for an entry.
+     */
+    public Path createTempFile() throws IOException {
+        Files.createDirectories(directory);
+        return Files.createTempFile(directory, ".render-", ".tmp");
+    }
+
+    public synchronized long sizeBytes() {
+        load();
+        return totalBytes;
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> VALID_KEY.matcher(file.getFileName().toString()).matches())
+                    .map(RenderCache::attributes)
+                    .flatMap(Optional::stream)
+                    .sorted(Comparator.comparing(entry -> entry.attributes().lastModifiedTime()))
+                    .forEach(entry -> {
+                        entries.put(entry.file().getFileName().toString(), entry.attributes().size());
+                        totalBytes += entry.attributes().size();
+                    });
+        } catch (IOException e) {
+            logger.warn("Could not index render cache {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private static Optional<CachedFile> attributes(Path file) {
+        try {
+            return Optional.of(new CachedFile(file, Files.readAttributes(file, BasicFileAttributes.class)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void checkKey(String key) {
+        if (key == null || !VALID_KEY.matcher(key).matches()) {
+            throw new IllegalArgumentException("Invalid render cache key: " + key);
+        }
+    }
+
+    private record CachedFile(Path file, BasicFileAttributes attributes) {
+    }
+
+    public RenderCache(ImageConfiguration imageConfig) {
+        this.directory = imageConfig.storage().root().resolve(CACHE_DIRECTORY).toAbsolutePath().normalize();
+        this.maxBytes = imageConfig.render().cacheSize().toBytes();
+    }
+}
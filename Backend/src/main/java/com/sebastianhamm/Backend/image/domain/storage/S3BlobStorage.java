@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stores blobs in an S3-compatible object store (AWS S3, MinIO, ...), so several API nodes can
+ * share uploads without a common file system.
+ *
+ * <p>Requests go through the JDK HTTP client and are signed with SigV4; payloads are streamed and
+ * sent as {@code UNSIGNED-PAYLOAD}, so uploads are never buffered in memory.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.images.storage", name = "type", havingValue = "s3")
+public class S3BlobStorage implements BlobStorage {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Pattern CONTENTS = Pattern.compile("<Contents>(.*?)</Contents>", Pattern.DOTALL);
+
+    private final HttpClient httpClient;
+    private final S3RequestSigner signer;
+    private final String baseUri;
+    private final String keyPrefix;
+
+    @Override
+    public void put(String key, InputStream content, long sizeBytes, String contentType) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> content), sizeBytes);
+        expectSuccess("PUT", key, send(request("PUT", key, Map.of("content-type", contentType), body),
+                HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        expectSuccess("PUT", key, send(request("PUT", key, Map.of("content-type", contentType),
+                HttpRequest.BodyPublishers.ofFile(source)), HttpResponse.BodyHandlers.discarding()));
+    }
+
+    @Override
+    public InputStream get(String key, long offset, long length) throws IOException {
+        if (length == 0) {
+            return InputStream.nullInputStream();
+        }
+        Map<String, String> headers = offset > 0 || length > 0
+                ? Map.of("range", "bytes=" + offset + "-" + (length > 0 ? String.valueOf(offset + length - 1) : ""))
+                : Map.of();
+        HttpResponse<InputStream> response = send(request("GET", key, headers, HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200 && response.statusCode() != 206) {
+            response.body().close();
+            if (response.statusCode() == 404) {
+                throw new NoSuchFileException(key);
+            }
+            throw new IOException("S3 GET " + key + " failed with status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpResponse<Void> response = send(request("DELETE", key, Map.of(), HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 404) {
+            expectSuccess("DELETE", key, response);
+        }
+    }
+
+    @Override
+    public Optional<BlobStat> stat(String key) throws IOException {
+        HttpResponse<Void> response = send(request("HEAD", key, Map.of(), HttpRequest.BodyPublishers.noBody()),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 404) {
+            return Optional.empty();
+        }
+        expectSuccess("HEAD", key, response);
+        long size = response.headers().firstValueAsLong("content-length").orElse(0);
+        Instant lastModified = response.headers().firstValue("last-modified")
+                .map(value -> ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .orElse(Instant.EPOCH);
+        return Optional.of(new BlobStat(key, size, lastModified));
+    }
+
+    @Override
+    public List<BlobStat> list(String prefix) throws IOException {
+        BlobStorage.checkKey(prefix);
+        List<BlobStat> blobs = new ArrayList<>();
+        String continuationToken = null;
+        do {
+            // ListObjectsV2; parameters in canonical (sorted) order, so the query doubles as the signed one
+            StringBuilder query = new StringBuilder();
+            if (continuationToken != null) {
+                query.append("continuation-token=").append(encode(continuationToken)).append('&');
+            }
+            query.append("list-type=2&prefix=").append(encode(keyPrefix + prefix));
+
+            HttpResponse<String> response = send(request("GET", URI.create(baseUri + "?" + query), query.toString(),
+                    Map.of(), HttpRequest.BodyPublishers.noBody()), HttpResponse.BodyHandlers.ofString());
+            expectSuccess("LIST", prefix, response);
+
+            Matcher contents = CONTENTS.matcher(response.body());
+            while (contents.find()) {
+                String entry = contents.group(1);
+                blobs.add(new BlobStat(element(entry, "Key").substring(keyPrefix.length()),
+                        Long.parseLong(element(entry, "Size")),
+                        Instant.parse(element(entry, "LastModified"))));
+            }
+            continuationToken = "true".equals(element(response.body(), "IsTruncated"))
+                    ? element(response.body(), "NextContinuationToken")
+                    : null;
+        } while (continuationToken != null);
+        return blobs;
+    }
+
+    private HttpRequest request(String method, String key, Map<String, String> extraHeaders,
+                                HttpRequest.BodyPublisher body) {
+        return request(method, URI.create(baseUri + keyPrefix + BlobStorage.checkKey(key)), "", extraHeaders, body);
+    }
+
+    private HttpRequest request(String method, URI uri, String canonicalQuery, Map<String, String> extraHeaders,
+                                HttpRequest.BodyPublisher body) {
+        Instant now = Instant.now();
+
+        SortedMap<String, String> headers = new TreeMap<>(extraHeaders);
+        headers.put("host", hostHeader(uri));
+        headers.put("x-amz-content-sha256", S3RequestSigner.UNSIGNED_PAYLOAD);
+        headers.put("x-amz-date", S3RequestSigner.amzDate(now));
+        String authorization = signer.authorization(method, uri.getRawPath(), canonicalQuery, headers,
+                S3RequestSigner.UNSIGNED_PAYLOAD, now);
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(TIMEOUT)
+                .method(method, body)
+                .header("Authorization", authorization);
+        // The client derives Host from the URI itself and refuses to have it set explicitly
+        headers.forEach((name, value) -> {
+            if (!"host".equals(name)) {
+                builder.header(name, value);
+            }
+        });
+        return builder.build();
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted during S3 " + request.method());
+        }
+    }
+
+    private static void expectSuccess(String method, String key, HttpResponse<?> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("S3 " + method + " " + key + " failed with status " + response.statusCode());
+        }
+    }
+
+    /**
+     * Text of the first {@code <name>} element in {@code xml}; object keys are restricted to
+     * characters XML never escapes, so no entity decoding is needed.
+     */
+    private static String element(String xml, String name) {
+        int start = xml.indexOf("<" + name + ">");
+        if (start < 0) {
+            return null;
+        }
+        start += name.length() + 2;
+        return xml.substring(start, xml.indexOf("</" + name + ">", start));
+    }
+
+    /**
+     * URI encoding as SigV4 expects it: everything but unreserved characters, spaces as {@code %20}.
+     */
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8)
+                .replace("+", "%20")
+                .replace("*", "%2A")
+                .replace("%7E", "~");
+    }
+
+    private static String hostHeader(URI uri) {
+        int port = uri.getPort();
+        boolean defaultPort = port == -1
+                || ("https".equals(uri.getScheme()) && port == 443)
+                || ("http".equals(uri.getScheme()) && port == 80);
+        return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+    }
+
+    public S3BlobStorage(ImageConfiguration imageConfig) {
+        ImageConfiguration.S3 config = imageConfig.storage().s3();
+        if (config.endpoint() == null || config.bucket() == null
+                || config.accessKey() == null || config.secretKey() == null) {
+            throw new IllegalStateException("app.images.storage.s3 requires endpoint, bucket, access-key and secret-key");
+        }
+
+        URI endpoint = URI.create(config.endpoint().replaceAll("/+$", ""));
+        this.baseUri = config.pathStyle()
+                ? endpoint + "/" + config.bucket() + "/"
+                : endpoint.getScheme() + "://" + config.bucket() + "." + endpoint.getRawAuthority() + "/";
+        this.keyPrefix = config.keyPrefix();
+        this.signer = new S3RequestSigner(config.accessKey(), config.secretKey(), config.region());
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package com.sebastianhamm.Backend.image.domain.storage;
+
+/**
+ * Result of a single pass through the {@link ImageUploadPipeline}.
+ *
+ * @param imageUrl     public URL under which the stored file is referenced
+ * @param storageKey   key of the blob in the {@link BlobStorage}
+ * @param sha256       hex encoded SHA-256 digest of the stored content
+ * @param sizeBytes    number of bytes stored, after metadata has been stripped
+ * @param uploadBytes  number of bytes received, before stripping; storage quotas account this size
+ * @param mimeType     MIME type sniffed from the leading bytes of the stream
+ * @param deduplicated true if a blob with identical content already existed and nothing was written
+ * @param metadata     dimensions and EXIF data read from the image headers
+ */
+public record StoredUpload(
+        String imageUrl,
+        String storageKey,
+        String sha256,
+        long sizeBytes,
+        long uploadBytes,
+        String mimeType,
+        boolean deduplicated,
+        ImageMetadata metadata
+) {
+}
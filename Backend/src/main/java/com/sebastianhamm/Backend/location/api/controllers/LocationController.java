@@ -12,6 +12,8 @@ import com.sebastianhamm.Backend.location.api.dtos.LocationRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.location.api.dtos.LocationResponse;
 import com.sebastianhamm.Backend.location.domain.services.LocationService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -25,6 +27,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -41,6 +44,7 @@ import java.util.List;
 public class LocationController {
 
     private final LocationService locationService;
+    private final PublicSnapshotService publicSnapshot;
 
     /**
      * GET /v1/locations : Get all locations
@@ -51,15 +55,13 @@ public class LocationController {
     @Operation(summary = "Get all locations", description = "Returns a list of all locations")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved locations", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No locations found", content = @Content)})
-    public ResponseEntity<ApiResponse<List<LocationResponse>>> getAllLocations() {
-        ApiResponse<List<LocationResponse>> response = locationService.getAllLocations();
-
-        if (response == null) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "No locations found", null));
-        }
-
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<LocationResponse>>> getAllLocations(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().locations(), locationService::getVersion, () -> {
+            ApiResponse<List<LocationResponse>> response = locationService.getAllLocations();
+            return response != null ? response : new ApiResponse<>(HttpStatus.NOT_FOUND.value(), "No locations found", null);
+        });
     }
 
     /**
@@ -70,10 +72,10 @@ public class LocationController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get a location by id", description = "Returns a specific location by its id")
-    @ApiResponses(value = {@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved location", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Location not found", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ID supplied", content = @Content)})
-    public ResponseEntity<ApiResponse<LocationResponse>> getLocation(@Parameter(description = "ID of the location to retrieve", required = true) @PathVariable int id) {
-        ApiResponse<LocationResponse> response = locationService.getLocation(id);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    @ApiResponses(value = {@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved location", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Location not found", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ID supplied", content = @Content)})
+    public ResponseEntity<ApiResponse<LocationResponse>> getLocation(@Parameter(description = "ID of the location to retrieve", required = true) @PathVariable int id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().location(id),
+                () -> locationService.getVersion(id), () -> locationService.getLocation(id));
     }
 
     /**
@@ -139,8 +141,9 @@ public class LocationController {
         return ResponseEntity.status(response.getStatusCode()).build();
     }
 
-    public LocationController(LocationService locationService) {
+    public LocationController(LocationService locationService, PublicSnapshotService publicSnapshot) {
         this.locationService = locationService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
 
@@ -9,18 +9,26 @@ package com.sebastianhamm.Backend.location.domain.entities;
 import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
 
 import com.sebastianhamm.Backend.shared.domain.entities.Address;
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "locations")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.LOCATION_REGION)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class LocationEntity {
 
     @Id
@@ -36,6 +44,10 @@ public class LocationEntity {
     @OneToMany(mappedBy = "location", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<EventEntity> events = new ArrayList<>();
 
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     public LocationEntity() {
     }
 
@@ -55,6 +67,10 @@ public class LocationEntity {
         return events;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -70,4 +86,8 @@ public class LocationEntity {
     public void setEvents(List<EventEntity> events) {
         this.events = events;
     }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 }
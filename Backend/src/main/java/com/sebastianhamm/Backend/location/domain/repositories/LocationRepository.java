@@ -9,8 +9,14 @@ package com.sebastianhamm.Backend.location.domain.repositories;
 import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
 
 import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import com.sebastianhamm.Backend.shared.domain.entities.Address;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -25,4 +31,20 @@ public interface LocationRepository extends JpaRepository<LocationEntity, Intege
     Optional<LocationEntity> findById(Long id);
 
     Optional<LocationEntity> getLocationEntityByAddress(Address address);
+
+    /**
+     * Version of all locations.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(l.updatedAt), COUNT(l)) " +
+            "FROM LocationEntity l")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersion();
+
+    /**
+     * Version of one location; its count is zero if the location does not exist.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(l.updatedAt), COUNT(l)) " +
+            "FROM LocationEntity l WHERE l.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
 }
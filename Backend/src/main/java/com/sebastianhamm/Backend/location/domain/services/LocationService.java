@@ -11,6 +11,7 @@ import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
 import com.sebastianhamm.Backend.location.api.dtos.LocationRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.location.api.dtos.LocationResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
 import java.util.List;
 
@@ -25,4 +26,14 @@ public interface LocationService {
     ApiResponse<String> deleteLocation(int id);
 
     ApiResponse<List<LocationResponse>> getAllLocations();
+
+    /**
+     * Version of the content of {@link #getAllLocations()}.
+     */
+    ContentVersion getVersion();
+
+    /**
+     * Version of the content of {@link #getLocation(int)}, or null if the location does not exist.
+     */
+    ContentVersion getVersion(int id);
 }
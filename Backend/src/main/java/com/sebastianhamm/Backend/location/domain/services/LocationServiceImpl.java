@@ -16,7 +16,12 @@ import com.sebastianhamm.Backend.location.api.dtos.LocationResponse;
 import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
 import com.sebastianhamm.Backend.location.domain.services.LocationService;
 import com.sebastianhamm.Backend.location.domain.mappers.LocationMapper;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -30,6 +35,7 @@ public class LocationServiceImpl implements LocationService {
     private final LocationMapper locationMapper;
 
     @Override
+    @Cacheable(cacheNames = CachingConfiguration.LOCATIONS, key = "#id", unless = "#result.statusCode != 200")
     public ApiResponse<LocationResponse> getLocation(int id) {
         Optional<LocationEntity> location = locationRepository.findById(id);
 
@@ -46,6 +52,7 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
+    @CacheEvict(cacheNames = CachingConfiguration.LOCATION_LISTS, allEntries = true)
     public ApiResponse<LocationResponse> saveLocation(LocationRequest locationRequest) {
         Optional<LocationEntity> location = locationRepository.getLocationEntityByAddress(locationRequest.getAddress());
 
@@ -62,6 +69,10 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.LOCATIONS, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.LOCATION_LISTS, CachingConfiguration.EVENTS, CachingConfiguration.EVENT_LISTS}, allEntries = true)
+    })
     public ApiResponse<LocationResponse> updateLocation(int id, LocationRequest locationRequest) {
         Optional<LocationEntity> location = locationRepository.findById(id);
 
@@ -77,6 +88,10 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.LOCATIONS, key = "#id"),
+            @CacheEvict(cacheNames = {CachingConfiguration.LOCATION_LISTS, CachingConfiguration.EVENTS, CachingConfiguration.EVENT_LISTS}, allEntries = true)
+    })
     public ApiResponse<String> deleteLocation(int id) {
         if (locationRepository.existsById(id)) {
             locationRepository.deleteById(id);
@@ -87,6 +102,7 @@ public class LocationServiceImpl implements LocationService {
     }
 
     @Override
+    @Cacheable(cacheNames = CachingConfiguration.LOCATION_LISTS, key = "'all'", unless = "#result.statusCode != 200")
     public ApiResponse<List<LocationResponse>> getAllLocations() {
         List<LocationEntity> locationEntities = locationRepository.findAll();
         List<LocationResponse> locationResponses = locationEntities.stream()
@@ -100,6 +116,17 @@ public class LocationServiceImpl implements LocationService {
         return new ApiResponse<>(200, "Locations retrieved", locationResponses);
     }
 
+    @Override
+    public ContentVersion getVersion() {
+        return locationRepository.findVersion();
+    }
+
+    @Override
+    public ContentVersion getVersion(int id) {
+        ContentVersion version = locationRepository.findVersionById((long) id);
+        return version.isEmpty() ? null : version;
+    }
+
     public LocationServiceImpl(LocationRepository locationRepository, LocationMapper locationMapper) {
         this.locationRepository = locationRepository;
         this.locationMapper = locationMapper;
@@ -11,6 +11,8 @@ import com.sebastianhamm.Backend.member.api.dtos.MemberRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.member.api.dtos.MemberResponse;
 import com.sebastianhamm.Backend.member.domain.services.MemberService;
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -21,6 +23,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -31,6 +34,7 @@ import java.util.List;
 public class MemberController {
 
     private final MemberService memberService;
+    private final PublicSnapshotService publicSnapshot;
 
 
     /**
@@ -56,10 +60,10 @@ public class MemberController {
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get a member by id", description = "Returns a specific member by its id")
-    @ApiResponses(value = {@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved member", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "member not found", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ID supplied", content = @Content)})
-    public ResponseEntity<ApiResponse<MemberResponse>> getMemberById(@PathVariable Long id) {
-        ApiResponse<MemberResponse> response = memberService.findById(id);
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    @ApiResponses(value = {@io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved member", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "member not found", content = @Content), @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid ID supplied", content = @Content)})
+    public ResponseEntity<ApiResponse<MemberResponse>> getMemberById(@PathVariable Long id, WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().member(id),
+                () -> memberService.getVersion(id), () -> memberService.findById(id));
     }
 
 
@@ -72,10 +76,10 @@ public class MemberController {
     @Operation(summary = "Get all members", description = "Returns a list of all members")
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully retrieved members", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "304", description = "Not modified", content = @Content),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No members found", content = @Content)})
-    public ResponseEntity<ApiResponse<List<MemberResponse>>> getAllMembers() {
-        ApiResponse<List<MemberResponse>> response = memberService.findAll();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<List<MemberResponse>>> getAllMembers(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().members(), memberService::getVersion, memberService::findAll);
     }
 
     /**
@@ -121,7 +125,8 @@ public class MemberController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
-    public MemberController(MemberService memberService) {
+    public MemberController(MemberService memberService, PublicSnapshotService publicSnapshot) {
         this.memberService = memberService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
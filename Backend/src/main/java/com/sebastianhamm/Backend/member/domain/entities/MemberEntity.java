@@ -13,6 +13,7 @@ import com.sebastianhamm.Backend.member.domain.enums.SectionEnum;
 import com.sebastianhamm.Backend.member.domain.validation.AvatarValidation;
 import com.sebastianhamm.Backend.member.domain.validation.InstrumentValidation;
 import com.sebastianhamm.Backend.member.domain.validation.SectionValidation;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
@@ -63,7 +64,7 @@ import java.time.LocalDateTime;
 @Table(name = "members")
 @SQLDelete(sql = "UPDATE members SET deleted_at = NOW() WHERE id = ?")
 @Where(clause = "deleted_at IS NULL")
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class MemberEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -8,7 +8,13 @@
 package com.sebastianhamm.Backend.member.domain.repositories;
 
 import com.sebastianhamm.Backend.member.domain.entities.MemberEntity;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -22,4 +28,20 @@ public interface MemberRepository extends JpaRepository<MemberEntity, Long> {
     default Optional<MemberEntity> findActiveById(Long id) {
         return findById(id).filter(m -> m.getDeletedAt() == null);
     }
+
+    /**
+     * Version of all members that are not deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(m.updatedAt), COUNT(m)) " +
+            "FROM MemberEntity m")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersion();
+
+    /**
+     * Version of one member; its count is zero if the member does not exist or is deleted.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(m.updatedAt), COUNT(m)) " +
+            "FROM MemberEntity m WHERE m.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
 }
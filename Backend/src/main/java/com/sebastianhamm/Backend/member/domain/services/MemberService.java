@@ -10,6 +10,7 @@ package com.sebastianhamm.Backend.member.domain.services;
 import com.sebastianhamm.Backend.member.api.dtos.MemberRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.member.api.dtos.MemberResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
 import java.util.List;
 
@@ -20,4 +21,14 @@ public interface MemberService {
     ApiResponse<MemberResponse> findById(Long id);
     ApiResponse<List<MemberResponse>> findAll();
     ApiResponse<String> delete(Long id);
+
+    /**
+     * Version of the content of {@link #findAll()}.
+     */
+    ContentVersion getVersion();
+
+    /**
+     * Version of the content of {@link #findById(Long)}, or null if the member does not exist.
+     */
+    ContentVersion getVersion(Long id);
 }
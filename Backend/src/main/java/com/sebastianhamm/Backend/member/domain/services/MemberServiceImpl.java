@@ -8,6 +8,8 @@
 package com.sebastianhamm.Backend.member.domain.services;
 
 
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
 import com.sebastianhamm.Backend.member.domain.entities.MemberEntity;
 import com.sebastianhamm.Backend.shared.domain.entities.Address;
 import com.sebastianhamm.Backend.shared.api.dtos.AddressDto;
@@ -17,7 +19,12 @@ import com.sebastianhamm.Backend.member.api.dtos.MemberResponse;
 import com.sebastianhamm.Backend.member.domain.repositories.MemberRepository;
 import com.sebastianhamm.Backend.member.domain.services.MemberService;
 import com.sebastianhamm.Backend.member.domain.mappers.MemberMapper;
+import com.sebastianhamm.Backend.shared.config.CachingConfiguration;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,23 +39,35 @@ public class MemberServiceImpl implements MemberService {
 
     private final MemberRepository memberRepository;
     private final MemberMapper memberMapper;
+    private final BlobReferenceService blobReferences;
 
     @Override
+    @CacheEvict(cacheNames = CachingConfiguration.MEMBER_LISTS, allEntries = true)
     public ApiResponse<MemberResponse> create(MemberRequest request) {
         try {
             MemberEntity memberEntity = memberMapper.toEntity(request);
             MemberEntity savedMemberEntity = memberRepository.save(memberEntity);
+            blobReferences.acquire(savedMemberEntity.getAvatarUrl());
             return new ApiResponse<>(201, "Member created successfully", memberMapper.toResponse(savedMemberEntity));
+        } catch (FileStorageException e) {
+            // Already marked the transaction for rollback; answered by the exception handler
+            throw e;
         } catch (Exception e) {
             return new ApiResponse<>(500, "Internal server error", null);
         }
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.MEMBERS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfiguration.MEMBER_LISTS, allEntries = true)
+    })
     public ApiResponse<MemberResponse> update(Long id, MemberRequest request) {
         return memberRepository.findActiveById(id)
                 .map(existingMember -> {
+                    String previousAvatarUrl = existingMember.getAvatarUrl();
                     memberMapper.updateEntity(existingMember, request);
+                    blobReferences.replace(previousAvatarUrl, existingMember.getAvatarUrl());
                     existingMember.setUpdatedAt(LocalDateTime.now());
                     MemberEntity updatedMember = memberRepository.save(existingMember);
                     return new ApiResponse<>(200, "Member updated successfully", memberMapper.toResponse(updatedMember));
@@ -58,6 +77,7 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.MEMBERS, key = "#id", unless = "#result.statusCode != 200")
     public ApiResponse<MemberResponse> findById(Long id) {
         return memberRepository.findActiveById(id)
                 .map(memberEntity -> new ApiResponse<>(200, "Member found", memberMapper.toResponse(memberEntity)))
@@ -66,6 +86,7 @@ public class MemberServiceImpl implements MemberService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CachingConfiguration.MEMBER_LISTS, key = "'all'", unless = "#result.statusCode != 200")
     public ApiResponse<List<MemberResponse>> findAll() {
         try {
             List<MemberResponse> members = memberRepository.findAll()
@@ -80,19 +101,39 @@ public class MemberServiceImpl implements MemberService {
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CachingConfiguration.MEMBERS, key = "#id"),
+            @CacheEvict(cacheNames = CachingConfiguration.MEMBER_LISTS, allEntries = true)
+    })
     public ApiResponse<String> delete(Long id) {
         return memberRepository.findActiveById(id)
                 .map(memberEntity -> {
                     memberEntity.setDeletedAt(LocalDateTime.now());
                     memberRepository.save(memberEntity);
+                    // The avatar is kept for the grace period of the blob collector
+                    blobReferences.release(memberEntity.getAvatarUrl());
                     return new ApiResponse<>(204, "Member deleted successfully", "");
                 })
                 .orElseGet(() -> new ApiResponse<>(404, "Member not found with id: " + id, null));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion() {
+        return memberRepository.findVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ContentVersion getVersion(Long id) {
+        ContentVersion version = memberRepository.findVersionById(id);
+        return version.isEmpty() ? null : version;
+    }
 
-    public MemberServiceImpl(MemberRepository memberRepository, MemberMapper memberMapper) {
+    public MemberServiceImpl(MemberRepository memberRepository, MemberMapper memberMapper,
+                             BlobReferenceService blobReferences) {
         this.memberRepository = memberRepository;
         this.memberMapper = memberMapper;
+        this.blobReferences = blobReferences;
     }
 }
\ No newline at end of file
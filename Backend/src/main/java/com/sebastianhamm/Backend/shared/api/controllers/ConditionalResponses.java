@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.api.controllers;
+
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedApiResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedJson;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshot;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for the public content endpoints.
+ *
+ * <p>The validators are derived from the {@link ContentVersion} of the rows behind a response, so
+ * an 'If-None-Match' or 'If-Modified-Since' that still matches is answered with 304 before the
+ * content is loaded, mapped or serialized. Responses may be stored by browsers and shared caches but
+ * have to be revalidated on every use, so edits show up immediately.
+ */
+public final class ConditionalResponses {
+
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Answers 304 if the client's copy is still current, otherwise loads the response.
+     *
+     * @param request the current request, carrying the client's validators
+     * @param version the version of the content, null if there is nothing to validate against, e.g. an unknown id
+     * @param loader  loads the response; only called if the content has to be sent
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> ifModified(WebRequest request, ContentVersion version,
+                                                                Supplier<ApiResponse<T>> loader) {
+        if (version == null) {
+            ApiResponse<T> response = loader.get();
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+
+        String etag = version.etag();
+        if (request.checkNotModified(etag, version.lastModifiedMillis())) {
+            // The check already wrote the validators to the response
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+        }
+
+        ApiResponse<T> response = loader.get();
+        if (response.getStatusCode() != HttpStatus.OK.value()) {
+            return ResponseEntity.status(response.getStatusCode()).body(response);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(response);
+    }
+
+    /**
+     * Like {@link #ifModified(WebRequest, ContentVersion, Supplier)}, but answers from a snapshot entry
+     * without touching the database if there is one. An encoded entry is sent as stored, gzip-encoded
+     * if the client accepts it, so the request costs neither serialization nor compression.
+     *
+     * @param entry   the response and version from the current snapshot, null if the snapshot does not hold it
+     * @param version reads the version from the database; only called without an entry
+     * @param loader  loads the response from the database; only called without an entry
+     */
+    public static <T> ResponseEntity<ApiResponse<T>> ifModified(WebRequest request, PublicSnapshot.Entry<T> entry,
+                                                                Supplier<ContentVersion> version,
+                                                                Supplier<ApiResponse<T>> loader) {
+        if (entry == null) {
+            return ifModified(request, version.get(), loader);
+        }
+        if (entry.body() == null) {
+            return ifModified(request, entry.version(), entry::response);
+        }
+
+        String etag = entry.version().etag();
+        if (request.checkNotModified(etag, entry.version().lastModifiedMillis())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CACHE_CONTROL).build();
+        }
+
+        // The same URL is sent in several encodings, so shared caches have to keep them apart
+        EncodedJson body = entry.body();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (body.sendGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(new EncodedApiResponse<>(entry.response(), body.gzip()));
+        }
+        return builder.body(new EncodedApiResponse<>(entry.response(), body.identity()));
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.api.dtos;
+
+/**
+ * An {@link ApiResponse} whose body has already been serialized and encoded; it is written as is,
+ * in whatever content coding the response declares.
+ */
+public class EncodedApiResponse<T> extends ApiResponse<T> {
+
+    private final byte[] encodedBody;
+
+    public EncodedApiResponse(ApiResponse<T> response, byte[] encodedBody) {
+        super(response.getStatusCode(), response.getMessage(), response.getData());
+        this.encodedBody = encodedBody;
+    }
+
+    public byte[] encodedBody() {
+        return encodedBody;
+    }
+}
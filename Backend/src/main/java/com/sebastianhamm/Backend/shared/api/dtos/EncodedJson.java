@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.api.dtos;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized to UTF-8 JSON once, together with its gzip encoding.
+ *
+ * <p>Bodies are encoded when the content changes, not per request, so gzip runs at its best
+ * compression level. Small bodies are not compressed, since the gzip framing would outweigh the
+ * savings; {@link #gzip()} is {@code null} for them.
+ *
+ * @param identity the JSON bytes
+ * @param gzip     the gzip-encoded JSON, {@code null} if not worth sending
+ */
+public record EncodedJson(byte[] identity, byte[] gzip) {
+
+    /**
+     * Same threshold as 'server.compression.min-response-size' in production.
+     */
+    static final int MIN_COMPRESSED_SIZE = 1024;
+
+    public static EncodedJson of(byte[] json) {
+        if (json.length < MIN_COMPRESSED_SIZE) {
+            return new EncodedJson(json, null);
+        }
+        byte[] gzip = gzip(json);
+        return new EncodedJson(json, gzip.length < json.length ? gzip : null);
+    }
+
+    /**
+     * @param acceptEncoding the request's 'Accept-Encoding' header, may be {@code null}
+     * @return whether to send the gzip encoding
+     */
+    public boolean sendGzip(String acceptEncoding) {
+        return gzip != null && acceptsGzip(acceptEncoding);
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parameters = element.split(";");
+            String coding = parameters[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parameters);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return quality > 0;
+            }
+            if (coding.equals("*")) {
+                wildcard = quality > 0;
+            }
+        }
+        return wildcard;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.api.dtos;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes pre-encoded response bodies straight to the response, bypassing Jackson.
+ * Spring Boot places converter beans ahead of its defaults, so it takes precedence over the JSON converter.
+ */
+@Component
+public class EncodedResponseConverter extends AbstractHttpMessageConverter<EncodedApiResponse<?>> {
+
+    public EncodedResponseConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return EncodedApiResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected EncodedApiResponse<?> readInternal(Class<? extends EncodedApiResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Encoded responses are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(EncodedApiResponse<?> response, MediaType contentType) {
+        return (long) response.encodedBody().length;
+    }
+
+    @Override
+    protected void writeInternal(EncodedApiResponse<?> response, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(response.encodedBody());
+    }
+}
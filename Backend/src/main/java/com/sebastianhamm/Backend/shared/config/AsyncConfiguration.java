@@ -0,0 +1,96 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration for background executors and scheduled maintenance jobs.
+ * Image processing runs on its own bounded pool so it can never starve request threads.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({ImageConfiguration.class, SnapshotConfiguration.class})
+public class AsyncConfiguration {
+
+    public static final String IMAGE_PROCESSING_EXECUTOR = "imageProcessingExecutor";
+    public static final String IMAGE_RENDER_EXECUTOR = "imageRenderExecutor";
+    public static final String IMAGE_JOB_EXECUTOR = "imageJobExecutor";
+    public static final String PUBLIC_SNAPSHOT_EXECUTOR = "publicSnapshotExecutor";
+
+    /**
+     * Bounded pool for derivative generation; jobs beyond the queue capacity are rejected
+     * and can be caught up later instead of piling up in memory.
+     */
+    @Bean(name = IMAGE_PROCESSING_EXECUTOR)
+    public ThreadPoolTaskExecutor imageProcessingExecutor(ImageConfiguration imageConfig) {
+        ImageConfiguration.Variants variants = imageConfig.variants();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(variants.workerThreads());
+        executor.setMaxPoolSize(variants.workerThreads());
+        executor.setQueueCapacity(variants.queueCapacity());
+        executor.setThreadNamePrefix("image-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Separate pool for renders a client is waiting for, so they do not queue behind background
+     * derivative jobs.
+     */
+    @Bean(name = IMAGE_RENDER_EXECUTOR)
+    public ThreadPoolTaskExecutor imageRenderExecutor(ImageConfiguration imageConfig) {
+        ImageConfiguration.Render render = imageConfig.render();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(render.workerThreads());
+        executor.setMaxPoolSize(render.workerThreads());
+        executor.setQueueCapacity(render.queueCapacity());
+        executor.setThreadNamePrefix("image-render-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Pool for maintenance jobs over all images. Jobs never hand it more work than it has threads,
+     * so the queue only has to absorb the hand-over between two items.
+     */
+    @Bean(name = IMAGE_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor imageJobExecutor(ImageConfiguration imageConfig) {
+        ImageConfiguration.Jobs jobs = imageConfig.jobs();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(jobs.workerThreads());
+        executor.setMaxPoolSize(jobs.workerThreads());
+        executor.setQueueCapacity(jobs.workerThreads());
+        executor.setThreadNamePrefix("image-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Single thread for snapshot rebuilds. One more rebuild may wait while a build runs; further
+     * requests are dropped, since the waiting rebuild reads everything they would have read.
+     */
+    @Bean(name = PUBLIC_SNAPSHOT_EXECUTOR)
+    public ThreadPoolTaskExecutor publicSnapshotExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("public-snapshot-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+}
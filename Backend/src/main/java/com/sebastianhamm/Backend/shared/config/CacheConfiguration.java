@@ -0,0 +1,81 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration properties for the service-level response caches and the Hibernate
+ * second-level cache regions.
+ * Maps properties with prefix 'app.cache.*' to typed configuration.
+ */
+@ConfigurationProperties(prefix = "app.cache")
+public record CacheConfiguration(
+
+        /**
+         * Limits applied to every cache without an entry in 'caches'.
+         */
+        Spec defaults,
+
+        /**
+         * Limits per cache name, e.g. 'app.cache.caches.images.maximum-size'.
+         */
+        Map<String, Spec> caches,
+
+        /**
+         * Limits per Hibernate second-level cache region, e.g. 'app.cache.regions.gallery.maximum-size'.
+         */
+        Map<String, Spec> regions
+) {
+
+    public CacheConfiguration {
+        defaults = new Spec(defaults != null && defaults.maximumSize() != null ? defaults.maximumSize() : 1000L,
+                defaults != null && defaults.expireAfterWrite() != null ? defaults.expireAfterWrite() : Duration.ofMinutes(10));
+        if (caches == null) {
+            caches = Map.of();
+        }
+        if (regions == null) {
+            regions = Map.of();
+        }
+    }
+
+    /**
+     * The limits of one cache; missing values fall back to the defaults.
+     */
+    public Spec spec(String cacheName) {
+        return withDefaults(caches.get(cacheName));
+    }
+
+    /**
+     * The limits of one second-level cache region; missing values fall back to the defaults.
+     */
+    public Spec region(String regionName) {
+        return withDefaults(regions.get(regionName));
+    }
+
+    private Spec withDefaults(Spec spec) {
+        if (spec == null) {
+            return defaults;
+        }
+        return new Spec(spec.maximumSize() != null ? spec.maximumSize() : defaults.maximumSize(),
+                spec.expireAfterWrite() != null ? spec.expireAfterWrite() : defaults.expireAfterWrite());
+    }
+
+    /**
+     * Size and lifetime of a cache.
+     */
+    public record Spec(
+            /**
+             * Maximum number of entries before the least valuable ones are evicted.
+             */
+            Long maximumSize,
+
+            /**
+             * Time after which an entry is dropped even if no write evicted it; bounds the
+             * staleness after changes made outside of the services, e.g. directly in the database.
+             */
+            Duration expireAfterWrite
+    ) {
+    }
+}
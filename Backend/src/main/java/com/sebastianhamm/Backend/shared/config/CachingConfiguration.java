@@ -0,0 +1,65 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration for the Caffeine caches in front of the read methods of the services.
+ *
+ * <p>Every entity type has a cache keyed by id and a cache for its lists and lookups, so a write
+ * evicts exactly the entry it changed and clears only the lists of the same type. Caches are
+ * wrapped to defer puts and evictions to the end of the surrounding transaction; a read can
+ * therefore never see an eviction before the change it belongs to has committed. All caches record
+ * statistics, which the actuator binds to the meter registry as {@code cache.gets},
+ * {@code cache.puts}, {@code cache.evictions} and {@code cache.size}.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheConfiguration.class)
+public class CachingConfiguration {
+
+    public static final String EVENTS = "events";
+    public static final String EVENT_LISTS = "event-lists";
+    public static final String GALLERIES = "galleries";
+    public static final String GALLERY_LISTS = "gallery-lists";
+    public static final String IMAGES = "images";
+    public static final String IMAGE_LISTS = "image-lists";
+    public static final String MEMBERS = "members";
+    public static final String MEMBER_LISTS = "member-lists";
+    public static final String LOCATIONS = "locations";
+    public static final String LOCATION_LISTS = "location-lists";
+
+    static final List<String> CACHE_NAMES = List.of(EVENTS, EVENT_LISTS, GALLERIES, GALLERY_LISTS, IMAGES, IMAGE_LISTS,
+            MEMBERS, MEMBER_LISTS, LOCATIONS, LOCATION_LISTS);
+
+    /**
+     * Cache manager with a fixed set of caches; a typo in a cache name fails at the first call
+     * instead of silently creating an unbounded cache.
+     */
+    @Bean
+    public CacheManager cacheManager(CacheConfiguration cacheConfig) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(CACHE_NAMES.stream()
+                .map(name -> cache(name, cacheConfig.spec(name)))
+                .toList());
+        return cacheManager;
+    }
+
+    private static Cache cache(String name, CacheConfiguration.Spec spec) {
+        return new TransactionAwareCacheDecorator(new CaffeineCache(name, Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.expireAfterWrite())
+                .recordStats()
+                .build(), false));
+    }
+}
@@ -0,0 +1,84 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Configuration for the Hibernate second-level cache.
+ *
+ * <p>The regions of the read-mostly entities, the gallery's image collection and the cached
+ * lookup queries live in a Caffeine-backed JCache manager that is created here and handed to
+ * Hibernate. Each region is sized from 'app.cache.regions.*', and Hibernate refuses to start on a
+ * region that is not defined instead of creating an unbounded one.
+ *
+ * <p>All regions use read-write concurrency, so a change is invisible to other sessions until it
+ * commits. Envers writes its audit rows through its own, uncached entities and is not affected.
+ */
+@Configuration
+public class HibernateCacheConfiguration {
+
+    public static final String LOCATION_REGION = "location";
+    public static final String EVENT_REGION = "event";
+    public static final String GALLERY_REGION = "gallery";
+    public static final String GALLERY_IMAGES_REGION = "gallery-images";
+    public static final String IMAGE_REGION = "image";
+    public static final String IMAGE_VARIANTS_REGION = "image-variants";
+    public static final String ABOUT_REGION = "about";
+    public static final String WELCOME_REGION = "welcome";
+    public static final String GALLERY_QUERY_REGION = "gallery-queries";
+    public static final String EVENT_QUERY_REGION = "event-queries";
+
+    static final List<String> REGIONS = List.of(LOCATION_REGION, EVENT_REGION, GALLERY_REGION, GALLERY_IMAGES_REGION,
+            IMAGE_REGION, IMAGE_VARIANTS_REGION, ABOUT_REGION, WELCOME_REGION, GALLERY_QUERY_REGION, EVENT_QUERY_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    /**
+     * Cache manager holding the regions. It has its own provider instance, so application contexts
+     * sharing a JVM never share regions. Hibernate closes it when the session factory closes.
+     */
+    @Bean
+    public CacheManager hibernateCacheManager(CacheConfiguration cacheConfig) {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("hibernate"), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CacheConfiguration.Spec spec = cacheConfig.region(region);
+            CaffeineConfiguration<Object, Object> configuration = configuration();
+            configuration.setMaximumSize(OptionalLong.of(spec.maximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(spec.expireAfterWrite().toNanos()));
+            cacheManager.createCache(region, configuration);
+        }
+        // Holds one timestamp per table; evicting one would let cached query results outlive a change
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuration());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    /**
+     * Hibernate only ever stores immutable, disassembled state, so entries are kept by reference
+     * instead of being copied through serialization on every read and write.
+     */
+    private static CaffeineConfiguration<Object, Object> configuration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+}
@@ -0,0 +1,499 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for image processing.
+ * Maps properties with prefix 'app.images.*' to typed configuration.
+ */
+@ConfigurationProperties(prefix = "app.images")
+public record ImageConfiguration(
+
+        /**
+         * Responsive variant (derivative) generation settings.
+         */
+        Variants variants,
+
+        /**
+         * Blob storage backend settings.
+         */
+        Storage storage,
+
+        /**
+         * Garbage collection of unreferenced blobs.
+         */
+        Cleanup cleanup,
+
+        /**
+         * Multi-file batch upload settings.
+         */
+        Batch batch,
+
+        /**
+         * Resumable chunked upload settings.
+         */
+        Resumable resumable,
+
+        /**
+         * Migration of files uploaded before the blob store into the sharded layout.
+         */
+        Migration migration,
+
+        /**
+         * Limits protecting the node from images that decompress to huge bitmaps.
+         */
+        Decoding decoding,
+
+        /**
+         * On-the-fly transformation endpoint and its disk cache.
+         */
+        Render render,
+
+        /**
+         * Long-running maintenance passes over all stored images.
+         */
+        Jobs jobs,
+
+        /**
+         * Storage quotas per upload context and author.
+         */
+        Quota quota
+) {
+
+    public ImageConfiguration {
+        if (variants == null) {
+            variants = new Variants(null, null, null, null);
+        }
+        if (storage == null) {
+            storage = new Storage(null, null, null);
+        }
+        if (cleanup == null) {
+            cleanup = new Cleanup(null, null, null);
+        }
+        if (batch == null) {
+            batch = new Batch(null, null, null);
+        }
+        if (resumable == null) {
+            resumable = new Resumable(null, null);
+        }
+        if (migration == null) {
+            migration = new Migration(null, null, null);
+        }
+        if (decoding == null) {
+            decoding = new Decoding(null, null, null);
+        }
+        if (render == null) {
+            render = new Render(null, null, null, null);
+        }
+        if (jobs == null) {
+            jobs = new Jobs(null, null, null, null);
+        }
+        if (quota == null) {
+            quota = new Quota(null, null, null, null);
+        }
+    }
+
+    /**
+     * Responsive variant generation properties.
+     */
+    public record Variants(
+            /**
+             * Target widths in pixels of the generated variants.
+             */
+            List<Integer> widths,
+
+            /**
+             * Number of background worker threads for image processing.
+             */
+            Integer workerThreads,
+
+            /**
+             * Maximum number of queued processing jobs; further jobs are dropped.
+             */
+            Integer queueCapacity,
+
+            /**
+             * JPEG compression quality between 0.0 and 1.0.
+             */
+            Float jpegQuality
+    ) {
+        public Variants {
+            if (widths == null || widths.isEmpty()) {
+                widths = List.of(320, 640, 1280);
+            }
+            if (workerThreads == null) {
+                workerThreads = 2;
+            }
+            if (queueCapacity == null) {
+                queueCapacity = 200;
+            }
+            if (jpegQuality == null) {
+                jpegQuality = 0.82f;
+            }
+        }
+    }
+
+    /**
+     * Blob garbage collection properties.
+     */
+    public record Cleanup(
+            /**
+             * Whether the scheduled collector runs at all.
+             */
+            Boolean enabled,
+
+            /**
+             * How long a blob must have been unreferenced before it is deleted.
+             */
+            Duration gracePeriod,
+
+            /**
+             * Number of blobs checked and deleted per transaction.
+             */
+            Integer batchSize
+    ) {
+        public Cleanup {
+            if (enabled == null) {
+                enabled = true;
+            }
+            if (gracePeriod == null) {
+                gracePeriod = Duration.ofDays(7);
+            }
+            if (batchSize == null) {
+                batchSize = 500;
+            }
+        }
+    }
+
+    /**
+     * Batch upload properties.
+     */
+    public record Batch(
+            /**
+             * Maximum number of files of one batch validated and stored at the same time.
+             */
+            Integer concurrency,
+
+            /**
+             * Maximum number of files accepted in a single batch request. At the 5 MB limit per
+             * file, the default of 100 fills exactly the production 'spring.servlet.multipart.max-request-size'.
+             */
+            Integer maxFiles,
+
+            /**
+             * Largest Hamming distance between perceptual hashes at which two images count as near-duplicates.
+             */
+            Integer duplicateDistance
+    ) {
+        public Batch {
+            if (concurrency == null || concurrency < 1) {
+                concurrency = 8;
+            }
+            if (maxFiles == null) {
+                maxFiles = 100;
+            }
+            if (duplicateDistance == null) {
+                duplicateDistance = 8;
+            }
+        }
+    }
+
+    /**
+     * Resumable upload properties.
+     */
+    public record Resumable(
+            /**
+             * Maximum declared size of a file uploaded in chunks.
+             */
+            DataSize maxFileSize,
+
+            /**
+             * How long a session survives without receiving a chunk before it and its staging file are removed.
+             */
+            Duration sessionTimeout
+    ) {
+        public Resumable {
+            if (maxFileSize == null) {
+                maxFileSize = DataSize.ofMegabytes(50);
+            }
+            if (sessionTimeout == null) {
+                sessionTimeout = Duration.ofHours(24);
+            }
+        }
+    }
+
+    /**
+     * Legacy upload migration properties.
+     */
+    public record Migration(
+            /**
+             * Whether the scheduled migrator runs at all.
+             */
+            Boolean enabled,
+
+            /**
+             * Number of legacy URLs moved and rewritten per transaction.
+             */
+            Integer batchSize,
+
+            /**
+             * Whether a legacy file is deleted once no row points at it any more.
+             */
+            Boolean deleteLegacyFiles
+    ) {
+        public Migration {
+            if (enabled == null) {
+                enabled = true;
+            }
+            if (batchSize == null || batchSize < 1) {
+                batchSize = 100;
+            }
+            if (deleteLegacyFiles == null) {
+                deleteLegacyFiles = true;
+            }
+        }
+    }
+
+    /**
+     * Image decoding limits. Decoded bitmaps take four bytes per pixel, independent of how well
+     * the file compresses.
+     */
+    public record Decoding(
+            /**
+             * Maximum number of pixels an image may declare in its header; larger uploads are rejected.
+             */
+            Long maxPixels,
+
+            /**
+             * Maximum number of pixels of a single decoded bitmap; larger images are decoded subsampled.
+             */
+            Integer maxDecodedPixels,
+
+            /**
+             * Pixels all concurrently decoded bitmaps may hold together; further decodes wait.
+             */
+            Integer pixelBudget
+    ) {
+        public Decoding {
+            if (maxPixels == null) {
+                maxPixels = 100_000_000L;
+            }
+            if (maxDecodedPixels == null) {
+                maxDecodedPixels = 16_777_216;
+            }
+            if (pixelBudget == null) {
+                pixelBudget = (int) Math.min(Integer.MAX_VALUE, 3L * maxDecodedPixels);
+            }
+            // A single decode must always fit, or it would wait forever
+            if (pixelBudget < maxDecodedPixels) {
+                pixelBudget = maxDecodedPixels;
+            }
+        }
+    }
+
+    /**
+     * Image transformation properties.
+     */
+    public record Render(
+            /**
+             * Largest width or height a client may request.
+             */
+            Integer maxDimension,
+
+            /**
+             * Total size of rendered images kept on disk; the least recently used are evicted beyond it.
+             */
+            DataSize cacheSize,
+
+            /**
+             * Number of worker threads rendering images.
+             */
+            Integer workerThreads,
+
+            /**
+             * Maximum number of queued renders; further requests are answered with 503.
+             */
+            Integer queueCapacity
+    ) {
+        public Render {
+            if (maxDimension == null) {
+                maxDimension = 2560;
+            }
+            if (cacheSize == null) {
+                cacheSize = DataSize.ofGigabytes(1);
+            }
+            if (workerThreads == null) {
+                workerThreads = 2;
+            }
+            if (queueCapacity == null) {
+                queueCapacity = 100;
+            }
+        }
+    }
+
+    /**
+     * Image maintenance job properties.
+     */
+    public record Jobs(
+            /**
+             * Number of worker threads processing images of running jobs; shared by all jobs.
+             */
+            Integer workerThreads,
+
+            /**
+             * Number of image ids read per keyset page; progress is checkpointed after every page.
+             */
+            Integer pageSize,
+
+            /**
+             * Images a single job may start per second, to leave room for live traffic.
+             */
+            Double itemsPerSecond,
+
+            /**
+             * Whether jobs that were running when the application stopped continue after startup.
+             */
+            Boolean resumeOnStartup
+    ) {
+        public Jobs {
+            if (workerThreads == null || workerThreads < 1) {
+                workerThreads = 2;
+            }
+            if (pageSize == null || pageSize < 1) {
+                pageSize = 200;
+            }
+            if (itemsPerSecond == null || itemsPerSecond <= 0) {
+                itemsPerSecond = 20.0;
+            }
+            if (resumeOnStartup == null) {
+                resumeOnStartup = true;
+            }
+        }
+    }
+
+    /**
+     * Storage quota properties. Usage is the size as uploaded of the originals of all images that
+     * are not deleted; identical files uploaded twice count twice. Without a limit, usage is only tracked.
+     */
+    public record Quota(
+            /**
+             * Limit for every upload context without an entry in 'contexts'.
+             */
+            DataSize perContext,
+
+            /**
+             * Limit for every author without an entry in 'authors'.
+             */
+            DataSize perAuthor,
+
+            /**
+             * Limits of individual contexts, e.g. 'app.images.quota.contexts.gallery=20GB'.
+             */
+            Map<String, DataSize> contexts,
+
+            /**
+             * Limits of individual authors, e.g. 'app.images.quota.authors[auth0|abc]=5GB'.
+             */
+            Map<String, DataSize> authors
+    ) {
+        public Quota {
+            if (contexts == null) {
+                contexts = Map.of();
+            }
+            if (authors == null) {
+                authors = Map.of();
+            }
+        }
+    }
+
+    /**
+     * Blob storage properties.
+     */
+    public record Storage(
+            /**
+             * Storage backend, either 'local' or 's3'.
+             */
+            String type,
+
+            /**
+             * Local upload directory. Holds the sharded blobs of the local backend, the staging
+             * area uploads are hashed in, and files from before the blob store was introduced.
+             */
+            Path root,
+
+            /**
+             * S3-compatible backend settings, used when type is 's3'.
+             */
+            S3 s3
+    ) {
+        public Storage {
+            if (type == null || type.isBlank()) {
+                type = "local";
+            }
+            if (root == null) {
+                root = Path.of("uploads");
+            }
+            if (s3 == null) {
+                s3 = new S3(null, null, null, null, null, null, null);
+            }
+        }
+    }
+
+    /**
+     * S3-compatible object store properties (AWS S3, MinIO, ...).
+     */
+    public record S3(
+            /**
+             * Base endpoint URL, e.g. 'https://s3.eu-central-1.amazonaws.com' or 'http://minio:9000'.
+             */
+            String endpoint,
+
+            /**
+             * Signing region.
+             */
+            String region,
+
+            /**
+             * Bucket holding the blobs.
+             */
+            String bucket,
+
+            /**
+             * Access key id.
+             */
+            String accessKey,
+
+            /**
+             * Secret access key.
+             */
+            String secretKey,
+
+            /**
+             * Address the bucket as path segment instead of as subdomain; required by most stand-ins.
+             */
+            Boolean pathStyle,
+
+            /**
+             * Prefix prepended to every object key.
+             */
+            String keyPrefix
+    ) {
+        public S3 {
+            if (region == null || region.isBlank()) {
+                region = "us-east-1";
+            }
+            if (pathStyle == null) {
+                pathStyle = true;
+            }
+            if (keyPrefix == null) {
+                keyPrefix = "blobs/";
+            }
+        }
+    }
+}
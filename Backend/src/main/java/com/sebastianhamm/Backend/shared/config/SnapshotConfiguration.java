@@ -0,0 +1,34 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory snapshot of the public content.
+ * Maps properties with prefix 'app.snapshot.*' to typed configuration.
+ */
+@ConfigurationProperties(prefix = "app.snapshot")
+public record SnapshotConfiguration(
+
+        /**
+         * Interval of the periodic rebuild, which also picks up changes made outside the application.
+         */
+        Duration refreshInterval,
+
+        /**
+         * How long the snapshot may still be served after a committed change it does not contain yet;
+         * beyond that, reads fall back to the database until the rebuild is published.
+         */
+        Duration maxStaleness
+) {
+
+    public SnapshotConfiguration {
+        if (refreshInterval == null) {
+            refreshInterval = Duration.ofMinutes(1);
+        }
+        if (maxStaleness == null) {
+            maxStaleness = Duration.ZERO;
+        }
+    }
+}
@@ -75,6 +75,7 @@ public class WebSecurityConfiguration {
             "/member/**",
             "/news/**",
             "/section/**",
+            "/uploads/**",
             "/welcome/**"
     };
 
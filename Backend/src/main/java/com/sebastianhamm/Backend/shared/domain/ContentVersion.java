@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Version of the rows behind a response: the latest modification time and the number of rows.
+ * Every write bumps 'updated_at', and deleting a row lowers the count, so two equal versions
+ * describe the same content without the content itself being loaded.
+ *
+ * @param lastModified the latest 'updated_at' of the rows, null if there are none
+ * @param count        the number of rows
+ */
+public record ContentVersion(LocalDateTime lastModified, long count) {
+
+    /**
+     * Combines the versions of the parts of one response, e.g. a gallery and its images.
+     */
+    public ContentVersion and(ContentVersion other) {
+        LocalDateTime latest = lastModified == null || (other.lastModified != null && other.lastModified.isAfter(lastModified))
+                ? other.lastModified
+                : lastModified;
+        return new ContentVersion(latest, count + other.count);
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Weak entity tag; the JSON written for the same rows is equivalent, not byte-identical.
+     */
+    public String etag() {
+        long micros = lastModified == null ? 0 : lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return "W/\"" + Long.toHexString(count) + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    /**
+     * Last modification as epoch milliseconds, -1 if unknown. Timestamps are written in the JVM's zone.
+     */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
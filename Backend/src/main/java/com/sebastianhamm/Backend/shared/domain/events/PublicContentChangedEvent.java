@@ -0,0 +1,17 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain.events;
+
+/**
+ * Published whenever a row of publicly visible content is inserted, updated or deleted.
+ * Listeners that read the content again should react after the surrounding transaction commits.
+ *
+ * @param type the entity type that changed
+ */
+public record PublicContentChangedEvent(Class<?> type) {
+}
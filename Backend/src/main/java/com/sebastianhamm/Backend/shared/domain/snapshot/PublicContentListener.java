@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.sebastianhamm.Backend.shared.domain.events.PublicContentChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Entity listener of the publicly visible entities. Every write that goes through JPA, from any
+ * service or background job, announces itself, so no write path can forget to. Soft deletes are
+ * updates and are covered as well; native statements have to publish the event themselves.
+ */
+public class PublicContentListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        eventPublisher.publishEvent(new PublicContentChangedEvent(entity.getClass()));
+    }
+
+    public PublicContentListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+}
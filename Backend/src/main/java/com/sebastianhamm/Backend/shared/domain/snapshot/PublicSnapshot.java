@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.sebastianhamm.Backend.about.api.dtos.AboutResponse;
+import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
+import com.sebastianhamm.Backend.gallery.api.dtos.GalleryResponse;
+import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.location.api.dtos.LocationResponse;
+import com.sebastianhamm.Backend.member.api.dtos.MemberResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedJson;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeResponse;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable copy of all publicly visible content, as the public GET endpoints return it.
+ *
+ * <p>A snapshot is never changed after it has been built; a write leads to a new snapshot that
+ * replaces this one as a whole. Lookups return {@code null} for anything the snapshot does not
+ * hold, e.g. an unknown id or content created after it was built, and the caller falls back to
+ * the database.
+ *
+ * @param builtAt when the content was read, {@code null} for the empty snapshot
+ */
+public record PublicSnapshot(
+        Entry<WelcomeResponse> welcome,
+        Entry<AboutResponse> about,
+        Entry<List<EventResponse>> events,
+        Map<Long, Entry<EventResponse>> eventsById,
+        Entry<List<GalleryResponse>> galleries,
+        Map<Long, Entry<GalleryResponse>> galleriesById,
+        Entry<List<ImageResponse>> images,
+        Map<Long, Entry<ImageResponse>> imagesById,
+        Map<String, Entry<List<ImageResponse>>> imagesBySlug,
+        Entry<List<MemberResponse>> members,
+        Map<Long, Entry<MemberResponse>> membersById,
+        Entry<List<LocationResponse>> locations,
+        Map<Long, Entry<LocationResponse>> locationsById,
+        Instant builtAt
+) {
+
+    /**
+     * Holds nothing, so every lookup falls back to the database.
+     */
+    public static final PublicSnapshot EMPTY = new PublicSnapshot(null, null, null, Map.of(), null, Map.of(), null,
+            Map.of(), Map.of(), null, Map.of(), null, Map.of(), null);
+
+    public Entry<EventResponse> event(Long id) {
+        return eventsById.get(id);
+    }
+
+    public Entry<GalleryResponse> gallery(Long id) {
+        return galleriesById.get(id);
+    }
+
+    public Entry<ImageResponse> image(Long id) {
+        return imagesById.get(id);
+    }
+
+    public Entry<List<ImageResponse>> imagesBySlug(String slug) {
+        return imagesBySlug.get(slug);
+    }
+
+    public Entry<MemberResponse> member(Long id) {
+        return membersById.get(id);
+    }
+
+    public Entry<LocationResponse> location(int id) {
+        return locationsById.get((long) id);
+    }
+
+    /**
+     * A complete response, the version of the rows it was built from and, if encoded, its final body.
+     *
+     * @param body the response serialized as it is sent, {@code null} to let the controller serialize it
+     */
+    public record Entry<T>(ApiResponse<T> response, ContentVersion version, EncodedJson body) {
+
+        public Entry(ApiResponse<T> response, ContentVersion version) {
+            this(response, version, null);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sebastianhamm.Backend.about.domain.mappers.AboutMapper;
+import com.sebastianhamm.Backend.about.domain.repositories.AboutRepository;
+import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
+import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
+import com.sebastianhamm.Backend.event.domain.mappers.EventMapper;
+import com.sebastianhamm.Backend.event.domain.repositories.EventRepository;
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.mappers.GalleryMapper;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.mappers.ImageMapper;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
+import com.sebastianhamm.Backend.location.domain.mappers.LocationMapper;
+import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
+import com.sebastianhamm.Backend.member.domain.entities.MemberEntity;
+import com.sebastianhamm.Backend.member.domain.mappers.MemberMapper;
+import com.sebastianhamm.Backend.member.domain.repositories.MemberRepository;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedJson;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import com.sebastianhamm.Backend.welcome.domain.mappers.WelcomeMapper;
+import com.sebastianhamm.Backend.welcome.domain.repositories.WelcomeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reads all public content in one read-only transaction and maps it into a {@link PublicSnapshot}.
+ *
+ * <p>Every entry carries the same status, message and body the service would return for the
+ * request, already serialized and compressed, and the same version the repositories would report. List versions are read before the
+ * content, so a write committing in between can only make a version older than its content, never
+ * newer; the single-item versions are derived from the entities the response is built from.
+ */
+@Component
+public class PublicSnapshotBuilder {
+
+    private static final Long SINGLETON_ID = 1L;
+    private static final ContentVersion NONE = new ContentVersion(null, 0);
+
+    private final WelcomeRepository welcomeRepository;
+    private final AboutRepository aboutRepository;
+    private final EventRepository eventRepository;
+    private final GalleryRepository galleryRepository;
+    private final ImageRepository imageRepository;
+    private final MemberRepository memberRepository;
+    private final LocationRepository locationRepository;
+    private final WelcomeMapper welcomeMapper;
+    private final AboutMapper aboutMapper;
+    private final EventMapper eventMapper;
+    private final GalleryMapper galleryMapper;
+    private final MemberMapper memberMapper;
+    private final LocationMapper locationMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public PublicSnapshot build() {
+        return transactionTemplate.execute(status -> {
+            ContentVersion eventsVersion = eventRepository.findVersion().and(locationRepository.findVersion());
+            ContentVersion galleriesVersion = galleryRepository.findVersion().and(galleryRepository.findImagesVersion());
+            ContentVersion imagesVersion = imageRepository.findVersion();
+            ContentVersion membersVersion = memberRepository.findVersion();
+            ContentVersion locationsVersion = locationRepository.findVersion();
+            ContentVersion welcomeVersion = welcomeRepository.findVersionById(SINGLETON_ID);
+            ContentVersion aboutVersion = aboutRepository.findVersionById(SINGLETON_ID);
+
+            List<EventEntity> events = eventRepository.findAll();
+            List<GalleryEntity> galleries = galleryRepository.findAll();
+            List<ImageEntity> images = imageRepository.findAll();
+            List<MemberEntity> members = memberRepository.findAll();
+            List<LocationEntity> locations = locationRepository.findAll();
+
+            return new PublicSnapshot(
+                    welcomeRepository.findById(SINGLETON_ID)
+                            .map(welcome -> entry("Welcome data retrieved successfully", welcomeMapper.toResponse(welcome), welcomeVersion))
+                            .orElse(null),
+                    aboutRepository.findById(SINGLETON_ID)
+                            .map(about -> entry("About data successfully fetched", aboutMapper.toResponse(about), aboutVersion))
+                            .orElse(null),
+                    entry("All events found", events.stream().map(eventMapper::toResponse).toList(), eventsVersion),
+                    byId(events, EventEntity::getId, this::eventEntry),
+                    entry("Galleries retrieved successfully", galleries.stream().map(galleryMapper::toResponse).toList(), galleriesVersion),
+                    byId(galleries, GalleryEntity::getId, gallery -> entry("Gallery found", galleryMapper.toResponse(gallery),
+                            version(gallery.getUpdatedAt()).and(imagesVersion(gallery.getImages())))),
+                    entry("Images retrieved successfully", images.stream().map(ImageMapper::toResponse).toList(), imagesVersion),
+                    byId(images, ImageEntity::getId, image -> entry("Image found", ImageMapper.toResponse(image),
+                            version(image.getUpdatedAt()))),
+                    imagesBySlug(galleries),
+                    entry("Members retrieved successfully", members.stream().map(memberMapper::toResponse).toList(), membersVersion),
+                    byId(members, MemberEntity::getId, member -> entry("Member found", memberMapper.toResponse(member),
+                            version(member.getUpdatedAt()))),
+                    entry("Locations retrieved", locations.stream().map(locationMapper::toResponse).toList(), locationsVersion),
+                    byId(locations, LocationEntity::getId, location -> entry("Location found", locationMapper.toResponse(location),
+                            version(location.getUpdatedAt()))),
+                    Instant.now()
+            );
+        });
+    }
+
+    private PublicSnapshot.Entry<EventResponse> eventEntry(EventEntity event) {
+        ContentVersion version = version(event.getUpdatedAt());
+        if (event.getLocation() != null) {
+            version = version.and(version(event.getLocation().getUpdatedAt()));
+        }
+        return entry("Event found", eventMapper.toResponse(event), version);
+    }
+
+    /**
+     * Like the service, a slug resolves to the images of its first gallery and is only an entry
+     * if that gallery has images; the version covers every gallery sharing the slug.
+     */
+    private Map<String, PublicSnapshot.Entry<List<ImageResponse>>> imagesBySlug(List<GalleryEntity> galleries) {
+        Map<String, List<GalleryEntity>> bySlug = new LinkedHashMap<>();
+        for (GalleryEntity gallery : galleries) {
+            if (gallery.getSlug() != null && !gallery.getSlug().isEmpty()) {
+                bySlug.computeIfAbsent(gallery.getSlug(), slug -> new ArrayList<>()).add(gallery);
+            }
+        }
+
+        Map<String, PublicSnapshot.Entry<List<ImageResponse>>> entries = new HashMap<>();
+        bySlug.forEach((slug, sharing) -> {
+            List<ImageEntity> images = sharing.get(0).getImages();
+            if (images == null || images.isEmpty()) {
+                return;
+            }
+            ContentVersion version = NONE;
+            for (GalleryEntity gallery : sharing) {
+                version = version.and(version(gallery.getUpdatedAt())).and(imagesVersion(gallery.getImages()));
+            }
+            entries.put(slug, entry("Images found in gallery", ImageMapper.toResponseList(images), version));
+        });
+        return Map.copyOf(entries);
+    }
+
+    private static ContentVersion imagesVersion(List<ImageEntity> images) {
+        ContentVersion version = NONE;
+        if (images != null) {
+            for (ImageEntity image : images) {
+                version = version.and(version(image.getUpdatedAt()));
+            }
+        }
+        return version;
+    }
+
+    private static ContentVersion version(LocalDateTime updatedAt) {
+        return new ContentVersion(updatedAt, 1);
+    }
+
+    /**
+     * Serializes the response with the application's object mapper, so the bytes are exactly what the
+     * JSON message converter would write for it.
+     */
+    private <T> PublicSnapshot.Entry<T> entry(String message, T data, ContentVersion version) {
+        ApiResponse<T> response = new ApiResponse<>(200, message, data);
+        try {
+            return new PublicSnapshot.Entry<>(response, version, EncodedJson.of(objectMapper.writeValueAsBytes(response)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize '" + message + "'", e);
+        }
+    }
+
+    private static <E, T> Map<Long, PublicSnapshot.Entry<T>> byId(List<E> entities, Function<E, Long> id,
+                                                                  Function<E, PublicSnapshot.Entry<T>> entry) {
+        Map<Long, PublicSnapshot.Entry<T>> entries = new HashMap<>();
+        for (E entity : entities) {
+            entries.put(id.apply(entity), entry.apply(entity));
+        }
+        return Map.copyOf(entries);
+    }
+
+    public PublicSnapshotBuilder(WelcomeRepository welcomeRepository,
+                                 AboutRepository aboutRepository,
+                                 EventRepository eventRepository,
+                                 GalleryRepository galleryRepository,
+                                 ImageRepository imageRepository,
+                                 MemberRepository memberRepository,
+                                 LocationRepository locationRepository,
+                                 WelcomeMapper welcomeMapper,
+                                 AboutMapper aboutMapper,
+                                 EventMapper eventMapper,
+                                 GalleryMapper galleryMapper,
+                                 MemberMapper memberMapper,
+                                 LocationMapper locationMapper,
+                                 ObjectMapper objectMapper,
+                                 PlatformTransactionManager transactionManager) {
+        this.welcomeRepository = welcomeRepository;
+        this.aboutRepository = aboutRepository;
+        this.eventRepository = eventRepository;
+        this.galleryRepository = galleryRepository;
+        this.imageRepository = imageRepository;
+        this.memberRepository = memberRepository;
+        this.locationRepository = locationRepository;
+        this.welcomeMapper = welcomeMapper;
+        this.aboutMapper = aboutMapper;
+        this.eventMapper = eventMapper;
+        this.galleryMapper = galleryMapper;
+        this.memberMapper = memberMapper;
+        this.locationMapper = locationMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/18/26
+ */
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.sebastianhamm.Backend.shared.config.AsyncConfiguration;
+import com.sebastianhamm.Backend.shared.config.SnapshotConfiguration;
+import com.sebastianhamm.Backend.shared.domain.events.PublicContentChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Serves the current {@link PublicSnapshot} and replaces it after every committed change.
+ *
+ * <p>Readers only read a volatile reference: they never lock, never touch the database and never
+ * see a half-built snapshot. Rebuilds run on a single background thread and are coalesced, so a
+ * burst of writes leads to at most one build in progress and one waiting. Every committed change
+ * marks the snapshot stale until a build that started after it has been published; once that takes
+ * longer than 'app.snapshot.max-staleness', {@link #current()} hands out the empty snapshot and
+ * reads go to the database again. The periodic refresh picks up changes made outside the
+ * application, which cannot be detected.
+ */
+@Component
+public class PublicSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicSnapshotService.class);
+
+    private static final long UP_TO_DATE = -1;
+
+    private final PublicSnapshotBuilder builder;
+    private final TaskExecutor executor;
+    private final long maxStalenessNanos;
+    private final Timer successfulBuilds;
+    private final Timer failedBuilds;
+
+    private volatile PublicSnapshot snapshot = PublicSnapshot.EMPTY;
+
+    // Change bookkeeping, guarded by 'changes'; 'staleSince' is volatile for lock-free reads
+    private final Object changes = new Object();
+    private long changeCount;
+    private volatile long staleSince = UP_TO_DATE;
+    private long changedDuringBuildSince = UP_TO_DATE;
+
+    /**
+     * @return the snapshot to serve, or {@link PublicSnapshot#EMPTY} if it has been stale for too long
+     */
+    public PublicSnapshot current() {
+        long since = staleSince;
+        if (since != UP_TO_DATE && System.nanoTime() - since > maxStalenessNanos) {
+            return PublicSnapshot.EMPTY;
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onContentChanged(PublicContentChangedEvent event) {
+        long now = System.nanoTime();
+        synchronized (changes) {
+            changeCount++;
+            if (staleSince == UP_TO_DATE) {
+                staleSince = now;
+            }
+            if (changedDuringBuildSince == UP_TO_DATE) {
+                changedDuringBuildSince = now;
+            }
+        }
+        requestRebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.snapshot.refresh-interval:PT1M}",
+            fixedDelayString = "${app.snapshot.refresh-interval:PT1M}")
+    public void requestRebuild() {
+        executor.execute(this::rebuild);
+    }
+
+    /**
+     * Builds and publishes a new snapshot. If the build fails, the previous snapshot stays in place
+     * and remains stale, so reads fall back to the database until a later build succeeds.
+     */
+    public synchronized void rebuild() {
+        long seen;
+        synchronized (changes) {
+            seen = changeCount;
+            changedDuringBuildSince = UP_TO_DATE;
+        }
+
+        long start = System.nanoTime();
+        PublicSnapshot built;
+        try {
+            built = builder.build();
+        } catch (RuntimeException e) {
+            failedBuilds.record(Duration.ofNanos(System.nanoTime() - start));
+            logger.error("Failed to build the public snapshot: {}", e.getMessage(), e);
+            return;
+        }
+        successfulBuilds.record(Duration.ofNanos(System.nanoTime() - start));
+
+        synchronized (changes) {
+            snapshot = built;
+            // Changes committed while building may or may not be part of it
+            staleSince = changeCount == seen ? UP_TO_DATE : changedDuringBuildSince;
+        }
+        logger.debug("Published public snapshot built at {}", built.builtAt());
+    }
+
+    /**
+     * @return how long the oldest committed change has been missing from the snapshot, zero if none is
+     */
+    public Duration staleness() {
+        long since = staleSince;
+        return since == UP_TO_DATE ? Duration.ZERO : Duration.ofNanos(System.nanoTime() - since);
+    }
+
+    private double ageSeconds() {
+        Instant builtAt = snapshot.builtAt();
+        return builtAt == null ? Double.NaN : Duration.between(builtAt, Instant.now()).toMillis() / 1000.0;
+    }
+
+    public PublicSnapshotService(PublicSnapshotBuilder builder,
+                                 @Qualifier(AsyncConfiguration.PUBLIC_SNAPSHOT_EXECUTOR) TaskExecutor executor,
+                                 SnapshotConfiguration snapshotConfig,
+                                 MeterRegistry meterRegistry) {
+        this.builder = builder;
+        this.executor = executor;
+        this.maxStalenessNanos = snapshotConfig.maxStaleness().toNanos();
+
+        Gauge.builder("public.snapshot.staleness", this, service -> service.staleness().toNanos() / 1e9)
+                .description("Time the oldest committed change has been missing from the public snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("public.snapshot.age", this, PublicSnapshotService::ageSeconds)
+                .description("Time since the content of the served public snapshot was read")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.successfulBuilds = Timer.builder("public.snapshot.build")
+                .description("Duration of a public snapshot build")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.failedBuilds = Timer.builder("public.snapshot.build")
+                .description("Duration of a public snapshot build")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+    }
+}
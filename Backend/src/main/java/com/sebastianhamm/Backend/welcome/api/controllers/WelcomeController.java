@@ -7,6 +7,8 @@
  */
 package com.sebastianhamm.Backend.welcome.api.controllers;
 
+import com.sebastianhamm.Backend.shared.api.controllers.ConditionalResponses;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeResponse;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing the welcome page content.
@@ -35,6 +38,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class WelcomeController {
 
     private final WelcomeService welcomeService;
+    private final PublicSnapshotService publicSnapshot;
 
     /**
      * GET /welcome: Get welcome page content
@@ -51,15 +55,19 @@ public class WelcomeController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = ApiResponse.class))
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified",
+                    content = @Content
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Welcome page content not found",
                     content = @Content
             )
     })
-    public ResponseEntity<ApiResponse<WelcomeResponse>> getWelcome() {
-        ApiResponse<WelcomeResponse> response = welcomeService.getWelcome();
-        return ResponseEntity.status(response.getStatusCode()).body(response);
+    public ResponseEntity<ApiResponse<WelcomeResponse>> getWelcome(WebRequest request) {
+        return ConditionalResponses.ifModified(request, publicSnapshot.current().welcome(), welcomeService::getVersion, welcomeService::getWelcome);
     }
     /**
      * PUT /welcome : Update welcome page content
@@ -98,7 +106,8 @@ public class WelcomeController {
         return ResponseEntity.status(response.getStatusCode()).body(response);
     }
 
-    public WelcomeController(WelcomeService welcomeService) {
+    public WelcomeController(WelcomeService welcomeService, PublicSnapshotService publicSnapshot) {
         this.welcomeService = welcomeService;
+        this.publicSnapshot = publicSnapshot;
     }
 }
@@ -7,8 +7,12 @@
  */
 package com.sebastianhamm.Backend.welcome.domain.entities;
 
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicContentListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.envers.Audited;
@@ -43,7 +47,9 @@ import java.time.LocalDateTime;
 @Audited(withModifiedFlag = true)
 @Entity
 @Table(name = "welcome")
-@EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfiguration.WELCOME_REGION)
+@EntityListeners({AuditingEntityListener.class, PublicContentListener.class})
 public class WelcomeEntity {
 
     @Id
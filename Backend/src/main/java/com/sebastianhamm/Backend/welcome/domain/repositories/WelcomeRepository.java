@@ -7,8 +7,14 @@
  */
 package com.sebastianhamm.Backend.welcome.domain.repositories;
 
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import com.sebastianhamm.Backend.welcome.domain.entities.WelcomeEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,4 +23,12 @@ import java.util.Optional;
 public interface WelcomeRepository extends JpaRepository<WelcomeEntity,Long> {
 
     Optional<WelcomeEntity> findById(Long id);
+
+    /**
+     * Version of one welcome entry; its count is zero if the entry does not exist.
+     */
+    @Query("SELECT new com.sebastianhamm.Backend.shared.domain.ContentVersion(MAX(w.updatedAt), COUNT(w)) " +
+            "FROM WelcomeEntity w WHERE w.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    ContentVersion findVersionById(@Param("id") Long id);
 }
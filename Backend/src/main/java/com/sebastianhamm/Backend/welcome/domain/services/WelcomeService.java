@@ -9,9 +9,15 @@ package com.sebastianhamm.Backend.welcome.domain.services;
 
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeResponse;
 
 public interface WelcomeService {
     ApiResponse<WelcomeResponse> getWelcome();
     ApiResponse<WelcomeResponse> updateWelcome(WelcomeRequest welcomeRequest);
+
+    /**
+     * Version of the content of {@link #getWelcome()}, or null if there is none.
+     */
+    ContentVersion getVersion();
 }
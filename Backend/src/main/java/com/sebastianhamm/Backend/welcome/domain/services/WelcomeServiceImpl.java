@@ -8,9 +8,12 @@
 package com.sebastianhamm.Backend.welcome.domain.services;
 
 
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
 import com.sebastianhamm.Backend.welcome.domain.entities.WelcomeEntity;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeResponse;
 import com.sebastianhamm.Backend.welcome.domain.repositories.WelcomeRepository;
 import com.sebastianhamm.Backend.welcome.domain.services.WelcomeService;
@@ -26,6 +29,7 @@ public class WelcomeServiceImpl implements WelcomeService {
 
     private final WelcomeRepository welcomeRepository;
     private final WelcomeMapper welcomeMapper;
+    private final BlobReferenceService blobReferences;
 
     @Override
     public ApiResponse<WelcomeResponse> getWelcome() {
@@ -49,18 +53,31 @@ public class WelcomeServiceImpl implements WelcomeService {
                 return new ApiResponse<>(400, "Welcome data not found", null);
             }
 
+            String previousImageUrl = welcomeEntity.getBackgroundImageUrl();
             welcomeMapper.updateEntity(welcomeEntity, welcomeRequest);
+            blobReferences.replace(previousImageUrl, welcomeEntity.getBackgroundImageUrl());
             welcomeEntity.setUpdatedAt(LocalDateTime.now());
             WelcomeResponse response = welcomeMapper.toResponse(welcomeEntity);
 
             return new ApiResponse<>(200, "Welcome data updated successfully", response);
+        } catch (FileStorageException e) {
+            // Already marked the transaction for rollback; answered by the exception handler
+            throw e;
         } catch (Exception e) {
             return new ApiResponse<>(500, "Internal server error: " + e.getMessage(), null);
         }
     }
 
-    public WelcomeServiceImpl(WelcomeRepository welcomeRepository, WelcomeMapper welcomeMapper) {
+    @Override
+    public ContentVersion getVersion() {
+        ContentVersion version = welcomeRepository.findVersionById(1L);
+        return version.isEmpty() ? null : version;
+    }
+
+    public WelcomeServiceImpl(WelcomeRepository welcomeRepository, WelcomeMapper welcomeMapper,
+                              BlobReferenceService blobReferences) {
         this.welcomeRepository = welcomeRepository;
         this.welcomeMapper = welcomeMapper;
+        this.blobReferences = blobReferences;
     }
 }
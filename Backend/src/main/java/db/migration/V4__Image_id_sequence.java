@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2025 Sebastian Hamm. All Rights Reserved.
+ *
+ * @author Sebastian Hamm
+ * @version 1.0.0
+ * @since 10/17/26
+ */
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Creates the pooled id sequence for images.
+ *
+ * <p>IDENTITY columns force Hibernate to insert every row on its own to read back the key, which
+ * rules out JDBC batching. The sequence hands out blocks of 50 ids instead; Hibernate's pooled
+ * optimizer treats each fetched value as the upper end of a block, so it has to start one block
+ * above the highest existing id. That value is only known at migration time, hence Java instead
+ * of SQL.
+ */
+public class V4__Image_id_sequence extends BaseJavaMigration {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            long maxId;
+            try (ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM images")) {
+                resultSet.next();
+                maxId = resultSet.getLong(1);
+            }
+            statement.execute("CREATE SEQUENCE images_seq START WITH " + (maxId + ALLOCATION_SIZE)
+                    + " INCREMENT BY " + ALLOCATION_SIZE);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Upload context of each image, for storage accounting per context
+-- Created: 2026-10-18
+
+ALTER TABLE images ADD COLUMN upload_context VARCHAR(255);
@@ -0,0 +1,6 @@
+-- Modification time of locations, part of the validators of the event and location responses
+-- Created: 2026-10-18
+
+ALTER TABLE locations ADD COLUMN updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+ALTER TABLE locations_aud ADD COLUMN updated_at TIMESTAMP;
+ALTER TABLE locations_aud ADD COLUMN updated_at_mod BOOLEAN;
@@ -0,0 +1,4 @@
+-- Size of each image as uploaded, before metadata stripping, for storage accounting
+-- Created: 2026-10-18
+
+ALTER TABLE images ADD COLUMN upload_size_bytes BIGINT;
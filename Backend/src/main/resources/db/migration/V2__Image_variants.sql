@@ -0,0 +1,14 @@
+-- Responsive image variants generated in the background after upload
+-- Created: 2026-10-17
+
+CREATE TABLE image_variants
+(
+    image_id   BIGINT       NOT NULL REFERENCES images (id) ON DELETE CASCADE,
+    width      INTEGER      NOT NULL,
+    height     INTEGER      NOT NULL,
+    mime_type  VARCHAR(100) NOT NULL,
+    url        VARCHAR(500) NOT NULL,
+    size_bytes BIGINT
+);
+
+CREATE INDEX idx_image_variants_image_id ON image_variants (image_id);
@@ -0,0 +1,15 @@
+-- Content-addressed blob store with reference counting
+-- Created: 2026-10-17
+
+CREATE TABLE blobs
+(
+    sha256             VARCHAR(64)  NOT NULL PRIMARY KEY,
+    storage_key        VARCHAR(255) NOT NULL,
+    mime_type          VARCHAR(100) NOT NULL,
+    size_bytes         BIGINT       NOT NULL,
+    ref_count          INTEGER      NOT NULL DEFAULT 0,
+    unreferenced_since TIMESTAMP,
+    created_at         TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_blobs_unreferenced_since ON blobs (unreferenced_since);
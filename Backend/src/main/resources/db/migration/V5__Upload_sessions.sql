@@ -0,0 +1,16 @@
+-- Resumable chunked upload sessions
+-- Created: 2026-10-17
+
+CREATE TABLE upload_sessions
+(
+    id             UUID         NOT NULL PRIMARY KEY,
+    filename       VARCHAR(255),
+    context        VARCHAR(255) NOT NULL,
+    author         VARCHAR(255) NOT NULL,
+    size_bytes     BIGINT       NOT NULL,
+    received_bytes BIGINT       NOT NULL DEFAULT 0,
+    expires_at     TIMESTAMP    NOT NULL,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_upload_sessions_expires_at ON upload_sessions (expires_at);
@@ -0,0 +1,11 @@
+-- Image header metadata extracted at upload time
+-- Created: 2026-10-17
+
+ALTER TABLE images ADD COLUMN width INTEGER;
+ALTER TABLE images ADD COLUMN height INTEGER;
+ALTER TABLE images ADD COLUMN orientation INTEGER;
+ALTER TABLE images ADD COLUMN captured_at TIMESTAMP;
+ALTER TABLE images ADD COLUMN camera_make VARCHAR(100);
+ALTER TABLE images ADD COLUMN camera_model VARCHAR(100);
+
+CREATE INDEX idx_images_captured_at ON images (captured_at);
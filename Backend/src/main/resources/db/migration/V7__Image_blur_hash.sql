@@ -0,0 +1,4 @@
+-- BlurHash placeholder generated together with the image variants
+-- Created: 2026-10-17
+
+ALTER TABLE images ADD COLUMN blur_hash VARCHAR(64);
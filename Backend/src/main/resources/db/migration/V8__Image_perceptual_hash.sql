@@ -0,0 +1,4 @@
+-- 64-bit DCT perceptual hash for near-duplicate detection, computed on upload
+-- Created: 2026-10-17
+
+ALTER TABLE images ADD COLUMN perceptual_hash BIGINT;
@@ -0,0 +1,15 @@
+-- Checkpoints of resumable image maintenance jobs
+-- Created: 2026-10-18
+
+CREATE TABLE image_jobs
+(
+    name          VARCHAR(100) NOT NULL PRIMARY KEY,
+    status        VARCHAR(20)  NOT NULL,
+    last_image_id BIGINT       NOT NULL DEFAULT 0,
+    processed     BIGINT       NOT NULL DEFAULT 0,
+    skipped       BIGINT       NOT NULL DEFAULT 0,
+    failed        BIGINT       NOT NULL DEFAULT 0,
+    started_at    TIMESTAMP,
+    updated_at    TIMESTAMP,
+    finished_at   TIMESTAMP
+);
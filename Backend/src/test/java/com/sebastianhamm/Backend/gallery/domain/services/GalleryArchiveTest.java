@@ -0,0 +1,129 @@
+package com.sebastianhamm.Backend.gallery.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GalleryArchive.
+ * Streams blobs from a temporary local blob store and reads the result back with ZipFile.
+ */
+@DisplayName("GalleryArchive Tests")
+class GalleryArchiveTest {
+
+    private static final String FIRST_KEY = "a".repeat(64) + ".jpg";
+    private static final String SECOND_KEY = "b".repeat(64) + ".png";
+
+    @TempDir
+    private Path root;
+
+    private LocalBlobStorage storage;
+    private GalleryArchive archive;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        storage = new LocalBlobStorage(TestImageConfiguration.localStorage(root));
+        storage.put(FIRST_KEY, new ByteArrayInputStream(content(1000, 1)), 1000, "image/jpeg");
+        storage.put(SECOND_KEY, new ByteArrayInputStream(content(3000, 7)), 3000, "image/png");
+        int time = GalleryArchive.dosTime(LocalDateTime.of(2025, 6, 1, 10, 30));
+        archive = new GalleryArchive(List.of(
+                new GalleryArchive.Entry("Frühschoppen.jpg", FIRST_KEY, 1000, time),
+                new GalleryArchive.Entry("stage.png", SECOND_KEY, 3000, time)), "\"etag\"");
+    }
+
+    @Test
+    @DisplayName("Should produce a valid archive of exactly the announced length")
+    void write_FullArchive_ShouldBeReadableZip() throws Exception {
+        // When
+        byte[] bytes = write(0, archive.length() - 1, new HashMap<>());
+
+        // Then
+        assertThat(bytes).hasSize((int) archive.length());
+        Path file = root.resolve("gallery.zip");
+        Files.write(file, bytes);
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry first = zip.getEntry("Frühschoppen.jpg");
+            assertThat(first.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(zip.getInputStream(first).readAllBytes()).isEqualTo(content(1000, 1));
+            assertThat(zip.getInputStream(zip.getEntry("stage.png")).readAllBytes()).isEqualTo(content(3000, 7));
+        }
+    }
+
+    @Test
+    @DisplayName("Should produce any byte range identically to the full archive")
+    void write_Range_ShouldMatchFullArchive() throws Exception {
+        // Given
+        byte[] full = write(0, archive.length() - 1, new HashMap<>());
+
+        // When / Then
+        for (long[] range : new long[][]{{0, 10}, {500, 1500}, {1040, 1100}, {4100, archive.length() - 1}}) {
+            byte[] expected = Arrays.copyOfRange(full, (int) range[0], (int) range[1] + 1);
+            assertThat(write(range[0], range[1], new HashMap<>())).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Should only read blobs covered by the range once checksums are known")
+    void write_RangeWithKnownChecksums_ShouldSkipOtherBlobs() throws Exception {
+        // Given
+        Map<String, Long> crcs = new HashMap<>();
+        byte[] full = write(0, archive.length() - 1, crcs);
+        storage.delete(FIRST_KEY);
+
+        // When
+        byte[] tail = write(2000, archive.length() - 1, crcs);
+
+        // Then
+        assertThat(tail).isEqualTo(Arrays.copyOfRange(full, 2000, full.length));
+    }
+
+    @Test
+    @DisplayName("Should keep the stored extension and make names unique case-insensitively")
+    void uniqueName_WithDuplicates_ShouldAppendCounter() {
+        // Given
+        Set<String> taken = new HashSet<>();
+        ImageEntity image = new ImageEntity();
+        image.setId(5L);
+        image.setFilename("C:\\Photos\\IMG_1.JPEG");
+
+        // When / Then
+        assertThat(GalleryArchiveService.uniqueName(image, FIRST_KEY, taken)).isEqualTo("IMG_1.jpg");
+        assertThat(GalleryArchiveService.uniqueName(image, FIRST_KEY, taken)).isEqualTo("IMG_1 (2).jpg");
+        image.setFilename(null);
+        assertThat(GalleryArchiveService.uniqueName(image, SECOND_KEY, taken)).isEqualTo("image-5.png");
+    }
+
+    private byte[] write(long start, long end, Map<String, Long> crcs) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.write(start, end, storage, crcs, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] content(int size, int seed) {
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) (i * seed);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,159 @@
+package com.sebastianhamm.Backend.image.api.controllers;
+
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for UploadController.
+ * Exercises range, validator and cache header handling against files in a temporary directory.
+ */
+@DisplayName("UploadController Tests")
+class UploadControllerTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    Path uploadRoot;
+
+    private UploadController controller;
+    private byte[] content;
+    private StoredUpload stored;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        ImageConfiguration config = TestImageConfiguration.localStorage(uploadRoot);
+        LocalBlobStorage storage = new LocalBlobStorage(config);
+        ImageUploadPipeline pipeline = new ImageUploadPipeline(storage, config, new SimpleMeterRegistry());
+        controller = new UploadController(pipeline, storage);
+        content = new byte[1000];
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        stored = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("Should serve content-addressed blob with strong ETag and immutable caching")
+    void serve_WithBlobUrl_ShouldReturnFullContent() throws Exception {
+        // When
+        MockHttpServletResponse response = serve(get(stored.imageUrl()));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(content);
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("ETag")).isEqualTo("\"" + stored.sha256() + "\"");
+        assertThat(response.getHeader("Cache-Control")).contains("immutable");
+    }
+
+    @Test
+    @DisplayName("Should return requested byte range with 206")
+    void serve_WithRange_ShouldReturnPartialContent() throws Exception {
+        // Given
+        MockHttpServletRequest request = get(stored.imageUrl());
+        request.addHeader("Range", "bytes=100-199");
+
+        // When
+        MockHttpServletResponse response = serve(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 100-199/1000");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(content, 100, 200));
+    }
+
+    @Test
+    @DisplayName("Should ignore range when If-Range does not match")
+    void serve_WithStaleIfRange_ShouldReturnFullContent() throws Exception {
+        // Given
+        MockHttpServletRequest request = get(stored.imageUrl());
+        request.addHeader("Range", "bytes=100-199");
+        request.addHeader("If-Range", "\"outdated\"");
+
+        // When
+        MockHttpServletResponse response = serve(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).hasSize(content.length);
+    }
+
+    @Test
+    @DisplayName("Should reject unsatisfiable range with 416")
+    void serve_WithRangeBeyondEnd_ShouldReturn416() throws Exception {
+        // Given
+        MockHttpServletRequest request = get(stored.imageUrl());
+        request.addHeader("Range", "bytes=5000-");
+
+        // When
+        MockHttpServletResponse response = serve(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */1000");
+    }
+
+    @Test
+    @DisplayName("Should answer matching If-None-Match with 304")
+    void serve_WithMatchingIfNoneMatch_ShouldReturn304() throws Exception {
+        // Given
+        MockHttpServletRequest request = get(stored.imageUrl());
+        request.addHeader("If-None-Match", "\"" + stored.sha256() + "\"");
+
+        // When
+        MockHttpServletResponse response = serve(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should serve legacy files with a weak ETag")
+    void serve_WithLegacyFile_ShouldUseWeakEtag() throws Exception {
+        // Given
+        Path legacy = uploadRoot.resolve("images/gallery/photo.jpg");
+        Files.createDirectories(legacy.getParent());
+        Files.write(legacy, content);
+
+        // When
+        MockHttpServletResponse response = serve(get("/uploads/images/gallery/photo.jpg"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).startsWith("W/");
+        assertThat(response.getHeader("Cache-Control")).doesNotContain("immutable");
+    }
+
+    @Test
+    @DisplayName("Should return 404 for missing files and path traversal")
+    void serve_WithUnknownOrEscapingPath_ShouldReturn404() throws Exception {
+        assertThat(serve(get("/uploads/blobs/missing.png")).getStatus()).isEqualTo(404);
+        assertThat(serve(get("/uploads/../secret.txt")).getStatus()).isEqualTo(404);
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.serve(request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
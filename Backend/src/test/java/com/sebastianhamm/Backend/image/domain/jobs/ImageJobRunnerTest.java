@@ -0,0 +1,163 @@
+package com.sebastianhamm.Backend.image.domain.jobs;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageJobEntity;
+import com.sebastianhamm.Backend.image.domain.enums.ImageJobStatus;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageJobRepository;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ImageJobRunner.
+ * Runs a fake job over ids 1 to 10 in pages of 3, with checkpoints kept in a map behind the mocked repository.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageJobRunner Tests")
+class ImageJobRunnerTest {
+
+    @Mock
+    private ImageJobRepository jobRepository;
+
+    @Mock
+    private ThreadPoolTaskExecutor liveWork;
+
+    private final Map<String, ImageJobEntity> checkpoints = new ConcurrentHashMap<>();
+    private final FakeJob job = new FakeJob();
+    private ImageJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        when(jobRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(checkpoints.get(invocation.<String>getArgument(0))));
+        when(jobRepository.save(any())).thenAnswer(invocation -> {
+            ImageJobEntity checkpoint = invocation.getArgument(0);
+            checkpoints.put(checkpoint.getName(), checkpoint);
+            return checkpoint;
+        });
+        lenient().when(liveWork.getQueueSize()).thenReturn(0);
+        ImageConfiguration config = TestImageConfiguration.defaults().withJobs(new ImageConfiguration.Jobs(2, 3, 1_000_000.0, true)).build();
+        runner = new ImageJobRunner(List.of(job), jobRepository, Runnable::run, liveWork, config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should process every candidate and count the outcomes")
+    void start_ShouldRunToCompletion() throws Exception {
+        // When
+        runner.start("fake", false);
+        ImageJobRunner.Progress progress = awaitEnd();
+
+        // Then
+        assertThat(progress.status()).isEqualTo(ImageJobStatus.COMPLETED);
+        assertThat(progress.lastImageId()).isEqualTo(10);
+        assertThat(progress.processed()).isEqualTo(8);
+        assertThat(progress.skipped()).isEqualTo(1);
+        assertThat(progress.failed()).isEqualTo(1);
+        assertThat(progress.finishedAt()).isNotNull();
+        assertThat(job.processed).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+
+    @Test
+    @DisplayName("Should continue after the last checkpoint")
+    void start_WithCheckpoint_ShouldResume() throws Exception {
+        // Given
+        ImageJobEntity checkpoint = new ImageJobEntity("fake");
+        checkpoint.setStatus(ImageJobStatus.RUNNING);
+        checkpoint.setLastImageId(6);
+        checkpoint.setProcessed(6);
+        checkpoint.setStartedAt(LocalDateTime.now().minusHours(1));
+        checkpoints.put("fake", checkpoint);
+        when(jobRepository.findByStatus(ImageJobStatus.RUNNING)).thenReturn(List.of(checkpoint));
+
+        // When
+        runner.resumeInterrupted();
+        ImageJobRunner.Progress progress = awaitEnd();
+
+        // Then
+        assertThat(job.processed).containsExactlyInAnyOrder(7L, 8L, 9L, 10L);
+        assertThat(progress.status()).isEqualTo(ImageJobStatus.COMPLETED);
+        assertThat(progress.processed()).isEqualTo(6 + 3);
+    }
+
+    @Test
+    @DisplayName("Should checkpoint the images started so far when stopped")
+    void stop_ShouldCheckpointAndStop() throws Exception {
+        // Given
+        job.stopAt = 5L;
+
+        // When
+        runner.start("fake", false);
+        ImageJobRunner.Progress progress = awaitEnd();
+
+        // Then
+        assertThat(progress.status()).isEqualTo(ImageJobStatus.STOPPED);
+        assertThat(progress.lastImageId()).isEqualTo(5);
+        assertThat(progress.finishedAt()).isNull();
+
+        // When started again, the job continues with the next image
+        job.stopAt = null;
+        job.processed.clear();
+        runner.start("fake", false);
+        assertThat(awaitEnd().status()).isEqualTo(ImageJobStatus.COMPLETED);
+        assertThat(job.processed).containsExactlyInAnyOrder(6L, 7L, 8L, 9L, 10L);
+    }
+
+    private ImageJobRunner.Progress awaitEnd() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (runner.progress("fake").running() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return runner.progress("fake");
+    }
+
+    /**
+     * Skips image 4, fails on image 9 and processes all others.
+     */
+    private final class FakeJob implements ImageJob {
+
+        private final List<Long> processed = new CopyOnWriteArrayList<>();
+        private volatile Long stopAt;
+
+        @Override
+        public String name() {
+            return "fake";
+        }
+
+        @Override
+        public List<Long> findCandidates(long after, int limit) {
+            return LongStream.rangeClosed(after + 1, 10).limit(limit).boxed().toList();
+        }
+
+        @Override
+        public boolean process(Long imageId) throws IOException {
+            processed.add(imageId);
+            if (imageId.equals(stopAt)) {
+                runner.stop("fake");
+            }
+            if (imageId == 9) {
+                throw new IOException("unreadable");
+            }
+            return imageId != 4;
+        }
+    }
+}
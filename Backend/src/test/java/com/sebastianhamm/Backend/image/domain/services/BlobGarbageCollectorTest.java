@@ -0,0 +1,144 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.BlobEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BlobGarbageCollector.
+ * Uses a mocked repository and a real local blob storage in a temporary directory.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlobGarbageCollector Tests")
+class BlobGarbageCollectorTest {
+
+    private static final String ORPHAN = "a".repeat(64);
+    private static final String STILL_USED = "b".repeat(64);
+
+    @Mock
+    private BlobRepository blobRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploadRoot;
+
+    private LocalBlobStorage storage;
+    private SimpleMeterRegistry meterRegistry;
+    private BlobGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration config = TestImageConfiguration.localStorage(uploadRoot);
+        storage = new LocalBlobStorage(config);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new BlobGarbageCollector(blobRepository, storage, new TransactionTemplate(transactionManager),
+                config, meterRegistry);
+
+        when(blobRepository.findHashesReferencedByImages(anyCollection(), any())).thenReturn(List.of());
+        when(blobRepository.findHashesReferencedByImageVariants(anyCollection(), any())).thenReturn(List.of());
+        when(blobRepository.findHashesReferencedByMembers(anyCollection(), any())).thenReturn(List.of(STILL_USED));
+        when(blobRepository.findHashesReferencedByEvents(anyCollection())).thenReturn(List.of());
+        when(blobRepository.findHashesReferencedByAbout(anyCollection())).thenReturn(List.of());
+        when(blobRepository.findHashesReferencedByWelcome(anyCollection())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should delete unreferenced blobs with all their variants and report reclaimed bytes")
+    void collect_ShouldDeleteOrphansAndRepairDriftedCounts() throws Exception {
+        // Given
+        store(ORPHAN + ".jpg", 100);
+        store(ORPHAN + "-320w.jpg", 20);
+        store(ORPHAN + "-999w.png", 5);
+        store(STILL_USED + ".jpg", 50);
+        when(blobRepository.findCollectable(any(), eq(""), any()))
+                .thenReturn(List.of(blob(ORPHAN), blob(STILL_USED)));
+        when(blobRepository.deleteIfUnreferenced(eq(ORPHAN), any())).thenReturn(1);
+
+        // When
+        long reclaimed = collector.collect();
+
+        // Then
+        assertThat(reclaimed).isEqualTo(125);
+        assertThat(storage.stat(ORPHAN + ".jpg")).isEmpty();
+        assertThat(storage.stat(ORPHAN + "-320w.jpg")).isEmpty();
+        assertThat(storage.stat(ORPHAN + "-999w.png")).isEmpty();
+        assertThat(storage.stat(STILL_USED + ".jpg")).isPresent();
+        verify(blobRepository).restoreRefCount(STILL_USED, 1);
+        verify(blobRepository, never()).deleteIfUnreferenced(eq(STILL_USED), any());
+        assertThat(meterRegistry.get("storage.blobs.reclaimed").counter().count()).isEqualTo(125);
+        assertThat(meterRegistry.get("storage.blobs.collected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the file when the blob was acquired since it was selected")
+    void collect_WhenConditionalDeleteMisses_ShouldKeepFile() throws Exception {
+        // Given
+        store(ORPHAN + ".jpg", 100);
+        when(blobRepository.findCollectable(any(), eq(""), any())).thenReturn(List.of(blob(ORPHAN)));
+        when(blobRepository.deleteIfUnreferenced(eq(ORPHAN), any())).thenReturn(0);
+
+        // When
+        long reclaimed = collector.collect();
+
+        // Then
+        assertThat(reclaimed).isZero();
+        assertThat(storage.stat(ORPHAN + ".jpg")).isPresent();
+        verify(blobRepository, never()).restoreRefCount(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should keep the file when the blob was registered again after its row was deleted")
+    void collect_WhenBlobRegisteredAgain_ShouldKeepFile() throws Exception {
+        // Given
+        store(ORPHAN + ".jpg", 100);
+        when(blobRepository.findCollectable(any(), eq(""), any())).thenReturn(List.of(blob(ORPHAN)));
+        when(blobRepository.deleteIfUnreferenced(eq(ORPHAN), any())).thenReturn(1);
+        when(blobRepository.existsById(ORPHAN)).thenReturn(true);
+
+        // When
+        long reclaimed = collector.collect();
+
+        // Then
+        assertThat(reclaimed).isZero();
+        assertThat(storage.stat(ORPHAN + ".jpg")).isPresent();
+    }
+
+    private void store(String key, int size) throws Exception {
+        storage.put(key, new ByteArrayInputStream(new byte[size]), size, "image/jpeg");
+    }
+
+    private static BlobEntity blob(String sha256) {
+        BlobEntity blob = new BlobEntity();
+        blob.setSha256(sha256);
+        blob.setStorageKey(sha256 + ".jpg");
+        return blob;
+    }
+}
@@ -0,0 +1,78 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BlurHash.
+ */
+@DisplayName("BlurHash Tests")
+class BlurHashTest {
+
+    @Test
+    @DisplayName("Should encode size flag and average colour of a uniform image")
+    void encode_WithUniformImage_ShouldEncodeAverageColour() {
+        // Given
+        BufferedImage image = filled(32, 24, Color.RED);
+
+        // When
+        String hash = BlurHash.encode(image, 4, 3);
+
+        // Then - size flag 'L' for 4x3 and 0xFF0000 as DC component
+        assertThat(hash).hasSize(28);
+        assertThat(hash.charAt(0)).isEqualTo('L');
+        assertThat(decode83(hash.substring(2, 6))).isEqualTo(0xFF0000);
+    }
+
+    @Test
+    @DisplayName("Should encode structure of a gradient into the AC components")
+    void encode_WithGradient_ShouldProduceNonNeutralComponents() {
+        // Given
+        BufferedImage image = new BufferedImage(24, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.BLACK, 24, 0, Color.WHITE));
+        graphics.fillRect(0, 0, 24, 32);
+        graphics.dispose();
+
+        // When
+        String hash = BlurHash.encode(image, 3, 4);
+
+        // Then
+        assertThat(hash).hasSize(28);
+        assertThat(hash.charAt(0)).isEqualTo('T');
+        assertThat(hash).isNotEqualTo(BlurHash.encode(filled(24, 32, Color.GRAY), 3, 4));
+    }
+
+    @Test
+    @DisplayName("Should reject component counts outside 1 to 9")
+    void encode_WithInvalidComponents_ShouldThrow() {
+        assertThatThrownBy(() -> BlurHash.encode(filled(4, 4, Color.BLUE), 10, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static BufferedImage filled(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        return image;
+    }
+
+    private static int decode83(String value) {
+        String alphabet = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz#$%*+,-.:;=?@[]^_{|}~";
+        int result = 0;
+        for (char c : value.toCharArray()) {
+            result = result * 83 + alphabet.indexOf(c);
+        }
+        return result;
+    }
+}
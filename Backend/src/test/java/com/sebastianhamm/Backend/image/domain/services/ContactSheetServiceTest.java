@@ -0,0 +1,148 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.RenderCache;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import com.sebastianhamm.Backend.shared.domain.exceptions.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ContactSheetService.
+ * Lays out in-memory galleries and renders a sheet from PNGs served by a mocked blob store.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ContactSheetService Tests")
+class ContactSheetServiceTest {
+
+    @Mock
+    private GalleryRepository galleryRepository;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private BlobStorage storage;
+
+    @TempDir
+    private Path uploadRoot;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private ContactSheetService contactSheetService;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration imageConfig = TestImageConfiguration.localStorage(uploadRoot);
+        BoundedImageDecoder decoder = new BoundedImageDecoder(imageConfig);
+        ImageRenderService imageRenderService = new ImageRenderService(imageRepository, storage, decoder,
+                new RenderCache(imageConfig), queued::add, imageConfig);
+        contactSheetService = new ContactSheetService(galleryRepository, imageRenderService, storage, decoder, imageConfig);
+    }
+
+    @Test
+    @DisplayName("Should tile images row by row onto sheets of 48")
+    void layout_WithManyImages_ShouldSplitIntoSheets() {
+        // Given
+        GalleryEntity gallery = gallery(50);
+
+        // When
+        List<ContactSheetService.Sheet> sheets = ContactSheetService.layout(gallery);
+
+        // Then
+        assertThat(sheets).hasSize(2);
+        assertThat(sheets.get(0).tiles()).hasSize(48);
+        assertThat(sheets.get(0).width()).isEqualTo(8 * 160);
+        assertThat(sheets.get(0).height()).isEqualTo(6 * 160);
+        assertThat(sheets.get(0).tiles().get(9)).extracting(ContactSheetService.Tile::x, ContactSheetService.Tile::y)
+                .containsExactly(160, 160);
+        assertThat(sheets.get(1).tiles()).hasSize(2);
+        assertThat(sheets.get(1).width()).isEqualTo(2 * 160);
+        assertThat(sheets.get(1).height()).isEqualTo(160);
+    }
+
+    @Test
+    @DisplayName("Should rename a sheet when its images change and reject the old name")
+    void find_AfterImageRemoved_ShouldNotFindStaleSheet() {
+        // Given
+        GalleryEntity gallery = gallery(3);
+        String before = ContactSheetService.layout(gallery).get(0).name();
+        gallery.getImages().remove(1);
+        when(galleryRepository.findById(7L)).thenReturn(Optional.of(gallery));
+
+        // When
+        String after = ContactSheetService.layout(gallery).get(0).name();
+
+        // Then
+        assertThat(after).isNotEqualTo(before);
+        assertThat(contactSheetService.find(7L, after).tiles()).hasSize(2);
+        assertThatThrownBy(() -> contactSheetService.find(7L, before)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should render tiles from the smallest sufficient variant")
+    void render_ShouldDrawTilesFromVariants() throws Exception {
+        // Given
+        GalleryEntity gallery = gallery(2);
+        gallery.getImages().get(0).getVariants().add(new ImageVariant(320, 240, "image/jpeg", "/uploads/blobs/" + sha(0) + "-320w.jpg", 1L));
+        when(storage.get(sha(0) + "-320w.jpg")).thenReturn(new ByteArrayInputStream(png(320, 240)));
+        when(storage.get(sha(1) + ".png")).thenReturn(new ByteArrayInputStream(png(100, 100)));
+        ContactSheetService.Sheet sheet = ContactSheetService.layout(gallery).get(0);
+
+        // When
+        CompletableFuture<Path> future = contactSheetService.render(sheet);
+        queued.forEach(Runnable::run);
+
+        // Then
+        BufferedImage rendered = ImageIO.read(future.get().toFile());
+        assertThat(rendered.getWidth()).isEqualTo(2 * 160);
+        assertThat(rendered.getHeight()).isEqualTo(160);
+    }
+
+    private static GalleryEntity gallery(int imageCount) {
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setId(7L);
+        for (int i = 0; i < imageCount; i++) {
+            ImageEntity image = new ImageEntity();
+            image.setId((long) i + 1);
+            image.setImageUrl("/uploads/blobs/" + sha(i) + ".png");
+            gallery.getImages().add(image);
+        }
+        return gallery;
+    }
+
+    private static String sha(int index) {
+        return String.format("%064x", index + 1);
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,121 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.entities.ImageVariant;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ImageDerivativeService.
+ * Renders variants synchronously into local blob storage.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageDerivativeService Tests")
+class ImageDerivativeServiceTest {
+
+    private static final String KEY = "c".repeat(64) + ".jpg";
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploadRoot;
+
+    private LocalBlobStorage storage;
+    private ImageDerivativeService derivativeService;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration config = TestImageConfiguration.defaults()
+                .withUploadRoot(uploadRoot)
+                .withVariants(new ImageConfiguration.Variants(List.of(32, 64), null, null, null))
+                .build();
+        storage = new LocalBlobStorage(config);
+        BoundedImageDecoder decoder = new BoundedImageDecoder(config);
+        derivativeService = new ImageDerivativeService(imageRepository,
+                new ImageUploadPipeline(storage, config, new SimpleMeterRegistry()), storage,
+                decoder, Runnable::run, new TransactionTemplate(transactionManager),
+                new ConcurrentMapCacheManager(), new NearDuplicateIndex(imageRepository, storage, decoder, config), config);
+    }
+
+    @Test
+    @DisplayName("Should render variants of a rotated photo upright and at its displayed size")
+    void generateVariants_WithRotatedImage_ShouldApplyOrientation() throws Exception {
+        // Given: stored 100x40, displayed 40x100 after a quarter turn
+        byte[] jpeg = jpeg(100, 40);
+        storage.put(KEY, new ByteArrayInputStream(jpeg), jpeg.length, "image/jpeg");
+        ImageEntity image = new ImageEntity();
+        image.setId(1L);
+        image.setImageUrl(ImageUploadPipeline.blobUrl(KEY));
+        image.setOrientation(6);
+        image.setWidth(40);
+        image.setHeight(100);
+        when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
+
+        // When
+        derivativeService.generateVariants(1L, image.getImageUrl());
+
+        // Then
+        assertThat(image.getBlurHash()).isNotNull();
+        assertThat(image.getPerceptualHash()).isNotNull();
+        assertThat(image.getVariants()).singleElement().satisfies(variant -> {
+            assertThat(variant.getWidth()).isEqualTo(32);
+            assertThat(variant.getHeight()).isEqualTo(80);
+            assertThat(ImageDerivativeService.isOriented(variant, 6)).isTrue();
+            try (InputStream in = storage.get(ImageUploadPipeline.blobKey(variant.getUrl()))) {
+                BufferedImage rendered = ImageIO.read(in);
+                assertThat(rendered.getWidth()).isEqualTo(32);
+                assertThat(rendered.getHeight()).isEqualTo(80);
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("Should tell variants rendered without the orientation apart")
+    void isOriented_ShouldCompareOrientationMarker() {
+        // Given
+        ImageVariant sideways = new ImageVariant(320, 120, "image/jpeg",
+                ImageUploadPipeline.blobUrl("c".repeat(64) + "-320w.jpg"), 10L);
+
+        // When / Then
+        assertThat(ImageDerivativeService.isOriented(sideways, null)).isTrue();
+        assertThat(ImageDerivativeService.isOriented(sideways, 1)).isTrue();
+        assertThat(ImageDerivativeService.isOriented(sideways, 6)).isFalse();
+    }
+
+    private static byte[] jpeg(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "jpeg", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,142 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.BlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.RenderCache;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ImageRenderService.
+ * Renders in-memory PNGs into a temporary render cache, running queued renders by hand.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ImageRenderService Tests")
+class ImageRenderServiceTest {
+
+    private static final String SHA256 = "ab".repeat(32);
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private BlobStorage storage;
+
+    @TempDir
+    private Path uploadRoot;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private ImageRenderService renderService;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration imageConfig = TestImageConfiguration.localStorage(uploadRoot);
+        renderService = new ImageRenderService(imageRepository, storage, new BoundedImageDecoder(imageConfig),
+                new RenderCache(imageConfig), queued::add, imageConfig);
+    }
+
+    @Test
+    @DisplayName("Should coalesce concurrent identical renders and serve later requests from cache")
+    void render_WithConcurrentIdenticalRequests_ShouldRenderOnce() throws Exception {
+        // Given
+        givenImage(400, 200);
+        when(storage.get(anyString())).thenAnswer(invocation -> new ByteArrayInputStream(png(400, 200)));
+        ImageRenderService.RenderPlan plan = renderService.plan(1L, 100, null, null, null);
+
+        // When
+        CompletableFuture<Path> first = renderService.render(plan);
+        CompletableFuture<Path> second = renderService.render(plan);
+        queued.forEach(Runnable::run);
+        CompletableFuture<Path> third = renderService.render(plan);
+
+        // Then
+        assertThat(queued).hasSize(1);
+        assertThat(second).isSameAs(first);
+        assertThat(third.isDone()).isTrue();
+        BufferedImage rendered = ImageIO.read(first.get().toFile());
+        assertThat(rendered.getWidth()).isEqualTo(100);
+        assertThat(rendered.getHeight()).isEqualTo(50);
+        assertThat(third.get()).isEqualTo(first.get());
+        verify(storage, times(1)).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should crop to the exact box when covering")
+    void render_WithCover_ShouldCropToBox() throws Exception {
+        // Given
+        givenImage(400, 200);
+        when(storage.get(anyString())).thenAnswer(invocation -> new ByteArrayInputStream(png(400, 200)));
+        ImageRenderService.RenderPlan plan = renderService.plan(1L, 100, 100, "cover", "jpeg");
+
+        // When
+        CompletableFuture<Path> future = renderService.render(plan);
+        queued.forEach(Runnable::run);
+
+        // Then
+        assertThat(plan.mimeType()).isEqualTo("image/jpeg");
+        assertThat(plan.cacheKey()).isEqualTo(SHA256 + "-100x100-cover.jpg");
+        BufferedImage rendered = ImageIO.read(future.get().toFile());
+        assertThat(rendered.getWidth()).isEqualTo(100);
+        assertThat(rendered.getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should fit inside the box without upscaling")
+    void targetSize_ShouldNeverUpscale() {
+        assertThat(ImageRenderService.targetSize(400, 200, 100, 100, ImageRenderService.Fit.CONTAIN)).containsExactly(100, 50);
+        assertThat(ImageRenderService.targetSize(400, 200, 800, 800, ImageRenderService.Fit.CONTAIN)).containsExactly(400, 200);
+        assertThat(ImageRenderService.targetSize(400, 200, 800, 800, ImageRenderService.Fit.COVER)).containsExactly(200, 200);
+        assertThat(ImageRenderService.targetSize(400, 200, 1000, null, ImageRenderService.Fit.CONTAIN)).containsExactly(400, 200);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid render parameters")
+    void plan_WithInvalidParameters_ShouldThrow() {
+        assertThatThrownBy(() -> renderService.plan(1L, null, null, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> renderService.plan(1L, 5000, null, null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> renderService.plan(1L, 100, null, "stretch", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void givenImage(int width, int height) {
+        ImageEntity image = new ImageEntity();
+        image.setId(1L);
+        image.setImageUrl("/uploads/blobs/" + SHA256 + ".png");
+        image.setMimeType("image/png");
+        image.setWidth(width);
+        image.setHeight(height);
+        when(imageRepository.findById(1L)).thenReturn(Optional.of(image));
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+}
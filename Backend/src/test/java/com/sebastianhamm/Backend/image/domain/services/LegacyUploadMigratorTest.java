@@ -0,0 +1,127 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.events.ImageStoredEvent;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LegacyUploadMigrator.
+ * Uses mocked repositories and a real local blob storage in a temporary directory.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LegacyUploadMigrator Tests")
+class LegacyUploadMigratorTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final String LEGACY_URL = "/uploads/images/gallery/photo.png";
+
+    @Mock
+    private BlobRepository blobRepository;
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path uploadRoot;
+
+    private LocalBlobStorage storage;
+    private LegacyUploadMigrator migrator;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration config = TestImageConfiguration.localStorage(uploadRoot);
+        storage = new LocalBlobStorage(config);
+        migrator = new LegacyUploadMigrator(blobRepository, imageRepository, blobReferenceService,
+                new ImageUploadPipeline(storage, config, new SimpleMeterRegistry()), new TransactionTemplate(transactionManager),
+                eventPublisher, new NoOpCacheManager(), config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should move legacy file into the blob store and rewrite every row pointing at it")
+    void migrate_ShouldMoveFileAndRewriteUrls() throws Exception {
+        // Given
+        Path legacyFile = uploadRoot.resolve("images/gallery/photo.png");
+        Files.createDirectories(legacyFile.getParent());
+        byte[] content = new byte[500];
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        Files.write(legacyFile, content);
+
+        when(blobRepository.findLegacyUploadUrls(eq(""), anyInt())).thenReturn(List.of(LEGACY_URL));
+        when(imageRepository.findIdsByImageUrl(LEGACY_URL)).thenReturn(List.of(7L));
+        when(blobRepository.rewriteImageUrls(eq(LEGACY_URL), anyString())).thenReturn(1);
+        when(blobRepository.rewriteMemberUrls(eq(LEGACY_URL), anyString())).thenReturn(1);
+
+        // When
+        int migrated = migrator.migrate();
+
+        // Then
+        assertThat(migrated).isEqualTo(1);
+        assertThat(legacyFile).doesNotExist();
+        String blobUrl = capturedBlobUrl();
+        assertThat(storage.localPath(ImageUploadPipeline.blobKey(blobUrl))).isPresent();
+        verify(blobReferenceService).register(any());
+        verify(blobReferenceService, times(2)).acquire(blobUrl);
+        verify(eventPublisher).publishEvent(new ImageStoredEvent(7L, blobUrl));
+    }
+
+    @Test
+    @DisplayName("Should keep URLs of missing legacy files untouched")
+    void migrate_WhenFileIsMissing_ShouldSkipUrl() {
+        // Given
+        when(blobRepository.findLegacyUploadUrls(eq(""), anyInt())).thenReturn(List.of(LEGACY_URL));
+
+        // When
+        int migrated = migrator.migrate();
+
+        // Then
+        assertThat(migrated).isZero();
+        verify(blobRepository, never()).rewriteImageUrls(anyString(), anyString());
+        verify(blobReferenceService, never()).register(any());
+    }
+
+    private String capturedBlobUrl() {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(blobRepository).rewriteImageUrls(eq(LEGACY_URL), captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,70 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NearDuplicateIndex.
+ * Compares BK-tree lookups on random hashes with a linear scan.
+ */
+@DisplayName("NearDuplicateIndex Tests")
+class NearDuplicateIndexTest {
+
+    private NearDuplicateIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearDuplicateIndex(null, null, null, TestImageConfiguration.defaults().build());
+    }
+
+    @Test
+    @DisplayName("Should find exactly the hashes within the distance")
+    void find_WithRandomHashes_ShouldMatchLinearScan() {
+        // Given
+        Random random = new Random(42);
+        List<Long> hashes = new ArrayList<>();
+        for (long id = 0; id < 2000; id++) {
+            long hash = random.nextLong();
+            hashes.add(hash);
+            index.put(id, 1L, hash);
+        }
+        long query = hashes.get(17) ^ 0b1011L;
+
+        // When
+        List<Long> found = index.find(query, 12);
+
+        // Then
+        List<Long> expected = new ArrayList<>();
+        for (int id = 0; id < hashes.size(); id++) {
+            if (PerceptualHash.distance(hashes.get(id), query) <= 12) {
+                expected.add((long) id);
+            }
+        }
+        assertThat(found).containsExactlyInAnyOrderElementsOf(expected).contains(17L);
+    }
+
+    @Test
+    @DisplayName("Should only report images of the requested gallery and forget removed images")
+    void findInGallery_AfterRemove_ShouldSkipRemovedImage() {
+        // Given
+        index.put(1L, 10L, 0xF0F0L);
+        index.put(2L, 10L, 0xF0F1L);
+        index.put(3L, 20L, 0xF0F0L);
+
+        // When
+        index.remove(1L);
+
+        // Then
+        assertThat(index.findInGallery(10L, 0xF0F0L)).containsExactly(2L);
+        assertThat(index.findInGallery(20L, 0xF0F0L)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
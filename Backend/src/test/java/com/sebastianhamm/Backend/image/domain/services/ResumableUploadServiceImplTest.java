@@ -0,0 +1,176 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionRequest;
+import com.sebastianhamm.Backend.image.api.dtos.UploadSessionResponse;
+import com.sebastianhamm.Backend.image.domain.entities.UploadSessionEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.UploadSessionRepository;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
+import com.sebastianhamm.Backend.image.domain.storage.StoredUpload;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ResumableUploadServiceImpl.
+ * Uses a mocked session repository and image service with a real upload pipeline in a temporary directory.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ResumableUploadServiceImpl Tests")
+class ResumableUploadServiceImplTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @Mock
+    private UploadSessionRepository sessionRepository;
+
+    @Mock
+    private ImageService imageService;
+
+    @TempDir
+    Path uploadRoot;
+
+    private ImageConfiguration config;
+    private ImageUploadPipeline pipeline;
+    private ResumableUploadServiceImpl uploadService;
+    private UploadSessionEntity session;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        config = TestImageConfiguration.localStorage(uploadRoot);
+        pipeline = new ImageUploadPipeline(new LocalBlobStorage(config), config, new SimpleMeterRegistry());
+        uploadService = new ResumableUploadServiceImpl(sessionRepository, imageService, pipeline,
+                new StorageUsageService(null, config, new SimpleMeterRegistry()), config);
+
+        content = new byte[300_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 31);
+        }
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+
+        when(sessionRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(sessionRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(session));
+        lenient().when(sessionRepository.updateProgress(any(), anyLong(), any())).thenAnswer(invocation -> {
+            session.setReceivedBytes(invocation.getArgument(1));
+            return 1;
+        });
+
+        UploadSessionRequest request = new UploadSessionRequest();
+        request.setFilename("concert.png");
+        request.setSizeBytes((long) content.length);
+        request.setContext("gallery");
+        session = toEntity(uploadService.createSession(request));
+    }
+
+    @Test
+    @DisplayName("Should assemble chunks and finalize with the digest computed while appending")
+    void complete_AfterAllChunks_ShouldStoreUploadWithContentHash() throws Exception {
+        // Given
+        assertThat(append(0, 100_000).getStatusCode()).isEqualTo(200);
+        assertThat(append(100_000, content.length).getData().getReceivedBytes()).isEqualTo(content.length);
+
+        // When
+        uploadService.complete(session.getId());
+
+        // Then
+        ArgumentCaptor<StoredUpload> stored = ArgumentCaptor.forClass(StoredUpload.class);
+        verify(imageService).saveStoredImage(stored.capture(), eq("concert.png"), eq("gallery"));
+        assertThat(stored.getValue().sha256()).isEqualTo(sha256(content));
+        assertThat(stored.getValue().sizeBytes()).isEqualTo(content.length);
+        assertThat(Files.exists(pipeline.sessionFile(session.getId().toString()))).isFalse();
+        verify(sessionRepository).delete(session);
+    }
+
+    @Test
+    @DisplayName("Should reject a chunk at the wrong offset and report the expected one")
+    void appendChunk_WithWrongOffset_ShouldReturnConflict() {
+        // Given
+        append(0, 1000);
+
+        // When
+        ApiResponse<UploadSessionResponse> result = append(500, 1500);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(409);
+        assertThat(result.getData().getReceivedBytes()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should resume after a restart from the persisted progress")
+    void appendChunk_AfterRestart_ShouldRebuildDigestFromStagingFile() throws Exception {
+        // Given - bytes beyond the recorded progress were written but never acknowledged
+        append(0, 150_000);
+        Path stagingFile = pipeline.sessionFile(session.getId().toString());
+        Files.write(stagingFile, Arrays.copyOfRange(content, 0, 200_000));
+        session.setReceivedBytes(120_000);
+        uploadService = new ResumableUploadServiceImpl(sessionRepository, imageService, pipeline,
+                new StorageUsageService(null, config, new SimpleMeterRegistry()), config);
+
+        // When
+        assertThat(uploadService.getProgress(session.getId()).getData().getReceivedBytes()).isEqualTo(120_000);
+        append(120_000, content.length);
+        uploadService.complete(session.getId());
+
+        // Then
+        ArgumentCaptor<StoredUpload> stored = ArgumentCaptor.forClass(StoredUpload.class);
+        verify(imageService).saveStoredImage(stored.capture(), any(), any());
+        assertThat(stored.getValue().sha256()).isEqualTo(sha256(content));
+    }
+
+    @Test
+    @DisplayName("Should refuse to finalize an incomplete upload")
+    void complete_WhenIncomplete_ShouldReturnConflict() {
+        // Given
+        append(0, 1000);
+
+        // When
+        ApiResponse<?> result = uploadService.complete(session.getId());
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(409);
+        verify(imageService, never()).saveStoredImage(any(), any(), any());
+    }
+
+    private ApiResponse<UploadSessionResponse> append(int from, int to) {
+        return uploadService.appendChunk(session.getId(), from,
+                new ByteArrayInputStream(Arrays.copyOfRange(content, from, to)));
+    }
+
+    private UploadSessionEntity toEntity(ApiResponse<UploadSessionResponse> created) {
+        assertThat(created.getStatusCode()).isEqualTo(201);
+        ArgumentCaptor<UploadSessionEntity> saved = ArgumentCaptor.forClass(UploadSessionEntity.class);
+        verify(sessionRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+}
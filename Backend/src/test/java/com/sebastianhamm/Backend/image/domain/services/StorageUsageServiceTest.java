@@ -0,0 +1,141 @@
+package com.sebastianhamm.Backend.image.domain.services;
+
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository.UsageView;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for StorageUsageService.
+ * Uses a mocked repository for reconciliation and a simple meter registry for the gauges.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StorageUsageService Tests")
+class StorageUsageServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private StorageUsageService usage;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration.Quota quota = new ImageConfiguration.Quota(DataSize.ofBytes(1000), null,
+                Map.of("gallery", DataSize.ofBytes(5000)), Map.of("alice", DataSize.ofBytes(1500)));
+        meterRegistry = new SimpleMeterRegistry();
+        usage = new StorageUsageService(imageRepository,
+                TestImageConfiguration.defaults().withQuota(quota).build(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should check the default and the individual quotas against recorded usage")
+    void checkQuota_ShouldUseRecordedUsage() {
+        // Given
+        usage.record("news", "bob", 800);
+        usage.record("gallery", "alice", 1200);
+
+        // When / Then
+        assertThat(usage.checkQuota("news", "bob", 200)).isNull();
+        assertThat(usage.checkQuota("news", "bob", 201)).contains("context 'news'");
+        assertThat(usage.checkQuota("gallery", "bob", 3000)).isNull();
+        assertThat(usage.checkQuota("gallery", "alice", 301)).contains("uploading user");
+        assertThat(usage.checkQuota(null, "bob", 1001)).contains("context 'unassigned'");
+    }
+
+    @Test
+    @DisplayName("Should subtract deleted images and export usage as gauges")
+    void record_ShouldUpdateCountersAndGauges() {
+        // When
+        usage.record("news", "bob", 800);
+        usage.record("news", "bob", -300);
+        usage.record("gallery", "alice", 200);
+        usage.record("events", "alice", 100);
+
+        // Then
+        assertThat(usage.contextUsage("news")).isEqualTo(500);
+        assertThat(usage.authorUsage("bob")).isEqualTo(500);
+        assertThat(usage.authorUsages()).containsExactly(Map.entry("alice", 300L), Map.entry("bob", 500L));
+        assertThat(meterRegistry.get("storage.usage.bytes").tag("scope", "context").tag("name", "gallery").gauge().value())
+                .isEqualTo(200);
+        assertThat(meterRegistry.get("storage.usage.bytes").tag("scope", "context").tag("name", "other").gauge().value())
+                .isEqualTo(600);
+    }
+
+    @Test
+    @DisplayName("Should keep free-form contexts and user names out of the gauge tags")
+    void record_ShouldBoundGaugeTags() {
+        // When
+        usage.record("summer-concert-2026", "bob", 100);
+
+        // Then
+        assertThat(meterRegistry.find("storage.usage.bytes").gauges())
+                .extracting(gauge -> gauge.getId().getTag("name"))
+                .containsExactlyInAnyOrder("gallery", "other");
+        assertThat(meterRegistry.find("storage.usage.bytes").tag("scope", "author").gauges()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replace drifted counters with the sums from the database")
+    void reconcile_ShouldOverwriteCounters() {
+        // Given
+        usage.record("news", "bob", 800);
+        usage.record("stale", "bob", 100);
+        when(imageRepository.sumFileSizesByContext()).thenReturn(List.of(view("news", 650L), view(null, 40L)));
+        when(imageRepository.sumFileSizesByAuthor()).thenReturn(List.of(view("bob", 690L)));
+
+        // When
+        usage.reconcile();
+
+        // Then
+        assertThat(usage.contextUsage("news")).isEqualTo(650);
+        assertThat(usage.contextUsage("stale")).isZero();
+        assertThat(usage.contextUsage(null)).isEqualTo(40);
+        assertThat(usage.authorUsage("bob")).isEqualTo(690);
+    }
+
+    @Test
+    @DisplayName("Should account images with their uploaded size and older images with their stored size")
+    void accountedBytes_ShouldPreferUploadedSize() {
+        // Given
+        ImageEntity uploaded = new ImageEntity();
+        uploaded.setFileSizeBytes(900L);
+        uploaded.setUploadSizeBytes(1000L);
+        ImageEntity older = new ImageEntity();
+        older.setFileSizeBytes(900L);
+
+        // When / Then
+        assertThat(StorageUsageService.accountedBytes(uploaded)).isEqualTo(1000);
+        assertThat(StorageUsageService.accountedBytes(older)).isEqualTo(900);
+        assertThat(StorageUsageService.accountedBytes(new ImageEntity())).isZero();
+    }
+
+    private static UsageView view(String name, Long bytes) {
+        return new UsageView() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Long getBytes() {
+                return bytes;
+            }
+        };
+    }
+}
@@ -0,0 +1,110 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for BoundedImageDecoder.
+ * Decodes small in-memory PNGs and a header-only PNG declaring gigapixel dimensions.
+ */
+@DisplayName("BoundedImageDecoder Tests")
+class BoundedImageDecoderTest {
+
+    private final BoundedImageDecoder decoder = decoder(new ImageConfiguration.Decoding(null, null, null));
+
+    @Test
+    @DisplayName("Should reject images declaring more pixels than allowed before decoding")
+    void decode_WithDecompressionBomb_ShouldThrowWithoutDecoding() {
+        // Given
+        AtomicBoolean handled = new AtomicBoolean();
+
+        // When / Then
+        assertThatThrownBy(() -> decoder.decode(new ByteArrayInputStream(pngHeader(50_000, 50_000)), 0, decoded -> {
+            handled.set(true);
+            return decoded;
+        })).isInstanceOf(IllegalArgumentException.class).hasMessageContaining("50000x50000");
+        assertThat(handled).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should subsample down to about twice the needed width and report the original size")
+    void decode_WithMinWidth_ShouldSubsample() throws Exception {
+        // When
+        BoundedImageDecoder.DecodedImage decoded = decoder.decode(
+                new ByteArrayInputStream(png(2000, 100)), 100, image -> image);
+
+        // Then
+        assertThat(decoded.image().getWidth()).isEqualTo(200);
+        assertThat(decoded.image().getHeight()).isEqualTo(10);
+        assertThat(decoded.sourceWidth()).isEqualTo(2000);
+        assertThat(decoded.sourceHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should subsample until the bitmap fits the per-decode limit")
+    void decode_AbovePerDecodeLimit_ShouldSubsample() throws Exception {
+        // Given
+        BoundedImageDecoder limited = decoder(new ImageConfiguration.Decoding(null, 10_000, null));
+
+        // When
+        BoundedImageDecoder.DecodedImage decoded = limited.decode(
+                new ByteArrayInputStream(png(400, 400)), 0, image -> image);
+
+        // Then
+        assertThat(decoded.image().getWidth()).isEqualTo(100);
+        assertThat(decoded.image().getHeight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Should return null when no decoder supports the format")
+    void decode_WithUnknownFormat_ShouldReturnNull() throws Exception {
+        // When
+        BoundedImageDecoder.DecodedImage decoded = decoder.decode(
+                new ByteArrayInputStream("not an image".getBytes(StandardCharsets.US_ASCII)), 0, image -> image);
+
+        // Then
+        assertThat(decoded).isNull();
+    }
+
+    /**
+     * A PNG consisting only of its signature, an IHDR chunk declaring the given dimensions and IEND.
+     */
+    static byte[] pngHeader(int width, int height) {
+        ByteBuffer chunk = ByteBuffer.allocate(17);
+        chunk.put("IHDR".getBytes(StandardCharsets.US_ASCII)).putInt(width).putInt(height)
+                .put((byte) 8).put((byte) 2).put((byte) 0).put((byte) 0).put((byte) 0);
+        CRC32 crc = new CRC32();
+        crc.update(chunk.array());
+
+        ByteBuffer png = ByteBuffer.allocate(8 + 4 + 17 + 4 + 12);
+        png.put(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'});
+        png.putInt(13).put(chunk.array()).putInt((int) crc.getValue());
+        png.putInt(0).put("IEND".getBytes(StandardCharsets.US_ASCII)).putInt(0xAE426082);
+        return png.array();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static BoundedImageDecoder decoder(ImageConfiguration.Decoding decoding) {
+        return new BoundedImageDecoder(TestImageConfiguration.defaults().withDecoding(decoding).build());
+    }
+}
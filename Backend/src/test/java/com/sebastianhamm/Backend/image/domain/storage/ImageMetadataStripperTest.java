@@ -0,0 +1,200 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.drew.imaging.ImageMetadataReader;
+import com.drew.metadata.Metadata;
+import com.drew.metadata.exif.ExifDirectoryBase;
+import com.drew.metadata.exif.ExifIFD0Directory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ImageMetadataStripper.
+ * Builds small files with metadata segments and chunks, strips them and inspects the structure.
+ */
+@DisplayName("ImageMetadataStripper Tests")
+class ImageMetadataStripperTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should drop JPEG comments, EXIF and trailing data but keep the orientation")
+    void strip_WithJpeg_ShouldKeepOnlyOrientation() throws Exception {
+        // Given - EXIF with a camera make, a comment, and data appended after EOI
+        byte[] jpeg = encode(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), "jpeg");
+        byte[] exif = segment(0xE1, concat("Exif\0\0".getBytes(StandardCharsets.US_ASCII), tiff("Canon", 6)));
+        byte[] comment = segment(0xFE, "shot on a phone".getBytes(StandardCharsets.US_ASCII));
+        byte[] source = concat(Arrays.copyOfRange(jpeg, 0, 2), exif, comment,
+                Arrays.copyOfRange(jpeg, 2, jpeg.length), new byte[5000]);
+
+        // When
+        byte[] stripped = strip(source, "image/jpeg", 6);
+
+        // Then
+        assertThat(stripped).hasSize(jpeg.length + 36);
+        assertThat(stripped[stripped.length - 2] & 0xFF).isEqualTo(0xFF);
+        assertThat(stripped[stripped.length - 1] & 0xFF).isEqualTo(0xD9);
+        assertThat(new String(stripped, StandardCharsets.ISO_8859_1)).doesNotContain("Canon", "phone");
+
+        Metadata metadata = ImageMetadataReader.readMetadata(new ByteArrayInputStream(stripped));
+        ExifIFD0Directory ifd0 = metadata.getFirstDirectoryOfType(ExifIFD0Directory.class);
+        assertThat(ifd0.getInteger(ExifDirectoryBase.TAG_ORIENTATION)).isEqualTo(6);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(stripped));
+        assertThat(decoded.getWidth()).isEqualTo(40);
+        assertThat(decoded.getHeight()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Should drop PNG text chunks and keep the image decodable")
+    void strip_WithPng_ShouldDropTextChunks() throws Exception {
+        // Given - a tEXt chunk inserted after IHDR
+        byte[] png = encode(new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB), "png");
+        byte[] text = pngChunk("tEXt", "Comment\0secret location".getBytes(StandardCharsets.ISO_8859_1));
+        byte[] source = concat(Arrays.copyOfRange(png, 0, 33), text, Arrays.copyOfRange(png, 33, png.length));
+
+        // When
+        byte[] stripped = strip(source, "image/png", null);
+
+        // Then
+        assertThat(stripped).isEqualTo(png);
+    }
+
+    @Test
+    @DisplayName("Should drop WebP EXIF and XMP chunks, fix the RIFF size and clear their flags")
+    void strip_WithWebp_ShouldDropMetadataChunks() throws Exception {
+        // Given
+        byte[] vp8x = webpChunk("VP8X", new byte[]{0x0C, 0, 0, 0, 0x0F, 0, 0, 0x07, 0, 0});
+        byte[] image = webpChunk("VP8L", new byte[]{0x2F, 1, 2, 3, 4});
+        byte[] source = riff(vp8x, image, webpChunk("EXIF", new byte[101]), webpChunk("XMP ", new byte[40]));
+
+        // When
+        byte[] stripped = strip(source, "image/webp", null);
+
+        // Then
+        assertThat(stripped).isEqualTo(riff(webpChunk("VP8X", new byte[]{0, 0, 0, 0, 0x0F, 0, 0, 0x07, 0, 0}), image));
+    }
+
+    @Test
+    @DisplayName("Should find strippable metadata from the container structure alone")
+    void hasMetadata_ShouldDetectStrippableSegmentsAndChunks() throws Exception {
+        // Given
+        byte[] jpeg = encode(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), "jpeg");
+        byte[] comment = segment(0xFE, "shot on a phone".getBytes(StandardCharsets.US_ASCII));
+        byte[] commentedJpeg = concat(Arrays.copyOfRange(jpeg, 0, 2), comment, Arrays.copyOfRange(jpeg, 2, jpeg.length));
+        byte[] png = encode(new BufferedImage(16, 8, BufferedImage.TYPE_INT_ARGB), "png");
+        byte[] text = pngChunk("tEXt", "Comment\0secret location".getBytes(StandardCharsets.ISO_8859_1));
+        byte[] textPng = concat(Arrays.copyOfRange(png, 0, 33), text, Arrays.copyOfRange(png, 33, png.length));
+
+        // When / Then
+        assertThat(hasMetadata(jpeg, "image/jpeg")).isFalse();
+        assertThat(hasMetadata(commentedJpeg, "image/jpeg")).isTrue();
+        assertThat(hasMetadata(concat(jpeg, new byte[100]), "image/jpeg")).isTrue();
+        assertThat(hasMetadata(png, "image/png")).isFalse();
+        assertThat(hasMetadata(textPng, "image/png")).isTrue();
+        assertThat(hasMetadata(riff(webpChunk("VP8L", new byte[]{0x2F, 1, 2, 3, 4})), "image/webp")).isFalse();
+        assertThat(hasMetadata(riff(webpChunk("VP8L", new byte[]{0x2F, 1, 2, 3, 4}), webpChunk("XMP ", new byte[40])),
+                "image/webp")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should report files whose structure does not parse")
+    void strip_WithTruncatedFile_ShouldReturnFalse() throws Exception {
+        // Given
+        byte[] png = encode(new BufferedImage(16, 8, BufferedImage.TYPE_INT_RGB), "png");
+        Path source = Files.write(tempDir.resolve("truncated"), Arrays.copyOf(png, png.length - 20));
+
+        // When
+        boolean parsed = ImageMetadataStripper.strip(source, "image/png", null, OutputStream.nullOutputStream());
+
+        // Then
+        assertThat(parsed).isFalse();
+    }
+
+    private byte[] strip(byte[] content, String mimeType, Integer orientation) throws IOException {
+        Path source = Files.write(tempDir.resolve("source"), content);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThat(ImageMetadataStripper.strip(source, mimeType, orientation, out)).isTrue();
+        return out.toByteArray();
+    }
+
+    private boolean hasMetadata(byte[] content, String mimeType) throws IOException {
+        return ImageMetadataStripper.hasMetadata(Files.write(tempDir.resolve("source"), content), mimeType, null);
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Big-endian TIFF structure with IFD0 holding Make and Orientation.
+     */
+    private static byte[] tiff(String make, int orientation) {
+        byte[] makeBytes = (make + "\0").getBytes(StandardCharsets.US_ASCII);
+        int makeOffset = 8 + 2 + 2 * 12 + 4;
+        ByteBuffer tiff = ByteBuffer.allocate(makeOffset + makeBytes.length);
+        tiff.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(8);
+        tiff.putShort((short) 2);
+        tiff.putShort((short) 0x010F).putShort((short) 2).putInt(makeBytes.length).putInt(makeOffset);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putInt(0);
+        tiff.put(makeBytes);
+        return tiff.array();
+    }
+
+    private static byte[] segment(int marker, byte[] payload) {
+        ByteBuffer segment = ByteBuffer.allocate(4 + payload.length);
+        segment.put((byte) 0xFF).put((byte) marker).putShort((short) (2 + payload.length)).put(payload);
+        return segment.array();
+    }
+
+    private static byte[] pngChunk(String type, byte[] data) {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        return ByteBuffer.allocate(12 + data.length)
+                .putInt(data.length).put(typeBytes).put(data).putInt((int) crc.getValue()).array();
+    }
+
+    private static byte[] webpChunk(String fourCc, byte[] data) {
+        ByteBuffer chunk = ByteBuffer.allocate(8 + data.length + (data.length & 1)).order(ByteOrder.LITTLE_ENDIAN);
+        chunk.put(fourCc.getBytes(StandardCharsets.US_ASCII)).putInt(data.length).put(data);
+        return chunk.array();
+    }
+
+    private static byte[] riff(byte[]... chunks) {
+        byte[] body = concat(chunks);
+        ByteBuffer riff = ByteBuffer.allocate(12 + body.length).order(ByteOrder.LITTLE_ENDIAN);
+        riff.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(4 + body.length)
+                .put("WEBP".getBytes(StandardCharsets.US_ASCII)).put(body);
+        return riff.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
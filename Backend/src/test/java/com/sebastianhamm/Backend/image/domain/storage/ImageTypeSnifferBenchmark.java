@@ -0,0 +1,73 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import org.apache.tika.Tika;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the magic-byte sniffer with Tika on the prefix the upload pipeline reads.
+ * Not a unit test; run {@link #main} after {@code mvn test-compile} with the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageTypeSnifferBenchmark {
+
+    static final byte[] JPEG_PREFIX = prefix(new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 0x10, 'J', 'F', 'I', 'F', 0});
+    static final byte[] PNG_PREFIX = prefix(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'});
+    static final byte[] WEBP_PREFIX = prefix("RIFF$\u0000\u0000\u0000WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1));
+
+    @Param({"jpeg", "png", "webp"})
+    public String format;
+
+    private final Tika tika = new Tika();
+    private byte[] prefix;
+
+    @Setup
+    public void setUp() {
+        prefix = switch (format) {
+            case "jpeg" -> JPEG_PREFIX;
+            case "png" -> PNG_PREFIX;
+            default -> WEBP_PREFIX;
+        };
+    }
+
+    @Benchmark
+    public String sniffer() {
+        return ImageTypeSniffer.detect(prefix);
+    }
+
+    @Benchmark
+    public String tika() {
+        return tika.detect(prefix);
+    }
+
+    // Pads to the length the pipeline reads, so both detectors see the same input as in production
+    private static byte[] prefix(byte[] signature) {
+        byte[] prefix = new byte[ImageUploadPipeline.SNIFF_PREFIX_BYTES];
+        System.arraycopy(signature, 0, prefix, 0, signature.length);
+        return prefix;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ImageTypeSnifferBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import org.apache.tika.Tika;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ImageTypeSniffer.
+ * Cross-checks the recognised signatures against Tika.
+ */
+@DisplayName("ImageTypeSniffer Tests")
+class ImageTypeSnifferTest {
+
+    private final Tika tika = new Tika();
+
+    @Test
+    @DisplayName("Should recognise JPEG, PNG, WebP and GIF like Tika does")
+    void detect_WithKnownSignatures_ShouldMatchTika() {
+        for (byte[] prefix : new byte[][]{
+                ImageTypeSnifferBenchmark.JPEG_PREFIX,
+                ImageTypeSnifferBenchmark.PNG_PREFIX,
+                ImageTypeSnifferBenchmark.WEBP_PREFIX,
+                "GIF89a\u0001\u0000\u0001\u0000".getBytes(StandardCharsets.ISO_8859_1)}) {
+            assertThat(ImageTypeSniffer.detect(prefix)).isNotNull().isEqualTo(tika.detect(prefix));
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave unknown and truncated signatures to the fallback")
+    void detect_WithUnknownOrShortPrefix_ShouldReturnNull() {
+        assertThat(ImageTypeSniffer.detect("%PDF-1.7".getBytes(StandardCharsets.US_ASCII))).isNull();
+        assertThat(ImageTypeSniffer.detect(new byte[]{(byte) 0x89, 'P', 'N'})).isNull();
+        assertThat(ImageTypeSniffer.detect("RIFF\u0000\u0000\u0000\u0000WAVE".getBytes(StandardCharsets.ISO_8859_1))).isNull();
+        assertThat(ImageTypeSniffer.detect(new byte[0])).isNull();
+    }
+}
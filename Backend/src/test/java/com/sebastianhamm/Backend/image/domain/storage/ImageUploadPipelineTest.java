@@ -0,0 +1,221 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for ImageUploadPipeline.
+ * Verifies the single-pass sniff/hash/limit/rename behaviour and content deduplication against a temporary directory.
+ */
+@DisplayName("ImageUploadPipeline Tests")
+class ImageUploadPipelineTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+    @TempDir
+    Path uploadRoot;
+
+    private LocalBlobStorage storage;
+    private ImageUploadPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        ImageConfiguration config = TestImageConfiguration.localStorage(uploadRoot);
+        storage = new LocalBlobStorage(config);
+        pipeline = new ImageUploadPipeline(storage, config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should store file, sniff type and compute digest in one pass")
+    void store_WithPngStream_ShouldWriteFileAndReturnMetadata() throws Exception {
+        // Given
+        byte[] content = png(10_000);
+
+        // When
+        StoredUpload stored = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+
+        // Then
+        assertThat(stored.mimeType()).isEqualTo("image/png");
+        assertThat(stored.sizeBytes()).isEqualTo(content.length);
+        assertThat(stored.uploadBytes()).isEqualTo(content.length);
+        assertThat(stored.sha256()).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+        assertThat(stored.imageUrl()).isEqualTo("/uploads/blobs/" + stored.sha256() + ".png");
+        assertThat(stored.deduplicated()).isFalse();
+        assertThat(stored.storageKey()).isEqualTo(stored.sha256() + ".png");
+        assertThat(Files.readAllBytes(storage.pathOf(stored.storageKey()))).isEqualTo(content);
+        assertThat(listFiles(uploadRoot.resolve(".staging"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject stream exceeding the size limit and leave no file behind")
+    void store_WhenStreamExceedsLimit_ShouldThrowAndCleanUp() throws Exception {
+        // Given
+        byte[] content = png(4096);
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.store(new ByteArrayInputStream(content), 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("File size exceeds max allowed size");
+        assertThat(listFiles(uploadRoot.resolve(".staging"))).isEmpty();
+        assertThat(uploadRoot.resolve("blobs")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported content")
+    void store_WithTextContent_ShouldThrowUnsupportedType() {
+        // Given
+        byte[] content = "just some text, not an image".getBytes();
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.store(new ByteArrayInputStream(content), 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported file type");
+    }
+
+    @Test
+    @DisplayName("Should store identical content only once")
+    void store_WithDuplicateContent_ShouldReuseExistingBlob() throws Exception {
+        // Given
+        byte[] content = png(2048);
+        StoredUpload first = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+
+        // When
+        StoredUpload second = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+
+        // Then
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(second.imageUrl()).isEqualTo(first.imageUrl());
+        assertThat(listFiles(storage.pathOf(first.storageKey()).getParent())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should read dimensions from the PNG header")
+    void store_WithRealPng_ShouldExtractDimensions() throws Exception {
+        // Given
+        byte[] content = encode(new BufferedImage(64, 48, BufferedImage.TYPE_INT_ARGB), "png");
+
+        // When
+        StoredUpload stored = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+
+        // Then
+        assertThat(stored.metadata().width()).isEqualTo(64);
+        assertThat(stored.metadata().height()).isEqualTo(48);
+        assertThat(stored.metadata().capturedAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should read EXIF orientation, capture time and camera from a JPEG")
+    void store_WithExifJpeg_ShouldExtractExifMetadata() throws Exception {
+        // Given - a 40x20 JPEG tagged as rotated by 90 degrees
+        byte[] jpeg = encode(new BufferedImage(40, 20, BufferedImage.TYPE_INT_RGB), "jpeg");
+        byte[] app1 = exifSegment("Canon", 6, "2026:05:01 19:30:00");
+        byte[] content = new byte[jpeg.length + app1.length];
+        System.arraycopy(jpeg, 0, content, 0, 2);
+        System.arraycopy(app1, 0, content, 2, app1.length);
+        System.arraycopy(jpeg, 2, content, 2 + app1.length, jpeg.length - 2);
+
+        // When
+        StoredUpload stored = pipeline.store(new ByteArrayInputStream(content), 1024 * 1024);
+
+        // Then
+        ImageMetadata metadata = stored.metadata();
+        assertThat(metadata.width()).isEqualTo(20);
+        assertThat(metadata.height()).isEqualTo(40);
+        assertThat(metadata.orientation()).isEqualTo(6);
+        assertThat(metadata.capturedAt()).isEqualTo(LocalDateTime.of(2026, 5, 1, 19, 30));
+        assertThat(metadata.cameraMake()).isEqualTo("Canon");
+        // The camera make is not needed for display, so the stored file is smaller
+        assertThat(stored.sizeBytes()).isLessThan(content.length);
+        assertThat(stored.uploadBytes()).isEqualTo(content.length);
+    }
+
+    @Test
+    @DisplayName("Should reject images declaring more pixels than allowed without storing them")
+    void store_WithDecompressionBomb_ShouldThrowAndCleanUp() throws Exception {
+        // Given - a few bytes declaring 50,000 x 50,000 pixels
+        byte[] content = BoundedImageDecoderTest.pngHeader(50_000, 50_000);
+
+        // When / Then
+        assertThatThrownBy(() -> pipeline.store(new ByteArrayInputStream(content), 1024 * 1024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("exceed the maximum");
+        assertThat(listFiles(uploadRoot.resolve(".staging"))).isEmpty();
+        assertThat(uploadRoot.resolve("blobs")).doesNotExist();
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Builds a big-endian APP1 segment with IFD0 (Make, Orientation, Exif pointer) and an Exif
+     * sub-IFD holding DateTimeOriginal.
+     */
+    private static byte[] exifSegment(String make, int orientation, String dateTimeOriginal) {
+        byte[] makeBytes = (make + "\0").getBytes(StandardCharsets.US_ASCII);
+        byte[] dateBytes = (dateTimeOriginal + "\0").getBytes(StandardCharsets.US_ASCII);
+        int ifd0 = 8;
+        int makeOffset = ifd0 + 2 + 3 * 12 + 4;
+        int subIfd = makeOffset + makeBytes.length;
+        int dateOffset = subIfd + 2 + 12 + 4;
+        int tiffLength = dateOffset + dateBytes.length;
+
+        ByteBuffer tiff = ByteBuffer.allocate(tiffLength);
+        tiff.put((byte) 'M').put((byte) 'M').putShort((short) 42).putInt(ifd0);
+        tiff.putShort((short) 3);
+        tiff.putShort((short) 0x010F).putShort((short) 2).putInt(makeBytes.length).putInt(makeOffset);
+        tiff.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        tiff.putShort((short) 0x8769).putShort((short) 4).putInt(1).putInt(subIfd);
+        tiff.putInt(0);
+        tiff.put(makeBytes);
+        tiff.putShort((short) 1);
+        tiff.putShort((short) 0x9003).putShort((short) 2).putInt(dateBytes.length).putInt(dateOffset);
+        tiff.putInt(0);
+        tiff.put(dateBytes);
+
+        byte[] header = "Exif\0\0".getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer segment = ByteBuffer.allocate(4 + header.length + tiffLength);
+        segment.put((byte) 0xFF).put((byte) 0xE1).putShort((short) (2 + header.length + tiffLength));
+        segment.put(header).put(tiff.array());
+        return segment.array();
+    }
+
+    private static byte[] png(int size) {
+        byte[] content = new byte[size];
+        System.arraycopy(PNG_SIGNATURE, 0, content, 0, PNG_SIGNATURE.length);
+        for (int i = PNG_SIGNATURE.length; i < size; i++) {
+            content[i] = (byte) i;
+        }
+        return content;
+    }
+
+    private static List<Path> listFiles(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+}
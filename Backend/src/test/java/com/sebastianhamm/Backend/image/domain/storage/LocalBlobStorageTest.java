@@ -0,0 +1,109 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Unit tests for LocalBlobStorage.
+ * Verifies the sharded layout and the streaming put/get/stat/delete contract.
+ */
+@DisplayName("LocalBlobStorage Tests")
+class LocalBlobStorageTest {
+
+    private static final String KEY = "abcdef0123456789.jpg";
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new LocalBlobStorage(TestImageConfiguration.localStorage(root));
+    }
+
+    @Test
+    @DisplayName("Should shard blobs by the first four key characters")
+    void put_ShouldWriteIntoShardedDirectory() throws Exception {
+        // When
+        storage.put(KEY, new ByteArrayInputStream("content".getBytes()), 7, "image/jpeg");
+
+        // Then
+        Path expected = root.resolve("blobs/ab/cd/" + KEY);
+        assertThat(expected).hasContent("content");
+        assertThat(storage.localPath(KEY)).contains(expected.toAbsolutePath());
+        assertThat(storage.stat(KEY)).hasValueSatisfying(stat -> assertThat(stat.sizeBytes()).isEqualTo(7));
+    }
+
+    @Test
+    @DisplayName("Should move a local source file into place")
+    void put_WithPath_ShouldMoveSource() throws Exception {
+        // Given
+        Path source = Files.writeString(root.resolve("source.tmp"), "content");
+
+        // When
+        storage.put(KEY, source, "image/jpeg");
+
+        // Then
+        assertThat(source).doesNotExist();
+        assertThat(storage.stat(KEY)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should read the requested byte range")
+    void get_WithRange_ShouldReturnSlice() throws Exception {
+        // Given
+        storage.put(KEY, new ByteArrayInputStream("0123456789".getBytes()), 10, "image/jpeg");
+
+        // When / Then
+        try (InputStream in = storage.get(KEY, 3, 4)) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("3456");
+        }
+        try (InputStream in = storage.get(KEY, 8, -1)) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("89");
+        }
+    }
+
+    @Test
+    @DisplayName("Should report missing blobs and tolerate deleting them")
+    void missingBlob_ShouldBeAbsent() throws Exception {
+        assertThat(storage.stat(KEY)).isEmpty();
+        assertThatThrownBy(() -> storage.get(KEY)).isInstanceOf(NoSuchFileException.class);
+        storage.delete(KEY);
+    }
+
+    @Test
+    @DisplayName("Should list the blobs sharing a key prefix")
+    void list_ShouldReturnBlobsWithPrefix() throws Exception {
+        // Given
+        storage.put("abcdef01-320w.jpg", new ByteArrayInputStream(new byte[3]), 3, "image/jpeg");
+        storage.put("abcdef01-640w.png", new ByteArrayInputStream(new byte[5]), 5, "image/png");
+        storage.put("abcdef02-320w.jpg", new ByteArrayInputStream(new byte[7]), 7, "image/jpeg");
+
+        // When / Then
+        assertThat(storage.list("abcdef01-"))
+                .extracting(BlobStat::key, BlobStat::sizeBytes)
+                .containsExactlyInAnyOrder(tuple("abcdef01-320w.jpg", 3L), tuple("abcdef01-640w.png", 5L));
+        assertThat(storage.list("ffff0000-")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject keys that could escape the blob directory")
+    void put_WithInvalidKey_ShouldThrow() {
+        assertThatThrownBy(() -> storage.stat("../../etc/passwd"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,82 @@
+package com.sebastianhamm.Backend.image.domain.storage;
+
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for RenderCache.
+ * Fills a cache limited to a few bytes in a temporary upload root.
+ */
+@DisplayName("RenderCache Tests")
+class RenderCacheTest {
+
+    @TempDir
+    private Path uploadRoot;
+
+    @Test
+    @DisplayName("Should evict the least recently used entries beyond the size limit")
+    void put_BeyondSizeLimit_ShouldEvictLeastRecentlyUsed() throws Exception {
+        // Given
+        RenderCache cache = cache(DataSize.ofBytes(20));
+        cache.put("a.jpg", rendered(cache, 8));
+        cache.put("b.jpg", rendered(cache, 8));
+        cache.get("a.jpg");
+
+        // When
+        cache.put("c.jpg", rendered(cache, 8));
+
+        // Then
+        assertThat(cache.get("a.jpg")).isPresent();
+        assertThat(cache.get("b.jpg")).isEmpty();
+        assertThat(cache.get("c.jpg")).isPresent();
+        assertThat(cache.sizeBytes()).isEqualTo(16);
+        assertThat(uploadRoot.resolve(".render-cache/b.jpg")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should index existing entries after a restart")
+    void get_AfterRestart_ShouldFindExistingEntries() throws Exception {
+        // Given
+        RenderCache before = cache(DataSize.ofKilobytes(1));
+        before.put("a.png", rendered(before, 10));
+
+        // When
+        RenderCache after = cache(DataSize.ofKilobytes(1));
+
+        // Then
+        assertThat(after.get("a.png")).isPresent();
+        assertThat(after.sizeBytes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should reject keys that could escape the cache directory")
+    void get_WithPathTraversal_ShouldThrow() {
+        RenderCache cache = cache(DataSize.ofKilobytes(1));
+
+        assertThatThrownBy(() -> cache.get("../secret")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private RenderCache cache(DataSize size) {
+        return new RenderCache(TestImageConfiguration.defaults()
+                .withUploadRoot(uploadRoot)
+                .withRender(new ImageConfiguration.Render(null, size, null, null))
+                .build());
+    }
+
+    private static Path rendered(RenderCache cache, int size) throws IOException {
+        Path file = cache.createTempFile();
+        Files.write(file, new byte[size]);
+        return file;
+    }
+}
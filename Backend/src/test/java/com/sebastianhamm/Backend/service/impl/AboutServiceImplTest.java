@@ -1,5 +1,6 @@
 package com.sebastianhamm.Backend.service.impl;
 
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
 import com.sebastianhamm.Backend.about.domain.entities.AboutEntity;
 import com.sebastianhamm.Backend.about.api.dtos.AboutRequest;
 import com.sebastianhamm.Backend.about.api.dtos.AboutResponse;
@@ -34,6 +35,9 @@ class AboutServiceImplTest {
     @Mock
     private AboutMapper aboutMapper;
 
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
     @InjectMocks
     private AboutServiceImpl aboutService;
 
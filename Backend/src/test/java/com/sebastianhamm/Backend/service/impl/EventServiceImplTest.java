@@ -1,5 +1,6 @@
 package com.sebastianhamm.Backend.service.impl;
 
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
 import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
 import com.sebastianhamm.Backend.event.domain.services.EventServiceImpl;
 import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
@@ -45,6 +46,9 @@ class EventServiceImplTest {
     @Mock
     private EventMapper eventMapper;
 
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
     @InjectMocks
     private EventServiceImpl eventService;
 
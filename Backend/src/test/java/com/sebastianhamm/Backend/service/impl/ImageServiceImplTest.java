@@ -2,28 +2,53 @@ package com.sebastianhamm.Backend.service.impl;
 
 import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
 import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
+import com.sebastianhamm.Backend.image.domain.events.ImageDeletedEvent;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
+import com.sebastianhamm.Backend.image.domain.services.DuplicatePolicy;
 import com.sebastianhamm.Backend.image.domain.services.ImageServiceImpl;
+import com.sebastianhamm.Backend.image.domain.services.NearDuplicateIndex;
+import com.sebastianhamm.Backend.image.domain.services.StorageUsageService;
+import com.sebastianhamm.Backend.image.domain.storage.BoundedImageDecoder;
+import com.sebastianhamm.Backend.image.domain.storage.ImageUploadPipeline;
+import com.sebastianhamm.Backend.image.domain.storage.LocalBlobStorage;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.image.api.dtos.BatchUploadResult;
 import com.sebastianhamm.Backend.image.api.dtos.ImageResponse;
 import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
 import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.shared.config.ImageConfiguration;
+import com.sebastianhamm.Backend.shared.config.TestImageConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -52,6 +77,15 @@ class ImageServiceImplTest {
     @Mock
     private Authentication authentication;
 
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StorageUsageService storageUsage;
+
     @InjectMocks
     private ImageServiceImpl imageService;
 
@@ -175,6 +209,8 @@ class ImageServiceImplTest {
 
         verify(imageRepository, times(1)).findById(1L);
         verify(imageRepository, times(1)).delete(testImageEntity);
+        verify(blobReferenceService).release(testImageEntity.getImageUrl());
+        verify(eventPublisher).publishEvent(new ImageDeletedEvent(1L));
     }
 
     @Test
@@ -316,4 +352,158 @@ class ImageServiceImplTest {
 
         verify(imageRepository, never()).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should refuse an upload over the storage quota without reading it")
+    void saveImage_WhenQuotaExceeded_ShouldReturnInsufficientStorage() throws Exception {
+        // Given
+        when(mockFile.isEmpty()).thenReturn(false);
+        when(mockFile.getSize()).thenReturn(1000L);
+        when(storageUsage.checkQuota(eq("test-context"), any(), eq(1000L))).thenReturn("Storage quota exceeded");
+
+        // When
+        ApiResponse<ImageResponse> result = imageService.saveImage(mockFile, "test-context");
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(507);
+        assertThat(result.getMessage()).isEqualTo("Storage quota exceeded");
+        verify(mockFile, never()).getInputStream();
+        verify(imageRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should return 404 for batch upload into unknown gallery")
+    void saveBatch_WhenGalleryNotFound_ShouldReturnNotFoundResponse(@TempDir Path uploadRoot) {
+        // Given
+        when(galleryRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When
+        ApiResponse<List<BatchUploadResult>> result = batchImageService(uploadRoot)
+                .saveBatch(99L, List.of(pngFile("a.png", 1)), DuplicatePolicy.WARN);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(404);
+        verify(imageRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should store valid files of a batch, report invalid ones and deduplicate slugs")
+    void saveBatch_WithPartlyInvalidFiles_ShouldReturnMultiStatus(@TempDir Path uploadRoot) {
+        // Given
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setSlug("concert");
+        when(galleryRepository.findById(1L)).thenReturn(Optional.of(gallery));
+        when(imageRepository.findTakenSlugs(any())).thenAnswer(invocation -> {
+            List<String> candidates = List.copyOf(invocation.getArgument(0));
+            return candidates.contains("concert-photopng") ? List.of("concert-photopng") : List.of();
+        });
+        AtomicLong ids = new AtomicLong();
+        List<ImageEntity> inserted = new ArrayList<>();
+        when(imageRepository.saveAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterable<ImageEntity>>getArgument(0).forEach(inserted::add);
+            inserted.forEach(image -> image.setId(ids.incrementAndGet()));
+            return inserted;
+        });
+        List<MultipartFile> files = List.of(
+                pngFile("photo.png", 1),
+                new MockMultipartFile("files", "empty.png", "image/png", new byte[0]),
+                pngFile("photo.png", 2));
+
+        // When
+        ApiResponse<List<BatchUploadResult>> result = batchImageService(uploadRoot).saveBatch(1L, files, DuplicatePolicy.WARN);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(207);
+        assertThat(result.getData()).extracting(BatchUploadResult::getStatusCode).containsExactly(201, 400, 201);
+        assertThat(result.getData().get(1).getMessage()).isEqualTo("File must not be empty");
+
+        assertThat(inserted).extracting(ImageEntity::getSlug).containsExactly("concert-photopng-2", "concert-photopng-3");
+        assertThat(inserted).allMatch(image -> image.getGallery() == gallery);
+        verify(blobReferenceService, times(2)).register(any());
+        verify(blobReferenceService, times(2)).acquire(any());
+    }
+
+    @Test
+    @DisplayName("Should skip files of a batch that nearly duplicate an earlier file")
+    void saveBatch_WithSkipPolicy_ShouldSkipNearDuplicates(@TempDir Path uploadRoot) throws Exception {
+        // Given
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setSlug("concert");
+        when(galleryRepository.findById(1L)).thenReturn(Optional.of(gallery));
+        when(imageRepository.findTakenSlugs(any())).thenReturn(List.of());
+        when(imageRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<ImageEntity> inserted = new ArrayList<>();
+            invocation.<Iterable<ImageEntity>>getArgument(0).forEach(inserted::add);
+            return inserted;
+        });
+        List<MultipartFile> files = List.of(
+                renderedPng("burst-1.png", 0, 120),
+                renderedPng("burst-2.png", 1, 120),
+                renderedPng("other.png", 0, 40));
+
+        // When
+        ApiResponse<List<BatchUploadResult>> result = batchImageService(uploadRoot).saveBatch(1L, files, DuplicatePolicy.SKIP);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(201);
+        assertThat(result.getData()).extracting(BatchUploadResult::getStatusCode).containsExactly(201, 409, 201);
+    }
+
+    @Test
+    @DisplayName("Should fail the files of a batch instead of the request when a blob is gone before the insert")
+    void saveBatch_WhenBlobVanished_ShouldReportFailedFiles(@TempDir Path uploadRoot) {
+        // Given
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setSlug("concert");
+        when(galleryRepository.findById(1L)).thenReturn(Optional.of(gallery));
+        when(imageRepository.findTakenSlugs(any())).thenReturn(List.of());
+        doThrow(new FileStorageException("Blob is no longer stored")).when(blobReferenceService).acquire(any());
+
+        // When
+        ApiResponse<List<BatchUploadResult>> result = batchImageService(uploadRoot)
+                .saveBatch(1L, List.of(pngFile("a.png", 1), pngFile("b.png", 2)), DuplicatePolicy.WARN);
+
+        // Then
+        assertThat(result.getStatusCode()).isEqualTo(400);
+        assertThat(result.getData()).extracting(BatchUploadResult::getStatusCode).containsExactly(500, 500);
+        verify(imageRepository, never()).saveAll(any());
+    }
+
+    private ImageServiceImpl batchImageService(Path uploadRoot) {
+        ImageConfiguration config = TestImageConfiguration.localStorage(uploadRoot);
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        LocalBlobStorage storage = new LocalBlobStorage(config);
+        return new ImageServiceImpl(imageRepository, galleryRepository, null,
+                new ImageUploadPipeline(storage, config, new SimpleMeterRegistry()), mock(ApplicationEventPublisher.class),
+                blobReferenceService, transactionTemplate, config,
+                new NearDuplicateIndex(imageRepository, storage, new BoundedImageDecoder(config), config),
+                new StorageUsageService(imageRepository, config, new SimpleMeterRegistry()));
+    }
+
+    /**
+     * A left-to-right gradient with a block of {@code blockSize} pixels; {@code shift} moves the
+     * block by one pixel, which changes the bytes but not the picture.
+     */
+    private static MockMultipartFile renderedPng(String filename, int shift, int blockSize) throws IOException {
+        BufferedImage image = new BufferedImage(256, 256, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < 256; y++) {
+            for (int x = 0; x < 256; x++) {
+                boolean block = x >= 40 + shift && x < 40 + shift + blockSize && y >= 60 && y < 60 + blockSize;
+                image.setRGB(x, y, block ? 0xFFFFFF : (x << 16) | (y << 8));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return new MockMultipartFile("files", filename, "image/png", out.toByteArray());
+    }
+
+    private static MockMultipartFile pngFile(String filename, int seed) {
+        byte[] content = new byte[256];
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        content[signature.length] = (byte) seed;
+        return new MockMultipartFile("files", filename, "image/png", content);
+    }
+}
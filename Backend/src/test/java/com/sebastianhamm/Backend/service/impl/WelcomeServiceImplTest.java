@@ -1,5 +1,7 @@
 package com.sebastianhamm.Backend.service.impl;
 
+import com.sebastianhamm.Backend.image.domain.exceptions.FileStorageException;
+import com.sebastianhamm.Backend.image.domain.services.BlobReferenceService;
 import com.sebastianhamm.Backend.welcome.domain.entities.WelcomeEntity;
 import com.sebastianhamm.Backend.welcome.api.dtos.WelcomeRequest;
 import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
@@ -18,6 +20,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -37,6 +41,9 @@ class WelcomeServiceImplTest {
     @Mock
     private WelcomeMapper welcomeMapper;
 
+    @Mock
+    private BlobReferenceService blobReferenceService;
+
     @InjectMocks
     private WelcomeServiceImpl welcomeService;
 
@@ -110,6 +117,18 @@ class WelcomeServiceImplTest {
         verify(welcomeRepository, times(1)).getById(1L);
     }
 
+    @Test
+    @DisplayName("Should leave an unknown blob to the exception handler instead of answering 500 itself")
+    void updateWelcome_WhenBlobUnknown_ShouldPropagateFileStorageException() {
+        // Given
+        FileStorageException unknownBlob = new FileStorageException("Blob is no longer stored");
+        when(welcomeRepository.getById(1L)).thenReturn(testWelcomeEntity);
+        doThrow(unknownBlob).when(blobReferenceService).replace(any(), any());
+
+        // When / Then
+        assertThatThrownBy(() -> welcomeService.updateWelcome(testWelcomeRequest)).isSameAs(unknownBlob);
+    }
+
     @Test
     @DisplayName("Should return welcome data when updating (current implementation)")
     void updateWelcome_WhenEntityExists_ShouldReturnCurrentDataWithNewTimestamp() {
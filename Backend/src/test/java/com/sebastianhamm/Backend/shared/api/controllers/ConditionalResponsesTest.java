@@ -0,0 +1,218 @@
+package com.sebastianhamm.Backend.shared.api.controllers;
+
+import com.sebastianhamm.Backend.event.api.controllers.EventController;
+import com.sebastianhamm.Backend.event.api.dtos.EventResponse;
+import com.sebastianhamm.Backend.event.domain.services.EventService;
+import com.sebastianhamm.Backend.shared.api.dtos.ApiResponse;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedJson;
+import com.sebastianhamm.Backend.shared.api.dtos.EncodedResponseConverter;
+import com.sebastianhamm.Backend.shared.domain.ContentVersion;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshot;
+import com.sebastianhamm.Backend.shared.domain.snapshot.PublicSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Unit tests for ConditionalResponses.
+ * Sends conditional requests through the event controller with a mocked service and snapshot.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ConditionalResponses Tests")
+class ConditionalResponsesTest {
+
+    private static final ContentVersion VERSION = new ContentVersion(LocalDateTime.of(2026, 10, 18, 9, 30, 15, 250_000_000), 3);
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private PublicSnapshotService publicSnapshot;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        when(publicSnapshot.current()).thenReturn(PublicSnapshot.EMPTY);
+        mockMvc = MockMvcBuilders.standaloneSetup(new EventController(eventService, publicSnapshot))
+                .setMessageConverters(new EncodedResponseConverter(), new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should send validators and a revalidating Cache-Control with the content")
+    void getAllEvents_WithoutValidators_ShouldReturnContent() throws Exception {
+        // Given
+        when(eventService.getVersion()).thenReturn(VERSION);
+        when(eventService.findAllEvents()).thenReturn(new ApiResponse<>(200, "All events found", List.of(new EventResponse())));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events")).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly(VERSION.etag());
+        assertThat(response.getDateHeader(HttpHeaders.LAST_MODIFIED)).isEqualTo(VERSION.lastModifiedMillis() / 1000 * 1000);
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isEqualTo("no-cache, public");
+        assertThat(response.getContentAsString()).contains("All events found");
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 without loading the content")
+    void getAllEvents_WithMatchingEtag_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(eventService.getVersion()).thenReturn(VERSION);
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events")
+                .header(HttpHeaders.IF_NONE_MATCH, VERSION.etag())).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeaders(HttpHeaders.ETAG)).containsExactly(VERSION.etag());
+        assertThat(response.getContentLength()).isZero();
+        verify(eventService, never()).findAllEvents();
+    }
+
+    @Test
+    @DisplayName("Should answer a current If-Modified-Since with 304")
+    void getEvent_WithCurrentIfModifiedSince_ShouldReturnNotModified() throws Exception {
+        // Given
+        when(eventService.getVersion(7L)).thenReturn(VERSION);
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events/7")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, VERSION.lastModifiedMillis())).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        verify(eventService, never()).getEventById(7L);
+    }
+
+    @Test
+    @DisplayName("Should send the content again once the version changed")
+    void getEvent_WithStaleEtag_ShouldReturnContent() throws Exception {
+        // Given
+        ContentVersion updated = new ContentVersion(VERSION.lastModified().plusNanos(1_000), VERSION.count());
+        when(eventService.getVersion(7L)).thenReturn(updated);
+        when(eventService.getEventById(7L)).thenReturn(new ApiResponse<>(200, "Event found", new EventResponse()));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events/7")
+                .header(HttpHeaders.IF_NONE_MATCH, VERSION.etag())).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(updated.etag()).isNotEqualTo(VERSION.etag());
+    }
+
+    @Test
+    @DisplayName("Should pass unknown ids through to the service without validators")
+    void getEvent_WhenMissing_ShouldReturnNotFoundWithoutValidators() throws Exception {
+        // Given
+        when(eventService.getEventById(8L)).thenReturn(new ApiResponse<>(404, "Event not found", null));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events/8")
+                .header(HttpHeaders.IF_NONE_MATCH, VERSION.etag())).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(404);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(response.getHeader(HttpHeaders.CACHE_CONTROL)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer from the snapshot without asking the service")
+    void getAllEvents_FromSnapshot_ShouldNotTouchService() throws Exception {
+        // Given
+        serveFromSnapshot(new PublicSnapshot.Entry<>(new ApiResponse<>(200, "All events found", List.of(new EventResponse())), VERSION));
+
+        // When
+        MockHttpServletResponse content = mockMvc.perform(get("/events")).andReturn().getResponse();
+        MockHttpServletResponse notModified = mockMvc.perform(get("/events")
+                .header(HttpHeaders.IF_NONE_MATCH, VERSION.etag())).andReturn().getResponse();
+
+        // Then
+        assertThat(content.getStatus()).isEqualTo(200);
+        assertThat(content.getHeader(HttpHeaders.ETAG)).isEqualTo(VERSION.etag());
+        assertThat(content.getContentAsString()).contains("All events found");
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    @DisplayName("Should send the stored gzip body to clients accepting gzip")
+    void getAllEvents_WithEncodedEntry_ShouldSendStoredGzip() throws Exception {
+        // Given
+        byte[] json = ("{\"statusCode\":200,\"message\":\"All events found\",\"data\":\"" + "Konzert ".repeat(200) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        EncodedJson body = EncodedJson.of(json);
+        serveFromSnapshot(new PublicSnapshot.Entry<>(new ApiResponse<>(200, "All events found", List.of()), VERSION, body));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8")).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentLength()).isEqualTo(body.gzip().length).isLessThan(json.length);
+        assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(json);
+        verifyNoInteractions(eventService);
+    }
+
+    @Test
+    @DisplayName("Should send the stored JSON to clients refusing gzip")
+    void getAllEvents_WithGzipRefused_ShouldSendStoredJson() throws Exception {
+        // Given
+        byte[] json = ("{\"data\":\"" + "Konzert ".repeat(200) + "\"}").getBytes(StandardCharsets.UTF_8);
+        serveFromSnapshot(new PublicSnapshot.Entry<>(new ApiResponse<>(200, "All events found", List.of()), VERSION,
+                EncodedJson.of(json)));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(get("/events")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *")).andReturn().getResponse();
+
+        // Then
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getContentAsByteArray()).isEqualTo(json);
+    }
+
+    private void serveFromSnapshot(PublicSnapshot.Entry<List<EventResponse>> events) {
+        when(publicSnapshot.current()).thenReturn(new PublicSnapshot(null, null, events, Map.of(), null, Map.of(), null,
+                Map.of(), Map.of(), null, Map.of(), null, Map.of(), Instant.now()));
+    }
+
+    private static byte[] gunzip(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import com.sebastianhamm.Backend.location.api.dtos.LocationRequest;
+import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
+import com.sebastianhamm.Backend.location.domain.mappers.LocationMapper;
+import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
+import com.sebastianhamm.Backend.location.domain.services.LocationService;
+import com.sebastianhamm.Backend.location.domain.services.LocationServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CachingConfiguration.
+ * Runs the location service behind the configured caches and the actuator's cache metrics, with a mocked repository.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachingConfiguration Tests")
+class CachingConfigurationTest {
+
+    @Mock
+    private LocationRepository locationRepository;
+
+    private ApplicationContextRunner contextRunner() {
+        return new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+                        CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+                        CacheMetricsAutoConfiguration.class))
+                .withUserConfiguration(CachingConfiguration.class)
+                .withBean(LocationRepository.class, () -> locationRepository)
+                .withBean(LocationMapper.class)
+                .withBean(LocationServiceImpl.class);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the cache until a write evicts the entry")
+    void getLocation_ShouldBeCachedUntilUpdated() {
+        // Given
+        when(locationRepository.findById(1)).thenReturn(Optional.of(location("Stadtpfarrkirche")));
+
+        contextRunner().run(context -> {
+            LocationService service = context.getBean(LocationService.class);
+
+            // When
+            service.getLocation(1);
+            service.getLocation(1);
+            service.updateLocation(1, request("Domplatz"));
+            service.getLocation(1);
+
+            // Then
+            verify(locationRepository, times(3)).findById(1);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", CachingConfiguration.LOCATIONS).tag("result", "hit")
+                    .functionCounter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("cache.gets").tag("cache", CachingConfiguration.LOCATIONS).tag("result", "miss")
+                    .functionCounter().count()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should not cache error responses")
+    void getLocation_WhenNotFound_ShouldNotBeCached() {
+        // Given
+        when(locationRepository.findById(2)).thenReturn(Optional.empty());
+
+        contextRunner().run(context -> {
+            LocationService service = context.getBean(LocationService.class);
+
+            // When
+            service.getLocation(2);
+            service.getLocation(2);
+
+            // Then
+            verify(locationRepository, times(2)).findById(2);
+        });
+    }
+
+    @Test
+    @DisplayName("Should drop cached events when a location they name changes")
+    void deleteLocation_ShouldClearEventCaches() {
+        // Given
+        when(locationRepository.existsById(1)).thenReturn(true);
+
+        contextRunner().run(context -> {
+            CacheManager cacheManager = context.getBean(CacheManager.class);
+            cacheManager.getCache(CachingConfiguration.EVENTS).put(7L, "event");
+            cacheManager.getCache(CachingConfiguration.EVENT_LISTS).put("all", "events");
+            cacheManager.getCache(CachingConfiguration.MEMBERS).put(3L, "member");
+
+            // When
+            context.getBean(LocationService.class).deleteLocation(1);
+
+            // Then
+            assertThat(cacheManager.getCache(CachingConfiguration.EVENTS).get(7L)).isNull();
+            assertThat(cacheManager.getCache(CachingConfiguration.EVENT_LISTS).get("all")).isNull();
+            assertThat(cacheManager.getCache(CachingConfiguration.MEMBERS).get(3L)).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should fall back to the defaults for limits a cache does not set")
+    void spec_ShouldMergeWithDefaults() {
+        // Given
+        CacheConfiguration config = new CacheConfiguration(new CacheConfiguration.Spec(null, Duration.ofMinutes(5)),
+                Map.of("images", new CacheConfiguration.Spec(5000L, null)), null);
+
+        // When / Then
+        assertThat(config.spec("images")).isEqualTo(new CacheConfiguration.Spec(5000L, Duration.ofMinutes(5)));
+        assertThat(config.spec("members")).isEqualTo(new CacheConfiguration.Spec(1000L, Duration.ofMinutes(5)));
+    }
+
+    private static LocationEntity location(String name) {
+        LocationEntity location = new LocationEntity();
+        location.setName(name);
+        return location;
+    }
+
+    private static LocationRequest request(String name) {
+        LocationRequest request = new LocationRequest();
+        request.setName(name);
+        return request;
+    }
+}
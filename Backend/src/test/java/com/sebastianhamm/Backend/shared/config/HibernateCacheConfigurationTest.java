@@ -0,0 +1,136 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import com.sebastianhamm.Backend.about.domain.entities.AboutEntity;
+import com.sebastianhamm.Backend.about.domain.repositories.AboutRepository;
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HibernateCacheConfiguration.
+ * Runs the repositories against an in-memory database, each step in its own committed transaction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("HibernateCacheConfiguration Tests")
+class HibernateCacheConfigurationTest {
+
+    @Autowired
+    private GalleryRepository galleryRepository;
+
+    @Autowired
+    private AboutRepository aboutRepository;
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactions;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactions = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated gallery lookup without touching the database")
+    void findById_ShouldBeServedFromSecondLevelCache() {
+        // Given
+        Long id = transactions.execute(status -> galleryRepository.save(gallery("Frühjahrskonzert")).getId());
+        transactions.executeWithoutResult(status -> galleryRepository.findById(id));
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        GalleryEntity gallery = transactions.execute(status -> galleryRepository.findById(id).orElseThrow());
+
+        // Then
+        assertThat(gallery.getTitle()).isEqualTo("Frühjahrskonzert");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+    }
+
+    @Test
+    @DisplayName("Should not find a soft-deleted gallery that is still in the second-level cache")
+    void findById_WhenSoftDeleted_ShouldBeEmpty() {
+        // Given
+        Long id = transactions.execute(status -> galleryRepository.save(gallery("Herbstkonzert")).getId());
+        transactions.executeWithoutResult(status -> galleryRepository.findById(id).orElseThrow()
+                .setDeletedAt(LocalDateTime.now()));
+        assertThat(entityManagerFactory.getCache().contains(GalleryEntity.class, id)).isTrue();
+
+        // When
+        Optional<GalleryEntity> gallery = transactions.execute(status -> galleryRepository.findById(id));
+
+        // Then
+        assertThat(gallery).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only drop the regions of the tables a native write touches")
+    void nativeWrite_ShouldEvictOnlyItsTables() {
+        // Given
+        Long galleryId = transactions.execute(status -> galleryRepository.save(gallery("Adventkonzert")).getId());
+        Long aboutId = transactions.execute(status -> aboutRepository.save(about("/uploads/about/band.jpg")).getId());
+        transactions.executeWithoutResult(status -> {
+            galleryRepository.findById(galleryId);
+            aboutRepository.findById(aboutId);
+        });
+
+        // When
+        transactions.executeWithoutResult(status -> blobRepository.rewriteAboutUrls("/uploads/about/band.jpg", "/uploads/blobs/ab"));
+
+        // Then
+        assertThat(entityManagerFactory.getCache().contains(GalleryEntity.class, galleryId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(AboutEntity.class, aboutId)).isFalse();
+    }
+
+    private static GalleryEntity gallery(String title) {
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setTitle(title);
+        gallery.setGalleryDate(LocalDate.of(2026, 4, 12));
+        return gallery;
+    }
+
+    private static AboutEntity about(String imageUrl) {
+        AboutEntity about = new AboutEntity();
+        about.setAboutText("Die Stadtkapelle");
+        about.setAboutImageUrl(imageUrl);
+        return about;
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(CacheConfiguration.class)
+    @Import(HibernateCacheConfiguration.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,94 @@
+package com.sebastianhamm.Backend.shared.config;
+
+import java.nio.file.Path;
+
+/**
+ * Builds {@link ImageConfiguration} instances for tests.
+ * Every section starts with its defaults; tests override only the sections they exercise, so a new
+ * section does not touch every test that needs a configuration.
+ */
+public final class TestImageConfiguration {
+
+    private ImageConfiguration.Variants variants;
+    private ImageConfiguration.Storage storage;
+    private ImageConfiguration.Cleanup cleanup;
+    private ImageConfiguration.Batch batch;
+    private ImageConfiguration.Resumable resumable;
+    private ImageConfiguration.Migration migration;
+    private ImageConfiguration.Decoding decoding;
+    private ImageConfiguration.Render render;
+    private ImageConfiguration.Jobs jobs;
+    private ImageConfiguration.Quota quota;
+
+    private TestImageConfiguration() {
+    }
+
+    public static TestImageConfiguration defaults() {
+        return new TestImageConfiguration();
+    }
+
+    /**
+     * The defaults, with local blob storage under {@code uploadRoot}.
+     */
+    public static ImageConfiguration localStorage(Path uploadRoot) {
+        return defaults().withUploadRoot(uploadRoot).build();
+    }
+
+    public TestImageConfiguration withUploadRoot(Path uploadRoot) {
+        return withStorage(new ImageConfiguration.Storage(null, uploadRoot, null));
+    }
+
+    public TestImageConfiguration withVariants(ImageConfiguration.Variants variants) {
+        this.variants = variants;
+        return this;
+    }
+
+    public TestImageConfiguration withStorage(ImageConfiguration.Storage storage) {
+        this.storage = storage;
+        return this;
+    }
+
+    public TestImageConfiguration withCleanup(ImageConfiguration.Cleanup cleanup) {
+        this.cleanup = cleanup;
+        return this;
+    }
+
+    public TestImageConfiguration withBatch(ImageConfiguration.Batch batch) {
+        this.batch = batch;
+        return this;
+    }
+
+    public TestImageConfiguration withResumable(ImageConfiguration.Resumable resumable) {
+        this.resumable = resumable;
+        return this;
+    }
+
+    public TestImageConfiguration withMigration(ImageConfiguration.Migration migration) {
+        this.migration = migration;
+        return this;
+    }
+
+    public TestImageConfiguration withDecoding(ImageConfiguration.Decoding decoding) {
+        this.decoding = decoding;
+        return this;
+    }
+
+    public TestImageConfiguration withRender(ImageConfiguration.Render render) {
+        this.render = render;
+        return this;
+    }
+
+    public TestImageConfiguration withJobs(ImageConfiguration.Jobs jobs) {
+        this.jobs = jobs;
+        return this;
+    }
+
+    public TestImageConfiguration withQuota(ImageConfiguration.Quota quota) {
+        this.quota = quota;
+        return this;
+    }
+
+    public ImageConfiguration build() {
+        return new ImageConfiguration(variants, storage, cleanup, batch, resumable, migration, decoding, render, jobs, quota);
+    }
+}
@@ -0,0 +1,197 @@
+package com.sebastianhamm.Backend.shared.domain;
+
+import com.sebastianhamm.Backend.about.domain.entities.AboutEntity;
+import com.sebastianhamm.Backend.about.domain.repositories.AboutRepository;
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.BlobRepository;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
+import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
+import com.sebastianhamm.Backend.shared.config.CacheConfiguration;
+import com.sebastianhamm.Backend.shared.config.HibernateCacheConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ContentVersion.
+ * Reads the versions of the repositories against an in-memory database, each step in its own committed transaction.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("ContentVersion Tests")
+class ContentVersionTest {
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private GalleryRepository galleryRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private AboutRepository aboutRepository;
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactions;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactions = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should change the version when a location is updated")
+    void findVersionById_AfterUpdate_ShouldChange() {
+        // Given
+        Long id = transactions.execute(status -> locationRepository.save(location("Stadtpfarrkirche")).getId());
+        ContentVersion before = locationRepository.findVersionById(id);
+
+        // When
+        transactions.executeWithoutResult(status -> locationRepository.findById(id.intValue()).orElseThrow().setName("Domplatz"));
+
+        // Then
+        ContentVersion after = locationRepository.findVersionById(id);
+        assertThat(before.count()).isEqualTo(1);
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(after.lastModified()).isAfter(before.lastModified());
+    }
+
+    @Test
+    @DisplayName("Should serve a repeated version from the query cache until the table changes")
+    void findVersion_ShouldBeCachedUntilWrite() {
+        // Given
+        transactions.executeWithoutResult(status -> locationRepository.save(location("Stadtpfarrkirche")));
+        ContentVersion first = locationRepository.findVersion();
+        long statements = statistics.getPrepareStatementCount();
+
+        // When
+        ContentVersion cached = locationRepository.findVersion();
+        long cachedStatements = statistics.getPrepareStatementCount() - statements;
+        transactions.executeWithoutResult(status -> locationRepository.save(location("Domplatz")));
+        ContentVersion changed = locationRepository.findVersion();
+
+        // Then
+        assertThat(cached).isEqualTo(first);
+        assertThat(cachedStatements).isZero();
+        assertThat(changed.count()).isEqualTo(first.count() + 1);
+    }
+
+    @Test
+    @DisplayName("Should change the gallery version with its images and drop it on soft delete")
+    void galleryVersion_ShouldFollowImagesAndDeletion() {
+        // Given
+        Long id = transactions.execute(status -> galleryRepository.save(gallery("Frühjahrskonzert")).getId());
+        ContentVersion empty = galleryRepository.findVersionById(id).and(galleryRepository.findImagesVersionById(id));
+
+        // When
+        transactions.executeWithoutResult(status -> imageRepository.save(image(galleryRepository.findById(id).orElseThrow())));
+        ContentVersion withImage = galleryRepository.findVersionById(id).and(galleryRepository.findImagesVersionById(id));
+        transactions.executeWithoutResult(status -> galleryRepository.findById(id).orElseThrow().setDeletedAt(LocalDateTime.now()));
+
+        // Then
+        assertThat(withImage.count()).isEqualTo(empty.count() + 1);
+        assertThat(withImage.etag()).isNotEqualTo(empty.etag());
+        assertThat(galleryRepository.findVersionById(id).isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should change the version when a native rewrite moves an image URL")
+    void findVersionById_AfterUrlRewrite_ShouldChange() {
+        // Given
+        Long id = transactions.execute(status -> aboutRepository.save(about("/uploads/about/band.jpg")).getId());
+        ContentVersion before = aboutRepository.findVersionById(id);
+
+        // When
+        transactions.executeWithoutResult(status -> blobRepository.rewriteAboutUrls("/uploads/about/band.jpg", "/uploads/blobs/ab"));
+
+        // Then
+        assertThat(aboutRepository.findVersionById(id).etag()).isNotEqualTo(before.etag());
+    }
+
+    @Test
+    @DisplayName("Should combine versions into the latest modification and the total count")
+    void and_ShouldTakeLatestAndSum() {
+        // Given
+        LocalDateTime earlier = LocalDateTime.of(2026, 10, 1, 12, 0);
+        LocalDateTime later = earlier.plusDays(1);
+
+        // When
+        ContentVersion combined = new ContentVersion(later, 2).and(new ContentVersion(earlier, 3));
+        ContentVersion withEmpty = new ContentVersion(null, 0).and(new ContentVersion(earlier, 1));
+
+        // Then
+        assertThat(combined).isEqualTo(new ContentVersion(later, 5));
+        assertThat(withEmpty).isEqualTo(new ContentVersion(earlier, 1));
+        assertThat(new ContentVersion(null, 0).lastModifiedMillis()).isEqualTo(-1);
+    }
+
+    private static LocationEntity location(String name) {
+        LocationEntity location = new LocationEntity();
+        location.setName(name);
+        return location;
+    }
+
+    private static GalleryEntity gallery(String title) {
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setTitle(title);
+        gallery.setGalleryDate(LocalDate.of(2026, 4, 12));
+        return gallery;
+    }
+
+    private static ImageEntity image(GalleryEntity gallery) {
+        ImageEntity image = new ImageEntity();
+        image.setImageUrl("/uploads/blobs/cd");
+        image.setAuthor("Stadtkapelle");
+        image.setUploadDate(LocalDate.of(2026, 4, 13));
+        image.setGallery(gallery);
+        return image;
+    }
+
+    private static AboutEntity about(String imageUrl) {
+        AboutEntity about = new AboutEntity();
+        about.setAboutText("Die Stadtkapelle");
+        about.setAboutImageUrl(imageUrl);
+        return about;
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(CacheConfiguration.class)
+    @Import(HibernateCacheConfiguration.class)
+    static class Config {
+    }
+}
@@ -0,0 +1,206 @@
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sebastianhamm.Backend.about.domain.mappers.AboutMapper;
+import com.sebastianhamm.Backend.event.domain.entities.EventEntity;
+import com.sebastianhamm.Backend.event.domain.enums.EventType;
+import com.sebastianhamm.Backend.event.domain.mappers.EventMapper;
+import com.sebastianhamm.Backend.event.domain.repositories.EventRepository;
+import com.sebastianhamm.Backend.gallery.domain.entities.GalleryEntity;
+import com.sebastianhamm.Backend.gallery.domain.mappers.GalleryMapper;
+import com.sebastianhamm.Backend.gallery.domain.repositories.GalleryRepository;
+import com.sebastianhamm.Backend.image.domain.entities.ImageEntity;
+import com.sebastianhamm.Backend.image.domain.repositories.ImageRepository;
+import com.sebastianhamm.Backend.image.domain.services.ContactSheetService;
+import com.sebastianhamm.Backend.location.domain.entities.LocationEntity;
+import com.sebastianhamm.Backend.location.domain.mappers.LocationMapper;
+import com.sebastianhamm.Backend.location.domain.repositories.LocationRepository;
+import com.sebastianhamm.Backend.member.domain.mappers.MemberMapper;
+import com.sebastianhamm.Backend.shared.domain.events.PublicContentChangedEvent;
+import com.sebastianhamm.Backend.welcome.domain.mappers.WelcomeMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for PublicSnapshotBuilder.
+ * Builds snapshots from an in-memory database and compares them with what the repositories and the mapper report.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PublicSnapshotBuilder.class, WelcomeMapper.class, AboutMapper.class, EventMapper.class, GalleryMapper.class,
+        MemberMapper.class, LocationMapper.class, PublicSnapshotBuilderTest.Config.class})
+@DisplayName("PublicSnapshotBuilder Tests")
+class PublicSnapshotBuilderTest {
+
+    @Autowired
+    private PublicSnapshotBuilder builder;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private LocationRepository locationRepository;
+
+    @Autowired
+    private GalleryRepository galleryRepository;
+
+    @Autowired
+    private ImageRepository imageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ChangeRecorder changes;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate transactions;
+
+    @BeforeEach
+    void setUp() {
+        transactions = new TransactionTemplate(transactionManager);
+        changes.events.clear();
+    }
+
+    @Test
+    @DisplayName("Should hold the service responses with the versions the repositories report")
+    void build_ShouldMatchRepositoryVersions() throws Exception {
+        // Given
+        Long eventId = transactions.execute(status -> {
+            LocationEntity location = locationRepository.save(location("Stadtpfarrkirche"));
+            return eventRepository.save(event("Kirchenkonzert", location)).getId();
+        });
+        Long galleryId = transactions.execute(status -> {
+            GalleryEntity gallery = galleryRepository.save(gallery("Herbst Konzert"));
+            imageRepository.save(image(gallery));
+            return gallery.getId();
+        });
+        String slug = galleryRepository.findById(galleryId).orElseThrow().getSlug();
+
+        // When
+        PublicSnapshot snapshot = builder.build();
+
+        // Then
+        assertThat(snapshot.events().response().getMessage()).isEqualTo("All events found");
+        assertThat(snapshot.events().version())
+                .isEqualTo(eventRepository.findVersion().and(locationRepository.findVersion()));
+        assertThat(snapshot.event(eventId).response().getData().getTitle()).isEqualTo("Kirchenkonzert");
+        assertThat(snapshot.event(eventId).version())
+                .isEqualTo(eventRepository.findVersionById(eventId).and(eventRepository.findLocationVersionById(eventId)));
+        assertThat(snapshot.gallery(galleryId).response().getData().getImages()).hasSize(1);
+        assertThat(snapshot.gallery(galleryId).version())
+                .isEqualTo(galleryRepository.findVersionById(galleryId).and(galleryRepository.findImagesVersionById(galleryId)));
+        assertThat(snapshot.imagesBySlug(slug).response().getMessage()).isEqualTo("Images found in gallery");
+        assertThat(snapshot.imagesBySlug(slug).version())
+                .isEqualTo(galleryRepository.findVersionBySlug(slug).and(galleryRepository.findImagesVersionBySlug(slug)));
+        assertThat(snapshot.events().body().identity())
+                .isEqualTo(objectMapper.writeValueAsBytes(snapshot.events().response()));
+        assertThat(snapshot.event(-1L)).isNull();
+        assertThat(snapshot.welcome()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should announce committed writes of public content and leave rolled back ones out")
+    void entityListener_ShouldPublishOnCommitOnly() {
+        // Given
+        Long id = transactions.execute(status -> locationRepository.save(location("Domplatz")).getId());
+        changes.events.clear();
+
+        // When
+        transactions.executeWithoutResult(status -> {
+            locationRepository.findById(id.intValue()).orElseThrow().setName("Marktplatz");
+            status.setRollbackOnly();
+        });
+        int afterRollback = changes.events.size();
+        transactions.executeWithoutResult(status -> locationRepository.findById(id.intValue()).orElseThrow().setName("Rathausplatz"));
+
+        // Then
+        assertThat(afterRollback).isZero();
+        assertThat(changes.events).extracting(PublicContentChangedEvent::type).containsExactly(LocationEntity.class);
+    }
+
+    private static LocationEntity location(String name) {
+        LocationEntity location = new LocationEntity();
+        location.setName(name);
+        return location;
+    }
+
+    private static EventEntity event(String title, LocationEntity location) {
+        EventEntity event = new EventEntity();
+        event.setTitle(title);
+        event.setDescription("Adventkonzert der Stadtkapelle");
+        event.setDate(LocalDate.of(2026, 12, 6));
+        event.setEventImageUrl("/uploads/blobs/ef");
+        event.setEventType(EventType.CONCERT);
+        event.setLocation(location);
+        return event;
+    }
+
+    private static GalleryEntity gallery(String title) {
+        GalleryEntity gallery = new GalleryEntity();
+        gallery.setTitle(title);
+        gallery.setGalleryDate(LocalDate.of(2026, 10, 3));
+        return gallery;
+    }
+
+    private static ImageEntity image(GalleryEntity gallery) {
+        ImageEntity image = new ImageEntity();
+        image.setImageUrl("/uploads/blobs/cd");
+        image.setAuthor("Stadtkapelle");
+        image.setUploadDate(LocalDate.of(2026, 10, 4));
+        image.setGallery(gallery);
+        return image;
+    }
+
+    static class ChangeRecorder {
+
+        final List<PublicContentChangedEvent> events = new CopyOnWriteArrayList<>();
+
+        @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+        void onContentChanged(PublicContentChangedEvent event) {
+            events.add(event);
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        ContactSheetService contactSheetService() {
+            return Mockito.mock(ContactSheetService.class);
+        }
+
+        @Bean
+        ObjectMapper objectMapper() {
+            return new ObjectMapper().findAndRegisterModules();
+        }
+
+        @Bean
+        ChangeRecorder changeRecorder() {
+            return new ChangeRecorder();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.sebastianhamm.Backend.shared.domain.snapshot;
+
+import com.sebastianhamm.Backend.shared.config.SnapshotConfiguration;
+import com.sebastianhamm.Backend.shared.domain.events.PublicContentChangedEvent;
+import com.sebastianhamm.Backend.welcome.domain.entities.WelcomeEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PublicSnapshotService.
+ * Runs rebuilds by hand against a mocked builder to check publication and the staleness bookkeeping.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublicSnapshotService Tests")
+class PublicSnapshotServiceTest {
+
+    private static final PublicContentChangedEvent CHANGE = new PublicContentChangedEvent(WelcomeEntity.class);
+
+    @Mock
+    private PublicSnapshotBuilder builder;
+
+    private final List<Runnable> requestedBuilds = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private PublicSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = service(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should serve nothing before the first build and the built snapshot afterwards")
+    void current_ShouldReturnPublishedSnapshot() {
+        // Given
+        PublicSnapshot built = snapshot();
+        when(builder.build()).thenReturn(built);
+
+        // When
+        PublicSnapshot before = service.current();
+        service.rebuild();
+
+        // Then
+        assertThat(before).isSameAs(PublicSnapshot.EMPTY);
+        assertThat(service.current()).isSameAs(built);
+        assertThat(meterRegistry.get("public.snapshot.build").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fall back after a committed change until the next build is published")
+    void onContentChanged_ShouldFallBackUntilRebuilt() {
+        // Given
+        PublicSnapshot rebuilt = snapshot();
+        when(builder.build()).thenReturn(snapshot(), rebuilt);
+        service.rebuild();
+
+        // When
+        service.onContentChanged(CHANGE);
+        PublicSnapshot whileStale = service.current();
+        requestedBuilds.forEach(Runnable::run);
+
+        // Then
+        assertThat(whileStale).isSameAs(PublicSnapshot.EMPTY);
+        assertThat(requestedBuilds).hasSize(1);
+        assertThat(service.current()).isSameAs(rebuilt);
+        assertThat(service.staleness()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stay stale if a change commits while the snapshot is being built")
+    void rebuild_WithChangeDuringBuild_ShouldStayStale() {
+        // Given
+        PublicSnapshot built = snapshot();
+        when(builder.build()).thenAnswer(invocation -> {
+            service.onContentChanged(CHANGE);
+            return built;
+        });
+
+        // When
+        service.rebuild();
+
+        // Then
+        assertThat(service.current()).isSameAs(PublicSnapshot.EMPTY);
+        assertThat(service.staleness()).isPositive();
+        assertThat(requestedBuilds).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should keep serving a stale snapshot within the allowed staleness")
+    void current_WithinMaxStaleness_ShouldServeStaleSnapshot() {
+        // Given
+        service = service(Duration.ofHours(1));
+        PublicSnapshot built = snapshot();
+        when(builder.build()).thenReturn(built);
+        service.rebuild();
+
+        // When
+        service.onContentChanged(CHANGE);
+
+        // Then
+        assertThat(service.current()).isSameAs(built);
+        assertThat(service.staleness()).isPositive();
+        assertThat(meterRegistry.get("public.snapshot.staleness").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot if a build fails")
+    void rebuild_WhenBuildFails_ShouldKeepPreviousSnapshot() {
+        // Given
+        service = service(Duration.ofHours(1));
+        PublicSnapshot built = snapshot();
+        when(builder.build()).thenReturn(built).thenThrow(new IllegalStateException("database down"));
+        service.rebuild();
+        service.onContentChanged(CHANGE);
+
+        // When
+        service.rebuild();
+
+        // Then
+        assertThat(service.current()).isSameAs(built);
+        assertThat(service.staleness()).isPositive();
+        assertThat(meterRegistry.get("public.snapshot.build").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    private PublicSnapshotService service(Duration maxStaleness) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new PublicSnapshotService(builder, requestedBuilds::add,
+                new SnapshotConfiguration(Duration.ofMinutes(1), maxStaleness), meterRegistry);
+    }
+
+    private static PublicSnapshot snapshot() {
+        return new PublicSnapshot(null, null, null, Map.of(), null, Map.of(), null, Map.of(), Map.of(),
+                null, Map.of(), null, Map.of(), Instant.now());
+    }
+}